@@ -0,0 +1,331 @@
+package app_cds;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Modalità di avvio con AppCDS (class data sharing dinamico).
+ *
+ * {@code AppLauncher --cds=<mode> [--archive=target/cds/mindlab.jsa]
+ * [--storage=0|1|2] [--runs=5]} offers three modes:
+ * <ul>
+ * <li>{@code train}: runs {@link CdsTraining} in a child JVM with
+ * {@code -XX:ArchiveClassesAtExit}, so the classes loaded between startup
+ * and the booking form (JavaFX, Jackson, the MySQL driver, the
+ * application) are stored already parsed and verified. It also writes
+ * {@code <archive>.args}, so later runs start with
+ * {@code java @target/cds/mindlab.jsa.args [app args]} at no extra
+ * cost.</li>
+ * <li>{@code run}: starts the application with the archive. This costs
+ * one small extra JVM compared with the argument file.</li>
+ * <li>{@code measure}: repeats the scripted path without and with the
+ * archive, alternating the two, and prints the medians.</li>
+ * </ul>
+ * CDS only archives classes loaded from JAR files, so the directories on
+ * the class path (e.g. target/classes) are packed into JARs next to the
+ * archive. The JVM ignores an archive whose JARs have changed since
+ * training, so train again after a rebuild.
+ */
+public final class CdsLauncher {
+    public static final String DEFAULT_ARCHIVE = "target/cds/mindlab.jsa";
+
+    private static final Logger LOGGER = Logger.getLogger(CdsLauncher.class.getName());
+    private static final String APP_MAIN = "startupconfig.AppLauncher";
+    private static final String PREVIEW = "--enable-preview";
+    private static final long CHILD_TIMEOUT_SECONDS = 180;
+
+    private final Path archive;
+    private final int storageOption;
+    private final int runs;
+
+    private CdsLauncher(Builder builder) {
+        this.archive = builder.archive.toAbsolutePath();
+        this.storageOption = builder.storageOption;
+        this.runs = builder.runs;
+    }
+
+    public static class Builder {
+        private Path archive = Path.of(DEFAULT_ARCHIVE);
+        private int storageOption = 0;
+        private int runs = 5;
+
+        public Builder archive(Path archive) {
+            this.archive = archive;
+            return this;
+        }
+
+        public Builder storageOption(int storageOption) {
+            this.storageOption = storageOption;
+            return this;
+        }
+
+        /** Esecuzioni per variante nella misura. */
+        public Builder runs(int runs) {
+            this.runs = runs;
+            return this;
+        }
+
+        public CdsLauncher build() {
+            if (storageOption < 0 || storageOption > 2) {
+                throw new IllegalArgumentException("Opzione di storage non valida: " + storageOption);
+            }
+            if (runs <= 0) {
+                throw new IllegalArgumentException("Il numero di esecuzioni deve essere positivo.");
+            }
+            return new CdsLauncher(this);
+        }
+    }
+
+    public Path getArchive() {
+        return archive;
+    }
+
+    /** File di argomenti per {@code java @file}: archivio, class path e main class. */
+    public Path getArgFile() {
+        return archive.resolveSibling(archive.getFileName() + ".args");
+    }
+
+    /**
+     * Esegue il percorso di addestramento e crea l'archivio.
+     *
+     * @return Il file di argomenti per gli avvii successivi
+     */
+    public Path train() throws IOException, InterruptedException {
+        Path dir = archive.getParent();
+        Files.createDirectories(dir);
+        Files.deleteIfExists(archive);
+        String classPath = packClassPath(System.getProperty("java.class.path"), dir.resolve("classes"));
+
+        List<String> command = javaCommand(classPath);
+        command.add(1, "-XX:ArchiveClassesAtExit=" + archive);
+        command.addAll(trainingArgs());
+        long ready = runChild(command, dir.resolve("training.log"))[0];
+        if (!Files.exists(archive)) {
+            throw new IOException("Archivio CDS non creato: vedi " + dir.resolve("training.log"));
+        }
+
+        List<String> lines = new ArrayList<>();
+        if (previewEnabled()) {
+            lines.add(PREVIEW);
+        }
+        lines.add(quote("-XX:SharedArchiveFile=" + archive));
+        lines.add("-cp");
+        lines.add(quote(classPath));
+        lines.add(APP_MAIN);
+        Files.write(getArgFile(), lines, StandardCharsets.UTF_8);
+        LOGGER.info(() -> String.format("Archivio CDS creato: %s (%d KB, percorso addestrato in %d ms)",
+                archive, archive.toFile().length() / 1024, ready));
+        return getArgFile();
+    }
+
+    /**
+     * Avvia l'applicazione con l'archivio e ne attende la fine.
+     *
+     * @return Il codice di uscita dell'applicazione
+     */
+    public int run(List<String> appArgs) throws IOException, InterruptedException {
+        List<String> command;
+        if (Files.exists(archive) && Files.exists(getArgFile())) {
+            command = javaCommand(trainedClassPath());
+            command.add(1, "-XX:SharedArchiveFile=" + archive);
+        } else {
+            LOGGER.warning(() -> "Archivio CDS assente, avvio senza: eseguire prima --cds=train");
+            command = javaCommand(System.getProperty("java.class.path"));
+        }
+        command.add(APP_MAIN);
+        command.addAll(appArgs);
+        return new ProcessBuilder(command).inheritIO().start().waitFor();
+    }
+
+    /**
+     * Confronta l'avvio senza e con l'archivio sul percorso di addestramento.
+     */
+    public CdsMeasurement measure() throws IOException, InterruptedException {
+        if (!Files.exists(archive) || !Files.exists(getArgFile())) {
+            throw new IllegalStateException("Archivio CDS assente: eseguire prima --cds=train");
+        }
+        String classPath = trainedClassPath();
+        List<Long> coldReady = new ArrayList<>();
+        List<Long> archivedReady = new ArrayList<>();
+        List<Long> coldProcess = new ArrayList<>();
+        List<Long> archivedProcess = new ArrayList<>();
+        Path log = archive.resolveSibling("measure.log");
+        for (int i = 0; i < runs; i++) {
+            // Alternate the two variants so that drift in the machine load affects both equally
+            List<String> cold = javaCommand(classPath);
+            cold.addAll(trainingArgs());
+            long[] coldRun = runChild(cold, log);
+            coldReady.add(coldRun[0]);
+            coldProcess.add(coldRun[1]);
+
+            List<String> archived = javaCommand(classPath);
+            archived.add(1, "-XX:SharedArchiveFile=" + archive);
+            archived.addAll(trainingArgs());
+            long[] archivedRun = runChild(archived, log);
+            archivedReady.add(archivedRun[0]);
+            archivedProcess.add(archivedRun[1]);
+        }
+        return new CdsMeasurement(coldReady, archivedReady, coldProcess, archivedProcess);
+    }
+
+    private List<String> trainingArgs() {
+        return List.of(CdsTraining.class.getName(), "--storage=" + storageOption);
+    }
+
+    private static List<String> javaCommand(String classPath) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (previewEnabled()) {
+            command.add(PREVIEW);
+        }
+        command.add("-cp");
+        command.add(classPath);
+        return command;
+    }
+
+    private static boolean previewEnabled() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().contains(PREVIEW);
+    }
+
+    /**
+     * @return {ready ms riportati dal figlio, durata del processo in ms}
+     */
+    private static long[] runChild(List<String> command, Path log) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile())
+                .start();
+        process.getOutputStream().close();
+        if (!process.waitFor(CHILD_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IOException("Esecuzione CDS oltre " + CHILD_TIMEOUT_SECONDS + " s: vedi " + log);
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        try (Stream<String> lines = Files.lines(log, StandardCharsets.UTF_8)) {
+            long ready = lines.filter(line -> line.startsWith(CdsTraining.READY_PREFIX))
+                    .mapToLong(line -> Long.parseLong(line.substring(CdsTraining.READY_PREFIX.length()).trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IOException("Percorso di avvio non completato: vedi " + log));
+            return new long[] { ready, elapsed };
+        }
+    }
+
+    /**
+     * Le directory del class path diventano JAR in {@code jarDir}: CDS
+     * archivia solo classi caricate da JAR. Le voci inesistenti vengono
+     * scartate.
+     *
+     * @return Il class path risultante, con percorsi assoluti
+     */
+    public static String packClassPath(String classPath, Path jarDir) throws IOException {
+        Files.createDirectories(jarDir);
+        List<String> entries = new ArrayList<>();
+        int index = 0;
+        for (String entry : classPath.split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (Files.isDirectory(path)) {
+                Path jar = jarDir.resolve((index++) + "-" + path.getFileName() + ".jar");
+                packDirectory(path, jar);
+                entries.add(jar.toAbsolutePath().toString());
+            } else if (Files.exists(path)) {
+                entries.add(path.toAbsolutePath().toString());
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void packDirectory(Path directory, Path jar) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        try (OutputStream out = Files.newOutputStream(jar);
+                JarOutputStream jarOut = new JarOutputStream(out, manifest);
+                Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String name = directory.relativize(file).toString().replace(File.separatorChar, '/');
+                if (name.equals("META-INF/MANIFEST.MF")) {
+                    continue;
+                }
+                jarOut.putNextEntry(new JarEntry(name));
+                Files.copy(file, jarOut);
+                jarOut.closeEntry();
+            }
+        }
+    }
+
+    private String trainedClassPath() throws IOException {
+        List<String> lines = Files.readAllLines(getArgFile(), StandardCharsets.UTF_8);
+        int cp = lines.indexOf("-cp");
+        if (cp < 0 || cp + 1 >= lines.size()) {
+            throw new IOException("File di argomenti CDS non valido: " + getArgFile());
+        }
+        return unquote(lines.get(cp + 1));
+    }
+
+    /**
+     * Racchiude un argomento tra virgolette secondo la sintassi dei file
+     * {@code @argfiles}: backslash e virgolette interne vengono protetti.
+     */
+    public static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    /** Inverso di {@link #quote(String)}. */
+    public static String unquote(String value) {
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return value;
+        }
+        StringBuilder plain = new StringBuilder(value.length());
+        for (int i = 1; i < value.length() - 1; i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length() - 1) {
+                c = value.charAt(++i);
+            }
+            plain.append(c);
+        }
+        return plain.toString();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--cds=") || arg.startsWith("--archive=") || arg.startsWith("--runs=")) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            } else {
+                appArgs.add(arg);
+            }
+        }
+        String storage = appArgs.stream().filter(a -> a.startsWith("--storage=")).findFirst()
+                .map(a -> a.substring("--storage=".length())).orElse("0");
+        CdsLauncher launcher = new Builder()
+                .archive(Path.of(options.getOrDefault("archive", DEFAULT_ARCHIVE)))
+                .storageOption(Integer.parseInt(storage))
+                .runs(Integer.parseInt(options.getOrDefault("runs", "5")))
+                .build();
+
+        String mode = options.getOrDefault("cds", "run");
+        switch (mode) {
+            case "train" -> System.out.println("Avvii successivi: java @" + launcher.train() + " [argomenti]");
+            case "measure" -> System.out.print(launcher.measure());
+            case "run" -> System.exit(launcher.run(appArgs));
+            default -> throw new IllegalArgumentException(
+                    "Modalità CDS non valida: " + mode + ". Valori accettati: train, run, measure");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package app_cds;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tempi di avvio misurati senza e con l'archivio CDS dell'applicazione.
+ *
+ * "Ready" is the time from JVM start to the end of the scripted path
+ * (dashboard and booking form shown). "Process" is the parent's wall
+ * clock time for the whole child JVM, including its shutdown. Both are
+ * medians over the runs. The cold runs still use the JDK's default CDS
+ * archive, so the difference is due to the application's classes alone.
+ */
+public final class CdsMeasurement {
+    private final List<Long> coldReady;
+    private final List<Long> archivedReady;
+    private final List<Long> coldProcess;
+    private final List<Long> archivedProcess;
+
+    CdsMeasurement(List<Long> coldReady, List<Long> archivedReady, List<Long> coldProcess,
+            List<Long> archivedProcess) {
+        this.coldReady = List.copyOf(coldReady);
+        this.archivedReady = List.copyOf(archivedReady);
+        this.coldProcess = List.copyOf(coldProcess);
+        this.archivedProcess = List.copyOf(archivedProcess);
+    }
+
+    public int getRuns() {
+        return coldReady.size();
+    }
+
+    public long getColdReadyMillis() {
+        return median(coldReady);
+    }
+
+    public long getArchivedReadyMillis() {
+        return median(archivedReady);
+    }
+
+    public long getColdProcessMillis() {
+        return median(coldProcess);
+    }
+
+    public long getArchivedProcessMillis() {
+        return median(archivedProcess);
+    }
+
+    /**
+     * @return Riduzione percentuale del tempo "ready" (negativa se peggiora)
+     */
+    public double getReadyImprovementPercent() {
+        long cold = getColdReadyMillis();
+        return (cold == 0) ? 0 : 100.0 * (cold - getArchivedReadyMillis()) / cold;
+    }
+
+    private static long median(List<Long> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CDS startup measurement (%d runs, median ms)%n"
+                + "                 ready   process%n"
+                + "  cold          %6d   %7d%n"
+                + "  archived      %6d   %7d%n"
+                + "  improvement   %5.1f%%%n",
+                getRuns(), getColdReadyMillis(), getColdProcessMillis(),
+                getArchivedReadyMillis(), getArchivedProcessMillis(), getReadyImprovementPercent());
+    }
+}
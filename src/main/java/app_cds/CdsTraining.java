@@ -0,0 +1,158 @@
+package app_cds;
+
+import authentication.AuthenticationResult;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+import login_insert_data.LoginBean;
+import login_insert_data.LoginController;
+import model.Specialista;
+import navigation.GuiViewFactory;
+import patient_dashboard.PatientDashboardController;
+import patient_dashboard.book_appointment.BookAppointmentBean;
+import patient_dashboard.book_appointment.BookAppointmentControllerApp;
+import startupconfig.StartupConfigBean;
+import startupconfig.StartupSettingsController;
+import storage_file.JsonMappers;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Percorso di avvio scriptato usato per addestrare e misurare l'archivio
+ * CDS.
+ *
+ * It follows the path of a real user: settings, login, patient dashboard
+ * and booking form. It uses the same controllers, DAOs, Jackson mappers,
+ * JDBC driver and, when a display is available, the same JavaFX views.
+ * The run ends by printing {@value #READY_PREFIX}{@code <ms since JVM
+ * start>} and exiting, and that is when the JVM dumps the dynamic archive.
+ * Without a display the JavaFX part falls back to loading the view
+ * classes.
+ */
+public final class CdsTraining {
+    public static final String READY_PREFIX = "mindlab.cds.readyMillis=";
+
+    private static final Logger LOGGER = Logger.getLogger(CdsTraining.class.getName());
+    private static final String MYSQL_DRIVER = "com.mysql.cj.jdbc.Driver";
+    private static final long FX_TIMEOUT_SECONDS = 30;
+
+    private CdsTraining() {
+    }
+
+    public static void main(String[] args) {
+        app_logging.AppLog.install();
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        int storage = Integer.parseInt(options.getOrDefault("storage", "0"));
+        StartupConfigBean config = new StartupConfigBean(true, storage);
+
+        new StartupSettingsController().processSettings(config);
+        loadJdbcDriver();
+        JsonMappers.warmUp();
+        boolean loggedIn = login(config, options.getOrDefault("email", "paziente@test.it"),
+                options.getOrDefault("password", "pass"));
+        if (loggedIn) {
+            openDashboardAndBooking(config);
+        }
+        showViews(config, loggedIn);
+
+        // Tempo letto prima di caricare le classi di management
+        long now = System.currentTimeMillis();
+        long ready = now - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println(READY_PREFIX + ready);
+        System.exit(0);
+    }
+
+    private static void loadJdbcDriver() {
+        try {
+            Class.forName(MYSQL_DRIVER);
+        } catch (ClassNotFoundException e) {
+            LOGGER.warning(() -> "Driver JDBC non trovato: " + MYSQL_DRIVER);
+        }
+    }
+
+    private static boolean login(StartupConfigBean config, String email, String password) {
+        LoginController controller = new LoginController(config);
+        AuthenticationResult result = controller.authenticate(new LoginBean(email, password));
+        if (!result.isSuccess()) {
+            LOGGER.warning(() -> "Login di addestramento fallito per " + email + ": " + result.getErrorMessage());
+            return false;
+        }
+        controller.startUserSession(result);
+        return true;
+    }
+
+    // Stesse chiamate della dashboard paziente e del form di prenotazione
+    private static void openDashboardAndBooking(StartupConfigBean config) {
+        PatientDashboardController dashboard = new PatientDashboardController();
+        dashboard.checkSession();
+        dashboard.getLoggedPatient();
+
+        BookAppointmentControllerApp booking = new BookAppointmentControllerApp();
+        List<Specialista> specialists = booking.getAvailableSpecialists(config);
+        if (!specialists.isEmpty()) {
+            BookAppointmentBean bean = new BookAppointmentBean();
+            bean.setSpecialistId(specialists.get(0).getId());
+            bean.setDate(LocalDate.now().plusDays(1));
+            booking.getAvailableSlots(bean);
+        }
+    }
+
+    private static void showViews(StartupConfigBean config, boolean loggedIn) {
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            Platform.startup(started::countDown);
+            started.await(FX_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            LOGGER.warning(() -> "Toolkit JavaFX non disponibile (" + e.getMessage()
+                    + "): addestramento delle sole classi delle viste");
+            preloadViewClasses();
+            return;
+        }
+
+        CountDownLatch shown = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                Stage stage = new Stage();
+                GuiViewFactory factory = new GuiViewFactory();
+                factory.createView("Login").show(stage, config);
+                if (loggedIn) {
+                    factory.createView("PatientDashboard").show(stage, config);
+                    factory.createView("Booking").show(stage, config);
+                }
+                stage.close();
+            } finally {
+                shown.countDown();
+            }
+        });
+        try {
+            shown.await(FX_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Platform.exit();
+    }
+
+    private static void preloadViewClasses() {
+        try {
+            GuiViewFactory.preloadViewClasses();
+        } catch (ClassNotFoundException | LinkageError e) {
+            LOGGER.log(Level.WARNING, e, () -> "Classi delle viste non caricate");
+        }
+    }
+}
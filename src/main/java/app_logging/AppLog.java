@@ -0,0 +1,78 @@
+package app_logging;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Facade di logging per i percorsi caldi (login, prenotazione, storage).
+ *
+ * The {@code [DEBUG]} traces are guarded by {@link #DEBUG}, a static final
+ * flag read once from {@code -Dmindlab.debug=true}. When it is false the
+ * JIT drops the guarded branch, so a trace costs neither a String.format
+ * nor a lambda capture. {@link #install()} puts the root handlers behind an
+ * {@link AsyncLogHandler} and a {@link SamplingFilter}, so the messages
+ * that remain never make the calling thread wait on I/O.
+ */
+public final class AppLog {
+    public static final String DEBUG_PROPERTY = "mindlab.debug";
+    public static final String ASYNC_PROPERTY = "mindlab.log.async";
+
+    /** Tracce [DEBUG] attive. Costante: il controllo costa zero quando è false. */
+    public static final boolean DEBUG = Boolean.getBoolean(DEBUG_PROPERTY);
+
+    private static final AtomicBoolean INSTALLED = new AtomicBoolean();
+
+    private AppLog() {
+        // Utility class
+    }
+
+    /**
+     * Traccia di debug, registrata a INFO come le altre tracce [DEBUG] solo
+     * se {@link #DEBUG} è attivo.
+     */
+    public static void debug(Logger logger, Supplier<String> message) {
+        if (DEBUG) {
+            logger.info(message);
+        }
+    }
+
+    /** Variante senza lambda per messaggi costanti. */
+    public static void debug(Logger logger, String message) {
+        if (DEBUG) {
+            logger.info(message);
+        }
+    }
+
+    /**
+     * Sostituisce gli handler del root logger con versioni asincrone e
+     * filtrate. Idempotente; {@code -Dmindlab.log.async=false} mantiene la
+     * scrittura sincrona ma applica comunque il campionamento.
+     */
+    public static void install() {
+        if (!INSTALLED.compareAndSet(false, true)) {
+            return;
+        }
+        boolean async = Boolean.parseBoolean(System.getProperty(ASYNC_PROPERTY, "true"));
+        SamplingFilter filter = SamplingFilter.fromSystemProperties();
+        Logger root = Logger.getLogger("");
+        for (Handler handler : root.getHandlers()) {
+            if (handler instanceof AsyncLogHandler) {
+                continue;
+            }
+            if (async) {
+                // Filtro prima della coda: i record soppressi non vengono accodati
+                AsyncLogHandler asyncHandler = new AsyncLogHandler(handler);
+                asyncHandler.setFilter(filter);
+                root.removeHandler(handler);
+                root.addHandler(asyncHandler);
+            } else {
+                handler.setFilter(filter);
+            }
+        }
+        Logger.getLogger(AppLog.class.getName()).log(Level.CONFIG,
+                "Logging configurato: async={0}, debug={1}", new Object[] { async, DEBUG });
+    }
+}
@@ -0,0 +1,146 @@
+package app_logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Handler asincrono: i thread applicativi accodano i record, un thread
+ * dedicato li scrive a blocchi sull'handler di destinazione.
+ *
+ * publish() only does a non-blocking offer on a bounded queue, so the
+ * caller never waits for console or file I/O. The writer drains up to
+ * {@code batchSize} records at a time and flushes the target once per
+ * batch instead of once per record. When the queue is full, records below
+ * WARNING are dropped and counted. The count is reported in the log on the
+ * next batch. WARNING and above are written synchronously instead.
+ */
+public final class AsyncLogHandler extends Handler {
+    static final int DEFAULT_CAPACITY = 8_192;
+    static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final Handler target;
+    private final BlockingQueue<LogRecord> queue;
+    private final int batchSize;
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong enqueued = new AtomicLong();
+    private volatile long written;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public AsyncLogHandler(Handler target) {
+        this(target, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    public AsyncLogHandler(Handler target, int capacity, int batchSize) {
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        setLevel(target.getLevel());
+        if (target.getFormatter() != null) {
+            setFormatter(target.getFormatter());
+        }
+        this.writer = Thread.ofPlatform().name("log-writer").daemon().start(this::drainLoop);
+    }
+
+    @Override
+    public void publish(LogRecord logRecord) {
+        if (closed || !isLoggable(logRecord)) {
+            return;
+        }
+        // Il chiamante va calcolato sul thread che logga, non sul writer
+        logRecord.getSourceClassName();
+        if (queue.offer(logRecord)) {
+            enqueued.incrementAndGet();
+        } else {
+            if (logRecord.getLevel().intValue() >= Level.WARNING.intValue()) {
+                target.publish(logRecord);
+            } else {
+                dropped.increment();
+            }
+        }
+    }
+
+    /** Record scartati finora perché la coda era piena. */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * Attende che i record accodati finora siano scritti (al massimo un
+     * secondo), poi svuota il buffer della destinazione.
+     */
+    @Override
+    public void flush() {
+        long pending = enqueued.get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (written < pending && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        target.flush();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Quanto rimasto in coda viene scritto dal thread che chiude
+        List<LogRecord> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.forEach(target::publish);
+        target.close();
+    }
+
+    private void drainLoop() {
+        List<LogRecord> batch = new ArrayList<>(batchSize);
+        long reportedDrops = 0;
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                long drops = dropped.sum();
+                if (drops > reportedDrops) {
+                    target.publish(droppedRecord(drops - reportedDrops));
+                    reportedDrops = drops;
+                }
+                for (LogRecord logRecord : batch) {
+                    target.publish(logRecord);
+                }
+                target.flush();
+            } catch (RuntimeException e) {
+                reportError("Scrittura del log fallita", e, ErrorManager.WRITE_FAILURE);
+            }
+            written += batch.size();
+            batch.clear();
+        }
+    }
+
+    private static LogRecord droppedRecord(long count) {
+        LogRecord logRecord = new LogRecord(Level.WARNING, count + " messaggi di log scartati: coda piena");
+        logRecord.setLoggerName(AsyncLogHandler.class.getName());
+        return logRecord;
+    }
+}
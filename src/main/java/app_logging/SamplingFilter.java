@@ -0,0 +1,159 @@
+package app_logging;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Filter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Campionamento e limite di frequenza dei log, per categoria.
+ *
+ * The category of a record is its logger name. The most specific
+ * configured prefix wins, e.g. {@code storage_file} covers every
+ * FileManager. Below WARNING a record passes only if it is:
+ * <ul>
+ * <li>sampled: one in {@code mindlab.log.sample.<category>} records;</li>
+ * <li>within the rate limit: at most {@code mindlab.log.rate.<category>}
+ * records per second, default {@code mindlab.log.rate} =
+ * {@value #DEFAULT_RATE_PER_SECOND}.</li>
+ * </ul>
+ * WARNING and above always pass. Whenever a category suppressed records in
+ * the previous second, the count is logged once.
+ */
+public final class SamplingFilter implements Filter {
+    public static final String RATE_PROPERTY = "mindlab.log.rate";
+    public static final String SAMPLE_PROPERTY = "mindlab.log.sample";
+    static final int DEFAULT_RATE_PER_SECOND = 100;
+
+    private static final Logger SUMMARY = Logger.getLogger(SamplingFilter.class.getName());
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, Integer> rates;
+    private final Map<String, Integer> samples;
+    private final int defaultRate;
+    private final LongSupplier nanoClock;
+    private final Map<String, Category> categories = new ConcurrentHashMap<>();
+
+    SamplingFilter(int defaultRate, Map<String, Integer> rates, Map<String, Integer> samples,
+            LongSupplier nanoClock) {
+        this.defaultRate = defaultRate;
+        this.rates = Map.copyOf(rates);
+        this.samples = Map.copyOf(samples);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Legge la configurazione dalle proprietà di sistema, es.
+     * {@code -Dmindlab.log.rate=50 -Dmindlab.log.rate.storage_file=5
+     * -Dmindlab.log.sample.authentication=10}.
+     */
+    public static SamplingFilter fromSystemProperties() {
+        return fromProperties(System.getProperties());
+    }
+
+    public static SamplingFilter fromProperties(Properties properties) {
+        Map<String, Integer> rates = new ConcurrentHashMap<>();
+        Map<String, Integer> samples = new ConcurrentHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(RATE_PROPERTY + ".")) {
+                rates.put(name.substring(RATE_PROPERTY.length() + 1), positive(properties.getProperty(name)));
+            } else if (name.startsWith(SAMPLE_PROPERTY + ".")) {
+                samples.put(name.substring(SAMPLE_PROPERTY.length() + 1), positive(properties.getProperty(name)));
+            }
+        }
+        int defaultRate = positive(properties.getProperty(RATE_PROPERTY, String.valueOf(DEFAULT_RATE_PER_SECOND)));
+        return new SamplingFilter(defaultRate, rates, samples, System::nanoTime);
+    }
+
+    @Override
+    public boolean isLoggable(LogRecord logRecord) {
+        String loggerName = logRecord.getLoggerName();
+        if (logRecord.getLevel().intValue() >= Level.WARNING.intValue() || SUMMARY.getName().equals(loggerName)) {
+            return true;
+        }
+        Category category = categories.computeIfAbsent(loggerName == null ? "" : loggerName, this::resolve);
+        return category.admit(nanoClock.getAsLong());
+    }
+
+    /** Record soppressi finora per il logger indicato. */
+    public long getSuppressed(String loggerName) {
+        Category category = categories.get(loggerName);
+        return category == null ? 0 : category.totalSuppressed.sum();
+    }
+
+    private Category resolve(String loggerName) {
+        return new Category(loggerName, mostSpecific(rates, loggerName, defaultRate),
+                mostSpecific(samples, loggerName, 1), nanoClock.getAsLong());
+    }
+
+    private static int mostSpecific(Map<String, Integer> config, String loggerName, int fallback) {
+        String key = loggerName;
+        while (true) {
+            Integer value = config.get(key);
+            if (value != null) {
+                return value;
+            }
+            int dot = key.lastIndexOf('.');
+            if (dot < 0) {
+                return fallback;
+            }
+            key = key.substring(0, dot);
+        }
+    }
+
+    private static int positive(String value) {
+        int parsed = Integer.parseInt(value.trim());
+        if (parsed < 1) {
+            throw new IllegalArgumentException("Valore non valido per il filtro dei log: " + value);
+        }
+        return parsed;
+    }
+
+    private static final class Category {
+        private final String name;
+        private final int ratePerSecond;
+        private final int sampleEvery;
+        private final AtomicLong sequence = new AtomicLong();
+        // Finestra corrente di un secondo: inizio, record ammessi e soppressi
+        private final AtomicLong windowStart;
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+        private final LongAdder totalSuppressed = new LongAdder();
+
+        Category(String name, int ratePerSecond, int sampleEvery, long now) {
+            this.name = name;
+            this.ratePerSecond = ratePerSecond;
+            this.sampleEvery = sampleEvery;
+            this.windowStart = new AtomicLong(now);
+        }
+
+        boolean admit(long now) {
+            if (sampleEvery > 1 && sequence.getAndIncrement() % sampleEvery != 0) {
+                totalSuppressed.increment();
+                return false;
+            }
+            long start = windowStart.get();
+            if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+                admitted.set(0);
+                long previous = suppressed.getAndSet(0);
+                if (previous > 0) {
+                    SUMMARY.info(() -> String.format("%d messaggi soppressi per '%s' (limite %d/s)",
+                            previous, name, ratePerSecond));
+                }
+            }
+            if (admitted.incrementAndGet() <= ratePerSecond) {
+                return true;
+            }
+            suppressed.incrementAndGet();
+            totalSuppressed.increment();
+            return false;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package authentication;
 
+import app_logging.AppLog;
+import flight_recorder.LoginEvent;
+import flight_recorder.StorageEvent;
 import login_insert_data.LoginBean;
 import model.Paziente;
 import model.Specialista;
@@ -17,22 +20,70 @@ public class AuthenticationService {
 
         private final UserDAO<Paziente> pazienteDAO;
         private final UserDAO<Specialista> specialistaDAO;
+        private final CredentialIndex credentialIndex;
+        private final String backend;
 
         public AuthenticationService(UserDAO<Paziente> pazDAO, UserDAO<Specialista> specDAO) {
+                this(pazDAO, specDAO, new CredentialIndex());
+        }
+
+        /**
+         * @param index Indice email -> ruolo condiviso (es. per opzione di storage)
+         */
+        public AuthenticationService(UserDAO<Paziente> pazDAO, UserDAO<Specialista> specDAO, CredentialIndex index) {
+                this(pazDAO, specDAO, index, (String) null);
+        }
+
+        /**
+         * @param index         Indice email -> ruolo condiviso (es. per opzione di storage)
+         * @param storageOption Opzione di storage dei DAO, riportata negli eventi JFR
+         */
+        public AuthenticationService(UserDAO<Paziente> pazDAO, UserDAO<Specialista> specDAO, CredentialIndex index,
+                        int storageOption) {
+                this(pazDAO, specDAO, index, StorageEvent.backendName(storageOption));
+        }
+
+        private AuthenticationService(UserDAO<Paziente> pazDAO, UserDAO<Specialista> specDAO, CredentialIndex index,
+                        String backend) {
                 this.pazienteDAO = pazDAO;
                 this.specialistaDAO = specDAO;
+                this.credentialIndex = index;
+                this.backend = backend;
         }
 
         /**
          * Autentica un utente determinando automaticamente se è un Paziente o uno
          * Specialista.
-         * Prova prima l'autenticazione come Paziente, poi come Specialista.
+         * Il ruolo viene letto dall'indice delle credenziali, quindi viene
+         * interrogato un solo DAO; per email non indicizzate si provano solo i
+         * ruoli ammessi dai Bloom filter (prima Paziente, poi Specialista) e
+         * l'indice viene aggiornato. Le email sicuramente sconosciute vengono
+         * rifiutate senza accedere allo storage.
          * 
          * @param loginBean Bean contenente email e password
          * @return AuthenticationResult con l'esito dell'autenticazione
          */
         public AuthenticationResult authenticate(LoginBean loginBean) {
-                LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Entering AuthenticationService.authenticate",
+                LoginEvent event = new LoginEvent();
+                event.begin();
+                AuthenticationResult result = null;
+                try {
+                        result = authenticateUser(loginBean);
+                        return result;
+                } finally {
+                        if (event.shouldCommit()) {
+                                // Il nome della classe direbbe "MeteredUserDAO" con le metriche attive
+                                event.dao = backend;
+                                event.success = result != null && result.isSuccess();
+                                event.userType = result != null ? result.getUserType() : null;
+                                event.commit();
+                        }
+                }
+        }
+
+        private AuthenticationResult authenticateUser(LoginBean loginBean) {
+                AppLog.debug(LOGGER,
+                        () -> String.format("[DEBUG][Thread: %s] Entering AuthenticationService.authenticate",
                                 Thread.currentThread().getName()));
 
                 if (loginBean == null || loginBean.getEmail() == null || loginBean.getPassword() == null) {
@@ -45,30 +96,84 @@ public class AuthenticationService {
                 String email = loginBean.getEmail();
                 String password = loginBean.getPassword();
 
-                LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Tentativo di autenticazione per: %s",
+                AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Tentativo di autenticazione per: %s",
                                 Thread.currentThread().getName(), email));
 
+                credentialIndex.ensureLoaded(pazienteDAO, specialistaDAO);
+                Optional<CredentialIndex.Entry> entry = credentialIndex.lookup(email);
+                if (entry.isPresent()) {
+                        return authenticateAs(entry.get().getRole(), email, password);
+                }
+                return authenticateUnindexed(email, password);
+        }
+
+        /**
+         * Una sola ricerca nel DAO del ruolo indicato.
+         * Una password errata non richiede altre letture: la voce dell'indice
+         * dice già che l'account esiste con questo ruolo. Le voci obsolete
+         * spariscono al successivo ricaricamento dell'indice.
+         */
+        private AuthenticationResult authenticateAs(CredentialIndex.Role role, String email, String password) {
+                AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Autenticazione indicizzata come %s",
+                                Thread.currentThread().getName(), role.getUserType()));
+                UserDAO<?> dao = (role == CredentialIndex.Role.PATIENT) ? pazienteDAO : specialistaDAO;
+                Optional<?> user = dao.authenticateByEmailAndPassword(email, password);
+                if (user.isPresent()) {
+                        AppLog.debug(LOGGER, () -> String.format(
+                                        "[DEBUG][Thread: %s] Autenticazione come %s riuscita per: %s",
+                                        Thread.currentThread().getName(), role.getUserType(), email));
+                        return AuthenticationResult.success(role.getUserType(), user.get());
+                }
+                LOGGER.warning(() -> String.format("[DEBUG][Thread: %s] Autenticazione fallita per: %s",
+                                Thread.currentThread().getName(), email));
+                return AuthenticationResult.failure("Credenziali non valide");
+        }
+
+        /**
+         * Percorso legacy per email non presenti nell'indice.
+         */
+        private AuthenticationResult authenticateUnindexed(String email, String password) {
+                boolean maybePatient = credentialIndex.mightExist(email, CredentialIndex.Role.PATIENT);
+                boolean maybeSpecialist = credentialIndex.mightExist(email, CredentialIndex.Role.SPECIALIST);
+                if (!maybePatient && !maybeSpecialist) {
+                        // Email sicuramente sconosciuta: nessun accesso allo storage, ma lo
+                        // stesso costo bcrypt di un login vero
+                        PasswordHasher.getInstance().verifyDummy(password);
+                        LOGGER.warning(() -> String.format(
+                                        "[DEBUG][Thread: %s] Email sconosciuta, login rifiutato: %s",
+                                        Thread.currentThread().getName(), email));
+                        return AuthenticationResult.failure("Credenziali non valide");
+                }
+
                 // 1. Prova autenticazione come Paziente
-                LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Prova autenticazione come Paziente",
+                AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Prova autenticazione come Paziente",
                                 Thread.currentThread().getName()));
 
-                Optional<Paziente> paziente = pazienteDAO.authenticateByEmailAndPassword(email, password);
+                Optional<Paziente> paziente = maybePatient
+                                ? pazienteDAO.authenticateByEmailAndPassword(email, password)
+                                : Optional.empty();
                 if (paziente.isPresent()) {
-                        LOGGER.info(() -> String.format(
+                        AppLog.debug(LOGGER, () -> String.format(
                                         "[DEBUG][Thread: %s] Autenticazione come Paziente riuscita per: %s",
                                         Thread.currentThread().getName(), email));
+                        credentialIndex.register(email, CredentialIndex.Role.PATIENT,
+                                        paziente.get().getCodiceFiscalePaziente());
                         return AuthenticationResult.success("Patient", paziente.get());
                 }
 
                 // 2. Prova autenticazione come Specialista
-                LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Prova autenticazione come Specialista",
+                AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Prova autenticazione come Specialista",
                                 Thread.currentThread().getName()));
 
-                Optional<Specialista> specialista = specialistaDAO.authenticateByEmailAndPassword(email, password);
+                Optional<Specialista> specialista = maybeSpecialist
+                                ? specialistaDAO.authenticateByEmailAndPassword(email, password)
+                                : Optional.empty();
                 if (specialista.isPresent()) {
-                        LOGGER.info(() -> String.format(
+                        AppLog.debug(LOGGER, () -> String.format(
                                         "[DEBUG][Thread: %s] Autenticazione come Specialista riuscita per: %s",
                                         Thread.currentThread().getName(), email));
+                        credentialIndex.register(email, CredentialIndex.Role.SPECIALIST,
+                                        String.valueOf(specialista.get().getId()));
                         return AuthenticationResult.success("Specialist", specialista.get());
                 }
 
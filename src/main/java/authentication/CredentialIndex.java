@@ -0,0 +1,281 @@
+package authentication;
+
+import model.Paziente;
+import model.Specialista;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Indice unificato delle credenziali: email -> (ruolo, id).
+ *
+ * Built per storage option from both actor types, so authentication knows
+ * which DAO owns an email before fetching any record. Entries are added as
+ * logins discover accounts the index does not reflect.
+ *
+ * Each role also has an {@link EmailBloomFilter}, filled by the same load and
+ * by {@link #register}: an email that is neither indexed nor possibly in a
+ * filter is rejected without any storage access. The filters are trusted
+ * only after a load that returned at least one account. An empty load (e.g.
+ * MySQL not up yet, since the DB strategies return an empty list on error)
+ * leaves every email to the DAOs and is retried after
+ * {@link #EMPTY_LOAD_RETRY}. A trusted index is rebuilt after its TTL
+ * ({@value #TTL_PROPERTY}, in seconds), so accounts created outside the
+ * application can log in and removed accounts leave the index. Logins keep
+ * using the previous snapshot while it is rebuilt.
+ */
+public final class CredentialIndex {
+    private static final Logger LOGGER = Logger.getLogger(CredentialIndex.class.getName());
+
+    public static final String TTL_PROPERTY = "mindlab.credentials.ttl";
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(2);
+    static final Duration EMPTY_LOAD_RETRY = Duration.ofSeconds(5);
+
+    private static final Map<Integer, CredentialIndex> BY_STORAGE = new ConcurrentHashMap<>();
+
+    /**
+     * Ruolo dell'utente, con lo stesso userType usato da AuthenticationResult.
+     */
+    public enum Role {
+        PATIENT("Patient"),
+        SPECIALIST("Specialist");
+
+        private final String userType;
+
+        Role(String userType) {
+            this.userType = userType;
+        }
+
+        public String getUserType() {
+            return userType;
+        }
+    }
+
+    /**
+     * Voce dell'indice: ruolo e identificativo (CF per i pazienti, id per gli
+     * specialisti).
+     */
+    public static final class Entry {
+        private final Role role;
+        private final String id;
+
+        Entry(Role role, String id) {
+            this.role = role;
+            this.id = id;
+        }
+
+        public Role getRole() {
+            return role;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    /**
+     * Risultato di un caricamento: voci, filtri e istante del caricamento.
+     */
+    private static final class Snapshot {
+        private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<Role, EmailBloomFilter> filters = new EnumMap<>(Role.class);
+        private final long loadedAtNanos;
+        private boolean trusted;
+
+        Snapshot(int patients, int specialists, long loadedAtNanos) {
+            // Capacità doppia per lasciare spazio alle registrazioni successive
+            filters.put(Role.PATIENT, new EmailBloomFilter(patients * 2));
+            filters.put(Role.SPECIALIST, new EmailBloomFilter(specialists * 2));
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+        void add(String email, Entry entry) {
+            entries.put(key(email), entry);
+            filters.get(entry.getRole()).add(email);
+        }
+    }
+
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+    // Registrazioni avvenute durante un ricaricamento, riportate nel nuovo snapshot
+    private volatile ConcurrentHashMap<String, Entry> pending;
+
+    /**
+     * Indice privato (non condiviso), caricato al primo utilizzo.
+     */
+    public CredentialIndex() {
+        // Use forStorage(...) for the shared instance of a storage option
+        this(configuredTtl(), System::nanoTime);
+    }
+
+    /**
+     * @param ttl       Età massima di un indice caricato prima di ricostruirlo.
+     * @param nanoClock Sorgente del tempo in nanosecondi (iniettabile nei test).
+     */
+    public CredentialIndex(Duration ttl, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the shared index of a storage option (not loaded yet on first
+     * call).
+     */
+    public static CredentialIndex forStorage(int storageOption) {
+        return BY_STORAGE.computeIfAbsent(storageOption, _ -> new CredentialIndex());
+    }
+
+    /**
+     * Drops every shared index (they are rebuilt on next use).
+     */
+    public static void invalidateAll() {
+        BY_STORAGE.clear();
+    }
+
+    /**
+     * Loads the index from both DAOs the first time it is needed, and
+     * rebuilds it once it has expired.
+     */
+    public void ensureLoaded(UserDAO<Paziente> pazienteDAO, UserDAO<Specialista> specialistaDAO) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    load(pazienteDAO, specialistaDAO);
+                }
+            }
+        } else if (isExpired(current) && reloading.compareAndSet(false, true)) {
+            try {
+                if (snapshot == current) {
+                    load(pazienteDAO, specialistaDAO);
+                }
+            } finally {
+                reloading.set(false);
+            }
+        }
+    }
+
+    /**
+     * @return true once a load has returned at least one account, i.e. the
+     *         Bloom filters may reject emails.
+     */
+    public boolean isTrusted() {
+        Snapshot current = snapshot;
+        return current != null && current.trusted;
+    }
+
+    private boolean isExpired(Snapshot current) {
+        long maxAge = current.trusted ? ttlNanos : Math.min(ttlNanos, EMPTY_LOAD_RETRY.toNanos());
+        return nanoClock.getAsLong() - current.loadedAtNanos >= maxAge;
+    }
+
+    private void load(UserDAO<Paziente> pazienteDAO, UserDAO<Specialista> specialistaDAO) {
+        ConcurrentHashMap<String, Entry> registered = new ConcurrentHashMap<>();
+        pending = registered;
+        try {
+            List<Paziente> pazienti = pazienteDAO.getAllInstanceOfActor();
+            List<Specialista> specialisti = specialistaDAO.getAllInstanceOfActor();
+            pazienti = (pazienti != null) ? pazienti : List.of();
+            specialisti = (specialisti != null) ? specialisti : List.of();
+
+            Snapshot next = new Snapshot(pazienti.size(), specialisti.size(), nanoClock.getAsLong());
+            for (Paziente p : pazienti) {
+                if (p.getEmail() != null) {
+                    next.add(p.getEmail(), new Entry(Role.PATIENT, p.getCodiceFiscalePaziente()));
+                }
+            }
+            for (Specialista s : specialisti) {
+                if (s.getEmail() != null) {
+                    next.add(s.getEmail(), new Entry(Role.SPECIALIST, String.valueOf(s.getId())));
+                }
+            }
+            next.trusted = !next.entries.isEmpty();
+            snapshot = next;
+            pending = null;
+            registered.forEach(next::add);
+
+            if (next.trusted) {
+                LOGGER.info(() -> String.format("[DEBUG][Thread: %s] CredentialIndex loaded: %d entries",
+                        Thread.currentThread().getName(), next.entries.size()));
+            } else {
+                LOGGER.warning(() -> String.format("CredentialIndex vuoto (storage non disponibile?): "
+                        + "filtri disattivati, nuovo tentativo tra %d s", EMPTY_LOAD_RETRY.toSeconds()));
+            }
+        } finally {
+            pending = null;
+        }
+    }
+
+    private static Duration configuredTtl() {
+        String configured = System.getProperty(TTL_PROPERTY);
+        if (configured != null) {
+            try {
+                return Duration.ofSeconds(Math.max(1, Long.parseLong(configured.trim())));
+            } catch (NumberFormatException e) {
+                LOGGER.warning(() -> "Valore non valido per " + TTL_PROPERTY + ": " + configured);
+            }
+        }
+        return DEFAULT_TTL;
+    }
+
+    public Optional<Entry> lookup(String email) {
+        Snapshot current = snapshot;
+        return (email == null || current == null) ? Optional.empty()
+                : Optional.ofNullable(current.entries.get(key(email)));
+    }
+
+    /**
+     * Adds an account to the index and to its role's filter (e.g. on
+     * registration).
+     */
+    public void register(String email, Role role, String id) {
+        if (email == null || role == null) {
+            return;
+        }
+        Entry entry = new Entry(role, id);
+        // Prima le registrazioni in sospeso, poi lo snapshot: un ricaricamento concorrente non le perde
+        ConcurrentHashMap<String, Entry> reloadPending = pending;
+        if (reloadPending != null) {
+            reloadPending.put(email, entry);
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.add(email, entry);
+        }
+    }
+
+    /**
+     * @return false if the email certainly has no account with this role
+     *         (always true until a load has returned some accounts).
+     */
+    public boolean mightExist(String email, Role role) {
+        Snapshot current = snapshot;
+        return current == null || !current.trusted || current.filters.get(role).mightContain(email);
+    }
+
+    public void remove(String email) {
+        Snapshot current = snapshot;
+        if (email != null && current != null) {
+            current.entries.remove(key(email));
+        }
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return (current == null) ? 0 : current.entries.size();
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
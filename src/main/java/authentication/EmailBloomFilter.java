@@ -0,0 +1,103 @@
+package authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of e-mail addresses, used to reject definitely-unknown login
+ * emails without touching storage.
+ *
+ * No false negatives: an email that was added always "might" be contained.
+ * False positives stay around {@link #FALSE_POSITIVE_RATE} up to the
+ * expected capacity. Additions are lock-free, so the filter can be updated
+ * while logins read it.
+ */
+public final class EmailBloomFilter {
+    static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final AtomicLongArray words;
+    private final int bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedEmails Number of emails the filter should hold at the
+     *                       target false-positive rate.
+     */
+    public EmailBloomFilter(int expectedEmails) {
+        int n = Math.max(expectedEmails, MIN_CAPACITY);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-n * Math.log(FALSE_POSITIVE_RATE) / (ln2 * ln2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63L, (bits + 63) & ~63L);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * ln2));
+        this.words = new AtomicLongArray(bitCount >>> 6);
+    }
+
+    public void add(String email) {
+        if (email == null) {
+            return;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int index = bit >>> 6;
+            long current;
+            do {
+                current = words.get(index);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    /**
+     * @return false if the email was certainly never added.
+     */
+    public boolean mightContain(String email) {
+        if (email == null) {
+            return false;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getBitCount() {
+        return bitCount;
+    }
+
+    int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * 64-bit FNV-1a of the normalized email, finished with a murmur mixer so
+     * both halves are usable as independent hashes.
+     */
+    private static long hash(String email) {
+        byte[] bytes = email.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h | 1L << 32; // Secondo hash dispari: i k indici restano distinti
+    }
+}
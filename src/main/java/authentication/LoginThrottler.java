@@ -0,0 +1,329 @@
+package authentication;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Limitatore dei tentativi di login, posto davanti all'AuthenticationService.
+ *
+ * Two token buckets guard every attempt: a global one bounding the total
+ * login rate, and one per email bounding attempts on a single account.
+ * Repeated failures on an account add an exponential backoff on top; a
+ * failure streak expires {@link #STREAK_IDLE_MILLIS} after its backoff ends.
+ * All state is updated with CAS, so concurrent logins never block each other.
+ *
+ * The per-account map is bounded: past {@link #MAX_TRACKED_ACCOUNTS} a
+ * single pruner drops idle accounts and then, if still needed, the least
+ * recently seen ones, down to {@link #PRUNE_TARGET}. Pruning therefore runs
+ * once every few thousand new emails, not on every attempt.
+ */
+public final class LoginThrottler {
+    private static final Logger LOGGER = Logger.getLogger(LoginThrottler.class.getName());
+
+    static final int GLOBAL_CAPACITY = 50;
+    static final double GLOBAL_REFILL_PER_SECOND = 20;
+    static final int ACCOUNT_CAPACITY = 5;
+    static final double ACCOUNT_REFILL_PER_SECOND = 1.0 / 12; // 5 tentativi al minuto
+    static final int FAILURES_BEFORE_BACKOFF = 3;
+    static final long BASE_BACKOFF_MILLIS = 1_000;
+    static final long MAX_BACKOFF_MILLIS = 5 * 60 * 1_000L;
+    static final long STREAK_IDLE_MILLIS = 15 * 60 * 1_000L;
+    static final int MAX_TRACKED_ACCOUNTS = 10_000;
+    static final int PRUNE_TARGET = MAX_TRACKED_ACCOUNTS * 3 / 4;
+
+    /**
+     * Esito di un tentativo.
+     */
+    public enum Outcome {
+        ALLOWED,
+        REJECTED_GLOBAL,
+        REJECTED_ACCOUNT,
+        REJECTED_BACKOFF
+    }
+
+    /**
+     * Decisione del limitatore, con il tempo di attesa suggerito.
+     */
+    public static final class Decision {
+        private static final Decision ALLOW = new Decision(Outcome.ALLOWED, 0);
+
+        private final Outcome outcome;
+        private final long retryAfterMillis;
+
+        private Decision(Outcome outcome, long retryAfterMillis) {
+            this.outcome = outcome;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        public boolean isAllowed() {
+            return outcome == Outcome.ALLOWED;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public long getRetryAfterMillis() {
+            return retryAfterMillis;
+        }
+    }
+
+    private final LongSupplier nanoClock;
+    private final TokenBucket global;
+    private final ConcurrentHashMap<String, Account> accounts = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedGlobal = new LongAdder();
+    private final LongAdder rejectedAccount = new LongAdder();
+    private final LongAdder rejectedBackoff = new LongAdder();
+
+    // Bill Pugh Singleton: un solo limitatore per tutti i LoginController
+    private static final class Holder {
+        private static final LoginThrottler INSTANCE = new LoginThrottler(System::nanoTime);
+    }
+
+    public static LoginThrottler getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @param nanoClock Sorgente del tempo in nanosecondi (iniettabile nei test).
+     */
+    public LoginThrottler(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.global = new TokenBucket(GLOBAL_CAPACITY, GLOBAL_REFILL_PER_SECOND, nanoClock.getAsLong());
+    }
+
+    /**
+     * Consumes one attempt for the email, if allowed.
+     */
+    public Decision tryAcquire(String email) {
+        long now = nanoClock.getAsLong();
+        Account account = accountOf(email, now);
+
+        long blockedFor = account.backoffRemainingMillis(now);
+        if (blockedFor > 0) {
+            rejectedBackoff.increment();
+            return new Decision(Outcome.REJECTED_BACKOFF, blockedFor);
+        }
+        long accountWait = account.bucket.tryConsume(now);
+        if (accountWait > 0) {
+            rejectedAccount.increment();
+            return new Decision(Outcome.REJECTED_ACCOUNT, accountWait);
+        }
+        long globalWait = global.tryConsume(now);
+        if (globalWait > 0) {
+            // Il tentativo non è avvenuto: il sovraccarico globale non consuma i token dell'utente
+            account.bucket.refund();
+            rejectedGlobal.increment();
+            return new Decision(Outcome.REJECTED_GLOBAL, globalWait);
+        }
+        allowed.increment();
+        return Decision.ALLOW;
+    }
+
+    /**
+     * Resets the failure streak of the account.
+     */
+    public void recordSuccess(String email) {
+        Account account = accounts.get(key(email));
+        if (account != null) {
+            account.failures.set(FailureState.NONE);
+        }
+    }
+
+    /**
+     * Extends the failure streak and, past the threshold, doubles the
+     * backoff of the account.
+     */
+    public void recordFailure(String email) {
+        long now = nanoClock.getAsLong();
+        Account account = accountOf(email, now);
+        account.failures.updateAndGet(state -> {
+            int streak = (state.isExpired(now) ? 0 : state.streak) + 1;
+            if (streak < FAILURES_BEFORE_BACKOFF) {
+                return new FailureState(streak, 0, now);
+            }
+            int exponent = Math.min(streak - FAILURES_BEFORE_BACKOFF, 20);
+            long backoff = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << exponent);
+            return new FailureState(streak, now + TimeUnit.MILLISECONDS.toNanos(backoff), now);
+        });
+    }
+
+    /**
+     * @return Numero di account attualmente tracciati.
+     */
+    public int getTrackedAccountCount() {
+        return accounts.size();
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedGlobalCount() {
+        return rejectedGlobal.sum();
+    }
+
+    public long getRejectedAccountCount() {
+        return rejectedAccount.sum();
+    }
+
+    public long getRejectedBackoffCount() {
+        return rejectedBackoff.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedGlobal.sum() + rejectedAccount.sum() + rejectedBackoff.sum();
+    }
+
+    private Account accountOf(String email, long now) {
+        if (accounts.size() >= MAX_TRACKED_ACCOUNTS && pruning.compareAndSet(false, true)) {
+            try {
+                prune(now);
+            } finally {
+                pruning.set(false);
+            }
+        }
+        Account account = accounts.computeIfAbsent(key(email),
+                _ -> new Account(new TokenBucket(ACCOUNT_CAPACITY, ACCOUNT_REFILL_PER_SECOND, now)));
+        account.lastSeenNanos = now;
+        return account;
+    }
+
+    private void prune(long now) {
+        // Prima gli account inattivi: bucket pieno e nessuna serie di errori in corso
+        accounts.values().removeIf(a -> a.isIdle(now));
+        int excess = accounts.size() - PRUNE_TARGET;
+        if (excess > 0) {
+            // Poi i meno recenti, per limitare la mappa anche con molte email diverse che falliscono
+            // Istanti copiati prima di ordinare: i login concorrenti li aggiornano
+            accounts.entrySet().stream()
+                    .map(e -> Map.entry(e.getKey(), e.getValue().lastSeenNanos))
+                    .sorted(Map.Entry.comparingByValue())
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(accounts::remove);
+        }
+        LOGGER.fine(() -> "[DEBUG] LoginThrottler pruned accounts, tracked: " + accounts.size());
+    }
+
+    private static String key(String email) {
+        return (email == null) ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Stato dei fallimenti consecutivi di un account (immutabile, per CAS).
+     */
+    private static final class FailureState {
+        private static final FailureState NONE = new FailureState(0, 0, 0);
+
+        private final int streak;
+        private final long blockedUntilNanos;
+        private final long lastFailureNanos;
+
+        FailureState(int streak, long blockedUntilNanos, long lastFailureNanos) {
+            this.streak = streak;
+            this.blockedUntilNanos = blockedUntilNanos;
+            this.lastFailureNanos = lastFailureNanos;
+        }
+
+        /**
+         * @return true if no streak is running, or if it has been idle for
+         *         {@link #STREAK_IDLE_MILLIS} since its backoff ended.
+         */
+        boolean isExpired(long now) {
+            if (streak == 0) {
+                return true;
+            }
+            long quietSince = Math.max(blockedUntilNanos, lastFailureNanos);
+            return now - quietSince >= TimeUnit.MILLISECONDS.toNanos(STREAK_IDLE_MILLIS);
+        }
+    }
+
+    private static final class Account {
+        private final TokenBucket bucket;
+        private final AtomicReference<FailureState> failures = new AtomicReference<>(FailureState.NONE);
+        private volatile long lastSeenNanos;
+
+        Account(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+
+        long backoffRemainingMillis(long now) {
+            long until = failures.get().blockedUntilNanos;
+            return (until > now) ? Math.max(1, TimeUnit.NANOSECONDS.toMillis(until - now)) : 0;
+        }
+
+        boolean isIdle(long now) {
+            return failures.get().isExpired(now) && bucket.isFull(now);
+        }
+    }
+
+    /**
+     * Token bucket lock-free: i token sono memorizzati in micro-unità insieme
+     * all'istante dell'ultimo aggiornamento in un unico stato immutabile.
+     */
+    private static final class TokenBucket {
+        private static final long UNIT = 1_000_000; // micro-token per token
+
+        private final long capacity;
+        private final double refillPerNano;
+        private final AtomicReference<long[]> state; // {microTokens, lastNanos}
+
+        TokenBucket(int capacity, double refillPerSecond, long now) {
+            this.capacity = capacity * UNIT;
+            this.refillPerNano = refillPerSecond * UNIT / 1e9;
+            this.state = new AtomicReference<>(new long[] { this.capacity, now });
+        }
+
+        /**
+         * @return 0 if a token was consumed, otherwise the milliseconds until
+         *         the next token.
+         */
+        long tryConsume(long now) {
+            while (true) {
+                long[] current = state.get();
+                long tokens = refilled(current, now);
+                if (tokens < UNIT) {
+                    return Math.max(1, (long) Math.ceil((UNIT - tokens) / refillPerNano / 1e6));
+                }
+                long[] next = { tokens - UNIT, Math.max(now, current[1]) };
+                if (state.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Restituisce un token consumato da un tentativo poi non avvenuto.
+         */
+        void refund() {
+            while (true) {
+                long[] current = state.get();
+                long[] next = { Math.min(capacity, current[0] + UNIT), current[1] };
+                if (state.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return refilled(state.get(), now) >= capacity;
+        }
+
+        private long refilled(long[] current, long now) {
+            long elapsed = Math.max(0, now - current[1]);
+            return (long) Math.min(capacity, current[0] + elapsed * refillPerNano);
+        }
+    }
+}
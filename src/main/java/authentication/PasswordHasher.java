@@ -0,0 +1,194 @@
+package authentication;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Hashing e verifica delle password con bcrypt.
+ *
+ * The work factor is calibrated once, the first time the hasher is used, so
+ * that a hash costs roughly {@link #TARGET_HASH_MILLIS} on this machine
+ * (override with the {@code mindlab.bcrypt.cost} system property).
+ * Verifications can be offloaded to a small bounded CPU pool: when its queue
+ * is full new work is rejected instead of piling up behind slow hashes.
+ *
+ * Stored values that are not bcrypt hashes are treated as legacy plain-text
+ * passwords, so existing accounts keep working until they are rehashed on
+ * their next login. Hashes are only ever upgraded: a start that calibrates
+ * a lower cost leaves stronger existing hashes alone.
+ *
+ * {@link #verifyDummy(String)} spends the same bcrypt work on logins for
+ * unknown emails, so response times do not reveal which accounts exist.
+ */
+public final class PasswordHasher {
+    private static final Logger LOGGER = Logger.getLogger(PasswordHasher.class.getName());
+
+    public static final String COST_PROPERTY = "mindlab.bcrypt.cost";
+    static final long TARGET_HASH_MILLIS = 100;
+    // Default di jbcrypt (BCrypt.gensalt()): la calibrazione non scende mai sotto
+    static final int MIN_COST = 10;
+    static final int MAX_COST = 14;
+    private static final int BCRYPT_MIN_COST = 4;
+    private static final int BCRYPT_MAX_COST = 31;
+    private static final int QUEUE_CAPACITY = 32;
+
+    private final int cost;
+    private final String dummyHash;
+    private final ThreadPoolExecutor executor;
+
+    private PasswordHasher(int cost) {
+        this.cost = cost;
+        this.dummyHash = BCrypt.hashpw("dummy-password", BCrypt.gensalt(cost));
+        int threads = Math.clamp(Runtime.getRuntime().availableProcessors() / 2L, 1, 4);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                    Thread t = new Thread(r, "password-hasher-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        LOGGER.info(() -> String.format("[DEBUG] PasswordHasher ready: cost=%d, threads=%d", cost, threads));
+    }
+
+    // Bill Pugh Singleton: la calibrazione avviene al primo utilizzo
+    private static final class Holder {
+        private static final PasswordHasher INSTANCE = new PasswordHasher(resolveCost());
+    }
+
+    public static PasswordHasher getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return The bcrypt work factor used for new hashes.
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Hashes a password with the calibrated cost.
+     */
+    public String hash(String plainPassword) {
+        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(cost));
+    }
+
+    /**
+     * Verifies a password against a stored value (bcrypt hash or legacy
+     * plain text).
+     *
+     * @return true if the password matches.
+     */
+    public boolean verify(String plainPassword, String stored) {
+        if (plainPassword == null || stored == null) {
+            return false;
+        }
+        if (!isBcryptHash(stored)) {
+            // Confronto a tempo costante anche per le password legacy
+            return MessageDigest.isEqual(plainPassword.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            return BCrypt.checkpw(plainPassword, stored);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning(() -> "Hash bcrypt non valido: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Runs one bcrypt verification against a fixed hash, for logins whose
+     * email matches no account.
+     *
+     * @return always false.
+     */
+    public boolean verifyDummy(String plainPassword) {
+        verify(plainPassword == null ? "" : plainPassword, dummyHash);
+        return false;
+    }
+
+    /**
+     * @return true if the stored value is plain text or was hashed with a
+     *         lower cost than the current one.
+     */
+    public boolean needsRehash(String stored) {
+        return stored == null || !isBcryptHash(stored) || costOf(stored) < cost;
+    }
+
+    /**
+     * Runs CPU-heavy credential work (e.g. a whole authentication) on the
+     * bounded hashing pool.
+     *
+     * @return A future completed with the result, or exceptionally with
+     *         {@link RejectedExecutionException} if the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.warning(() -> String.format("[DEBUG] Password verification rejected, queue depth %d",
+                    executor.getQueue().size()));
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    static boolean isBcryptHash(String stored) {
+        return stored.length() == 60 && stored.charAt(0) == '$' && stored.charAt(1) == '2'
+                && stored.charAt(3) == '$' && stored.charAt(6) == '$';
+    }
+
+    private static int costOf(String hash) {
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Picks the cost from the system property, or measures one hash at
+     * {@link #MIN_COST} and doubles the work while it stays within the target.
+     */
+    private static int resolveCost() {
+        String configured = System.getProperty(COST_PROPERTY);
+        if (configured != null) {
+            try {
+                return Math.clamp(Integer.parseInt(configured.trim()), BCRYPT_MIN_COST, BCRYPT_MAX_COST);
+            } catch (NumberFormatException e) {
+                LOGGER.warning(() -> "Valore non valido per " + COST_PROPERTY + ": " + configured);
+            }
+        }
+        long start = System.nanoTime();
+        BCrypt.hashpw("calibration", BCrypt.gensalt(MIN_COST));
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        int calibrated = MIN_COST;
+        while (calibrated < MAX_COST && elapsedMillis * 2 <= TARGET_HASH_MILLIS) {
+            elapsedMillis *= 2;
+            calibrated++;
+        }
+        int result = calibrated;
+        long measured = elapsedMillis;
+        LOGGER.info(() -> String.format("[DEBUG] bcrypt calibrated: cost=%d (~%d ms per hash)", result, measured));
+        return result;
+    }
+}
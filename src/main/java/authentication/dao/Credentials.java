@@ -0,0 +1,78 @@
+package authentication.dao;
+
+import authentication.PasswordHasher;
+import model.Paziente;
+import model.Specialista;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Verifica delle credenziali condivisa dai DAO utente.
+ * Confronta la password con l'hash salvato e, se l'hash è legacy (testo in
+ * chiaro) o usa un costo inferiore a quello attuale, lo aggiorna nello
+ * storage in modo trasparente. Un'email sconosciuta costa comunque una
+ * verifica bcrypt.
+ */
+final class Credentials {
+    private static final Logger LOGGER = Logger.getLogger(Credentials.class.getName());
+
+    private Credentials() {
+        // Utility class
+    }
+
+    /**
+     * @param user      L'utente trovato per email (se presente).
+     * @param password  La password inserita.
+     * @param persister Salva l'utente con il nuovo hash; ritorna true se riuscito.
+     * @return L'utente autenticato (con l'hash aggiornato se salvato), vuoto se
+     *         la password non corrisponde.
+     */
+    static <T> Optional<T> verifyAndUpgrade(Optional<T> user, String password, Predicate<T> persister) {
+        PasswordHasher hasher = PasswordHasher.getInstance();
+        if (user.isEmpty()) {
+            hasher.verifyDummy(password);
+            return Optional.empty();
+        }
+        return user
+                .filter(u -> hasher.verify(password, passwordOf(u)))
+                .map(u -> {
+                    if (!hasher.needsRehash(passwordOf(u))) {
+                        return u;
+                    }
+                    T upgraded = withPassword(u, hasher.hash(password));
+                    try {
+                        if (persister.test(upgraded)) {
+                            LOGGER.info("[DEBUG] Password rehashed for authenticated user.");
+                            return upgraded;
+                        }
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.WARNING, "Aggiornamento hash password non riuscito", e);
+                    }
+                    return u; // Login valido anche se l'aggiornamento fallisce
+                });
+    }
+
+    static String passwordOf(Object user) {
+        if (user instanceof Paziente paziente) {
+            return paziente.getPassword();
+        }
+        if (user instanceof Specialista specialista) {
+            return specialista.getPassword();
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T withPassword(T user, String newPassword) {
+        if (user instanceof Paziente paziente) {
+            return (T) paziente.withPassword(newPassword);
+        }
+        if (user instanceof Specialista specialista) {
+            return (T) specialista.withPassword(newPassword);
+        }
+        throw new IllegalArgumentException("Tipo utente non supportato: " + user.getClass().getName());
+    }
+}
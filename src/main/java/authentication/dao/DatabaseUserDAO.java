@@ -1,8 +1,9 @@
 package authentication.dao;
 
+import app_logging.AppLog;
 import authentication.UserDAO;
+import flight_recorder.StorageTrace;
 import model.Paziente;
-import model.Specialista;
 import storage_db.DataStorageStrategy;
 import storage_db.DatabaseStorageStrategyPaziente;
 import storage_db.DatabaseStorageStrategySpecialista;
@@ -19,24 +20,27 @@ import java.util.Optional;
 public class DatabaseUserDAO<T> implements UserDAO<T> {
     private static final java.util.logging.Logger LOGGER = java.util.logging.Logger
             .getLogger(DatabaseUserDAO.class.getName());
+    private static final String BACKEND = "Database";
     private final DataStorageStrategy<T> strategy;
+    private final String entity;
 
     public DatabaseUserDAO(DataStorageStrategy<T> strategy) {
         this.strategy = strategy;
+        this.entity = strategy instanceof DatabaseStorageStrategyPaziente ? "Paziente" : "Specialista";
     }
 
     @Override
     public Optional<T> findByEmail(String email) {
-        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Entering DatabaseUserDAO.findByEmail: %s",
+        AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Entering DatabaseUserDAO.findByEmail: %s",
                 Thread.currentThread().getName(), email));
         // Delega alla strategy che implementa findByEmail
-        return strategy.findByEmail(email);
+        return StorageTrace.find(BACKEND, entity, "findByEmail", () -> strategy.findByEmail(email), email);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public Optional<T> findById(String id) {
-        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Entering DatabaseUserDAO.findById: %s",
+        AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Entering DatabaseUserDAO.findById: %s",
                 Thread.currentThread().getName(), id));
         if (strategy instanceof DatabaseStorageStrategyPaziente) {
             // Per il paziente, il metodo trova() usa il CF
@@ -45,7 +49,8 @@ public class DatabaseUserDAO<T> implements UserDAO<T> {
                     .email("dummy@dummy.com") // Obbligatorio per il builder
                     .password("dummy") // Obbligatorio per il builder
                     .build();
-            return (Optional<T>) ((DatabaseStorageStrategyPaziente) strategy).trova(dummy);
+            return StorageTrace.find(BACKEND, entity, "trova",
+                    () -> (Optional<T>) ((DatabaseStorageStrategyPaziente) strategy).trova(dummy), id);
         } else if (strategy instanceof DatabaseStorageStrategySpecialista) {
             // Se servisse trovare uno specialista per ID in futuro
             return Optional.empty();
@@ -55,29 +60,15 @@ public class DatabaseUserDAO<T> implements UserDAO<T> {
 
     @Override
     public Optional<T> authenticateByEmailAndPassword(String email, String password) {
-        LOGGER.info(
+        AppLog.debug(LOGGER,
                 () -> String.format("[DEBUG][Thread: %s] Entering DatabaseUserDAO.authenticateByEmailAndPassword: %s",
                         Thread.currentThread().getName(), email));
-        Optional<T> user = findByEmail(email);
-        return user.filter(u -> checkPassword(u, password));
+        return Credentials.verifyAndUpgrade(findByEmail(email), password,
+                user -> StorageTrace.write(BACKEND, entity, "aggiorna", () -> strategy.aggiorna(user), user));
     }
 
     @Override
     public java.util.List<T> getAllInstanceOfActor() {
-        return strategy.getAllInstanceOfActor();
-    }
-
-    /**
-     * Verifica la corrispondenza della password.
-     * Supporta sia Paziente che Specialista.
-     */
-    private boolean checkPassword(T user, String password) {
-        String userPassword = null;
-        if (user instanceof Paziente paziente) {
-            userPassword = paziente.getPassword();
-        } else if (user instanceof Specialista specialista) {
-            userPassword = specialista.getPassword();
-        }
-        return userPassword != null && userPassword.equals(password);
+        return StorageTrace.list(BACKEND, entity, "getAllInstanceOfActor", strategy::getAllInstanceOfActor);
     }
 }
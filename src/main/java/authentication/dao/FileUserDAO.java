@@ -1,6 +1,8 @@
 package authentication.dao;
 
+import app_logging.AppLog;
 import authentication.UserDAO;
+import flight_recorder.StorageTrace;
 import model.Paziente;
 import model.Specialista;
 import storage_file.FileManagerPazienti;
@@ -17,24 +19,29 @@ import java.util.Optional;
 public class FileUserDAO<T> implements UserDAO<T> {
     private static final java.util.logging.Logger LOGGER = java.util.logging.Logger
             .getLogger(FileUserDAO.class.getName());
+    private static final String BACKEND = "File";
     private final Object fileManager;
+    private final String entity;
 
     public FileUserDAO(Object fileManager) {
         this.fileManager = fileManager;
+        this.entity = fileManager instanceof FileManagerPazienti ? "Paziente" : "Specialista";
     }
 
     @Override
     public Optional<T> findByEmail(String email) {
-        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Entering FileUserDAO.findByEmail: %s",
+        AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Entering FileUserDAO.findByEmail: %s",
                 Thread.currentThread().getName(), email));
         // Casting based sul tipo del fileManager
         if (fileManager instanceof FileManagerPazienti) {
             @SuppressWarnings("unchecked")
-            Optional<T> result = (Optional<T>) ((FileManagerPazienti) fileManager).findByEmail(email);
+            Optional<T> result = (Optional<T>) StorageTrace.find(BACKEND, entity, "findByEmail",
+                    () -> ((FileManagerPazienti) fileManager).findByEmail(email), email);
             return result;
         } else if (fileManager instanceof FileManagerSpecialisti) {
             @SuppressWarnings("unchecked")
-            Optional<T> result = (Optional<T>) ((FileManagerSpecialisti) fileManager).findByEmail(email);
+            Optional<T> result = (Optional<T>) StorageTrace.find(BACKEND, entity, "findByEmail",
+                    () -> ((FileManagerSpecialisti) fileManager).findByEmail(email), email);
             return result;
         }
         return Optional.empty();
@@ -43,7 +50,7 @@ public class FileUserDAO<T> implements UserDAO<T> {
     @Override
     @SuppressWarnings("unchecked")
     public Optional<T> findById(String id) {
-        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Entering FileUserDAO.findById: %s",
+        AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Entering FileUserDAO.findById: %s",
                 Thread.currentThread().getName(), id));
         if (fileManager instanceof FileManagerPazienti) {
             Paziente dummy = new Paziente.Builder()
@@ -51,27 +58,35 @@ public class FileUserDAO<T> implements UserDAO<T> {
                     .email("dummy@dummy.com")
                     .password("dummy")
                     .build();
-            return (Optional<T>) ((FileManagerPazienti) fileManager).trova(dummy);
+            return (Optional<T>) StorageTrace.find(BACKEND, entity, "trova",
+                    () -> ((FileManagerPazienti) fileManager).trova(dummy), id);
         } else if (fileManager instanceof FileManagerSpecialisti) {
-            // Il file manager specialisti usa la specializzazione come ID del file.
-            // Se id è la specializzazione, funziona.
-            return (Optional<T>) ((FileManagerSpecialisti) fileManager).trovaPerSpecializzazione(id);
+            // Gli specialisti sono salvati per email: l'ID è cercato nel contenuto dei file.
+            try {
+                int specialistId = Integer.parseInt(String.valueOf(id).trim());
+                return (Optional<T>) StorageTrace.find(BACKEND, entity, "trovaPerId",
+                        () -> ((FileManagerSpecialisti) fileManager).trovaPerId(specialistId), specialistId);
+            } catch (NumberFormatException e) {
+                LOGGER.warning(() -> "ID specialista non valido: " + id);
+                return Optional.empty();
+            }
         }
         return Optional.empty();
     }
 
     @Override
     public java.util.List<T> getAllInstanceOfActor() {
-        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Entering FileUserDAO.getAllInstanceOfActor",
+        AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Entering FileUserDAO.getAllInstanceOfActor",
                 Thread.currentThread().getName()));
         if (fileManager instanceof FileManagerPazienti) {
             @SuppressWarnings("unchecked")
-            java.util.List<T> result = (java.util.List<T>) ((FileManagerPazienti) fileManager).getAllInstanceOfActor();
+            java.util.List<T> result = (java.util.List<T>) StorageTrace.list(BACKEND, entity, "getAllInstanceOfActor",
+                    ((FileManagerPazienti) fileManager)::getAllInstanceOfActor);
             return result;
         } else if (fileManager instanceof FileManagerSpecialisti) {
             @SuppressWarnings("unchecked")
-            java.util.List<T> result = (java.util.List<T>) ((FileManagerSpecialisti) fileManager)
-                    .getAllInstanceOfActor();
+            java.util.List<T> result = (java.util.List<T>) StorageTrace.list(BACKEND, entity, "getAllInstanceOfActor",
+                    ((FileManagerSpecialisti) fileManager)::getAllInstanceOfActor);
             return result;
         }
         return java.util.List.of();
@@ -79,22 +94,26 @@ public class FileUserDAO<T> implements UserDAO<T> {
 
     @Override
     public Optional<T> authenticateByEmailAndPassword(String email, String password) {
-        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Entering FileUserDAO.authenticateByEmailAndPassword: %s",
+        AppLog.debug(LOGGER,
+                () -> String.format("[DEBUG][Thread: %s] Entering FileUserDAO.authenticateByEmailAndPassword: %s",
                 Thread.currentThread().getName(), email));
-        Optional<T> user = findByEmail(email);
-        return user.filter(u -> checkPassword(u, password));
+        return Credentials.verifyAndUpgrade(findByEmail(email), password, this::aggiorna);
     }
 
     /**
-     * Verifica la corrispondenza della password.
+     * Salva l'utente aggiornato (es. con il nuovo hash della password).
      */
-    private boolean checkPassword(T user, String password) {
-        String userPassword = null;
-        if (user instanceof Paziente paziente) {
-            userPassword = paziente.getPassword();
-        } else if (user instanceof Specialista specialista) {
-            userPassword = specialista.getPassword();
+    private boolean aggiorna(T user) {
+        return StorageTrace.write(BACKEND, entity, "aggiorna", () -> persist(user), user);
+    }
+
+    private boolean persist(T user) {
+        if (fileManager instanceof FileManagerPazienti pazienti && user instanceof Paziente paziente) {
+            return pazienti.aggiorna(paziente);
+        } else if (fileManager instanceof FileManagerSpecialisti specialisti
+                && user instanceof Specialista specialista) {
+            return specialisti.aggiorna(specialista);
         }
-        return userPassword != null && userPassword.equals(password);
+        return false;
     }
 }
@@ -1,15 +1,16 @@
 package authentication.dao;
 
+import app_logging.AppLog;
 import authentication.UserDAO;
-import javafx.collections.ObservableList;
 import model.Paziente;
 import model.Specialista;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Implementazione del DAO per storage in memoria (RAM).
- * Utilizza le ObservableList gestite dai Singleton ListaPazienti e
+ * Utilizza le liste gestite dai Singleton ListaPazienti e
  * ListaSpecialisti.
  * 
  * @param <T> Il tipo di utente (Paziente o Specialista)
@@ -17,15 +18,15 @@ import java.util.Optional;
 public class InMemoryUserDAO<T> implements UserDAO<T> {
     private static final java.util.logging.Logger LOGGER = java.util.logging.Logger
             .getLogger(InMemoryUserDAO.class.getName());
-    private final ObservableList<T> lista;
+    private final List<T> lista;
 
-    public InMemoryUserDAO(ObservableList<T> lista) {
+    public InMemoryUserDAO(List<T> lista) {
         this.lista = lista;
     }
 
     @Override
     public Optional<T> findById(String id) {
-        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Entering InMemoryUserDAO.findById: %s",
+        AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Entering InMemoryUserDAO.findById: %s",
                 Thread.currentThread().getName(), id));
         return lista.stream()
                 .filter(u -> getId(u).equalsIgnoreCase(id))
@@ -34,7 +35,7 @@ public class InMemoryUserDAO<T> implements UserDAO<T> {
 
     @Override
     public Optional<T> findByEmail(String email) {
-        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Entering InMemoryUserDAO.findByEmail: %s",
+        AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Entering InMemoryUserDAO.findByEmail: %s",
                 Thread.currentThread().getName(), email));
         return lista.stream()
                 .filter(u -> getEmail(u).equalsIgnoreCase(email))
@@ -43,11 +44,10 @@ public class InMemoryUserDAO<T> implements UserDAO<T> {
 
     @Override
     public Optional<T> authenticateByEmailAndPassword(String email, String password) {
-        LOGGER.info(
+        AppLog.debug(LOGGER,
                 () -> String.format("[DEBUG][Thread: %s] Entering InMemoryUserDAO.authenticateByEmailAndPassword: %s",
                         Thread.currentThread().getName(), email));
-        return findByEmail(email)
-                .filter(u -> getPassword(u).equals(password));
+        return Credentials.verifyAndUpgrade(findByEmail(email), password, this::replace);
     }
 
     @Override
@@ -77,14 +77,15 @@ public class InMemoryUserDAO<T> implements UserDAO<T> {
         throw new IllegalArgumentException("Tipo utente non supportato: " + user.getClass().getName());
     }
 
-    // Helper per estrarre password genericamente in base al tipo
-    private String getPassword(T user) {
-        if (user instanceof Paziente paziente) {
-            return paziente.getPassword();
-        }
-        if (user instanceof Specialista specialista) {
-            return specialista.getPassword();
+    // Sostituisce l'utente con la stessa email (es. dopo il rehash della password)
+    private boolean replace(T updated) {
+        String email = getEmail(updated);
+        for (int i = 0; i < lista.size(); i++) {
+            if (getEmail(lista.get(i)).equalsIgnoreCase(email)) {
+                lista.set(i, updated);
+                return true;
+            }
         }
-        throw new IllegalArgumentException("Tipo utente non supportato: " + user.getClass().getName());
+        return false;
     }
 }
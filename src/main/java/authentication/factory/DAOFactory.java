@@ -1,15 +1,22 @@
 package authentication.factory;
 
+import app_logging.AppLog;
 import authentication.UserDAO;
 import authentication.dao.DatabaseUserDAO;
 import authentication.dao.FileUserDAO;
 import authentication.dao.InMemoryUserDAO;
+import flight_recorder.StorageEvent;
+import metrics.MeteredAppointmentRepository;
+import metrics.MeteredUserDAO;
+import metrics.MetricsRegistry;
 import patient_dashboard.book_appointment.DatabaseAppointmentDAO;
 import patient_dashboard.book_appointment.FileAppointmentDAO;
 import patient_dashboard.book_appointment.RamAppointmentDAO;
 import patient_dashboard.book_appointment.AppointmentRepository;
 import model.Paziente;
 import model.Specialista;
+import startup_profiler.StartupPhase;
+import startup_profiler.StartupProfiler;
 import startupconfig.StartupConfigBean;
 import storage_db.DatabaseStorageStrategyPaziente;
 import storage_db.DatabaseStorageStrategySpecialista;
@@ -40,14 +47,20 @@ public class DAOFactory {
          * @throws IllegalArgumentException se l'opzione di storage non è valida
          */
         public static DAOPair createDAOs(StartupConfigBean config) {
+                DAOPair daos = createBackendDAOs(config);
+                StartupProfiler.getInstance().mark(StartupPhase.DAO_READY);
+                return MetricsRegistry.isEnabled() ? metered(daos, config.getStorageOption()) : daos;
+        }
+
+        private static DAOPair createBackendDAOs(StartupConfigBean config) {
                 int storageOption = config.getStorageOption();
-                LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Entering DAOFactory.createDAOs: storageOption=%d",
+                AppLog.debug(LOGGER,
+                        () -> String.format("[DEBUG][Thread: %s] Entering DAOFactory.createDAOs: storageOption=%d",
                                 Thread.currentThread().getName(), storageOption));
 
                 switch (storageOption) {
                         case 0: // RAM
-                                LOGGER.info(
-                                                () -> String.format("[DEBUG][Thread: %s] Creating RAM DAOs",
+                                AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Creating RAM DAOs",
                                                                 Thread.currentThread().getName()));
                                 return new DAOPair(
                                                 new InMemoryUserDAO<>(ListaPazienti.getIstanzaListaPazienti()
@@ -58,7 +71,7 @@ public class DAOFactory {
                                                 new RamAppointmentDAO());
 
                         case 1: // Database
-                                LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Creating Database DAOs",
+                                AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Creating Database DAOs",
                                                 Thread.currentThread().getName()));
                                 return new DAOPair(
                                                 new DatabaseUserDAO<>(new DatabaseStorageStrategyPaziente()),
@@ -66,7 +79,7 @@ public class DAOFactory {
                                                 new DatabaseAppointmentDAO());
 
                         case 2: // File
-                                LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Creating File DAOs",
+                                AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Creating File DAOs",
                                                 Thread.currentThread().getName()));
                                 return new DAOPair(
                                                 new FileUserDAO<>(new FileManagerPazienti()),
@@ -81,6 +94,18 @@ public class DAOFactory {
                 }
         }
 
+        /**
+         * Avvolge i DAO nei decoratori che ne misurano le latenze
+         * (attivi con -Dmindlab.metrics=true).
+         */
+        private static DAOPair metered(DAOPair daos, int storageOption) {
+                String backend = StorageEvent.backendName(storageOption);
+                return new DAOPair(
+                                new MeteredUserDAO<>(daos.pazienteDAO, backend, "Paziente"),
+                                new MeteredUserDAO<>(daos.specialistaDAO, backend, "Specialista"),
+                                new MeteredAppointmentRepository(daos.appointmentRepository, backend));
+        }
+
         /**
          * Classe helper per ritornare entrambi i DAO (Paziente e Specialista).
          */
@@ -0,0 +1,173 @@
+package cli_server;
+
+import navigation.CliViewFactory;
+import navigation.ConsoleScanner;
+import navigation.View;
+import session_manager.SessionContext;
+import session_manager.SessionStore;
+import startupconfig.StartupConfigBean;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Server CLI multi-sessione su socket locale.
+ *
+ * Accepts loopback TCP or Unix-domain-socket connections and runs the CLI
+ * views for each of them on its own virtual thread, with the connection's
+ * streams bound through {@link ConsoleScanner} and a session isolated from
+ * the desktop one ({@link SessionContext#isolate()}). Storage backends and
+ * caches are shared by all connections.
+ *
+ * Usable with e.g. {@code nc 127.0.0.1 <port>} or {@code nc -U <path>}.
+ */
+public final class CliServer implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(CliServer.class.getName());
+
+    public static final int DEFAULT_PORT = 5050;
+
+    private final ServerSocketChannel channel;
+    private final Path socketFile;
+    private final StartupConfigBean config;
+    private final ExecutorService connections = Executors
+            .newThreadPerTaskExecutor(Thread.ofVirtual().name("cli-connection-", 0).factory());
+    private final Set<SocketChannel> open = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+
+    private CliServer(ServerSocketChannel channel, Path socketFile, StartupConfigBean config) {
+        this.channel = channel;
+        this.socketFile = socketFile;
+        this.config = config;
+        this.acceptor = Thread.ofPlatform().name("cli-server-acceptor").unstarted(this::acceptLoop);
+    }
+
+    /**
+     * Server su 127.0.0.1 (porta 0 per una porta libera).
+     */
+    public static CliServer onLoopback(int port, StartupConfigBean config) throws IOException {
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.INET);
+        channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        return new CliServer(channel, null, config);
+    }
+
+    /**
+     * Server su socket Unix; un file di socket rimasto da un'esecuzione
+     * precedente viene sostituito.
+     */
+    public static CliServer onUnixSocket(Path path, StartupConfigBean config) throws IOException {
+        Files.deleteIfExists(path);
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.bind(UnixDomainSocketAddress.of(path));
+        return new CliServer(channel, path, config);
+    }
+
+    public void start() {
+        acceptor.start();
+        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] CliServer listening on %s (storage %d)",
+                Thread.currentThread().getName(), getLocalAddress(), config.getStorageOption()));
+    }
+
+    public SocketAddress getLocalAddress() {
+        try {
+            return channel.getLocalAddress();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public int getActiveConnections() {
+        return open.size();
+    }
+
+    /**
+     * Stops accepting connections and disconnects the open ones.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Chiusura del server CLI non riuscita: {0}", e.getMessage());
+        }
+        open.forEach(CliServer::closeQuietly);
+        connections.shutdown();
+        if (socketFile != null) {
+            try {
+                Files.deleteIfExists(socketFile);
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Socket file non rimosso: {0}", e.getMessage());
+            }
+        }
+        LOGGER.info("CliServer fermato.");
+    }
+
+    private void acceptLoop() {
+        while (channel.isOpen()) {
+            try {
+                SocketChannel client = channel.accept();
+                open.add(client);
+                connections.execute(() -> serve(client));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Connessione CLI non accettata: {0}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs the CLI home view for one connection until the user exits or
+     * disconnects.
+     */
+    private void serve(SocketChannel client) {
+        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] CLI connection opened (%d active)",
+                Thread.currentThread().getName(), open.size()));
+        try (client;
+                PrintStream out = new PrintStream(Channels.newOutputStream(client), true, StandardCharsets.UTF_8);
+                SessionContext.Scope _ = SessionContext.isolate();
+                ConsoleScanner.Scope _ = ConsoleScanner.bind(Channels.newInputStream(client), out)) {
+            try {
+                View home = new CliViewFactory().createView("Login");
+                home.show(null, config);
+            } finally {
+                // Una disconnessione senza logout non lascia sessioni attive
+                SessionContext.current().ifPresent(s -> SessionStore.getInstance().invalidate(s.getToken()));
+            }
+        } catch (NoSuchElementException e) {
+            LOGGER.fine("[DEBUG] CLI client disconnected.");
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Errore nella connessione CLI", e);
+        } finally {
+            open.remove(client);
+            LOGGER.info(() -> String.format("[DEBUG][Thread: %s] CLI connection closed (%d active)",
+                    Thread.currentThread().getName(), open.size()));
+        }
+    }
+
+    private static void closeQuietly(SocketChannel client) {
+        try {
+            client.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Connessione CLI già chiusa: {0}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package dataset_generator;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Calcolo e verifica del codice fiscale italiano (persone fisiche).
+ *
+ * Implements the surname/name codes, birth date and sex encoding, the
+ * Belfiore code of the birthplace and the check character. Colliding codes
+ * are told apart with the official "omocodia" substitution.
+ */
+public final class CodiceFiscale {
+    private static final String MONTHS = "ABCDEHLMPRST";
+    private static final String OMOCODIA = "LMNPQRSTUV";
+    // Posizioni numeriche sostituite in caso di omocodia, da destra verso sinistra
+    private static final int[] OMOCODIA_POSITIONS = { 14, 13, 12, 10, 9, 7, 6 };
+
+    /** Numero di livelli di omocodia accettati da {@link #omocode}. */
+    public static final int OMOCODIA_LEVELS = OMOCODIA_POSITIONS.length;
+
+    private static final int[] ODD_VALUES = {
+            1, 0, 5, 7, 9, 13, 15, 17, 19, 21, 2, 4, 18, 20, 11, 3, 6, 8, 12, 14, 16, 10, 22, 25, 24, 23 };
+    private static final Pattern FORMAT = Pattern
+            .compile("[A-Z]{6}[0-9LMNPQRSTUV]{2}[ABCDEHLMPRST][0-9LMNPQRSTUV]{2}[A-Z][0-9LMNPQRSTUV]{3}[A-Z]");
+
+    private CodiceFiscale() {
+        // Utility class
+    }
+
+    /**
+     * @param cognome       Cognome (solo lettere ASCII significative).
+     * @param nome          Nome.
+     * @param dataDiNascita Data di nascita.
+     * @param femmina       true per il sesso femminile (giorno + 40).
+     * @param belfiore      Codice catastale del comune di nascita (es. H501).
+     * @return Il codice fiscale di 16 caratteri.
+     */
+    public static String compute(String cognome, String nome, LocalDate dataDiNascita, boolean femmina,
+            String belfiore) {
+        StringBuilder cf = new StringBuilder(16)
+                .append(surnameCode(cognome))
+                .append(nameCode(nome))
+                .append(String.format("%02d", dataDiNascita.getYear() % 100))
+                .append(MONTHS.charAt(dataDiNascita.getMonthValue() - 1))
+                .append(String.format("%02d", dataDiNascita.getDayOfMonth() + (femmina ? 40 : 0)))
+                .append(belfiore.toUpperCase(Locale.ROOT));
+        return cf.append(checkChar(cf)).toString();
+    }
+
+    /**
+     * Variante per omocodia di livello 1..7: le ultime {@code level} cifre
+     * vengono sostituite da lettere e il carattere di controllo ricalcolato.
+     */
+    public static String omocode(String codiceFiscale, int level) {
+        if (level < 1 || level > OMOCODIA_POSITIONS.length) {
+            throw new IllegalArgumentException("Livello di omocodia non valido: " + level);
+        }
+        StringBuilder cf = new StringBuilder(codiceFiscale.substring(0, 15));
+        for (int i = 0; i < level; i++) {
+            int position = OMOCODIA_POSITIONS[i];
+            char c = cf.charAt(position);
+            if (Character.isDigit(c)) {
+                cf.setCharAt(position, OMOCODIA.charAt(c - '0'));
+            }
+        }
+        return cf.append(checkChar(cf)).toString();
+    }
+
+    /**
+     * @return true if the code is well formed and its check character is
+     *         correct.
+     */
+    public static boolean isValid(String codiceFiscale) {
+        return codiceFiscale != null && FORMAT.matcher(codiceFiscale).matches()
+                && checkChar(codiceFiscale.substring(0, 15)) == codiceFiscale.charAt(15);
+    }
+
+    private static String surnameCode(String cognome) {
+        String consonants = letters(cognome, false);
+        String vowels = letters(cognome, true);
+        return (consonants + vowels + "XXX").substring(0, 3);
+    }
+
+    private static String nameCode(String nome) {
+        String consonants = letters(nome, false);
+        if (consonants.length() >= 4) {
+            return "" + consonants.charAt(0) + consonants.charAt(2) + consonants.charAt(3);
+        }
+        return (consonants + letters(nome, true) + "XXX").substring(0, 3);
+    }
+
+    private static String letters(String value, boolean vowels) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : value.toUpperCase(Locale.ROOT).toCharArray()) {
+            if (c >= 'A' && c <= 'Z' && ("AEIOU".indexOf(c) >= 0) == vowels) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static char checkChar(CharSequence first15) {
+        int sum = 0;
+        for (int i = 0; i < 15; i++) {
+            char c = first15.charAt(i);
+            int index = Character.isDigit(c) ? c - '0' : c - 'A';
+            // Posizioni dispari (1-based) usano la tabella di conversione
+            sum += (i % 2 == 0) ? ODD_VALUES[index] : index;
+        }
+        return (char) ('A' + sum % 26);
+    }
+}
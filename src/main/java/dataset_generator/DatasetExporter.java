@@ -0,0 +1,310 @@
+package dataset_generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import model.Paziente;
+import model.Specialista;
+import model.Visita;
+import storage_liste.ListaPazienti;
+import storage_liste.ListaSpecialisti;
+import storage_liste.ListaVisite;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Scrive un {@link DatasetGenerator} nei formati dei tre backend.
+ *
+ * <ul>
+ * <li>RAM: appends to the in-memory lists in large batches (one
+ * copy-on-write copy per batch instead of per record).</li>
+ * <li>File: one JSON per record in pazienti_salvati/, specialisti_salvati/
+ * and visite_salvate/, with the file names the FileManager classes expect,
+ * written in parallel through a shared ObjectWriter.</li>
+ * <li>SQL: a single script of multi-row INSERTs inside one transaction,
+ * streamed through a buffered writer, for {@code mysql < dataset.sql}.</li>
+ * </ul>
+ */
+public final class DatasetExporter {
+    private static final Logger LOGGER = Logger.getLogger(DatasetExporter.class.getName());
+
+    private static final int RAM_BATCH = 50_000;
+    private static final int SQL_ROWS_PER_INSERT = 1_000;
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("HHmm");
+    private static final Set<String> OPTIONS = Set.of("patients", "specialists", "visits", "years", "density",
+            "seed", "ram", "files", "sql");
+    private static final String USAGE = "Uso: DatasetExporter [--patients=n] [--specialists=n] [--visits=n] "
+            + "[--years=n] [--density=0..1] [--seed=n] [--ram] [--files=dir] [--sql=file]";
+
+    private DatasetExporter() {
+        // Utility class
+    }
+
+    /**
+     * Numero di record scritti per tipo.
+     */
+    public static final class Counts {
+        private final long patients;
+        private final long specialists;
+        private final long visits;
+
+        Counts(long patients, long specialists, long visits) {
+            this.patients = patients;
+            this.specialists = specialists;
+            this.visits = visits;
+        }
+
+        public long getPatients() {
+            return patients;
+        }
+
+        public long getSpecialists() {
+            return specialists;
+        }
+
+        public long getVisits() {
+            return visits;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d pazienti, %d specialisti, %d visite", patients, specialists, visits);
+        }
+    }
+
+    // --- RAM ---
+
+    public static Counts loadIntoRam(DatasetGenerator generator) {
+        long p = inBatches(generator.pazienti(), ListaPazienti.getIstanzaListaPazienti()
+                .getObservableListaPazienti()::addAll);
+        long s = inBatches(generator.specialisti(), ListaSpecialisti.getIstanzaListaSpecialisti()
+                .getObservableListaSpecialisti()::addAll);
+        long v = inBatches(generator.visite(), ListaVisite.getIstanzaListaVisite()
+                .getObservableListaVisite()::addAll);
+        return new Counts(p, s, v);
+    }
+
+    private static <T> long inBatches(Stream<T> records, Consumer<List<T>> sink) {
+        long total = 0;
+        List<T> batch = new ArrayList<>(RAM_BATCH);
+        Iterator<T> it = records.iterator();
+        while (it.hasNext()) {
+            batch.add(it.next());
+            if (batch.size() == RAM_BATCH) {
+                sink.accept(batch);
+                total += batch.size();
+                batch = new ArrayList<>(RAM_BATCH);
+            }
+        }
+        sink.accept(batch);
+        return total + batch.size();
+    }
+
+    // --- File JSON ---
+
+    public static Counts writeFiles(DatasetGenerator generator, Path baseDir) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        ObjectWriter writer = mapper.writer();
+
+        Path pazDir = Files.createDirectories(baseDir.resolve("pazienti_salvati"));
+        Path specDir = Files.createDirectories(baseDir.resolve("specialisti_salvati"));
+        Path visDir = Files.createDirectories(baseDir.resolve("visite_salvate"));
+
+        long p = writeAll(writer, generator.pazienti(),
+                (Paziente x) -> pazDir.resolve(x.getCodiceFiscalePaziente() + ".json"));
+        long s = writeAll(writer, generator.specialisti(),
+                (Specialista x) -> specDir.resolve(specialistFileName(x.getEmail())));
+        long v = writeAll(writer, generator.visite(),
+                (Visita x) -> visDir.resolve(x.getPazienteCodiceFiscale() + "_" + x.getData().format(FILE_DATE)
+                        + "_" + x.getOrario().format(FILE_TIME) + ".json"));
+        return new Counts(p, s, v);
+    }
+
+    private static <T> long writeAll(ObjectWriter writer, Stream<T> records, Function<T, Path> path)
+            throws IOException {
+        LongAdder written = new LongAdder();
+        try {
+            records.parallel().forEach(record -> {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path.apply(record)))) {
+                    writer.writeValue(out, record);
+                    written.increment();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return written.sum();
+    }
+
+    /** Stesso schema di FileManagerSpecialisti: email minuscola, non alfanumerici in '_'. */
+    private static String specialistFileName(String email) {
+        return email.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "_") + ".json";
+    }
+
+    // --- SQL ---
+
+    public static Counts writeSql(DatasetGenerator generator, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 20)) {
+            out.write("-- Dataset sintetico generato da DatasetGenerator\n");
+            out.write("SET autocommit=0;\nSET unique_checks=0;\nSET foreign_key_checks=0;\nSTART TRANSACTION;\n");
+            long p = insertAll(out, "pazienti", "nome, cognome, dataDiNascita, numeroTelefonico, email, "
+                    + "numeroTesseraSanitaria, condizioniMediche, password", generator.pazienti(),
+                    (Paziente x) -> new Object[] { x.getNome(), x.getCognome(), x.getDataDiNascita(),
+                            x.getNumeroTelefonico(), x.getEmail(), x.getCodiceFiscalePaziente(),
+                            x.getCondizioniMediche(), x.getPassword() });
+            long s = insertAll(out, "specialista", "id, nome, cognome, dataDiNascita, numeroTelefonico, email, "
+                    + "specializzazione, password", generator.specialisti(),
+                    (Specialista x) -> new Object[] { x.getId(), x.getNome(), x.getCognome(), x.getDataDiNascita(),
+                            x.getNumeroTelefonico(), x.getEmail(), x.getSpecializzazione(), x.getPassword() });
+            long v = insertAll(out, "visite", "paziente_codice_fiscale, specialista_id, data, orario, tipo_visita, "
+                    + "motivo_visita, stato", generator.visite(),
+                    (Visita x) -> new Object[] { x.getPazienteCodiceFiscale(), x.getSpecialistaId(), x.getData(),
+                            x.getOrario(), x.getTipoVisita(), x.getMotivoVisita(), x.getStato() });
+            out.write("COMMIT;\nSET unique_checks=1;\nSET foreign_key_checks=1;\nSET autocommit=1;\n");
+            return new Counts(p, s, v);
+        }
+    }
+
+    private static <T> long insertAll(Writer out, String table, String columns, Stream<T> records,
+            Function<T, Object[]> values) throws IOException {
+        long count = 0;
+        StringBuilder row = new StringBuilder(256);
+        Iterator<T> it = records.iterator();
+        while (it.hasNext()) {
+            out.write(count % SQL_ROWS_PER_INSERT == 0
+                    ? (count == 0 ? "" : ";\n") + "INSERT INTO " + table + " (" + columns + ") VALUES\n"
+                    : ",\n");
+            row.setLength(0);
+            row.append('(');
+            Object[] fields = values.apply(it.next());
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    row.append(", ");
+                }
+                appendSqlValue(row, fields[i]);
+            }
+            out.append(row).append(')');
+            count++;
+        }
+        if (count > 0) {
+            out.write(";\n");
+        }
+        return count;
+    }
+
+    private static void appendSqlValue(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("NULL");
+        } else if (value instanceof Number) {
+            sb.append(value);
+        } else {
+            sb.append('\'');
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\'' || c == '\\') {
+                    sb.append(c);
+                }
+                sb.append(c);
+            }
+            sb.append('\'');
+        }
+    }
+
+    /**
+     * Uso: {@code DatasetExporter --patients=100000 --specialists=500
+     * --visits=5000000 --years=3 --density=0.6 [--ram] [--files=dir]
+     * [--sql=dataset.sql]}
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = !arg.startsWith("--") ? null : (eq > 2 ? arg.substring(2, eq) : arg.substring(2));
+            if (name == null || !OPTIONS.contains(name)) {
+                System.err.println("Opzione non riconosciuta: " + arg);
+                System.err.println(USAGE);
+                return;
+            }
+            options.put(name, eq > 2 ? arg.substring(eq + 1) : "");
+        }
+        LocalDate today = LocalDate.now();
+        long t0 = System.nanoTime();
+        DatasetGenerator generator;
+        try {
+            int years = Integer.parseInt(options.getOrDefault("years", "2"));
+            generator = new DatasetGenerator.Builder()
+                    .patients(Integer.parseInt(options.getOrDefault("patients", "1000")))
+                    .specialists(Integer.parseInt(options.getOrDefault("specialists", "20")))
+                    .visits(Long.parseLong(options.getOrDefault("visits", "10000")))
+                    .slotDensity(Double.parseDouble(options.getOrDefault("density", "0.6")))
+                    .seed(Long.parseLong(options.getOrDefault("seed", "2026")))
+                    .dateRange(today.minusYears(years), today.plusMonths(6))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException compresa
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return;
+        }
+        LOGGER.info(() -> String.format("Generatore pronto in %.1f s (%d giorni lavorativi)",
+                (System.nanoTime() - t0) / 1e9, generator.getWorkingDayCount()));
+
+        if (options.containsKey("ram")) {
+            report("RAM", () -> loadIntoRam(generator));
+        }
+        if (options.containsKey("files")) {
+            Path dir = Path.of(options.get("files"));
+            report("File " + dir, () -> writeFiles(generator, dir));
+        }
+        if (options.containsKey("sql")) {
+            Path file = Path.of(options.get("sql"));
+            report("SQL " + file, () -> writeSql(generator, file));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        Counts run() throws IOException;
+    }
+
+    private static void report(String target, Export export) throws IOException {
+        long t0 = System.nanoTime();
+        Counts counts = export.run();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        LOGGER.info(() -> String.format("%s: %s in %.1f s (%.0f record/s)", target, counts, seconds,
+                (counts.getPatients() + counts.getSpecialists() + counts.getVisits()) / Math.max(seconds, 1e-9)));
+    }
+}
@@ -0,0 +1,335 @@
+package dataset_generator;
+
+import authentication.PasswordHasher;
+import model.Paziente;
+import model.Specialista;
+import model.Visita;
+import patient_dashboard.book_appointment.ItalianHolidayCalendar;
+import patient_dashboard.book_appointment.SlotAvailability;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Generatore deterministico di dataset sintetici (pazienti, specialisti,
+ * visite).
+ *
+ * Records are produced on demand from the seed and their index, so even
+ * millions of visits are streamed to a writer without being held in
+ * memory; only the patients' tax codes are computed up front, to resolve
+ * collisions with the omocodia rule. Visits fall on working days only (no
+ * weekends or Italian holidays), never share a specialist slot, and fill
+ * at most {@code slotDensity} of each specialist's daily slots.
+ */
+public final class DatasetGenerator {
+    private static final Logger LOGGER = Logger.getLogger(DatasetGenerator.class.getName());
+
+    private static final String[] MALE_NAMES = { "Marco", "Luca", "Giuseppe", "Francesco", "Alessandro",
+            "Andrea", "Matteo", "Lorenzo", "Davide", "Stefano", "Paolo", "Giovanni", "Antonio", "Riccardo",
+            "Simone", "Federico", "Roberto", "Salvatore", "Tommaso", "Nicola" };
+    private static final String[] FEMALE_NAMES = { "Giulia", "Sofia", "Chiara", "Francesca", "Sara", "Anna",
+            "Martina", "Elena", "Alessia", "Valentina", "Laura", "Federica", "Silvia", "Paola", "Giorgia",
+            "Roberta", "Elisa", "Beatrice", "Camilla", "Ilaria" };
+    private static final String[] SURNAMES = { "Rossi", "Russo", "Ferrari", "Esposito", "Bianchi", "Romano",
+            "Colombo", "Ricci", "Marino", "Greco", "Bruno", "Gallo", "Conti", "De Luca", "Mancini", "Costa",
+            "Giordano", "Rizzo", "Lombardi", "Moretti", "Barbieri", "Fontana", "Santoro", "Mariani", "Rinaldi",
+            "Caruso", "Ferrara", "Galli", "Martini", "Leone", "Longo", "Gentile", "Martinelli", "Vitale",
+            "Lombardo", "Serra", "Coppola", "De Santis", "D'Angelo", "Marchetti" };
+    // Codici catastali (Belfiore) dei capoluoghi più popolosi
+    private static final String[] BELFIORE = { "H501", "F205", "F839", "L219", "G273", "D969", "A944",
+            "D612", "A662", "C351", "L736", "L781" };
+    private static final String[] SPECIALIZATIONS = { "Psicologia", "Psichiatria", "Neuropsicologia",
+            "Logopedia", "Psicoterapia", "Neuropsichiatria infantile", "Dermatologia", "Nutrizione" };
+    private static final String[] CONDITIONS = { "", "", "", "Ansia generalizzata", "Insonnia",
+            "Ipertensione arteriosa", "Disturbo dell'umore", "Diabete di tipo 2" };
+    private static final String[] REASONS = { "Prima visita", "Controllo", "Colloquio di follow-up",
+            "Valutazione", "Rinnovo terapia" };
+    private static final String[] SERVICE_TYPES = { "Online", "In presenza" };
+
+    private final int patients;
+    private final int specialists;
+    private final long visits;
+    private final double slotDensity;
+    private final int firstSpecialistId;
+    private final long seed;
+    private final String passwordHash;
+    private final LocalDate today;
+    private final LocalDate[] workingDays;
+    private final String[] codiciFiscali;
+
+    private DatasetGenerator(Builder builder) {
+        this.patients = builder.patients;
+        this.specialists = builder.specialists;
+        this.visits = builder.visits;
+        this.slotDensity = builder.slotDensity;
+        this.firstSpecialistId = builder.firstSpecialistId;
+        this.seed = builder.seed;
+        this.today = builder.today;
+        this.passwordHash = PasswordHasher.getInstance().hash(builder.password);
+
+        List<LocalDate> days = new ArrayList<>();
+        ItalianHolidayCalendar.workingDays(builder.from, builder.to).forEach(days::add);
+        this.workingDays = days.toArray(new LocalDate[0]);
+        this.codiciFiscali = computeCodiciFiscali();
+
+        long capacity = (long) Math.floor(slotDensity * SlotAvailability.SLOTS_PER_DAY) * specialists
+                * workingDays.length;
+        if (visits > capacity) {
+            LOGGER.warning(() -> String.format("Richieste %d visite ma la densità consente al massimo %d visite.",
+                    visits, capacity));
+        }
+    }
+
+    public int getPatientCount() {
+        return patients;
+    }
+
+    public int getSpecialistCount() {
+        return specialists;
+    }
+
+    public int getWorkingDayCount() {
+        return workingDays.length;
+    }
+
+    public Stream<Paziente> pazienti() {
+        return IntStream.range(0, patients).mapToObj(this::paziente);
+    }
+
+    public Stream<Specialista> specialisti() {
+        return IntStream.range(0, specialists).mapToObj(this::specialista);
+    }
+
+    /**
+     * Visits ordered by specialist and date. The stream can be made parallel:
+     * each (specialist, day) pair is generated independently.
+     */
+    public Stream<Visita> visite() {
+        return IntStream.range(0, specialists).boxed()
+                .flatMap(s -> IntStream.range(0, workingDays.length).boxed().flatMap(d -> visiteOf(s, d)));
+    }
+
+    public Paziente paziente(int index) {
+        SplittableRandom random = random(1, index);
+        boolean femmina = random.nextBoolean();
+        String nome = pick(random, femmina ? FEMALE_NAMES : MALE_NAMES);
+        String cognome = pick(random, SURNAMES);
+        LocalDate nascita = birthDate(random);
+        return new Paziente.Builder()
+                .codiceFiscalePaziente(codiciFiscali[index])
+                .nome(nome)
+                .cognome(cognome)
+                .dataDiNascita(nascita)
+                .numeroTelefonico(phone(random))
+                .email(emailOf(nome, cognome, "p" + index))
+                .condizioniMediche(pick(random, CONDITIONS))
+                .password(passwordHash)
+                .build();
+    }
+
+    public Specialista specialista(int index) {
+        SplittableRandom random = random(2, index);
+        boolean femmina = random.nextBoolean();
+        String nome = pick(random, femmina ? FEMALE_NAMES : MALE_NAMES);
+        String cognome = pick(random, SURNAMES);
+        return new Specialista.Builder()
+                .id(firstSpecialistId + index)
+                .nome(nome)
+                .cognome(cognome)
+                .dataDiNascita(LocalDate.of(1960, 1, 1).plusDays(random.nextInt(25 * 365)))
+                .numeroTelefonico(phone(random))
+                .email(emailOf(nome, cognome, "s" + index))
+                .specializzazione(SPECIALIZATIONS[index % SPECIALIZATIONS.length])
+                .password(passwordHash)
+                .build();
+    }
+
+    /**
+     * Visits of one specialist on one working day: the expected daily load,
+     * capped by the slot density, placed on distinct random slots.
+     */
+    private Stream<Visita> visiteOf(int specialistIndex, int dayIndex) {
+        SplittableRandom random = random(3, (long) specialistIndex * workingDays.length + dayIndex);
+        double expected = (double) visits / ((double) specialists * workingDays.length);
+        int count = (int) expected + (random.nextDouble() < expected - Math.floor(expected) ? 1 : 0);
+        count = Math.min(count, (int) Math.floor(slotDensity * SlotAvailability.SLOTS_PER_DAY));
+        if (count <= 0) {
+            return Stream.empty();
+        }
+        // Fisher-Yates parziale sugli slot della giornata
+        int[] slots = IntStream.range(0, SlotAvailability.SLOTS_PER_DAY).toArray();
+        LocalDate date = workingDays[dayIndex];
+        List<Visita> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(slots.length - i);
+            int slot = slots[j];
+            slots[j] = slots[i];
+            slots[i] = slot;
+            result.add(new Visita(patientFor(dayIndex, slot, specialistIndex), date,
+                    LocalTime.of(SlotAvailability.FIRST_SLOT_HOUR + slot, 0), firstSpecialistId + specialistIndex,
+                    pick(random, SERVICE_TYPES), pick(random, REASONS),
+                    date.isBefore(today) ? "Completata" : "Prenotata"));
+        }
+        return result.stream();
+    }
+
+    /**
+     * Same (day, slot) on different specialists always maps to different
+     * patients, so nobody has two visits at once (and visit file names,
+     * keyed by tax code, date and time, never collide).
+     */
+    private String patientFor(int dayIndex, int slot, int specialistIndex) {
+        long base = random(4, (long) dayIndex * SlotAvailability.SLOTS_PER_DAY + slot).nextInt(patients);
+        return codiciFiscali[(int) ((base + specialistIndex) % patients)];
+    }
+
+    private String[] computeCodiciFiscali() {
+        String[] codes = new String[patients];
+        Set<String> used = new HashSet<>(patients * 2);
+        for (int i = 0; i < patients; i++) {
+            SplittableRandom random = random(1, i);
+            boolean femmina = random.nextBoolean();
+            String nome = pick(random, femmina ? FEMALE_NAMES : MALE_NAMES);
+            String cognome = pick(random, SURNAMES);
+            LocalDate nascita = birthDate(random);
+            int belfiore = random(5, i).nextInt(BELFIORE.length);
+            String code = null;
+            // Omocodia esaurita: si cambia il comune di nascita, che il
+            // Paziente non espone, così nome e data restano quelli dell'indice
+            for (int attempt = 0; code == null && attempt < BELFIORE.length; attempt++) {
+                String base = CodiceFiscale.compute(cognome, nome, nascita, femmina,
+                        BELFIORE[(belfiore + attempt) % BELFIORE.length]);
+                code = claimVariant(base, used);
+            }
+            if (code == null) {
+                throw new IllegalStateException("Nessun codice fiscale libero per il paziente " + i);
+            }
+            codes[i] = code;
+        }
+        return codes;
+    }
+
+    /**
+     * @return The first unused code among the base and its omocodia
+     *         variants (reserving it), or null if all of them are taken.
+     */
+    private static String claimVariant(String base, Set<String> used) {
+        if (used.add(base)) {
+            return base;
+        }
+        for (int level = 1; level <= CodiceFiscale.OMOCODIA_LEVELS; level++) {
+            String variant = CodiceFiscale.omocode(base, level);
+            if (used.add(variant)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    private SplittableRandom random(int stream, long index) {
+        return new SplittableRandom(seed ^ (stream * 0x9E3779B97F4A7C15L) ^ (index * 0xBF58476D1CE4E5B9L));
+    }
+
+    private LocalDate birthDate(SplittableRandom random) {
+        return LocalDate.of(1940, 1, 1).plusDays(random.nextInt(65 * 365));
+    }
+
+    private static String phone(SplittableRandom random) {
+        return "3" + (10 + random.nextInt(90)) + String.format("%07d", random.nextInt(10_000_000));
+    }
+
+    private static String emailOf(String nome, String cognome, String suffix) {
+        String local = (nome + "." + cognome).toLowerCase(Locale.ROOT).replaceAll("[^a-z.]", "");
+        return local + "." + suffix + "@mindlab.example";
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Builder del generatore; i default producono un dataset piccolo.
+     */
+    public static class Builder {
+        private int patients = 1_000;
+        private int specialists = 20;
+        private long visits = 10_000;
+        private double slotDensity = 0.6;
+        private int firstSpecialistId = 1_000;
+        private long seed = 2026;
+        private String password = "password";
+        private LocalDate today = LocalDate.now();
+        private LocalDate from = today.minusYears(2);
+        private LocalDate to = today.plusMonths(6);
+
+        public Builder patients(int patients) {
+            this.patients = patients;
+            return this;
+        }
+
+        public Builder specialists(int specialists) {
+            this.specialists = specialists;
+            return this;
+        }
+
+        public Builder visits(long visits) {
+            this.visits = visits;
+            return this;
+        }
+
+        /** Frazione massima degli slot giornalieri occupati (0..1]. */
+        public Builder slotDensity(double slotDensity) {
+            this.slotDensity = slotDensity;
+            return this;
+        }
+
+        /** Primo id specialista (per non collidere con i dati esistenti). */
+        public Builder firstSpecialistId(int firstSpecialistId) {
+            this.firstSpecialistId = firstSpecialistId;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /** Password in chiaro di tutti gli utenti (salvata come hash bcrypt). */
+        public Builder password(String password) {
+            this.password = password;
+            return this;
+        }
+
+        /** Intervallo delle visite (inclusivo); prima di oggi sono "Completata". */
+        public Builder dateRange(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+            return this;
+        }
+
+        public DatasetGenerator build() {
+            if (patients <= 0 || specialists <= 0 || visits < 0) {
+                throw new IllegalArgumentException("Dimensioni del dataset non valide.");
+            }
+            if (specialists > patients) {
+                throw new IllegalArgumentException("Servono almeno tanti pazienti quanti specialisti.");
+            }
+            if (slotDensity <= 0 || slotDensity > 1) {
+                throw new IllegalArgumentException("La densità degli slot deve essere in (0, 1].");
+            }
+            if (from == null || to == null || to.isBefore(from)) {
+                throw new IllegalArgumentException("Intervallo di date non valido.");
+            }
+            return new DatasetGenerator(this);
+        }
+    }
+}
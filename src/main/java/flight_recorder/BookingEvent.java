@@ -0,0 +1,30 @@
+package flight_recorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR di una prenotazione, dalla validazione al salvataggio.
+ */
+@Name("mindlab.Booking")
+@Label("Prenotazione")
+@Category({ "MindLab", "Booking" })
+@Description("BookAppointmentControllerApp.bookAppointment")
+@StackTrace(false)
+public final class BookingEvent extends jdk.jfr.Event {
+    @Label("Backend")
+    public String backend;
+
+    @Label("Specialista")
+    public int specialistId;
+
+    @Label("Data visita")
+    public String date;
+
+    @Label("Esito")
+    @Description("SUCCESS o il messaggio di errore restituito al paziente")
+    public String result;
+}
@@ -0,0 +1,26 @@
+package flight_recorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR di un'autenticazione. Non registra l'email dell'utente.
+ */
+@Name("mindlab.Login")
+@Label("Login")
+@Category({ "MindLab", "Authentication" })
+@Description("AuthenticationService.authenticate, verifica bcrypt inclusa")
+@StackTrace(false)
+public final class LoginEvent extends jdk.jfr.Event {
+    @Label("Backend")
+    public String dao;
+
+    @Label("Riuscito")
+    public boolean success;
+
+    @Label("Tipo utente")
+    public String userType;
+}
@@ -0,0 +1,23 @@
+package flight_recorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR della consegna di una notifica a tutti gli observer.
+ */
+@Name("mindlab.NotificationDispatch")
+@Label("Notifica")
+@Category({ "MindLab", "Booking" })
+@Description("NotificationManager.notifyObservers")
+@StackTrace(false)
+public final class NotificationEvent extends jdk.jfr.Event {
+    @Label("Observer")
+    public int observers;
+
+    @Label("Specialista")
+    public int specialistId;
+}
@@ -0,0 +1,29 @@
+package flight_recorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR di una ricerca degli slot liberi di uno specialista.
+ */
+@Name("mindlab.SlotLookup")
+@Label("Ricerca slot")
+@Category({ "MindLab", "Booking" })
+@Description("BookAppointmentControllerApp.getAvailableSlots, giorno singolo o intervallo")
+@StackTrace(false)
+public final class SlotLookupEvent extends jdk.jfr.Event {
+    @Label("Backend")
+    public String backend;
+
+    @Label("Specialista")
+    public int specialistId;
+
+    @Label("Giorni")
+    public int days;
+
+    @Label("Slot liberi")
+    public int freeSlots;
+}
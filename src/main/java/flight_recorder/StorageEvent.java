@@ -0,0 +1,41 @@
+package flight_recorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR di un'operazione di storage (database o file).
+ */
+@Name("mindlab.StorageOperation")
+@Label("Operazione di storage")
+@Category({ "MindLab", "Storage" })
+@Description("Chiamata a un DAO del backend di persistenza")
+@StackTrace(false)
+public final class StorageEvent extends jdk.jfr.Event {
+    private static final String[] BACKENDS = { "RAM", "Database", "File" };
+
+    @Label("Backend")
+    public String backend;
+
+    @Label("Entità")
+    public String entity;
+
+    @Label("Operazione")
+    public String operation;
+
+    @Label("Riuscita")
+    @Description("false se l'operazione ha fallito, non ha trovato nulla o ha lanciato un'eccezione")
+    public boolean success;
+
+    @Label("Risultati")
+    public int results;
+
+    /** Nome del backend per un'opzione di storage (0 RAM, 1 Database, 2 File). */
+    public static String backendName(int storageOption) {
+        return storageOption >= 0 && storageOption < BACKENDS.length ? BACKENDS[storageOption]
+                : String.valueOf(storageOption);
+    }
+}
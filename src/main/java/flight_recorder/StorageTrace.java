@@ -0,0 +1,125 @@
+package flight_recorder;
+
+import slow_operations.SlowOperationDetector;
+import startup_profiler.StartupPhase;
+import startup_profiler.StartupProfiler;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Registra come {@link StorageEvent} le chiamate dei DAO alle strategie di
+ * storage (database e file) e segnala quelle lente al
+ * {@link SlowOperationDetector}.
+ *
+ * Without an active JFR recording {@code shouldCommit()} is false: the
+ * fields are never written and, once inlined, the event object and the
+ * lambda are scalar-replaced. A call faster than every slow-operation
+ * threshold adds two nanoTime reads; the operation name and the redacted
+ * parameters are built only for slow calls. The DAOs call these helpers
+ * where they already delegate to a {@code DataStorageStrategy}, so no
+ * wrapper type is introduced.
+ */
+public final class StorageTrace {
+
+    // Vero finché il primo accesso allo storage non è stato considerato
+    private static volatile boolean firstAccessPending = true;
+
+    private StorageTrace() {
+        // Utility class
+    }
+
+    /** Ricerca di un singolo elemento: riuscita se l'Optional non è vuoto. */
+    public static <T> Optional<T> find(String backend, String entity, String operation,
+            Supplier<Optional<T>> call, Object... params) {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Optional<T> result = null;
+        try {
+            result = call.get();
+            return result;
+        } finally {
+            boolean found = result != null && result.isPresent();
+            checkSlow(backend, entity, operation, System.nanoTime() - start, found ? 1 : 0, params);
+            if (event.shouldCommit()) {
+                commit(event, backend, entity, operation, found, found ? 1 : 0);
+            }
+        }
+    }
+
+    /** Lettura di più elementi: il numero di risultati finisce nell'evento. */
+    public static <T> List<T> list(String backend, String entity, String operation, Supplier<List<T>> call,
+            Object... params) {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<T> result = null;
+        try {
+            result = call.get();
+            return result;
+        } finally {
+            int size = result == null ? 0 : result.size();
+            checkSlow(backend, entity, operation, System.nanoTime() - start, size, params);
+            if (event.shouldCommit()) {
+                commit(event, backend, entity, operation, result != null, size);
+            }
+        }
+    }
+
+    /** Scrittura (salva, aggiorna, elimina) con esito booleano. */
+    public static boolean write(String backend, String entity, String operation, BooleanSupplier call,
+            Object... params) {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean result = false;
+        try {
+            result = call.getAsBoolean();
+            return result;
+        } finally {
+            checkSlow(backend, entity, operation, System.nanoTime() - start, result ? 1 : 0, params);
+            if (event.shouldCommit()) {
+                commit(event, backend, entity, operation, result, result ? 1 : 0);
+            }
+        }
+    }
+
+    private static void checkSlow(String backend, String entity, String operation, long nanos, int count,
+            Object[] params) {
+        // Chiamata comune a find/list/write: segna la fine del primo accesso allo storage
+        if (firstAccessPending) {
+            markFirstAccess();
+        }
+        SlowOperationDetector detector = SlowOperationDetector.getInstance();
+        if (detector.mayBeSlow(nanos)) {
+            detector.record("storage." + backend + "." + entity + "." + operation,
+                    () -> SlowOperationDetector.redact(params), nanos, count);
+        }
+    }
+
+    /**
+     * Solo con la profilazione dell'avvio attiva (lancio da AppLauncher):
+     * load generator e test non toccano il profiler, e le chiamate
+     * successive costano una lettura volatile.
+     */
+    private static void markFirstAccess() {
+        firstAccessPending = false;
+        StartupProfiler profiler = StartupProfiler.getInstance();
+        if (profiler.isActive()) {
+            profiler.mark(StartupPhase.FIRST_STORAGE_ACCESS);
+        }
+    }
+
+    private static void commit(StorageEvent event, String backend, String entity, String operation,
+            boolean success, int results) {
+        event.backend = backend;
+        event.entity = entity;
+        event.operation = operation;
+        event.success = success;
+        event.results = results;
+        event.commit();
+    }
+}
@@ -0,0 +1,405 @@
+package http_api;
+
+import authentication.AuthenticationResult;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import login_insert_data.LoginBean;
+import login_insert_data.LoginController;
+import model.Paziente;
+import model.Specialista;
+import patient_dashboard.book_appointment.BookAppointmentBean;
+import patient_dashboard.book_appointment.BookAppointmentControllerApp;
+import patient_dashboard.book_appointment.SlotAvailability;
+import patient_dashboard.book_appointment.SlotCandidate;
+import session_manager.Session;
+import session_manager.SessionContext;
+import session_manager.SessionStore;
+import specialist_dashboard.manage_agenda.ManageAgendaBean;
+import specialist_dashboard.manage_agenda.ManagerAgendaControllerApp;
+import startupconfig.StartupConfigBean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * API HTTP/JSON "headless" sugli stessi controller applicativi delle viste.
+ *
+ * Uses the JDK's built-in HTTP server with one virtual thread per request.
+ * Each authenticated request resolves its {@link Session} from the
+ * {@code Authorization: Bearer <token>} header and binds it to the handling
+ * thread, so the controllers serve many users at once.
+ *
+ * Endpoints:
+ * <ul>
+ * <li>POST /api/login {email, password} -> {token, userType}</li>
+ * <li>POST /api/logout</li>
+ * <li>GET /api/specializations</li>
+ * <li>GET /api/specialists[?specialization=]</li>
+ * <li>GET /api/slots?specialistId=&amp;from=[&amp;to=]</li>
+ * <li>GET /api/slots/earliest?specialization=[&amp;serviceType=&amp;k=&amp;horizonDays=]</li>
+ * <li>POST /api/appointments (paziente) {BookAppointmentBean}</li>
+ * <li>GET /api/agenda (specialista)</li>
+ * <li>DELETE /api/agenda?date=&amp;time= (specialista)</li>
+ * </ul>
+ *
+ * Booking and slot queries resolve storage from StartupSettingsEntity, like
+ * the views: the launcher must align it with the config passed here.
+ *
+ * The API speaks plain HTTP and carries bearer tokens and patient data, so
+ * {@link #start(StartupConfigBean, int)} listens on loopback only. Other
+ * interfaces must be requested explicitly with an address, ideally behind a
+ * TLS proxy.
+ */
+public final class ApiServer implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ApiServer.class.getName());
+
+    public static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_EARLIEST_K = 5;
+    private static final int DEFAULT_HORIZON_DAYS = 30;
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String BEARER = "Bearer ";
+    // I corpi attesi sono piccoli JSON: oltre questa soglia si risponde 413
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final StartupConfigBean config;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper mapper;
+    private final LoginController loginController;
+    private final BookAppointmentControllerApp bookingController = new BookAppointmentControllerApp();
+
+    /**
+     * @param config  La configurazione di storage da servire.
+     * @param address Indirizzo di ascolto (porta 0 per una porta libera).
+     */
+    public ApiServer(StartupConfigBean config, InetSocketAddress address) throws IOException {
+        this.config = config;
+        this.loginController = new LoginController(config);
+        this.mapper = new ObjectMapper();
+        this.mapper.registerModule(new JavaTimeModule());
+        this.mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        this.mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(address, 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/api/login", ex -> handle(ex, "POST", false, this::login));
+        this.server.createContext("/api/logout", ex -> handle(ex, "POST", true, this::logout));
+        this.server.createContext("/api/specializations", ex -> handle(ex, "GET", false, this::specializations));
+        this.server.createContext("/api/specialists", ex -> handle(ex, "GET", false, this::specialists));
+        this.server.createContext("/api/slots", ex -> handle(ex, "GET", false, this::slots));
+        this.server.createContext("/api/appointments", ex -> handle(ex, "POST", true, this::book));
+        this.server.createContext("/api/agenda", ex -> handle(ex, null, true, this::agenda));
+    }
+
+    /**
+     * Creates and starts a server listening on the loopback interface only.
+     */
+    public static ApiServer start(StartupConfigBean config, int port) throws IOException {
+        return start(config, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Creates and starts a server on the given address (e.g. 0.0.0.0 to
+     * accept remote clients).
+     */
+    public static ApiServer start(StartupConfigBean config, InetSocketAddress address) throws IOException {
+        ApiServer apiServer = new ApiServer(config, address);
+        apiServer.start();
+        return apiServer;
+    }
+
+    public void start() {
+        server.start();
+        InetSocketAddress address = getAddress();
+        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] ApiServer listening on %s:%d (storage %d)",
+                Thread.currentThread().getName(), address.getHostString(), address.getPort(),
+                config.getStorageOption()));
+        if (!address.getAddress().isLoopbackAddress()) {
+            LOGGER.warning(() -> "ApiServer raggiungibile da altri host su HTTP in chiaro: " + address);
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops accepting requests, waiting at most one second for the running
+     * ones.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        LOGGER.info("ApiServer fermato.");
+    }
+
+    // --- Endpoint ---
+
+    private Object login(HttpExchange ex, Session ignored) throws IOException {
+        LoginBean bean = readBody(ex, LoginBean.class);
+        // La verifica bcrypt gira sul pool limitato del PasswordHasher
+        AuthenticationResult result = loginController.authenticateAsync(bean).join();
+        if (!result.isSuccess()) {
+            throw new ApiException(401, result.getErrorMessage());
+        }
+        Session session = loginController.openSession(result);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("token", session.getToken());
+        body.put("userType", result.getUserType());
+        return body;
+    }
+
+    private Object logout(HttpExchange ex, Session session) {
+        SessionStore.getInstance().invalidate(session.getToken());
+        return null;
+    }
+
+    private Object specializations(HttpExchange ex, Session ignored) {
+        return bookingController.getSpecializations(config);
+    }
+
+    private Object specialists(HttpExchange ex, Session ignored) {
+        String specialization = query(ex).get("specialization");
+        List<Specialista> specialists = (specialization == null || specialization.isBlank())
+                ? bookingController.getAvailableSpecialists(config)
+                : bookingController.getSpecialistsBySpecialization(specialization, config);
+        return specialists.stream().map(ApiServer::toJson).toList();
+    }
+
+    private Object slots(HttpExchange ex, Session ignored) {
+        Map<String, String> params = query(ex);
+        if ("/api/slots/earliest".equals(ex.getRequestURI().getPath())) {
+            List<SlotCandidate> candidates = bookingController.findEarliestSlots(
+                    required(params, "specialization"), params.get("serviceType"),
+                    intParam(params, "horizonDays", DEFAULT_HORIZON_DAYS),
+                    intParam(params, "k", DEFAULT_EARLIEST_K), config);
+            return candidates.stream().map(c -> {
+                Map<String, Object> slot = new LinkedHashMap<>();
+                slot.put("specialist", toJson(c.getSpecialist()));
+                slot.put("date", c.getDate());
+                slot.put("time", c.getTime());
+                return slot;
+            }).toList();
+        }
+        int specialistId = parse(required(params, "specialistId"), Integer::parseInt);
+        LocalDate from = parse(required(params, "from"), LocalDate::parse);
+        LocalDate to = params.containsKey("to") ? parse(params.get("to"), LocalDate::parse) : from;
+        SlotAvailability availability;
+        try {
+            availability = bookingController.getAvailableSlots(specialistId, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, e.getMessage());
+        }
+        return availability.toMap();
+    }
+
+    private Object book(HttpExchange ex, Session session) throws IOException {
+        Paziente patient = session.getPaziente()
+                .orElseThrow(() -> new ApiException(403, "Operazione riservata ai pazienti."));
+        BookAppointmentBean bean = readBody(ex, BookAppointmentBean.class);
+        if (isBlank(bean.getName()) || isBlank(bean.getSurname())) {
+            throw new ApiException(400, "Nome e cognome del paziente sono obbligatori.");
+        }
+        String outcome = bookingController.bookAppointment(bean, patient);
+        if (!"SUCCESS".equals(outcome)) {
+            throw new ApiException(422, outcome);
+        }
+        return Map.of("status", outcome);
+    }
+
+    private Object agenda(HttpExchange ex, Session session) {
+        if (!session.isSpecialist()) {
+            throw new ApiException(403, "Operazione riservata agli specialisti.");
+        }
+        ManagerAgendaControllerApp agenda = new ManagerAgendaControllerApp(config, session);
+        switch (ex.getRequestMethod()) {
+            case "GET":
+                return agenda.getFutureVisits();
+            case "DELETE":
+                Map<String, String> params = query(ex);
+                ManageAgendaBean bean = new ManageAgendaBean();
+                bean.setDate(parse(required(params, "date"), LocalDate::parse));
+                bean.setTime(parse(required(params, "time"), LocalTime::parse));
+                if (!agenda.rejectVisit(bean)) {
+                    throw new ApiException(404, "Visita non trovata.");
+                }
+                return null;
+            default:
+                throw new ApiException(405, "Metodo non consentito.");
+        }
+    }
+
+    // --- Infrastruttura ---
+
+    @FunctionalInterface
+    private interface Endpoint {
+        Object serve(HttpExchange exchange, Session session) throws IOException;
+    }
+
+    private void handle(HttpExchange ex, String method, boolean authenticated, Endpoint endpoint) {
+        try (ex) {
+            int status = 200;
+            Object body;
+            try {
+                if (method != null && !method.equals(ex.getRequestMethod())) {
+                    throw new ApiException(405, "Metodo non consentito.");
+                }
+                Session session = authenticated ? authenticate(ex) : null;
+                try (SessionContext.Scope _ = SessionContext.bind(session)) {
+                    body = endpoint.serve(ex, session);
+                }
+            } catch (ApiException e) {
+                status = e.getStatus();
+                body = Map.of("error", e.getMessage());
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Errore non gestito su " + ex.getRequestURI().getPath(), e);
+                status = 500;
+                body = Map.of("error", "Errore interno del server.");
+            }
+            send(ex, status, body);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Risposta non inviata: {0}", e.getMessage());
+        }
+    }
+
+    private static Session authenticate(HttpExchange ex) {
+        String header = ex.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith(BEARER)) {
+            throw new ApiException(401, "Token mancante.");
+        }
+        return SessionStore.getInstance().find(header.substring(BEARER.length()).trim())
+                .orElseThrow(() -> new ApiException(401, "Sessione scaduta o non valida."));
+    }
+
+    private void send(HttpExchange ex, int status, Object body) throws IOException {
+        if (body == null) {
+            ex.sendResponseHeaders(204, -1);
+            return;
+        }
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        ex.getResponseHeaders().set("Content-Type", JSON);
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private <T> T readBody(HttpExchange ex, Class<T> type) throws IOException {
+        String length = ex.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && parse(length.trim(), Long::parseLong) > MAX_BODY_BYTES) {
+            throw new ApiException(413, "Corpo della richiesta troppo grande.");
+        }
+        byte[] bytes;
+        try (InputStream in = ex.getRequestBody()) {
+            // Senza Content-Length (chunked) il limite vale sui byte letti
+            bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw new ApiException(413, "Corpo della richiesta troppo grande.");
+        }
+        try {
+            return Optional.ofNullable(mapper.readValue(bytes, type))
+                    .orElseThrow(() -> new ApiException(400, "Corpo della richiesta mancante."));
+        } catch (JacksonException e) {
+            throw new ApiException(400, "JSON non valido: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange ex) {
+        Map<String, String> params = new HashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = (eq < 0) ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            throw new ApiException(400, "Parametro obbligatorio mancante: " + name);
+        }
+        return value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        return (value == null) ? defaultValue : parse(value, Integer::parseInt);
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ApiException(400, "Valore non valido: " + value);
+        }
+    }
+
+    /**
+     * Vista pubblica dello specialista (senza password né dati personali).
+     */
+    private static Map<String, Object> toJson(Specialista specialista) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", specialista.getId());
+        json.put("nome", specialista.getNome());
+        json.put("cognome", specialista.getCognome());
+        json.put("specializzazione", specialista.getSpecializzazione());
+        return json;
+    }
+
+    /**
+     * Errore con il relativo codice di stato HTTP.
+     */
+    private static final class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        int getStatus() {
+            return status;
+        }
+    }
+}
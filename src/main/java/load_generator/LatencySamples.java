@@ -0,0 +1,72 @@
+package load_generator;
+
+import load_generator.LoadReport.Operation;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latenze e errori per operazione, raccolti da un singolo utente virtuale.
+ * Not thread-safe: each worker owns one instance and the generator merges
+ * them once the run is over, so recording never contends.
+ */
+final class LatencySamples {
+
+    private final Map<Operation, long[]> samples = new EnumMap<>(Operation.class);
+    private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+    private final Map<Operation, Integer> errors = new EnumMap<>(Operation.class);
+
+    void record(Operation operation, long nanos) {
+        int count = counts.getOrDefault(operation, 0);
+        long[] values = samples.computeIfAbsent(operation, _ -> new long[64]);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+            samples.put(operation, values);
+        }
+        values[count] = nanos;
+        counts.put(operation, count + 1);
+    }
+
+    void recordError(Operation operation) {
+        errors.merge(operation, 1, Integer::sum);
+    }
+
+    void merge(LatencySamples other) {
+        for (Operation operation : Operation.values()) {
+            long[] theirs = other.sorted(operation);
+            for (long nanos : theirs) {
+                record(operation, nanos);
+            }
+            errors.merge(operation, other.getErrors(operation), Integer::sum);
+        }
+    }
+
+    int getCount(Operation operation) {
+        return counts.getOrDefault(operation, 0);
+    }
+
+    int getErrors(Operation operation) {
+        return errors.getOrDefault(operation, 0);
+    }
+
+    /**
+     * @return The samples of an operation in ascending order.
+     */
+    long[] sorted(Operation operation) {
+        long[] values = Arrays.copyOf(samples.getOrDefault(operation, new long[0]), getCount(operation));
+        Arrays.sort(values);
+        return values;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted samples, in nanoseconds.
+     */
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.clamp(rank - 1, 0, sorted.length - 1)];
+    }
+}
@@ -0,0 +1,467 @@
+package load_generator;
+
+import app_logging.AppLog;
+import authentication.AuthenticationResult;
+import authentication.AuthenticationService;
+import authentication.CredentialIndex;
+import authentication.PasswordHasher;
+import authentication.factory.DAOFactory;
+import load_generator.LoadReport.Operation;
+import login_insert_data.LoginBean;
+import model.Paziente;
+import model.Specialista;
+import model.Visita;
+import patient_dashboard.book_appointment.AppointmentRepository;
+import patient_dashboard.book_appointment.BookAppointmentBean;
+import patient_dashboard.book_appointment.BookAppointmentControllerApp;
+import patient_dashboard.book_appointment.ItalianHolidayCalendar;
+import patient_dashboard.book_appointment.SpecialistDirectory;
+import session_manager.Session;
+import session_manager.SessionContext;
+import session_manager.SessionStore;
+import specialist_dashboard.manage_agenda.ManagerAgendaControllerApp;
+import startupconfig.StartupConfigBean;
+import startupconfig.StartupSettingsEntity;
+import storage_db.DataStorageStrategy;
+import storage_db.DatabaseStorageStrategyPaziente;
+import storage_db.DatabaseStorageStrategySpecialista;
+import storage_file.FileManagerPazienti;
+import storage_file.FileManagerSpecialisti;
+import storage_liste.ListaPazienti;
+import storage_liste.ListaSpecialisti;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Generatore di carico senza interfaccia per il flusso di prenotazione.
+ *
+ * Seeds synthetic patients and specialists into one storage backend, then
+ * runs {@code concurrency} virtual users, each repeating the flow login →
+ * slot lookup → booking → specialist agenda through the application
+ * controllers. The run reports throughput, latency percentiles, rejected
+ * bookings and the double bookings left in storage; synthetic users and
+ * their visits are removed afterwards.
+ *
+ * Logins go straight to the {@link AuthenticationService}: the
+ * LoginThrottler in front of it would otherwise cap the measured rate.
+ * On MySQL the specialist ids are assigned by the database and read back
+ * after seeding; the fixed ids only apply to the list and file backends.
+ *
+ * Uso: {@code LoadGenerator --storage=0,2 --patients=200 --specialists=10
+ * --concurrency=64 --flows=5 --horizon=10}
+ */
+public final class LoadGenerator {
+    private static final Logger LOGGER = Logger.getLogger(LoadGenerator.class.getName());
+
+    static final String PASSWORD = "load-test";
+    static final String CF_PREFIX = "LDGPAZ";
+    static final int SPECIALIST_ID_BASE = 900_000;
+    private static final String[] SPECIALIZATIONS = { "Psicologia", "Psichiatria", "Logopedia", "Neuropsicologia" };
+
+    private final int storageOption;
+    private final int patients;
+    private final int specialists;
+    private final int concurrency;
+    private final int flowsPerUser;
+    private final int horizonDays;
+    private final long seed;
+
+    private LoadGenerator(Builder builder) {
+        this.storageOption = builder.storageOption;
+        this.patients = builder.patients;
+        this.specialists = builder.specialists;
+        this.concurrency = builder.concurrency;
+        this.flowsPerUser = builder.flowsPerUser;
+        this.horizonDays = builder.horizonDays;
+        this.seed = builder.seed;
+    }
+
+    /**
+     * Esegue il carico sul backend configurato.
+     */
+    public LoadReport run() throws InterruptedException {
+        StartupSettingsEntity settings = StartupSettingsEntity.getInstance();
+        int previousStorage = settings.getStorageOption();
+        // La prenotazione risolve lo storage dal singleton, come nelle viste
+        settings.setStorageOption(storageOption);
+        StartupConfigBean config = new StartupConfigBean(false, storageOption);
+        DAOFactory.DAOPair daos = DAOFactory.createDAOs(config);
+
+        String hash = PasswordHasher.getInstance().hash(PASSWORD);
+        List<Paziente> pazienti = new ArrayList<>(patients);
+        for (int i = 0; i < patients; i++) {
+            pazienti.add(new Paziente.Builder()
+                    .codiceFiscalePaziente(String.format("%s%010d", CF_PREFIX, i))
+                    .nome("Load").cognome("Paziente" + i)
+                    .dataDiNascita(LocalDate.of(1980, 1, 1)).numeroTelefonico("3330000000")
+                    .email("load.paziente" + i + "@loadtest.it").password(hash).build());
+        }
+        List<Specialista> specialisti = new ArrayList<>(specialists);
+        for (int i = 0; i < specialists; i++) {
+            specialisti.add(new Specialista.Builder()
+                    .id(SPECIALIST_ID_BASE + i).nome("Load").cognome("Specialista" + i)
+                    .dataDiNascita(LocalDate.of(1975, 1, 1)).numeroTelefonico("3330000000")
+                    .email("load.specialista" + i + "@loadtest.it")
+                    .specializzazione(SPECIALIZATIONS[i % SPECIALIZATIONS.length]).password(hash).build());
+        }
+
+        try {
+            seed(pazienti, specialisti);
+            CredentialIndex.invalidateAll();
+            SpecialistDirectory.invalidateAll();
+            return drive(config, daos, pazienti, specialisti);
+        } finally {
+            cleanup(daos.appointmentRepository, pazienti, specialisti);
+            CredentialIndex.invalidateAll();
+            SpecialistDirectory.invalidateAll();
+            settings.setStorageOption(previousStorage);
+        }
+    }
+
+    private LoadReport drive(StartupConfigBean config, DAOFactory.DAOPair daos, List<Paziente> pazienti,
+            List<Specialista> specialisti) throws InterruptedException {
+        AuthenticationService auth = new AuthenticationService(daos.pazienteDAO, daos.specialistaDAO,
+                CredentialIndex.forStorage(storageOption), storageOption);
+        List<LocalDate> days = new ArrayList<>(horizonDays);
+        LocalDate day = LocalDate.now();
+        while (days.size() < horizonDays) {
+            day = ItalianHolidayCalendar.nextWorkingDay(day.plusDays(1));
+            days.add(day);
+        }
+        // Una sessione per specialista: l'agenda viene riletta dopo ogni prenotazione
+        Map<Integer, Session> agendaSessions = new HashMap<>();
+        specialisti.forEach(s -> agendaSessions.put(s.getId(), SessionStore.getInstance().create(s)));
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<VirtualUser>> futures = new ArrayList<>(concurrency);
+        long elapsed;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < concurrency; u++) {
+                VirtualUser user = new VirtualUser(new SplittableRandom(seed + u),
+                        pazienti.get(u % pazienti.size()), specialisti, days, auth, config, agendaSessions);
+                futures.add(workers.submit(() -> {
+                    start.await();
+                    return user.runFlows(flowsPerUser);
+                }));
+            }
+            long t0 = System.nanoTime();
+            start.countDown();
+            for (Future<VirtualUser> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // Riportato sotto, durante l'aggregazione
+                }
+            }
+            elapsed = System.nanoTime() - t0;
+        } finally {
+            agendaSessions.values().forEach(s -> SessionStore.getInstance().invalidate(s.getToken()));
+        }
+
+        LatencySamples merged = new LatencySamples();
+        Map<String, Integer> rejections = new HashMap<>();
+        int booked = 0;
+        for (Future<VirtualUser> future : futures) {
+            VirtualUser user = awaitQuietly(future);
+            if (user != null) {
+                merged.merge(user.samples);
+                user.rejections.forEach((reason, count) -> rejections.merge(reason, count, Integer::sum));
+                booked += user.booked;
+            }
+        }
+        return new LoadReport(storageOption, concurrency * flowsPerUser, elapsed, merged, booked, rejections,
+                countDoubleBookings(daos.appointmentRepository, specialisti));
+    }
+
+    private static VirtualUser awaitQuietly(Future<VirtualUser> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Utente virtuale terminato con errore", e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Visite in eccesso per (specialista, data, orario).
+     */
+    private static int countDoubleBookings(AppointmentRepository repo, List<Specialista> specialisti) {
+        int doubles = 0;
+        for (Specialista s : specialisti) {
+            Map<String, Long> perSlot = repo.findBySpecialistId(s.getId()).stream()
+                    .collect(Collectors.groupingBy(v -> v.getData() + " " + v.getOrario(), Collectors.counting()));
+            doubles += (int) perSlot.values().stream().mapToLong(c -> c - 1).sum();
+        }
+        return doubles;
+    }
+
+    /**
+     * Un utente virtuale: ripete il flusso completo sul proprio paziente.
+     */
+    private static final class VirtualUser {
+        private final SplittableRandom random;
+        private final Paziente paziente;
+        private final List<Specialista> specialisti;
+        private final List<LocalDate> days;
+        private final AuthenticationService auth;
+        private final StartupConfigBean config;
+        private final Map<Integer, Session> agendaSessions;
+        private final BookAppointmentControllerApp booking = new BookAppointmentControllerApp();
+
+        private final LatencySamples samples = new LatencySamples();
+        private final Map<String, Integer> rejections = new HashMap<>();
+        private int booked;
+
+        VirtualUser(SplittableRandom random, Paziente paziente, List<Specialista> specialisti, List<LocalDate> days,
+                AuthenticationService auth, StartupConfigBean config, Map<Integer, Session> agendaSessions) {
+            this.random = random;
+            this.paziente = paziente;
+            this.specialisti = specialisti;
+            this.days = days;
+            this.auth = auth;
+            this.config = config;
+            this.agendaSessions = agendaSessions;
+        }
+
+        VirtualUser runFlows(int flows) {
+            for (int i = 0; i < flows; i++) {
+                runFlow();
+            }
+            return this;
+        }
+
+        private void runFlow() {
+            long t0 = System.nanoTime();
+            AuthenticationResult result;
+            try {
+                result = auth.authenticate(new LoginBean(paziente.getEmail(), PASSWORD));
+            } catch (RuntimeException e) {
+                result = AuthenticationResult.failure(e.getMessage());
+            }
+            samples.record(Operation.LOGIN, System.nanoTime() - t0);
+            if (!result.isSuccess()) {
+                samples.recordError(Operation.LOGIN);
+                return;
+            }
+
+            Session session = SessionStore.getInstance().create(result.getUser());
+            Operation current = Operation.SLOT_LOOKUP;
+            try (SessionContext.Scope _ = SessionContext.bind(session)) {
+                Paziente patient = session.getPaziente().orElseThrow();
+                Specialista specialist = specialisti.get(random.nextInt(specialisti.size()));
+                BookAppointmentBean bean = newBean(patient, specialist, days.get(random.nextInt(days.size())));
+
+                List<LocalTime> free = timed(current, booking::getAvailableSlots, bean);
+                if (free.isEmpty()) {
+                    rejections.merge("Nessuno slot libero", 1, Integer::sum);
+                    return;
+                }
+                bean.setTime(free.get(random.nextInt(free.size())));
+
+                current = Operation.BOOK;
+                String outcome = timed(current, b -> booking.bookAppointment(b, patient), bean);
+                if ("SUCCESS".equals(outcome)) {
+                    booked++;
+                } else {
+                    rejections.merge(outcome, 1, Integer::sum);
+                }
+
+                current = Operation.AGENDA;
+                Session agenda = agendaSessions.get(specialist.getId());
+                timed(current, s -> new ManagerAgendaControllerApp(config, s).getFutureVisits(), agenda);
+            } catch (RuntimeException e) {
+                samples.recordError(current);
+                LOGGER.log(Level.FINE, "Flusso interrotto in " + current, e);
+            } finally {
+                SessionStore.getInstance().invalidate(session.getToken());
+            }
+        }
+
+        private <T, R> R timed(Operation operation, Function<T, R> call, T argument) {
+            long t0 = System.nanoTime();
+            try {
+                return call.apply(argument);
+            } finally {
+                samples.record(operation, System.nanoTime() - t0);
+            }
+        }
+
+        private static BookAppointmentBean newBean(Paziente patient, Specialista specialist, LocalDate day) {
+            BookAppointmentBean bean = new BookAppointmentBean();
+            bean.setName(patient.getNome());
+            bean.setSurname(patient.getCognome());
+            bean.setDateOfBirth("01/01/1980");
+            bean.setPhone("3331234567");
+            bean.setEmail(patient.getEmail());
+            bean.setSpecialist(specialist.getNome() + " " + specialist.getCognome());
+            bean.setSpecialistId(specialist.getId());
+            bean.setDate(day);
+            bean.setServiceType("Online");
+            bean.setReason("Load test");
+            return bean;
+        }
+    }
+
+    // --- Dati sintetici ---
+
+    private void seed(List<Paziente> pazienti, List<Specialista> specialisti) {
+        if (storageOption == 0) {
+            pazienti.forEach(ListaPazienti.getIstanzaListaPazienti()::aggiungiPaziente);
+            specialisti.forEach(ListaSpecialisti.getIstanzaListaSpecialisti()::aggiungiSpecialista);
+            return;
+        }
+        DataStorageStrategy<Paziente> pazStore = pazienteStore();
+        DataStorageStrategy<Specialista> specStore = specialistaStore();
+        long failed = pazienti.stream().filter(p -> !pazStore.salva(p)).count()
+                + specialisti.stream().filter(s -> !specStore.salva(s)).count();
+        if (failed > 0) {
+            LOGGER.warning(() -> "[DEBUG] LoadGenerator: utenti sintetici non salvati: " + failed);
+        }
+        if (storageOption == 1) {
+            // L'INSERT non scrive l'id: prenotazioni e agende devono usare quello generato da MySQL
+            for (int i = 0; i < specialisti.size(); i++) {
+                String email = specialisti.get(i).getEmail();
+                specialisti.set(i, specStore.findByEmail(email).orElseThrow(() -> new IllegalStateException(
+                        "Specialista sintetico non trovato dopo il salvataggio: " + email)));
+            }
+        }
+    }
+
+    private void cleanup(AppointmentRepository repo, List<Paziente> pazienti, List<Specialista> specialisti) {
+        try {
+            for (Specialista s : specialisti) {
+                for (Visita v : repo.findBySpecialistId(s.getId())) {
+                    if (v.getPazienteCodiceFiscale().startsWith(CF_PREFIX)) {
+                        repo.delete(v);
+                    }
+                }
+            }
+            if (storageOption == 0) {
+                pazienti.forEach(p -> ListaPazienti.getIstanzaListaPazienti()
+                        .rimuoviPaziente(p.getCodiceFiscalePaziente()));
+                specialisti.forEach(s -> ListaSpecialisti.getIstanzaListaSpecialisti()
+                        .rimuoviSpecialista(s.getEmail()));
+                return;
+            }
+            DataStorageStrategy<Paziente> pazStore = pazienteStore();
+            DataStorageStrategy<Specialista> specStore = specialistaStore();
+            pazienti.forEach(pazStore::elimina);
+            specialisti.forEach(specStore::elimina);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Pulizia dei dati sintetici non completata", e);
+        }
+    }
+
+    private DataStorageStrategy<Paziente> pazienteStore() {
+        return (storageOption == 1) ? new DatabaseStorageStrategyPaziente() : new FileManagerPazienti();
+    }
+
+    private DataStorageStrategy<Specialista> specialistaStore() {
+        return (storageOption == 1) ? new DatabaseStorageStrategySpecialista() : new FileManagerSpecialisti();
+    }
+
+    /**
+     * Builder del generatore, con valori di default adatti a un'esecuzione
+     * breve in locale.
+     */
+    public static class Builder {
+        private int storageOption;
+        private int patients = 200;
+        private int specialists = 10;
+        private int concurrency = 64;
+        private int flowsPerUser = 5;
+        private int horizonDays = 10;
+        private long seed = 42;
+
+        public Builder storageOption(int storageOption) {
+            this.storageOption = storageOption;
+            return this;
+        }
+
+        public Builder patients(int patients) {
+            this.patients = patients;
+            return this;
+        }
+
+        public Builder specialists(int specialists) {
+            this.specialists = specialists;
+            return this;
+        }
+
+        public Builder concurrency(int concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        public Builder flowsPerUser(int flowsPerUser) {
+            this.flowsPerUser = flowsPerUser;
+            return this;
+        }
+
+        /** Giorni lavorativi su cui distribuire le prenotazioni (contesa sugli slot). */
+        public Builder horizonDays(int horizonDays) {
+            this.horizonDays = horizonDays;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public LoadGenerator build() {
+            if (storageOption < 0 || storageOption > 2) {
+                throw new IllegalArgumentException("Opzione di storage non valida: " + storageOption);
+            }
+            if (patients <= 0 || specialists <= 0 || concurrency <= 0 || flowsPerUser <= 0 || horizonDays <= 0) {
+                throw new IllegalArgumentException("I parametri del carico devono essere positivi.");
+            }
+            return new LoadGenerator(this);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        // I log INFO dei controller falserebbero le latenze misurate
+        Logger.getLogger("").setLevel(Level.WARNING);
+        for (Handler handler : Logger.getLogger("").getHandlers()) {
+            handler.setLevel(Level.WARNING);
+        }
+        AppLog.install();
+
+        for (String storage : options.getOrDefault("storage", "0").split(",")) {
+            LoadGenerator generator = new Builder()
+                    .storageOption(Integer.parseInt(storage.trim()))
+                    .patients(Integer.parseInt(options.getOrDefault("patients", "200")))
+                    .specialists(Integer.parseInt(options.getOrDefault("specialists", "10")))
+                    .concurrency(Integer.parseInt(options.getOrDefault("concurrency", "64")))
+                    .flowsPerUser(Integer.parseInt(options.getOrDefault("flows", "5")))
+                    .horizonDays(Integer.parseInt(options.getOrDefault("horizon", "10")))
+                    .seed(Long.parseLong(options.getOrDefault("seed", "42")))
+                    .build();
+            System.out.println(generator.run());
+        }
+    }
+}
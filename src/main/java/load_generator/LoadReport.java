@@ -0,0 +1,127 @@
+package load_generator;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Risultato di un'esecuzione del {@link LoadGenerator} su un backend.
+ */
+public final class LoadReport {
+    private static final String[] STORAGE_NAMES = { "RAM", "Database", "File" };
+
+    /**
+     * Operazioni di un flusso di prenotazione.
+     */
+    public enum Operation {
+        LOGIN, SLOT_LOOKUP, BOOK, AGENDA
+    }
+
+    private final int storageOption;
+    private final int flows;
+    private final long elapsedNanos;
+    private final LatencySamples samples;
+    private final int booked;
+    private final Map<String, Integer> rejections;
+    private final int doubleBookings;
+
+    LoadReport(int storageOption, int flows, long elapsedNanos, LatencySamples samples, int booked,
+            Map<String, Integer> rejections, int doubleBookings) {
+        this.storageOption = storageOption;
+        this.flows = flows;
+        this.elapsedNanos = elapsedNanos;
+        this.samples = samples;
+        this.booked = booked;
+        this.rejections = new TreeMap<>(rejections);
+        this.doubleBookings = doubleBookings;
+    }
+
+    public int getStorageOption() {
+        return storageOption;
+    }
+
+    /** Flussi login → slot → prenotazione → agenda completati o interrotti. */
+    public int getFlows() {
+        return flows;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    public double getFlowsPerSecond() {
+        return flows / Math.max(getElapsedSeconds(), 1e-9);
+    }
+
+    public double getBookingsPerSecond() {
+        return booked / Math.max(getElapsedSeconds(), 1e-9);
+    }
+
+    public int getBooked() {
+        return booked;
+    }
+
+    /** Prenotazioni rifiutate dal controller, per messaggio. */
+    public Map<String, Integer> getRejections() {
+        return rejections;
+    }
+
+    public int getRejected() {
+        return rejections.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /** Visite in eccesso sullo stesso specialista, data e orario. */
+    public int getDoubleBookings() {
+        return doubleBookings;
+    }
+
+    public int getErrors() {
+        int total = 0;
+        for (Operation operation : Operation.values()) {
+            total += samples.getErrors(operation);
+        }
+        return total;
+    }
+
+    public int getErrors(Operation operation) {
+        return samples.getErrors(operation);
+    }
+
+    public int getCount(Operation operation) {
+        return samples.getCount(operation);
+    }
+
+    /**
+     * @return The latency percentile of an operation, in milliseconds.
+     */
+    public double getPercentileMillis(Operation operation, double percentile) {
+        long nanos = LatencySamples.percentile(samples.sorted(operation), percentile);
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        String storage = (storageOption >= 0 && storageOption < STORAGE_NAMES.length)
+                ? STORAGE_NAMES[storageOption] : String.valueOf(storageOption);
+        sb.append(String.format("Storage %s: %d flussi in %.2f s (%.1f flussi/s, %.1f prenotazioni/s)%n",
+                storage, flows, getElapsedSeconds(), getFlowsPerSecond(), getBookingsPerSecond()));
+        sb.append(String.format("  %-12s %8s %7s %9s %9s %9s %9s%n",
+                "operazione", "count", "errori", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Operation operation : Operation.values()) {
+            long[] sorted = samples.sorted(operation);
+            sb.append(String.format("  %-12s %8d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.name().toLowerCase(), sorted.length, samples.getErrors(operation),
+                    toMillis(LatencySamples.percentile(sorted, 50)), toMillis(LatencySamples.percentile(sorted, 95)),
+                    toMillis(LatencySamples.percentile(sorted, 99)), toMillis(LatencySamples.percentile(sorted, 100))));
+        }
+        sb.append(String.format("  prenotate %d, rifiutate %d, doppie prenotazioni %d%n",
+                booked, getRejected(), doubleBookings));
+        rejections.forEach((reason, count) -> sb.append(String.format("    %5d x %s%n", count, reason)));
+        return sb.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -1,14 +1,23 @@
 package login_insert_data;
 
+import app_logging.AppLog;
 import authentication.AuthenticationResult;
 import authentication.AuthenticationService;
+import authentication.CredentialIndex;
+import authentication.LoginThrottler;
+import authentication.PasswordHasher;
 import authentication.factory.DAOFactory;
 import model.Paziente;
 import model.Specialista;
+import session_manager.Session;
+import session_manager.SessionContext;
 import session_manager.SessionManagerPaziente;
 import session_manager.SessionManagerSpecialista;
+import session_manager.SessionStore;
 import startupconfig.StartupConfigBean;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Logger;
 
 /**
@@ -21,16 +30,23 @@ public class LoginController {
     private static final Logger LOGGER = Logger.getLogger(LoginController.class.getName());
 
     private final AuthenticationService authService;
+    private final LoginThrottler throttler = LoginThrottler.getInstance();
 
     public LoginController(StartupConfigBean config) {
-        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Initializing LoginController",
+        AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Initializing LoginController",
                 Thread.currentThread().getName()));
 
         // Crea i DAO in base alla configurazione
         DAOFactory.DAOPair daos = DAOFactory.createDAOs(config);
 
         // Inizializza il service
-        this.authService = new AuthenticationService(daos.pazienteDAO, daos.specialistaDAO);
+        CredentialIndex index = CredentialIndex.forStorage(config.getStorageOption());
+        this.authService = new AuthenticationService(daos.pazienteDAO, daos.specialistaDAO, index,
+                config.getStorageOption());
+
+        // Precarica indice e Bloom filter mentre l'utente digita le credenziali
+        Thread.ofVirtual().name("credential-index-preload")
+                .start(() -> index.ensureLoaded(daos.pazienteDAO, daos.specialistaDAO));
     }
 
     /**
@@ -40,9 +56,66 @@ public class LoginController {
      * @return AuthenticationResult con l'esito
      */
     public AuthenticationResult authenticate(LoginBean bean) {
-        LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Entering authenticate for email: %s",
+        AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Entering authenticate for email: %s",
                 Thread.currentThread().getName(), (bean != null ? bean.getEmail() : "null")));
-        return authService.authenticate(bean);
+        if (bean == null || bean.getEmail() == null) {
+            return authService.authenticate(bean);
+        }
+
+        // Limitazione dei tentativi prima di accedere allo storage
+        LoginThrottler.Decision decision = throttler.tryAcquire(bean.getEmail());
+        if (!decision.isAllowed()) {
+            LOGGER.warning(() -> String.format("[DEBUG][Thread: %s] Login throttled (%s) for: %s",
+                    Thread.currentThread().getName(), decision.getOutcome(), bean.getEmail()));
+            long seconds = Math.max(1, (decision.getRetryAfterMillis() + 999) / 1000);
+            return AuthenticationResult.failure("Troppi tentativi, riprova tra " + seconds + " secondi.");
+        }
+
+        AuthenticationResult result = authService.authenticate(bean);
+        if (result.isSuccess()) {
+            throttler.recordSuccess(bean.getEmail());
+        } else {
+            throttler.recordFailure(bean.getEmail());
+        }
+        return result;
+    }
+
+    /**
+     * Esegue l'autenticazione sul pool limitato del {@link PasswordHasher},
+     * così la verifica bcrypt non blocca il thread dell'interfaccia.
+     *
+     * @param bean Il bean con le credenziali
+     * @return Future con l'esito; se il pool è saturo l'esito è un fallimento
+     */
+    public CompletableFuture<AuthenticationResult> authenticateAsync(LoginBean bean) {
+        return PasswordHasher.getInstance()
+                .submit(() -> authenticate(bean))
+                .exceptionally(ex -> {
+                    LOGGER.warning(() -> String.format("[DEBUG][Thread: %s] Autenticazione non eseguita: %s",
+                            Thread.currentThread().getName(), ex.getMessage()));
+                    boolean busy = ex instanceof RejectedExecutionException
+                            || ex.getCause() instanceof RejectedExecutionException;
+                    return AuthenticationResult.failure(busy
+                            ? "Servizio momentaneamente occupato, riprova."
+                            : "Errore durante l'autenticazione");
+                });
+    }
+
+    /**
+     * Apre una sessione indipendente per l'utente autenticato, senza toccare
+     * la sessione desktop: usata quando lo stesso processo serve più utenti.
+     * Il token va passato ai controller o associato al thread con
+     * {@link SessionContext#bind(Session)}.
+     *
+     * @param result Il risultato dell'autenticazione
+     * @return La nuova sessione
+     * @throws IllegalStateException se il result non è successful
+     */
+    public Session openSession(AuthenticationResult result) {
+        if (result == null || !result.isSuccess()) {
+            throw new IllegalStateException("Cannot start session for failed authentication");
+        }
+        return SessionStore.getInstance().create(result.getUser());
     }
 
     /**
@@ -52,7 +125,7 @@ public class LoginController {
      * @throws IllegalStateException se il result non è successful
      */
     public void startUserSession(AuthenticationResult result) {
-        LOGGER.info(
+        AppLog.debug(LOGGER,
                 () -> String.format("[DEBUG][Thread: %s] Entering startUserSession", Thread.currentThread().getName()));
         if (!result.isSuccess()) {
             LOGGER.severe(() -> String.format("[DEBUG][Thread: %s] Attempted to start session with failed result",
@@ -63,12 +136,12 @@ public class LoginController {
         if ("Patient".equals(result.getUserType())) {
             Paziente paziente = (Paziente) result.getUser();
             SessionManagerPaziente.setPazienteLoggato(paziente);
-            LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Sessione Paziente avviata per: %s",
+            AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Sessione Paziente avviata per: %s",
                     Thread.currentThread().getName(), paziente.getEmail()));
         } else if ("Specialist".equals(result.getUserType())) {
             Specialista specialista = (Specialista) result.getUser();
             SessionManagerSpecialista.setSpecialistaLoggato(specialista);
-            LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Sessione Specialista avviata per: %s",
+            AppLog.debug(LOGGER, () -> String.format("[DEBUG][Thread: %s] Sessione Specialista avviata per: %s",
                     Thread.currentThread().getName(), specialista.getEmail()));
         }
     }
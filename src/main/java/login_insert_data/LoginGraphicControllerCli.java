@@ -56,6 +56,6 @@ public class LoginGraphicControllerCli {
     }
 
     private void printMessage(String message) {
-        System.out.println(message);
+        navigation.ConsoleScanner.getOut().println(message);
     }
 }
@@ -1,5 +1,6 @@
 package login_insert_data;
 
+import javafx.application.Platform;
 import javafx.stage.Stage;
 import startupconfig.StartupConfigBean;
 import authentication.AuthenticationResult;
@@ -43,8 +44,12 @@ public class LoginGraphicControllerGui {
                                 guiView.getEmailField().getText(),
                                 guiView.getPasswordField().getText());
 
-                AuthenticationResult result = getAppController().authenticate(bean);
+                // La verifica bcrypt gira fuori dal thread JavaFX; l'esito torna sul thread FX
+                getAppController().authenticateAsync(bean)
+                                .thenAccept(result -> Platform.runLater(() -> handleLoginResult(result)));
+        }
 
+        private void handleLoginResult(AuthenticationResult result) {
                 if (result.isSuccess()) {
                         LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Login riuscito come: %s",
                                         Thread.currentThread().getName(), result.getUserType()));
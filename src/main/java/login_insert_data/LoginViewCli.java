@@ -46,6 +46,6 @@ public class LoginViewCli implements View {
     }
 
     private void printMessage(String message) {
-        System.out.println(message);
+        ConsoleScanner.getOut().println(message);
     }
 }
@@ -0,0 +1,10 @@
+package metrics;
+
+/**
+ * Vista JMX di un {@link Counter}.
+ */
+public interface CounterMBean {
+    long getCount();
+
+    void reset();
+}
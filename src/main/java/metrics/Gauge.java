@@ -0,0 +1,19 @@
+package metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Valore istantaneo letto a ogni richiesta (es. profondità di una coda).
+ */
+public final class Gauge implements GaugeMBean {
+    private final LongSupplier source;
+
+    Gauge(LongSupplier source) {
+        this.source = source;
+    }
+
+    @Override
+    public long getValue() {
+        return source.getAsLong();
+    }
+}
@@ -0,0 +1,8 @@
+package metrics;
+
+/**
+ * Vista JMX di un {@link Gauge}.
+ */
+public interface GaugeMBean {
+    long getValue();
+}
@@ -0,0 +1,160 @@
+package metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Istogramma delle latenze a bucket log-lineari, in stile HdrHistogram.
+ *
+ * Values up to 127 ns get a bucket each. Above that, every power-of-two
+ * range is split into {@value #SUB_BUCKETS} equal sub-buckets, so any
+ * percentile is reported within about 1.6% of the real value. The memory
+ * stays fixed (about 19 KB) whatever the number of samples. Recording is
+ * one atomic increment plus two LongAdder updates, without locks, so it can
+ * sit on the booking path. Values above {@value #MAX_TRACKABLE_HOURS} hours
+ * are clamped.
+ */
+public final class LatencyHistogram implements LatencyHistogramMBean {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int MAX_TRACKABLE_HOURS = 2;
+    private static final long MAX_TRACKABLE = TimeUnit.HOURS.toNanos(MAX_TRACKABLE_HOURS);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(bucketIndex(MAX_TRACKABLE) + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram() {
+    }
+
+    /** Registra una durata in nanosecondi. */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_TRACKABLE);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /** Registra la durata di un'operazione terminata con un'eccezione. */
+    public void recordError(long nanos) {
+        errors.increment();
+        record(nanos);
+    }
+
+    /** Esegue l'operazione registrandone la durata, anche se lancia un'eccezione. */
+    public <R> R time(Supplier<R> operation) {
+        long start = System.nanoTime();
+        try {
+            R result = operation.get();
+            record(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            recordError(System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Valore sotto il quale cade la frazione {@code quantile} dei campioni
+     * (es. 0.99 per il p99), in nanosecondi; 0 se l'istogramma è vuoto.
+     */
+    public long getValueAtQuantile(double quantile) {
+        long[] snapshot = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(quantile, 0.0), 1.0) * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(representativeValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long samples = count.sum();
+        return samples == 0 ? 0.0 : sum.sum() / (double) samples / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return getValueAtQuantile(0.50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP90Millis() {
+        return getValueAtQuantile(0.90) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return getValueAtQuantile(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP999Millis() {
+        return getValueAtQuantile(0.999) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return max.get() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        errors.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // Punto medio del bucket: l'errore massimo è metà della sua ampiezza
+    static long representativeValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowerBound + ((1L << shift) >>> 1);
+    }
+}
@@ -0,0 +1,24 @@
+package metrics;
+
+/**
+ * Vista JMX di un {@link LatencyHistogram}. I valori sono in millisecondi.
+ */
+public interface LatencyHistogramMBean {
+    long getCount();
+
+    long getErrors();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    void reset();
+}
@@ -0,0 +1,76 @@
+package metrics;
+
+import model.Visita;
+import patient_dashboard.book_appointment.AppointmentRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Decoratore di un {@link AppointmentRepository} che misura la latenza di
+ * ogni metodo in un istogramma {@code dao.<backend>.Visita.<metodo>}.
+ */
+public final class MeteredAppointmentRepository implements AppointmentRepository {
+    private final AppointmentRepository delegate;
+    private final LatencyHistogram findByDateAndSpecialist;
+    private final LatencyHistogram findBySpecialistAndDateRange;
+    private final LatencyHistogram findBySpecialist;
+    private final LatencyHistogram findBySpecialistEmail;
+    private final LatencyHistogram findBySpecialistId;
+    private final LatencyHistogram save;
+    private final LatencyHistogram delete;
+
+    public MeteredAppointmentRepository(AppointmentRepository delegate, String backend) {
+        this.delegate = delegate;
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        String prefix = "dao." + backend + ".Visita.";
+        this.findByDateAndSpecialist = registry.histogram(prefix + "findByDateAndSpecialist");
+        this.findBySpecialistAndDateRange = registry.histogram(prefix + "findBySpecialistAndDateRange");
+        this.findBySpecialist = registry.histogram(prefix + "findBySpecialist");
+        this.findBySpecialistEmail = registry.histogram(prefix + "findBySpecialistEmail");
+        this.findBySpecialistId = registry.histogram(prefix + "findBySpecialistId");
+        this.save = registry.histogram(prefix + "save");
+        this.delete = registry.histogram(prefix + "delete");
+    }
+
+    /** Il repository decorato. */
+    public AppointmentRepository getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public List<Visita> findByDateAndSpecialist(LocalDate date, int specialistId) {
+        return findByDateAndSpecialist.time(() -> delegate.findByDateAndSpecialist(date, specialistId));
+    }
+
+    @Override
+    public List<Visita> findBySpecialistAndDateRange(int specialistId, LocalDate fromDate, LocalDate toDate) {
+        return findBySpecialistAndDateRange.time(
+                () -> delegate.findBySpecialistAndDateRange(specialistId, fromDate, toDate));
+    }
+
+    @Override
+    public List<Visita> findBySpecialist(String specialistSurname) {
+        return findBySpecialist.time(() -> delegate.findBySpecialist(specialistSurname));
+    }
+
+    @Override
+    public List<Visita> findBySpecialistEmail(String email) {
+        return findBySpecialistEmail.time(() -> delegate.findBySpecialistEmail(email));
+    }
+
+    @Override
+    public List<Visita> findBySpecialistId(int specialistId) {
+        return findBySpecialistId.time(() -> delegate.findBySpecialistId(specialistId));
+    }
+
+    @Override
+    public boolean save(Visita visita) {
+        return save.time(() -> delegate.save(visita));
+    }
+
+    @Override
+    public boolean delete(Visita visita) {
+        return delete.time(() -> delegate.delete(visita));
+    }
+}
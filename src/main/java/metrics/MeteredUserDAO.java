@@ -0,0 +1,55 @@
+package metrics;
+
+import authentication.UserDAO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decoratore di un {@link UserDAO} che misura la latenza di ogni metodo in
+ * un istogramma {@code dao.<backend>.<entità>.<metodo>}.
+ *
+ * @param <T> Il tipo di utente (Paziente o Specialista)
+ */
+public final class MeteredUserDAO<T> implements UserDAO<T> {
+    private final UserDAO<T> delegate;
+    private final LatencyHistogram findByEmail;
+    private final LatencyHistogram authenticate;
+    private final LatencyHistogram findById;
+    private final LatencyHistogram getAll;
+
+    public MeteredUserDAO(UserDAO<T> delegate, String backend, String entity) {
+        this.delegate = delegate;
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        String prefix = "dao." + backend + "." + entity + ".";
+        this.findByEmail = registry.histogram(prefix + "findByEmail");
+        this.authenticate = registry.histogram(prefix + "authenticateByEmailAndPassword");
+        this.findById = registry.histogram(prefix + "findById");
+        this.getAll = registry.histogram(prefix + "getAllInstanceOfActor");
+    }
+
+    /** Il DAO decorato. */
+    public UserDAO<T> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Optional<T> findByEmail(String email) {
+        return findByEmail.time(() -> delegate.findByEmail(email));
+    }
+
+    @Override
+    public Optional<T> authenticateByEmailAndPassword(String email, String password) {
+        return authenticate.time(() -> delegate.authenticateByEmailAndPassword(email, password));
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return findById.time(() -> delegate.findById(id));
+    }
+
+    @Override
+    public List<T> getAllInstanceOfActor() {
+        return getAll.time(delegate::getAllInstanceOfActor);
+    }
+}
@@ -0,0 +1,97 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registro delle metriche di processo: contatori, gauge e istogrammi di
+ * latenza.
+ *
+ * Every metric is also registered as a platform MBean under
+ * {@value #JMX_DOMAIN}, so jconsole or VisualVM can watch e.g.
+ * {@code booking.Database} p99 live. Metrics are created on first use and
+ * then live as long as the JVM. The DAO decorators and the booking timer
+ * are active only with {@code -Dmindlab.metrics=true}; the registry itself
+ * can always be used.
+ */
+public final class MetricsRegistry {
+    public static final String ENABLED_PROPERTY = "mindlab.metrics";
+    public static final String JMX_DOMAIN = "mindlab.metrics";
+
+    private static final Logger LOGGER = Logger.getLogger(MetricsRegistry.class.getName());
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    private MetricsRegistry() {
+    }
+
+    private static final class Holder {
+        private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    }
+
+    public static MetricsRegistry getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Letta a ogni chiamata: le metriche possono essere attivate anche dopo
+     * l'avvio, es. da un test.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> register("Counter", key, new Counter()));
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> register("Histogram", key, new LatencyHistogram()));
+    }
+
+    /**
+     * Registra un gauge; se il nome esiste già resta la sorgente originale.
+     */
+    public Gauge gauge(String name, LongSupplier source) {
+        return gauges.computeIfAbsent(name, key -> register("Gauge", key, new Gauge(source)));
+    }
+
+    public Optional<LatencyHistogram> findHistogram(String name) {
+        return Optional.ofNullable(histograms.get(name));
+    }
+
+    /** Nomi e istogrammi registrati, in ordine alfabetico. */
+    public SortedMap<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    public static ObjectName objectName(String type, String name) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+    }
+
+    private <M> M register(String type, String name, M metric) {
+        try {
+            ObjectName objectName = objectName(type, name);
+            if (!mbeanServer.isRegistered(objectName)) {
+                mbeanServer.registerMBean(metric, objectName);
+            }
+        } catch (JMException e) {
+            // La metrica resta utilizzabile anche senza JMX
+            LOGGER.log(Level.WARNING, e, () -> "Registrazione JMX fallita per la metrica " + name);
+        }
+        return metric;
+    }
+}
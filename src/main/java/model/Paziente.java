@@ -113,6 +113,15 @@ public class Paziente {
                 '}';
     }
 
+    /**
+     * Restituisce una copia del paziente con la password sostituita
+     * (es. dopo la migrazione a un hash bcrypt).
+     */
+    public Paziente withPassword(String newPassword) {
+        return new Paziente(numeroTesseraSanitaria, nome, cognome, dataDiNascita, numeroTelefonico, email,
+                condizioniMediche, newPassword);
+    }
+
     /**
      * Builder per creare istanze di Paziente.
      * Pattern Builder per costruzione flessibile e leggibile.
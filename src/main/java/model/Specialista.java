@@ -116,6 +116,15 @@ public class Specialista {
                 '}';
     }
 
+    /**
+     * Restituisce una copia dello specialista con la password sostituita
+     * (es. dopo la migrazione a un hash bcrypt).
+     */
+    public Specialista withPassword(String newPassword) {
+        return new Specialista(id, nome, cognome, dataDiNascita, numeroTelefonico, email, specializzazione,
+                newPassword);
+    }
+
     /**
      * Builder per creare istanze di Specialista.
      * Pattern Builder per costruzione flessibile e leggibile.
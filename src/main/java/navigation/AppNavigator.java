@@ -2,6 +2,8 @@ package navigation; // Package di navigazione
 
 import javafx.stage.Stage; // Importa Stage per gestire le finestre JavaFX
 import javafx.application.Platform;
+import startup_profiler.StartupPhase;
+import startup_profiler.StartupProfiler;
 import startupconfig.StartupConfigBean; // Importa il bean per le configurazioni
 
 import java.util.logging.Logger;
@@ -10,6 +12,8 @@ import java.util.logging.Logger;
 // Ora utilizza il Factory Method Pattern ricevendo la factory tramite Dependency Injection
 public class AppNavigator {
     private static final Logger LOGGER = Logger.getLogger(AppNavigator.class.getName());
+    // Schermata iniziale: tornarci svuota la ViewCache
+    private static final String ENTRY_VIEW = "Login";
 
     private final ViewFactory factory; // Factory iniettata per la creazione delle viste (salvare la decisione GUI o
                                        // CLI)
@@ -32,6 +36,10 @@ public class AppNavigator {
         logDebug("Entering navigateTo: viewName=%s, currentStage=%s",
                 viewName, (stage != null ? "active" : "null"));
 
+        if (config.isInterfaceMode() && reuseCachedView(viewName, stage, config)) {
+            return;
+        }
+
         View view = factory.createView(viewName);
         logDebug("Created view: %s", (view != null ? view.getClass().getSimpleName() : "null"));
 
@@ -41,26 +49,74 @@ public class AppNavigator {
         }
 
         if (config.isInterfaceMode()) {
-            handleGuiNavigation(view, stage, config);
+            handleGuiNavigation(viewName, view, stage, config);
         } else {
             handleCliNavigation(view, stage, config);
         }
     }
 
-    private void handleGuiNavigation(View view, Stage stage, StartupConfigBean config) {
+    private void handleGuiNavigation(String viewName, View view, Stage stage, StartupConfigBean config) {
         logDebug("Navigating in GUI mode");
+        ViewCache cache = ViewCache.getInstance();
+        if (cache.isEnabled()) {
+            if (view instanceof CachedView cachedView) {
+                cache.store(viewName, cachedView, stage, config);
+            }
+            cache.setCurrent(view);
+        }
         view.show(stage, config);
+        markFirstViewRendered();
+    }
+
+    // Accodato dopo la costruzione della vista: il profiler chiude qui il time-to-interactive
+    private static void markFirstViewRendered() {
+        StartupProfiler profiler = StartupProfiler.getInstance();
+        if (!profiler.isMarked(StartupPhase.FIRST_VIEW_RENDERED)) {
+            Platform.runLater(() -> profiler.mark(StartupPhase.FIRST_VIEW_RENDERED));
+        }
+    }
+
+    /**
+     * Mostra la vista dalla cache, se abilitata e presente.
+     *
+     * @return true se la vista è stata riutilizzata
+     */
+    private boolean reuseCachedView(String viewName, Stage stage, StartupConfigBean config) {
+        ViewCache cache = ViewCache.getInstance();
+        if (!cache.isEnabled()) {
+            return false;
+        }
+        if (ENTRY_VIEW.equals(viewName)) {
+            // Logout o nuovo avvio: le viste costruite appartengono all'utente precedente
+            cache.clear();
+            return false;
+        }
+        CachedView view = cache.lookup(viewName, stage, config);
+        if (view == null) {
+            return false;
+        }
+        logDebug("Reusing cached view: %s", view.getClass().getSimpleName());
+        Runnable reuse = () -> {
+            cache.setCurrent(view);
+            view.refresh(config);
+            view.onShow(stage, config);
+        };
+        if (Platform.isFxApplicationThread()) {
+            reuse.run();
+        } else {
+            Platform.runLater(reuse);
+        }
+        return true;
     }
 
     private void handleCliNavigation(View view, Stage stage, StartupConfigBean config) {
         logDebug("Navigating in CLI mode");
 
+        // Uno stage arriva solo dalla schermata delle impostazioni, sul thread FX:
+        // senza stage (avvio con --cli) JavaFX non viene mai caricato
         if (stage != null) {
             logDebug("Closing current stage before CLI");
             Platform.runLater(stage::close);
-        }
-
-        if (Platform.isFxApplicationThread()) {
             new Thread(() -> executeCliShow(view, config)).start();
         } else {
             executeCliShow(view, config);
@@ -69,6 +125,7 @@ public class AppNavigator {
 
     private void executeCliShow(View view, StartupConfigBean config) {
         try {
+            StartupProfiler.getInstance().mark(StartupPhase.FIRST_VIEW_RENDERED);
             view.show(null, config);
         } catch (Exception e) {
             LOGGER.severe(() -> String.format("[DEBUG][Thread: %s] Error in CLI view: %s",
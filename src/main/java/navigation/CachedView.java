@@ -0,0 +1,34 @@
+package navigation; // Package di navigazione
+
+import javafx.stage.Stage;
+import startupconfig.StartupConfigBean;
+
+/**
+ * Vista che può essere tenuta nella {@link ViewCache} e mostrata di nuovo
+ * senza ricostruire i nodi.
+ *
+ * The first visit goes through {@link #show(Stage, StartupConfigBean)},
+ * which builds the root. On later visits {@link AppNavigator} calls
+ * {@link #refresh(StartupConfigBean)} and then
+ * {@link #onShow(Stage, StartupConfigBean)}, both on the FX thread.
+ * {@link #onHide()} is called when the navigator moves to another view.
+ */
+public interface CachedView extends View {
+
+    /**
+     * Rimette la radice già costruita nella scena dello stage.
+     */
+    void onShow(Stage stage, StartupConfigBean config);
+
+    /**
+     * La vista non è più visibile (es. annullare richieste in corso).
+     */
+    default void onHide() {
+    }
+
+    /**
+     * Aggiorna i dati mostrati prima di {@link #onShow}.
+     */
+    default void refresh(StartupConfigBean config) {
+    }
+}
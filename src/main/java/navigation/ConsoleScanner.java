@@ -1,5 +1,7 @@
 package navigation;
 
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.util.Scanner;
 
 /**
@@ -7,19 +9,67 @@ import java.util.Scanner;
  * This prevents multiple Scanner instances on System.in and avoids
  * the "Resource leak: 'scanner' is never closed" warning while
  * ensuring System.in is NOT closed during the application lifecycle.
+ *
+ * A thread serving a remote terminal (e.g. a CLI server connection) can
+ * bind its own input and output streams: the CLI views on that thread then
+ * read and print through them instead of System.in/System.out.
  */
 public class ConsoleScanner {
     private static final Scanner SCANNER = new Scanner(System.in);
+    private static final ThreadLocal<Scanner> BOUND_SCANNER = new ThreadLocal<>();
+    private static final ThreadLocal<PrintStream> BOUND_OUT = new ThreadLocal<>();
 
     private ConsoleScanner() {
         // Private constructor for utility class
     }
 
     /**
-     * Returns the shared Scanner instance.
-     * Do NOT close this scanner as it would close System.in.
+     * Restores the previously bound streams when closed.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Returns the Scanner of the current thread's terminal (the shared one on
+     * System.in if none is bound).
+     * Do NOT close this scanner as it would close its input stream.
      */
     public static Scanner getScanner() {
-        return SCANNER;
+        Scanner bound = BOUND_SCANNER.get();
+        return (bound != null) ? bound : SCANNER;
+    }
+
+    /**
+     * Returns the output stream of the current thread's terminal (System.out
+     * if none is bound).
+     */
+    public static PrintStream getOut() {
+        PrintStream bound = BOUND_OUT.get();
+        return (bound != null) ? bound : System.out;
+    }
+
+    /**
+     * Binds a terminal to the current thread until the returned scope is
+     * closed (use with try-with-resources). The streams are not closed.
+     */
+    public static Scope bind(InputStream in, PrintStream out) {
+        Scanner previousScanner = BOUND_SCANNER.get();
+        PrintStream previousOut = BOUND_OUT.get();
+        BOUND_SCANNER.set(new Scanner(in));
+        BOUND_OUT.set(out);
+        return () -> {
+            restore(BOUND_SCANNER, previousScanner);
+            restore(BOUND_OUT, previousOut);
+        };
+    }
+
+    private static <T> void restore(ThreadLocal<T> slot, T previous) {
+        if (previous == null) {
+            slot.remove();
+        } else {
+            slot.set(previous);
+        }
     }
 }
@@ -7,10 +7,28 @@ import patient_dashboard.PatientDashboardViewGui;
 import specialist_dashboard.SpecialistDashboardViewGui;
 import specialist_dashboard.manage_agenda.ManageAgendaViewGui;
 
+import java.util.List;
+
 // Concrete Factory per le viste GUI
 // Implementa il Factory Method per creare solo viste grafiche
 public class GuiViewFactory extends ViewFactory {
 
+    // Le viste create da createView, nello stesso ordine
+    private static final List<Class<? extends View>> VIEW_CLASSES = List.of(
+            LoginViewBoundaryGui.class, LoginViewPatient.class, LoginViewSpecialist.class,
+            PatientDashboardViewGui.class, SpecialistDashboardViewGui.class,
+            patient_dashboard.book_appointment.BookAppointmentViewGui.class, ManageAgendaViewGui.class);
+
+    /**
+     * Carica e inizializza le classi delle viste senza istanziarle: i
+     * costruttori creano nodi JavaFX e restano sul thread FX.
+     */
+    public static void preloadViewClasses() throws ClassNotFoundException {
+        for (Class<? extends View> viewClass : VIEW_CLASSES) {
+            Class.forName(viewClass.getName(), true, viewClass.getClassLoader());
+        }
+    }
+
     @Override
     public View createView(String viewName) {
         try {
@@ -0,0 +1,118 @@
+package navigation; // Package di navigazione
+
+import javafx.stage.Stage;
+import startupconfig.StartupConfigBean;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache LRU delle viste GUI già costruite, condivisa da tutti gli
+ * AppNavigator.
+ *
+ * It is off by default. {@code -Dmindlab.view.cache=N} keeps up to N
+ * {@link CachedView} screens resident; the least recently shown one is
+ * dropped first. A view is reused only for the same stage and the same
+ * configuration it was built with, since its handlers capture both. The
+ * navigator clears the cache when it goes back to the login screen, so no
+ * screen built for one user is shown to the next.
+ */
+public final class ViewCache {
+    public static final String SIZE_PROPERTY = "mindlab.view.cache";
+
+    private final int maxEntries;
+    private final Map<String, Entry> entries;
+    private View current;
+
+    public ViewCache(int maxEntries) {
+        this.maxEntries = Math.max(maxEntries, 0);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ViewCache.this.maxEntries;
+            }
+        };
+    }
+
+    private static final class Holder {
+        private static final ViewCache INSTANCE = new ViewCache(Integer.getInteger(SIZE_PROPERTY, 0));
+    }
+
+    public static ViewCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return La vista in cache per nome, stage e configurazione, o null
+     */
+    public synchronized CachedView lookup(String viewName, Stage stage, StartupConfigBean config) {
+        Entry entry = entries.get(viewName);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.matches(stage, config)) {
+            entries.remove(viewName);
+            return null;
+        }
+        return entry.view;
+    }
+
+    public synchronized void store(String viewName, CachedView view, Stage stage, StartupConfigBean config) {
+        if (isEnabled()) {
+            entries.put(viewName, new Entry(view, stage, config));
+        }
+    }
+
+    /**
+     * Registra la vista mostrata e notifica {@link CachedView#onHide()} alla
+     * precedente.
+     */
+    public void setCurrent(View view) {
+        View previous;
+        synchronized (this) {
+            previous = current;
+            current = view;
+        }
+        if (previous != view && previous instanceof CachedView hidden) {
+            hidden.onHide();
+        }
+    }
+
+    /**
+     * Svuota la cache (es. al logout).
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final CachedView view;
+        private final Stage stage;
+        private final boolean interfaceMode;
+        private final int storageOption;
+
+        private Entry(CachedView view, Stage stage, StartupConfigBean config) {
+            this.view = view;
+            this.stage = stage;
+            this.interfaceMode = config.isInterfaceMode();
+            this.storageOption = config.getStorageOption();
+        }
+
+        private boolean matches(Stage otherStage, StartupConfigBean config) {
+            return stage == otherStage && interfaceMode == config.isInterfaceMode()
+                    && storageOption == config.getStorageOption();
+        }
+    }
+}
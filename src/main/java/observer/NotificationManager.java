@@ -1,8 +1,12 @@
 package observer;
 
+import app_logging.AppLog;
+import flight_recorder.NotificationEvent;
+import metrics.MetricsRegistry;
 import model.Visita;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,32 +20,50 @@ public class NotificationManager implements Subject {
     private static NotificationManager instance;
     private final List<Visita> notificationHistory;
     private final List<Observer> observers = new ArrayList<>();
+    private final AtomicInteger dispatchesInFlight = new AtomicInteger();
     private Visita lastNewVisit;
 
-    private NotificationManager() {
+    private NotificationManager(boolean registerGauges) {
         notificationHistory = new ArrayList<>();
+        if (registerGauges) {
+            MetricsRegistry registry = MetricsRegistry.getInstance();
+            registry.gauge("notifications.inFlight", this::getDispatchesInFlight);
+            registry.gauge("notifications.history", () -> getNotificationHistory().size());
+        }
     }
 
     public static synchronized NotificationManager getInstance() {
         if (instance == null) {
-            instance = new NotificationManager();
+            instance = new NotificationManager(true);
         }
         return instance;
     }
 
+    /**
+     * Creates a manager unrelated to the application singleton: its history,
+     * observers and gauges stay private, so stress runs and tests can publish
+     * synthetic visits without reaching real observers.
+     */
+    public static NotificationManager newIsolatedInstance() {
+        return new NotificationManager(false);
+    }
+
     /**
      * Records a visit for history and notifies observers (GoF Subject).
      */
-    public synchronized void notifyObservers(Visita visit) {
-        if (LOGGER.isLoggable(Level.INFO)) {
+    public void notifyObservers(Visita visit) {
+        if (AppLog.DEBUG) {
             LOGGER.log(Level.INFO, "[DEBUG-NOTIF-MGR] Recording and notifying new visit - SpecialistaId: [{0}]",
                     visit.getSpecialistaId());
         }
 
-        this.lastNewVisit = visit;
-        notificationHistory.add(visit);
+        synchronized (this) {
+            this.lastNewVisit = visit;
+            notificationHistory.add(visit);
+        }
 
-        // Notify all registered observers (like SpecialistDashboardController)
+        // Notify all registered observers (like SpecialistDashboardController).
+        // Outside the monitor: a slow observer must not serialize every booking.
         this.notifyObservers((Object) visit);
     }
 
@@ -67,11 +89,28 @@ public class NotificationManager implements Subject {
         synchronized (observers) {
             observersCopy = new ArrayList<>(observers);
         }
-        for (Observer o : observersCopy) {
-            o.update(arg);
+        NotificationEvent event = new NotificationEvent();
+        event.begin();
+        dispatchesInFlight.incrementAndGet();
+        try {
+            for (Observer o : observersCopy) {
+                o.update(arg);
+            }
+        } finally {
+            dispatchesInFlight.decrementAndGet();
+            if (event.shouldCommit()) {
+                event.observers = observersCopy.size();
+                event.specialistId = arg instanceof Visita visita ? visita.getSpecialistaId() : 0;
+                event.commit();
+            }
         }
     }
 
+    /** Notifiche in corso di consegna agli observer (profondità della coda). */
+    public int getDispatchesInFlight() {
+        return dispatchesInFlight.get();
+    }
+
     public synchronized Visita getLastNewVisit() {
         return lastNewVisit;
     }
@@ -2,7 +2,10 @@ package patient_dashboard;
 
 import model.Paziente;
 import navigation.NavigationInstruction;
+import session_manager.Session;
 import session_manager.SessionManagerPaziente;
+import session_manager.SessionStore;
+import java.util.Optional;
 import java.util.logging.Logger;
 
 /**
@@ -18,11 +21,29 @@ import java.util.logging.Logger;
 public class PatientDashboardController {
     private static final Logger LOGGER = Logger.getLogger(PatientDashboardController.class.getName());
 
+    private final Session session;
+
+    /**
+     * Uses the session of the current thread or the desktop session.
+     */
+    public PatientDashboardController() {
+        this(null);
+    }
+
+    /**
+     * @param session The explicit session this controller serves (null to use
+     *                the current one).
+     */
+    public PatientDashboardController(Session session) {
+        this.session = session;
+    }
+
     /**
      * Verifies if a patient session is active.
      */
     public void checkSession() {
-        if (!SessionManagerPaziente.isLoggedIn()) {
+        boolean active = (session != null) ? explicitPatient().isPresent() : SessionManagerPaziente.isLoggedIn();
+        if (!active) {
             LOGGER.severe("Session validation failed: No patient logged in.");
             throw new IllegalStateException("Nessun paziente loggato. Effettua il login.");
         }
@@ -35,7 +56,7 @@ public class PatientDashboardController {
      */
     public Paziente getLoggedPatient() {
         checkSession();
-        return SessionManagerPaziente.getPazienteLoggato();
+        return (session != null) ? explicitPatient().orElseThrow() : SessionManagerPaziente.getPazienteLoggato();
     }
 
     /**
@@ -56,10 +77,18 @@ public class PatientDashboardController {
             case MANAGE_APPOINTMENTS -> new NavigationInstruction("Agenda");
 
             case LOGOUT -> {
-                SessionManagerPaziente.resetSession();
+                if (session != null) {
+                    SessionStore.getInstance().invalidate(session.getToken());
+                } else {
+                    SessionManagerPaziente.resetSession();
+                }
                 yield new NavigationInstruction("Login");
             }
             default -> throw new IllegalArgumentException("Unsupported option: " + option);
         };
     }
+
+    private Optional<Paziente> explicitPatient() {
+        return SessionStore.getInstance().find(session.getToken()).flatMap(Session::getPaziente);
+    }
 }
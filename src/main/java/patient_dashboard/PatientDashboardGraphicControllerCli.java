@@ -41,7 +41,8 @@ public class PatientDashboardGraphicControllerCli {
 
         } catch (Exception e) {
             LOGGER.severe(() -> String.format("[CLI] Error handling selection %s: %s", option, e.getMessage()));
-            System.out.println("[ERRORE] Impossibile completare l'operazione: " + e.getMessage());
+            navigation.ConsoleScanner.getOut()
+                    .println("[ERRORE] Impossibile completare l'operazione: " + e.getMessage());
         }
     }
 }
@@ -98,9 +98,9 @@ public class PatientDashboardViewCli implements View {
     }
 
     /**
-     * Prints a message to stdout.
+     * Prints a message to the current terminal.
      */
     private void printMessage(String message) {
-        System.out.println(message);
+        ConsoleScanner.getOut().println(message);
     }
 }
@@ -9,7 +9,7 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import model.Paziente;
 import navigation.AppNavigator;
-import navigation.View;
+import navigation.CachedView;
 import startupconfig.StartupConfigBean;
 
 import java.util.logging.Logger;
@@ -40,11 +40,12 @@ import java.util.logging.Logger;
  * </p>
  * 
  */
-public class PatientDashboardViewGui implements View {
+public class PatientDashboardViewGui implements CachedView {
 
     private static final Logger LOGGER = Logger.getLogger(PatientDashboardViewGui.class.getName());
     private final PatientDashboardController controller = new PatientDashboardController();
     private final PatientDashboardGraphicControllerGui graphicController = new PatientDashboardGraphicControllerGui();
+    private VBox root; // Kept for reuse through the ViewCache
 
     /**
      * Displays the patient dashboard in the provided stage.
@@ -93,21 +94,8 @@ public class PatientDashboardViewGui implements View {
                     Thread.currentThread().getName(), paziente.getNome()));
 
             // Build the UI
-            VBox root = buildDashboardUI(paziente, config, stage);
-
-            // Fluid Transition: Swap root if scene exists, otherwise create new Scene
-            if (stage.getScene() == null) {
-                Scene scene = new Scene(root, 800, 700);
-                stage.setScene(scene);
-            } else {
-                stage.getScene().setRoot(root);
-            }
-
-            stage.setTitle("Home - MindLab Portal (Paziente)");
-            stage.setFullScreen(true);
-            stage.setFullScreenExitHint("");
-            stage.setResizable(true);
-            stage.show();
+            root = buildDashboardUI(paziente, config, stage);
+            attach(stage);
 
             LOGGER.info(() -> String.format("[DEBUG][Thread: %s] PatientDashboardViewGui displayed successfully",
                     Thread.currentThread().getName()));
@@ -118,6 +106,43 @@ public class PatientDashboardViewGui implements View {
         }
     }
 
+    /**
+     * Shows the dashboard built by a previous visit (no data to reload: the
+     * cache is cleared on logout).
+     */
+    @Override
+    public void onShow(Stage stage, StartupConfigBean config) {
+        if (root == null) {
+            startDashboard(stage, config);
+            return;
+        }
+        try {
+            controller.checkSession();
+            attach(stage);
+        } catch (Exception e) {
+            LOGGER.log(java.util.logging.Level.SEVERE, "Error reusing PatientDashboardViewGui", e);
+        }
+    }
+
+    /**
+     * Puts the built root in the stage.
+     * Fluid Transition: Swap root if scene exists, otherwise create new Scene.
+     */
+    private void attach(Stage stage) {
+        if (stage.getScene() == null) {
+            Scene scene = new Scene(root, 800, 700);
+            stage.setScene(scene);
+        } else {
+            stage.getScene().setRoot(root);
+        }
+
+        stage.setTitle("Home - MindLab Portal (Paziente)");
+        stage.setFullScreen(true);
+        stage.setFullScreenExitHint("");
+        stage.setResizable(true);
+        stage.show();
+    }
+
     /**
      * Builds the complete dashboard UI structure.
      * 
@@ -17,6 +17,17 @@ public interface AppointmentRepository {
      */
     List<Visita> findByDateAndSpecialist(LocalDate date, int specialistId);
 
+    /**
+     * Finds all appointments of a specialist within a date range, in a single
+     * backend query.
+     *
+     * @param specialistId The identifier of the specialist.
+     * @param fromDate     The first date of the range (inclusive).
+     * @param toDate       The last date of the range (inclusive).
+     * @return A list of matching Visita objects.
+     */
+    List<Visita> findBySpecialistAndDateRange(int specialistId, LocalDate fromDate, LocalDate toDate);
+
     /**
      * Finds all appointments for a specific specialist.
      *
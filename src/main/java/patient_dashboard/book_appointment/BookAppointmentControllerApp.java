@@ -1,10 +1,17 @@
 package patient_dashboard.book_appointment;
 
+import app_logging.AppLog;
+import flight_recorder.BookingEvent;
+import flight_recorder.SlotLookupEvent;
+import flight_recorder.StorageEvent;
+import metrics.MetricsRegistry;
 import model.Paziente;
 import model.Visita;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -18,6 +25,10 @@ import authentication.factory.DAOFactory;
  */
 public class BookAppointmentControllerApp {
     private static final Logger LOGGER = Logger.getLogger(BookAppointmentControllerApp.class.getName());
+    private static final String SLOT_TAKEN = "Lo slot selezionato non è più disponibile.";
+
+    /** Longest range accepted by the multi-day availability query. */
+    public static final int MAX_RANGE_DAYS = 366;
 
     /**
      * Executes the booking process.
@@ -27,7 +38,29 @@ public class BookAppointmentControllerApp {
      * @return A message indicating success or the specific validation error.
      */
     public String bookAppointment(BookAppointmentBean bean, Paziente loggedPatient) {
-        LOGGER.info(() -> "[DEBUG] Processing booking request for patient: " + loggedPatient.getEmail());
+        BookingEvent event = new BookingEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String result = null;
+        try {
+            result = book(bean, loggedPatient);
+            return result;
+        } finally {
+            if (MetricsRegistry.isEnabled()) {
+                recordBookingMetrics(System.nanoTime() - start, "SUCCESS".equals(result));
+            }
+            if (event.shouldCommit()) {
+                event.backend = currentBackend();
+                event.specialistId = bean != null ? bean.getSpecialistId() : 0;
+                event.date = bean != null && bean.getDate() != null ? bean.getDate().toString() : null;
+                event.result = result;
+                event.commit();
+            }
+        }
+    }
+
+    private String book(BookAppointmentBean bean, Paziente loggedPatient) {
+        AppLog.debug(LOGGER, () -> "[DEBUG] Processing booking request for patient: " + loggedPatient.getEmail());
 
         // 1. Validation
         String validationError = validateBean(bean);
@@ -66,11 +99,11 @@ public class BookAppointmentControllerApp {
             AppointmentRepository repo = DAOFactory.createDAOs(config).appointmentRepository;
 
             // Save to persistence
-            if (LOGGER.isLoggable(Level.INFO)) {
+            if (AppLog.DEBUG) {
                 LOGGER.log(Level.INFO, "[DEBUG-NOTIF-1] About to save Visita: {0}", nuevaVisita);
             }
             if (repo.save(nuevaVisita)) {
-                if (LOGGER.isLoggable(Level.INFO)) {
+                if (AppLog.DEBUG) {
                     LOGGER.log(Level.INFO, "[DEBUG-NOTIF-2] Successfully saved Visita object: {0}", nuevaVisita);
                     LOGGER.log(Level.INFO,
                             "[DEBUG-NOTIF-3] Visita details - SpecialistaId: [{0}], Paziente: [{1}], Data: [{2}]",
@@ -79,11 +112,16 @@ public class BookAppointmentControllerApp {
                 }
 
                 // Notify observers (Specialist Dashboard)
-                LOGGER.info(() -> "[DEBUG-NOTIF-4] Calling NotificationManager.notifyObservers()...");
+                AppLog.debug(LOGGER, () -> "[DEBUG-NOTIF-4] Calling NotificationManager.notifyObservers()...");
                 observer.NotificationManager.getInstance().notifyObservers(nuevaVisita);
-                LOGGER.info(() -> "[DEBUG-NOTIF-5] NotificationManager.notifyObservers() completed.");
+                AppLog.debug(LOGGER, () -> "[DEBUG-NOTIF-5] NotificationManager.notifyObservers() completed.");
 
                 return "SUCCESS";
+            } else if (isSlotTaken(repo, nuevaVisita)) {
+                // Lo slot è stato prenotato da un'altra richiesta concorrente
+                LOGGER.warning(() -> "[DEBUG] Slot already booked: " + nuevaVisita.getData() + " "
+                        + nuevaVisita.getOrario());
+                return SLOT_TAKEN;
             } else {
                 LOGGER.severe(() -> "[DEBUG] Failed to save Visita object.");
                 return "Errore durante il salvataggio della prenotazione.";
@@ -94,6 +132,11 @@ public class BookAppointmentControllerApp {
         }
     }
 
+    private static boolean isSlotTaken(AppointmentRepository repo, Visita visita) {
+        return repo.findByDateAndSpecialist(visita.getData(), visita.getSpecialistaId()).stream()
+                .anyMatch(v -> visita.getOrario().equals(v.getOrario()));
+    }
+
     private String validateBean(BookAppointmentBean bean) {
         if (bean.getSpecialistId() <= 0) {
             return "Lo specialista selezionato non è valido.";
@@ -101,6 +144,10 @@ public class BookAppointmentControllerApp {
         if (bean.getSpecialist() == null || bean.getSpecialist().trim().isEmpty()) {
             return "Lo specialista è obbligatorio.";
         }
+        if (bean.getName() == null || bean.getName().isBlank()
+                || bean.getSurname() == null || bean.getSurname().isBlank()) {
+            return "Nome e cognome del paziente sono obbligatori.";
+        }
 
         String dateError = validateDate(bean);
         if (dateError != null) {
@@ -155,12 +202,65 @@ public class BookAppointmentControllerApp {
      * @return A list of Specialista objects.
      */
     public java.util.List<model.Specialista> getAvailableSpecialists(startupconfig.StartupConfigBean config) {
-        authentication.factory.DAOFactory.DAOPair daos = authentication.factory.DAOFactory.createDAOs(config);
-        return daos.specialistaDAO.getAllInstanceOfActor();
+        return SpecialistDirectory.forConfig(config).getAll();
+    }
+
+    /**
+     * Retrieves the specialists of a single specialization from the cached
+     * directory.
+     *
+     * @param specialization The specialization to match (case-insensitive).
+     * @param config         The current application configuration.
+     * @return The matching specialists, empty if none.
+     */
+    public List<model.Specialista> getSpecialistsBySpecialization(String specialization, StartupConfigBean config) {
+        return SpecialistDirectory.forConfig(config).findBySpecialization(specialization);
+    }
+
+    /**
+     * @param config The current application configuration.
+     * @return The distinct specializations offered, sorted alphabetically.
+     */
+    public java.util.SortedSet<String> getSpecializations(StartupConfigBean config) {
+        return SpecialistDirectory.forConfig(config).getSpecializations();
+    }
+
+    /**
+     * Returns the k earliest free slots across every specialist of the given
+     * specialization, searched in parallel.
+     *
+     * @param specialization The specialization to match.
+     * @param serviceType    "Online", "In presenza" or null for any.
+     * @param horizonDays    How many days ahead to search.
+     * @param k              Maximum number of slots to return.
+     * @param config         The current application configuration.
+     * @return Up to k slots, ordered chronologically.
+     */
+    public List<SlotCandidate> findEarliestSlots(String specialization, String serviceType, int horizonDays, int k,
+            StartupConfigBean config) {
+        return new EarliestSlotSearch(this).findEarliest(specialization, serviceType, horizonDays, k, config);
     }
 
     public List<LocalTime> getAvailableSlots(BookAppointmentBean bean) {
-        LOGGER.info(() -> String.format("[DEBUG] getAvailableSlots called for bean: %s", bean));
+        SlotLookupEvent event = new SlotLookupEvent();
+        event.begin();
+        List<LocalTime> slots = null;
+        try {
+            slots = lookupSlots(bean);
+            return slots;
+        } finally {
+            if (event.shouldCommit()) {
+                event.backend = currentBackend();
+                event.specialistId = bean != null ? bean.getSpecialistId() : 0;
+                event.days = 1;
+                event.freeSlots = slots != null ? slots.size() : 0;
+                event.commit();
+            }
+        }
+    }
+
+    private List<LocalTime> lookupSlots(BookAppointmentBean bean) {
+        AppLog.debug(LOGGER, () -> String.format("[DEBUG] getAvailableSlots called for bean: %s", bean));
 
         LocalDate date = (bean != null) ? bean.getDate() : null;
         int specialistId = (bean != null) ? bean.getSpecialistId() : 0;
@@ -169,46 +269,167 @@ public class BookAppointmentControllerApp {
             return new ArrayList<>();
         }
 
-        // 1. Generazione di tutti gli slot (08:00 - 20:00, step 1 ora)
-        List<LocalTime> allSlots = new ArrayList<>();
-        for (int hour = 8; hour <= 20; hour++) {
-            allSlots.add(LocalTime.of(hour, 0));
+        // 1. Recupero del repository tramite la configurazione attuale
+        AppointmentRepository repo = resolveRepository();
+        if (repo == null) {
+            return new ArrayList<>();
+        }
+
+        // 2. Recupero prenotazioni esistenti
+        List<Visita> existingAppointments = repo.findByDateAndSpecialist(date, bean.getSpecialistId());
+
+        // 3. Filtraggio degli slot occupati (08:00 - 20:00, step 1 ora)
+        return SlotAvailability.toSlots(SlotAvailability.ALL_SLOTS_FREE & ~occupiedMask(existingAppointments));
+    }
+
+    /**
+     * Computes the free slots of a specialist for every day in a date range with
+     * a single backend query. Weekends and Italian holidays are marked closed
+     * without touching storage, and no query is issued at all if the range
+     * contains no working day.
+     *
+     * @param specialistId The identifier of the specialist.
+     * @param fromDate     The first date of the range (inclusive).
+     * @param toDate       The last date of the range (inclusive).
+     * @return The compact per-day availability, empty if the request is invalid.
+     * @throws IllegalArgumentException if the range exceeds
+     *                                  {@value #MAX_RANGE_DAYS} days.
+     */
+    public SlotAvailability getAvailableSlots(int specialistId, LocalDate fromDate, LocalDate toDate) {
+        SlotLookupEvent event = new SlotLookupEvent();
+        event.begin();
+        SlotAvailability availability = null;
+        try {
+            availability = lookupRange(specialistId, fromDate, toDate);
+            return availability;
+        } finally {
+            if (event.shouldCommit()) {
+                event.backend = currentBackend();
+                event.specialistId = specialistId;
+                event.days = fromDate != null && toDate != null
+                        ? (int) ChronoUnit.DAYS.between(fromDate, toDate) + 1 : 0;
+                event.freeSlots = availability != null ? availability.getTotalFreeSlots() : 0;
+                event.commit();
+            }
+        }
+    }
+
+    private SlotAvailability lookupRange(int specialistId, LocalDate fromDate, LocalDate toDate) {
+        AppLog.debug(LOGGER, () -> String.format("[DEBUG] getAvailableSlots called for specialist %d, range %s - %s",
+                specialistId, fromDate, toDate));
+
+        if (specialistId <= 0 || fromDate == null || toDate == null || toDate.isBefore(fromDate)) {
+            return SlotAvailability.empty();
+        }
+        long days = ChronoUnit.DAYS.between(fromDate, toDate) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Intervallo troppo ampio: massimo " + MAX_RANGE_DAYS + " giorni.");
+        }
+
+        // 1. Giorni lavorativi calcolati senza accedere allo storage
+        BitSet workingDays = workingDaysOf(fromDate, (int) days);
+        if (workingDays.isEmpty()) {
+            return new SlotAvailability(fromDate, new int[(int) days], workingDays);
         }
 
-        // 2. Recupero del repository tramite la configurazione attuale
+        // 2. Una sola query, ristretta al primo e all'ultimo giorno lavorativo
+        AppointmentRepository repo = resolveRepository();
+        if (repo == null) {
+            return SlotAvailability.empty();
+        }
+        return computeAvailability(repo, specialistId, fromDate, workingDays, (int) days);
+    }
+
+    /**
+     * Range availability against an already resolved repository, used by
+     * {@link EarliestSlotSearch} to avoid re-creating DAOs for every chunk.
+     */
+    SlotAvailability getAvailableSlots(AppointmentRepository repo, int specialistId, LocalDate fromDate,
+            LocalDate toDate) {
+        int days = (int) ChronoUnit.DAYS.between(fromDate, toDate) + 1;
+        BitSet workingDays = workingDaysOf(fromDate, days);
+        if (workingDays.isEmpty()) {
+            return new SlotAvailability(fromDate, new int[days], workingDays);
+        }
+        return computeAvailability(repo, specialistId, fromDate, workingDays, days);
+    }
+
+    private BitSet workingDaysOf(LocalDate fromDate, int days) {
+        return ItalianHolidayCalendar.workingDayMask(fromDate, days);
+    }
+
+    private SlotAvailability computeAvailability(AppointmentRepository repo, int specialistId, LocalDate fromDate,
+            BitSet workingDays, int days) {
+        LocalDate firstWorkingDay = fromDate.plusDays(workingDays.nextSetBit(0));
+        LocalDate lastWorkingDay = fromDate.plusDays(workingDays.length() - 1L);
+        List<Visita> existingAppointments = repo.findBySpecialistAndDateRange(
+                specialistId, firstWorkingDay, lastWorkingDay);
+
+        // 3. Maschera degli slot liberi per ogni giorno lavorativo
+        int[] freeSlotMasks = new int[days];
+        for (int offset = workingDays.nextSetBit(0); offset >= 0; offset = workingDays.nextSetBit(offset + 1)) {
+            freeSlotMasks[offset] = SlotAvailability.ALL_SLOTS_FREE;
+        }
+        if (existingAppointments != null) {
+            for (Visita v : existingAppointments) {
+                int slot = (v != null) ? SlotAvailability.slotIndex(v.getOrario()) : -1;
+                if (slot < 0 || v.getData() == null) {
+                    continue;
+                }
+                long offset = ChronoUnit.DAYS.between(fromDate, v.getData());
+                if (offset >= 0 && offset < days) {
+                    freeSlotMasks[(int) offset] &= ~(1 << slot);
+                }
+            }
+        }
+        return new SlotAvailability(fromDate, freeSlotMasks, workingDays);
+    }
+
+    private int occupiedMask(List<Visita> appointments) {
+        int mask = 0;
+        if (appointments != null) {
+            for (Visita v : appointments) {
+                int slot = (v != null) ? SlotAvailability.slotIndex(v.getOrario()) : -1;
+                if (slot >= 0) {
+                    mask |= 1 << slot;
+                }
+            }
+        }
+        return mask;
+    }
+
+    // Latenza per backend, visibile via JMX come booking.<backend>
+    private static void recordBookingMetrics(long nanos, boolean booked) {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        String name = "booking." + currentBackend();
+        registry.histogram(name).record(nanos);
+        if (!booked) {
+            registry.counter(name + ".rejected").increment();
+        }
+    }
+
+    // Letto solo quando un evento JFR o una metrica viene effettivamente registrato
+    private static String currentBackend() {
+        StartupSettingsEntity settings = StartupSettingsEntity.getInstance();
+        return settings != null ? StorageEvent.backendName(settings.getStorageOption()) : null;
+    }
+
+    AppointmentRepository resolveRepository() {
         StartupSettingsEntity settings = StartupSettingsEntity.getInstance();
         if (settings == null) {
             LOGGER.severe("StartupSettingsEntity.getInstance() returned null!");
-            return new ArrayList<>();
+            return null;
         }
 
         StartupConfigBean config = new StartupConfigBean(settings.isInterfaceMode(), settings.getStorageOption());
-        LOGGER.info(() -> "[DEBUG] Using storage option: " + config.getStorageOption());
+        AppLog.debug(LOGGER, () -> "[DEBUG] Using storage option: " + config.getStorageOption());
 
-        authentication.factory.DAOFactory.DAOPair daos = authentication.factory.DAOFactory.createDAOs(config);
+        DAOFactory.DAOPair daos = DAOFactory.createDAOs(config);
         if (daos == null || daos.appointmentRepository == null) {
             LOGGER.severe("DAOFactory failed to provide appointmentRepository!");
-            return new ArrayList<>();
-        }
-
-        AppointmentRepository repo = daos.appointmentRepository;
-
-        // 3. Recupero prenotazioni esistenti
-        List<Visita> existingAppointments = repo.findByDateAndSpecialist(date, bean.getSpecialistId());
-        if (existingAppointments == null) {
-            existingAppointments = new ArrayList<>();
+            return null;
         }
-
-        // 4. Filtraggio degli slot occupati
-        List<LocalTime> occupiedTimes = existingAppointments.stream()
-                .filter(v -> v != null && v.getOrario() != null)
-                .map(Visita::getOrario)
-                .toList();
-
-        return allSlots.stream()
-                .filter(slot -> !occupiedTimes.contains(slot))
-                .sorted()
-                .toList();
+        return daos.appointmentRepository;
     }
 
     private String truncateReason(String reason, int maxLength) {
@@ -67,6 +67,14 @@ public class BookAppointmentGraphicControllerGui {
         return appController.getAvailableSpecialists(config);
     }
 
+    public List<Specialista> getSpecialistsBySpecialization(String specialization, StartupConfigBean config) {
+        return appController.getSpecialistsBySpecialization(specialization, config);
+    }
+
+    public java.util.SortedSet<String> getSpecializations(StartupConfigBean config) {
+        return appController.getSpecializations(config);
+    }
+
     public List<LocalTime> getAvailableSlots(BookAppointmentBean bean) {
         return appController.getAvailableSlots(bean);
     }
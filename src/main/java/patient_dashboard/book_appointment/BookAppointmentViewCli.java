@@ -15,7 +15,7 @@ import java.util.Scanner;
  */
 public class BookAppointmentViewCli implements View {
     private final BookAppointmentGraphicControllerCli graphicController = new BookAppointmentGraphicControllerCli();
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner = navigation.ConsoleScanner.getScanner();
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
 
@@ -242,9 +242,9 @@ public class BookAppointmentViewCli implements View {
     }
 
     /**
-     * Prints a message to stdout.
+     * Prints a message to the current terminal.
      */
     private void printMessage(String message) {
-        System.out.println(message);
+        navigation.ConsoleScanner.getOut().println(message);
     }
 }
@@ -13,12 +13,11 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
-import navigation.View;
+import navigation.CachedView;
 import startupconfig.StartupConfigBean;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 import session_manager.SessionManagerPaziente;
 import model.Paziente;
@@ -27,13 +26,15 @@ import model.Paziente;
  * GUI Boundary for booking an appointment.
  * Replicates the design of prenotazione_visita.html using JavaFX.
  */
-public class BookAppointmentViewGui implements View {
+public class BookAppointmentViewGui implements CachedView {
     private static final Logger LOGGER = Logger.getLogger(BookAppointmentViewGui.class.getName());
     private static final String CSS_PATH = "/style/style_prenotazione_visita_view_a_colori.css";
     private final BookAppointmentGraphicControllerGui graphicController = new BookAppointmentGraphicControllerGui();
 
     // UI Components promoted to fields
+    private static final String ALL_SPECIALIZATIONS = "Tutte le specializzazioni";
     private final ComboBox<String> serviceTypeCombo = new ComboBox<>();
+    private final ComboBox<String> specializationCombo = new ComboBox<>();
     private final ComboBox<model.Specialista> specialistCombo = new ComboBox<>();
     private final TextField nameField = createTextField("Nome");
     private final TextField surnameField = createTextField("Cognome");
@@ -43,6 +44,9 @@ public class BookAppointmentViewGui implements View {
     private final TextField reasonField = createTextField("Motivo visita (facoltativo)");
     private final DatePicker datePicker = createDatePicker();
     private final ComboBox<String> timeCombo = new ComboBox<>();
+    private final SlotRequestLoader slotLoader = new SlotRequestLoader(graphicController::getAvailableSlots,
+            SlotRequestLoader.DEFAULT_DEBOUNCE_MILLIS, Platform::runLater);
+    private VBox root; // Kept for reuse through the ViewCache
 
     @Override
     public void show(Stage stage, StartupConfigBean config) {
@@ -58,6 +62,7 @@ public class BookAppointmentViewGui implements View {
         rootContent.setAlignment(Pos.TOP_CENTER);
         rootContent.setSpacing(15);
 
+        root = rootContent;
         setupScene(stage, rootContent);
 
         // Header
@@ -80,26 +85,18 @@ public class BookAppointmentViewGui implements View {
         serviceTypeCombo.setMaxWidth(Double.MAX_VALUE);
 
         setupSpecialistCombo(graphicController.getAvailableSpecialists(config));
+        setupSpecializationFilter(config);
 
         timeCombo.setPromptText("Scegli prima data e specialista");
         timeCombo.setDisable(true);
 
-        // Pre-fill fields with logged-in patient data
-        if (SessionManagerPaziente.isLoggedIn()) {
-            Paziente logged = SessionManagerPaziente.getPazienteLoggato();
-            nameField.setText(logged.getNome());
-            surnameField.setText(logged.getCognome());
-            if (logged.getDataDiNascita() != null) {
-                dobField.setText(logged.getDataDiNascita().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
-            }
-            phoneField.setText(logged.getNumeroTelefonico());
-            emailField.setText(logged.getEmail());
-        }
+        prefillPatientData();
 
         setupSlotUpdateListener(datePicker, specialistCombo, timeCombo);
 
         formContainer.getChildren().addAll(
                 createLabel("Tipo di prestazione"), serviceTypeCombo,
+                createLabel("Specializzazione"), specializationCombo,
                 createLabel("Specialista"), specialistCombo,
                 createLabel("Nome"), nameField,
                 createLabel("Cognome"), surnameField,
@@ -131,12 +128,72 @@ public class BookAppointmentViewGui implements View {
         scrollPane.setContent(centeredWrapper);
         rootContent.getChildren().addAll(header, scrollPane);
 
+        showStage(stage);
+    }
+
+    /**
+     * Shows the form built by a previous visit, already reset by
+     * {@link #refresh(StartupConfigBean)}.
+     */
+    @Override
+    public void onShow(Stage stage, StartupConfigBean config) {
+        if (root == null) {
+            show(stage, config);
+            return;
+        }
+        setupScene(stage, root);
+        showStage(stage);
+    }
+
+    /**
+     * Clears the previous booking and reloads the specialists.
+     */
+    @Override
+    public void refresh(StartupConfigBean config) {
+        if (root == null) {
+            return;
+        }
+        slotLoader.cancel();
+        serviceTypeCombo.setValue(null);
+        specializationCombo.getItems().setAll(ALL_SPECIALIZATIONS);
+        specializationCombo.getItems().addAll(graphicController.getSpecializations(config));
+        specializationCombo.setValue(ALL_SPECIALIZATIONS);
+        specialistCombo.getItems().setAll(graphicController.getAvailableSpecialists(config));
+        specialistCombo.setValue(null);
+        datePicker.setValue(null);
+        timeCombo.getItems().clear();
+        timeCombo.setPromptText("Scegli prima data e specialista");
+        timeCombo.setDisable(true);
+        reasonField.clear();
+        prefillPatientData();
+    }
+
+    @Override
+    public void onHide() {
+        slotLoader.cancel();
+    }
+
+    private void showStage(Stage stage) {
         stage.setTitle("MindLab - Prenotazione");
         stage.setFullScreen(true);
         stage.setFullScreenExitHint("");
         stage.show();
     }
 
+    // Pre-fill fields with logged-in patient data
+    private void prefillPatientData() {
+        if (SessionManagerPaziente.isLoggedIn()) {
+            Paziente logged = SessionManagerPaziente.getPazienteLoggato();
+            nameField.setText(logged.getNome());
+            surnameField.setText(logged.getCognome());
+            if (logged.getDataDiNascita() != null) {
+                dobField.setText(logged.getDataDiNascita().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")));
+            }
+            phoneField.setText(logged.getNumeroTelefonico());
+            emailField.setText(logged.getEmail());
+        }
+    }
+
     private void setupScene(Stage stage, VBox rootContent) {
         if (stage.getScene() == null) {
             Scene scene = new Scene(rootContent, 800, 750);
@@ -165,6 +222,24 @@ public class BookAppointmentViewGui implements View {
         });
     }
 
+    /**
+     * Filtra la combo degli specialisti usando l'indice per specializzazione,
+     * senza ricaricare i profili dallo storage.
+     */
+    private void setupSpecializationFilter(StartupConfigBean config) {
+        specializationCombo.getItems().add(ALL_SPECIALIZATIONS);
+        specializationCombo.getItems().addAll(graphicController.getSpecializations(config));
+        specializationCombo.setValue(ALL_SPECIALIZATIONS);
+        specializationCombo.setMaxWidth(Double.MAX_VALUE);
+        specializationCombo.valueProperty().addListener((_, _, selected) -> {
+            List<model.Specialista> filtered = (selected == null || ALL_SPECIALIZATIONS.equals(selected))
+                    ? graphicController.getAvailableSpecialists(config)
+                    : graphicController.getSpecialistsBySpecialization(selected, config);
+            specialistCombo.setValue(null);
+            specialistCombo.getItems().setAll(filtered);
+        });
+    }
+
     private DatePicker createDatePicker() {
         DatePicker dp = new DatePicker();
         dp.setMaxWidth(Double.MAX_VALUE);
@@ -191,38 +266,38 @@ public class BookAppointmentViewGui implements View {
         Runnable updateSlots = () -> {
             LocalDate date = datePicker.getValue();
             model.Specialista specialist = specialistCombo.getValue();
-            if (date != null && specialist != null) {
-                timeCombo.setDisable(true);
+            if (date == null || specialist == null) {
+                // Gli orari del vecchio specialista/data non sono più validi
+                slotLoader.cancel();
                 timeCombo.getItems().clear();
-                timeCombo.setPromptText("Caricamento...");
-
-                BookAppointmentBean tempBean = new BookAppointmentBean();
-                tempBean.setDate(date);
-                tempBean.setSpecialistId(specialist.getId());
-                tempBean.setSpecialist(specialist.getNome() + " " + specialist.getCognome());
-
-                CompletableFuture
-                        .supplyAsync(() -> graphicController.getAvailableSlots(tempBean))
-                        .thenAccept(slots -> Platform.runLater(() -> {
-                            if (slots.isEmpty()) {
-                                timeCombo.setPromptText("Nessun orario disponibile");
-                            } else {
-                                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
-                                List<String> formattedSlots = slots.stream().map(s -> s.format(formatter))
-                                        .toList();
-                                timeCombo.getItems().setAll(formattedSlots);
-                                timeCombo.setDisable(false);
-                                timeCombo.setPromptText("Seleziona orario");
-                            }
-                        }))
-                        .exceptionally(ex -> {
-                            Platform.runLater(() -> {
-                                timeCombo.setPromptText("Errore nel caricamento");
-                                LOGGER.severe(() -> "Async slot loading failed: " + ex.getMessage());
-                            });
-                            return null;
-                        });
+                timeCombo.setPromptText("Scegli prima data e specialista");
+                timeCombo.setDisable(true);
+                return;
             }
+            timeCombo.setDisable(true);
+            timeCombo.getItems().clear();
+            timeCombo.setPromptText("Caricamento...");
+
+            BookAppointmentBean tempBean = new BookAppointmentBean();
+            tempBean.setDate(date);
+            tempBean.setSpecialistId(specialist.getId());
+            tempBean.setSpecialist(specialist.getNome() + " " + specialist.getCognome());
+
+            slotLoader.request(tempBean, slots -> {
+                if (slots.isEmpty()) {
+                    timeCombo.setPromptText("Nessun orario disponibile");
+                } else {
+                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
+                    List<String> formattedSlots = slots.stream().map(s -> s.format(formatter))
+                            .toList();
+                    timeCombo.getItems().setAll(formattedSlots);
+                    timeCombo.setDisable(false);
+                    timeCombo.setPromptText("Seleziona orario");
+                }
+            }, ex -> {
+                timeCombo.setPromptText("Errore nel caricamento");
+                LOGGER.severe(() -> "Async slot loading failed: " + ex.getMessage());
+            });
         };
         datePicker.valueProperty().addListener((_, _, _) -> updateSlots.run());
         specialistCombo.valueProperty().addListener((_, _, _) -> updateSlots.run());
@@ -274,7 +349,9 @@ public class BookAppointmentViewGui implements View {
             String styleSheet = java.util.Objects.requireNonNull(
                     getClass().getResource(CSS_PATH),
                     "Resource non trovata: " + CSS_PATH).toExternalForm();
-            scene.getStylesheets().add(styleSheet);
+            if (!scene.getStylesheets().contains(styleSheet)) {
+                scene.getStylesheets().add(styleSheet);
+            }
         } catch (Exception e) {
             LOGGER.warning("Impossibile caricare il CSS: " + CSS_PATH + ". Errore: " + e.getMessage());
         }
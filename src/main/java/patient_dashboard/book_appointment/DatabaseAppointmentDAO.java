@@ -1,5 +1,6 @@
 package patient_dashboard.book_appointment;
 
+import flight_recorder.StorageTrace;
 import model.Visita;
 import storage_db.DatabaseStorageStrategyVisita;
 import java.time.LocalDate;
@@ -10,11 +11,21 @@ import java.util.List;
  * Follows SRP by focusing only on SQL-based persistence.
  */
 public class DatabaseAppointmentDAO implements AppointmentRepository {
+    private static final String BACKEND = "Database";
+    private static final String ENTITY = "Visita";
     private final DatabaseStorageStrategyVisita dbStrategy = new DatabaseStorageStrategyVisita();
 
     @Override
     public List<Visita> findByDateAndSpecialist(LocalDate date, int specialistId) {
-        return dbStrategy.findByDateAndSpecialist(date, specialistId);
+        return StorageTrace.list(BACKEND, ENTITY, "findByDateAndSpecialist",
+                () -> dbStrategy.findByDateAndSpecialist(date, specialistId), date, specialistId);
+    }
+
+    @Override
+    public List<Visita> findBySpecialistAndDateRange(int specialistId, LocalDate fromDate, LocalDate toDate) {
+        return StorageTrace.list(BACKEND, ENTITY, "findBySpecialistAndDateRange",
+                () -> dbStrategy.findBySpecialistAndDateRange(specialistId, fromDate, toDate),
+                specialistId, fromDate, toDate);
     }
 
     @Override
@@ -29,16 +40,17 @@ public class DatabaseAppointmentDAO implements AppointmentRepository {
 
     @Override
     public List<Visita> findBySpecialistId(int specialistId) {
-        return dbStrategy.findBySpecialistId(specialistId);
+        return StorageTrace.list(BACKEND, ENTITY, "findBySpecialistId",
+                () -> dbStrategy.findBySpecialistId(specialistId), specialistId);
     }
 
     @Override
     public boolean save(Visita visita) {
-        return dbStrategy.salva(visita);
+        return StorageTrace.write(BACKEND, ENTITY, "salva", () -> dbStrategy.salva(visita), visita);
     }
 
     @Override
     public boolean delete(Visita visita) {
-        return dbStrategy.elimina(visita);
+        return StorageTrace.write(BACKEND, ENTITY, "elimina", () -> dbStrategy.elimina(visita), visita);
     }
 }
@@ -0,0 +1,178 @@
+package patient_dashboard.book_appointment;
+
+import model.Specialista;
+import startupconfig.StartupConfigBean;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Finds the k earliest free slots across all specialists of a given
+ * specialization.
+ *
+ * Every matching specialist is scanned on its own virtual thread, one week of
+ * availability at a time (one storage query per week, on a repository resolved
+ * once by the calling thread). The threads share a bounded top-k collector: as
+ * soon as k candidates are known, any scan whose next week starts after the
+ * current k-th best slot stops early.
+ */
+public class EarliestSlotSearch {
+    private static final Logger LOGGER = Logger.getLogger(EarliestSlotSearch.class.getName());
+
+    /** Days of availability fetched per storage query. */
+    static final int CHUNK_DAYS = 7;
+
+    private final BookAppointmentControllerApp appController;
+
+    public EarliestSlotSearch(BookAppointmentControllerApp appController) {
+        this.appController = appController;
+    }
+
+    /**
+     * Searches the earliest free slots starting from today.
+     *
+     * @param specialization The specialization to match (case-insensitive).
+     * @param serviceType    "Online", "In presenza" or null for any.
+     * @param horizonDays    How many days ahead to search.
+     * @param k              Maximum number of slots to return.
+     * @param config         The current application configuration.
+     * @return Up to k slots, ordered chronologically.
+     */
+    public List<SlotCandidate> findEarliest(String specialization, String serviceType, int horizonDays, int k,
+            StartupConfigBean config) {
+        return findEarliest(specialization, serviceType, LocalDateTime.now(), horizonDays, k, config);
+    }
+
+    /**
+     * Searches the earliest free slots strictly after the given instant.
+     *
+     * @see #findEarliest(String, String, int, int, StartupConfigBean)
+     */
+    public List<SlotCandidate> findEarliest(String specialization, String serviceType, LocalDateTime notBefore,
+            int horizonDays, int k, StartupConfigBean config) {
+        if (specialization == null || specialization.isBlank() || notBefore == null || horizonDays <= 0 || k <= 0) {
+            return List.of();
+        }
+        if (serviceType != null && !serviceType.equals("Online") && !serviceType.equals("In presenza")) {
+            throw new IllegalArgumentException("Tipo di prestazione non valido: " + serviceType);
+        }
+
+        List<Specialista> specialists = appController.getSpecialistsBySpecialization(specialization, config).stream()
+                .filter(s -> s.getId() != null && s.getId() > 0)
+                .toList();
+        if (specialists.isEmpty()) {
+            LOGGER.info(() -> "[DEBUG] No specialist found for specialization: " + specialization);
+            return List.of();
+        }
+
+        LocalDate fromDate = notBefore.toLocalDate();
+        LocalDate lastDate = fromDate.plusDays(Math.min(horizonDays, BookAppointmentControllerApp.MAX_RANGE_DAYS) - 1L);
+        AppointmentRepository repo = appController.resolveRepository();
+        if (repo == null) {
+            return List.of();
+        }
+        TopK collector = new TopK(k);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Specialista specialist : specialists) {
+                executor.execute(() -> scanSpecialist(repo, specialist, serviceType, notBefore, lastDate, collector));
+            }
+        }
+        return collector.sortedResults();
+    }
+
+    private void scanSpecialist(AppointmentRepository repo, Specialista specialist, String serviceType,
+            LocalDateTime notBefore, LocalDate lastDate, TopK collector) {
+        try {
+            LocalDate chunkStart = notBefore.toLocalDate();
+            while (!chunkStart.isAfter(lastDate)) {
+                if (collector.cannotImprove(chunkStart.atTime(SlotAvailability.FIRST_SLOT_HOUR, 0))) {
+                    return; // Early termination: every later slot is worse than the current k-th
+                }
+                LocalDate chunkEnd = chunkStart.plusDays(CHUNK_DAYS - 1L);
+                if (chunkEnd.isAfter(lastDate)) {
+                    chunkEnd = lastDate;
+                }
+                SlotAvailability availability = appController.getAvailableSlots(repo, specialist.getId(), chunkStart,
+                        chunkEnd);
+                if (offerChunk(specialist, serviceType, notBefore, availability, chunkStart, chunkEnd, collector)) {
+                    return;
+                }
+                chunkStart = chunkEnd.plusDays(1);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, e, () -> "Slot search failed for specialist " + specialist.getId());
+        }
+    }
+
+    /**
+     * Offers the free slots of a chunk in chronological order.
+     *
+     * @return true if the scan of this specialist can stop.
+     */
+    private boolean offerChunk(Specialista specialist, String serviceType, LocalDateTime notBefore,
+            SlotAvailability availability, LocalDate chunkStart, LocalDate chunkEnd, TopK collector) {
+        for (LocalDate day = chunkStart; !day.isAfter(chunkEnd); day = day.plusDays(1)) {
+            for (LocalTime time : availability.getAvailableSlots(day)) {
+                LocalDateTime slot = day.atTime(time);
+                if (!slot.isAfter(notBefore)) {
+                    continue;
+                }
+                if (!collector.offer(new SlotCandidate(specialist, day, time, serviceType))) {
+                    return true; // Slots only get later from here on
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Thread-safe bounded collector of the k smallest candidates.
+     */
+    private static final class TopK {
+        private final int k;
+        private final PriorityQueue<SlotCandidate> worstFirst = new PriorityQueue<>(Collections.reverseOrder());
+        private volatile LocalDateTime cutoff; // k-th best slot once full, null before
+
+        TopK(int k) {
+            this.k = k;
+        }
+
+        boolean cannotImprove(LocalDateTime earliestPossible) {
+            LocalDateTime current = cutoff;
+            return current != null && earliestPossible.isAfter(current);
+        }
+
+        /**
+         * @return false if the candidate is later than the current k-th best.
+         */
+        synchronized boolean offer(SlotCandidate candidate) {
+            if (worstFirst.size() < k) {
+                worstFirst.add(candidate);
+            } else if (candidate.compareTo(worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.add(candidate);
+            } else {
+                return false;
+            }
+            if (worstFirst.size() == k) {
+                cutoff = worstFirst.peek().getDateTime();
+            }
+            return true;
+        }
+
+        synchronized List<SlotCandidate> sortedResults() {
+            List<SlotCandidate> results = new ArrayList<>(worstFirst);
+            Collections.sort(results);
+            return results;
+        }
+    }
+}
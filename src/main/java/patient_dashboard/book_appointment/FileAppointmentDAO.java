@@ -1,7 +1,9 @@
 package patient_dashboard.book_appointment;
 
+import flight_recorder.StorageTrace;
 import model.Visita;
 import storage_file.FileManagerVisite;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -10,16 +12,35 @@ import java.util.List;
  * Follows SRP by focusing only on file-based persistence.
  */
 public class FileAppointmentDAO implements AppointmentRepository {
-    private final FileManagerVisite fileManager = new FileManagerVisite();
+    private static final String BACKEND = "File";
+    private static final String ENTITY = "Visita";
+    private final FileManagerVisite fileManager;
+
+    public FileAppointmentDAO() {
+        this.fileManager = new FileManagerVisite();
+    }
+
+    /** Repository on a directory other than the application's visite_salvate/. */
+    public FileAppointmentDAO(Path directory) {
+        this.fileManager = new FileManagerVisite(directory);
+    }
 
     @Override
     public List<Visita> findByDateAndSpecialist(LocalDate date, int specialistId) {
-        return fileManager.getAllInstanceOfActor().stream()
+        return allVisits().stream()
                 .filter(v -> v.getData() != null && v.getData().equals(date) &&
                         v.getSpecialistaId() == specialistId)
                 .toList();
     }
 
+    @Override
+    public List<Visita> findBySpecialistAndDateRange(int specialistId, LocalDate fromDate, LocalDate toDate) {
+        return allVisits().stream()
+                .filter(v -> v.getSpecialistaId() == specialistId && v.getData() != null &&
+                        !v.getData().isBefore(fromDate) && !v.getData().isAfter(toDate))
+                .toList();
+    }
+
     @Override
     public List<Visita> findBySpecialist(String specialistSurname) {
         return List.of();
@@ -32,18 +53,23 @@ public class FileAppointmentDAO implements AppointmentRepository {
 
     @Override
     public List<Visita> findBySpecialistId(int specialistId) {
-        return fileManager.getAllInstanceOfActor().stream()
+        return allVisits().stream()
                 .filter(v -> v.getSpecialistaId() == specialistId)
                 .toList();
     }
 
     @Override
     public boolean save(Visita visita) {
-        return fileManager.salva(visita);
+        return StorageTrace.write(BACKEND, ENTITY, "salva", () -> fileManager.salva(visita), visita);
     }
 
     @Override
     public boolean delete(Visita visita) {
-        return fileManager.elimina(visita);
+        return StorageTrace.write(BACKEND, ENTITY, "elimina", () -> fileManager.elimina(visita), visita);
+    }
+
+    // Ogni ricerca legge tutti i file: è questa la lettura da misurare
+    private List<Visita> allVisits() {
+        return StorageTrace.list(BACKEND, ENTITY, "getAllInstanceOfActor", fileManager::getAllInstanceOfActor);
     }
 }
@@ -2,40 +2,58 @@ package patient_dashboard.book_appointment;
 
 import java.time.LocalDate;
 import java.time.Month;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.time.MonthDay;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * Utility class to verify Italian public holidays.
- * Hardcoded for the years 2026–2030 as requested.
+ * Utility class to verify Italian public holidays and working days.
+ *
+ * Every year is stored as two 366-bit masks (holidays and working days,
+ * indexed by day of year) computed lazily on first access, so checks are O(1)
+ * and bulk queries work a 64-day word at a time.
  */
 public class ItalianHolidayCalendar {
 
-    private static final Map<Integer, Set<LocalDate>> HOLIDAYS_BY_YEAR = new HashMap<>();
-
-    static {
-        // Initialization for years 2026-2030
-        for (int year = 2026; year <= 2126; year++) {
-            Set<LocalDate> holidays = new HashSet<>();
-
-            // Standard Fixed Holidays
-            holidays.add(LocalDate.of(year, Month.JANUARY, 1)); // Capodanno
-            holidays.add(LocalDate.of(year, Month.JANUARY, 6)); // Epifania
-            holidays.add(LocalDate.of(year, Month.APRIL, 25)); // Liberazione
-            holidays.add(LocalDate.of(year, Month.MAY, 1)); // Lavoro
-            holidays.add(LocalDate.of(year, Month.JUNE, 2)); // Repubblica
-            holidays.add(LocalDate.of(year, Month.AUGUST, 15)); // Ferragosto
-            holidays.add(LocalDate.of(year, Month.NOVEMBER, 1)); // Tutti i Santi
-            holidays.add(LocalDate.of(year, Month.DECEMBER, 8)); // Immacolata
-            holidays.add(LocalDate.of(year, Month.DECEMBER, 25)); // Natale
-            holidays.add(LocalDate.of(year, Month.DECEMBER, 26)); // S. Stefano
-
-            // Dynamic Holidays (Easter and Easter Monday)
-            addEasterHolidays(year, holidays);
-
-            HOLIDAYS_BY_YEAR.put(year, holidays);
+    /** Years cached in memory; any other year is computed on each call. */
+    static final int MIN_CACHED_YEAR = 1900;
+    static final int MAX_CACHED_YEAR = 2199;
+
+    private static final int WORDS_PER_YEAR = 6; // 6 * 64 >= 366
+    private static final AtomicReferenceArray<YearMasks> CACHE = new AtomicReferenceArray<>(
+            MAX_CACHED_YEAR - MIN_CACHED_YEAR + 1);
+
+    /**
+     * Regional patron-saint holidays, observed only in the given city.
+     */
+    public enum PatronSaint {
+        ROMA(Month.JUNE, 29), // Santi Pietro e Paolo
+        MILANO(Month.DECEMBER, 7), // Sant'Ambrogio
+        NAPOLI(Month.SEPTEMBER, 19), // San Gennaro
+        TORINO(Month.JUNE, 24), // San Giovanni Battista
+        FIRENZE(Month.JUNE, 24), // San Giovanni Battista
+        GENOVA(Month.JUNE, 24), // San Giovanni Battista
+        BOLOGNA(Month.OCTOBER, 4), // San Petronio
+        PALERMO(Month.JULY, 15), // Santa Rosalia
+        BARI(Month.DECEMBER, 6), // San Nicola
+        CATANIA(Month.FEBRUARY, 5), // Sant'Agata
+        VENEZIA(Month.APRIL, 25), // San Marco
+        TRIESTE(Month.NOVEMBER, 3); // San Giusto
+
+        private final MonthDay day;
+
+        PatronSaint(Month month, int dayOfMonth) {
+            this.day = MonthDay.of(month, dayOfMonth);
+        }
+
+        public MonthDay getDay() {
+            return day;
+        }
+
+        boolean matches(LocalDate date) {
+            return date.getMonth() == day.getMonth() && date.getDayOfMonth() == day.getDayOfMonth();
         }
     }
 
@@ -46,14 +64,214 @@ public class ItalianHolidayCalendar {
     public static boolean isItalianHoliday(LocalDate date) {
         if (date == null)
             return false;
-        Set<LocalDate> yearHolidays = HOLIDAYS_BY_YEAR.get(date.getYear());
-        return yearHolidays != null && yearHolidays.contains(date);
+        return get(masksOf(date.getYear()).holidays, date.getDayOfYear() - 1);
+    }
+
+    /**
+     * @return true if the date is a national holiday or the patron-saint day
+     *         of the given city (null for none).
+     */
+    public static boolean isHoliday(LocalDate date, PatronSaint patron) {
+        return isItalianHoliday(date) || (date != null && patron != null && patron.matches(date));
+    }
+
+    /**
+     * @return true if the date is neither a weekend nor a national holiday.
+     */
+    public static boolean isWorkingDay(LocalDate date) {
+        if (date == null)
+            return false;
+        return get(masksOf(date.getYear()).workingDays, date.getDayOfYear() - 1);
+    }
+
+    /**
+     * @return true if the date is a working day and not the patron-saint day
+     *         of the given city (null for none).
+     */
+    public static boolean isWorkingDay(LocalDate date, PatronSaint patron) {
+        return isWorkingDay(date) && (patron == null || !patron.matches(date));
+    }
+
+    /**
+     * @return The first working day on or after the given date.
+     */
+    public static LocalDate nextWorkingDay(LocalDate from) {
+        return nextWorkingDay(from, null);
+    }
+
+    /**
+     * @return The first working day on or after the given date, also skipping
+     *         the patron-saint day of the given city (null for none).
+     */
+    public static LocalDate nextWorkingDay(LocalDate from, PatronSaint patron) {
+        if (from == null)
+            return null;
+        LocalDate day = from;
+        while (true) {
+            long[] words = masksOf(day.getYear()).workingDays;
+            int index = nextSetBit(words, day.getDayOfYear() - 1);
+            if (index >= 0) {
+                LocalDate found = day.withDayOfYear(index + 1);
+                if (patron == null || !patron.matches(found)) {
+                    return found;
+                }
+                day = found.plusDays(1);
+            } else {
+                day = LocalDate.of(day.getYear() + 1, Month.JANUARY, 1);
+            }
+        }
+    }
+
+    /**
+     * Counts the working days in the inclusive range.
+     *
+     * @return The number of working days, 0 if the range is empty.
+     */
+    public static int workingDaysBetween(LocalDate from, LocalDate toInclusive) {
+        return workingDaysBetween(from, toInclusive, null);
+    }
+
+    /**
+     * Counts the working days in the inclusive range, also excluding the
+     * patron-saint day of the given city (null for none).
+     */
+    public static int workingDaysBetween(LocalDate from, LocalDate toInclusive, PatronSaint patron) {
+        if (from == null || toInclusive == null || toInclusive.isBefore(from))
+            return 0;
+        int count = 0;
+        for (int year = from.getYear(); year <= toInclusive.getYear(); year++) {
+            int start = (year == from.getYear()) ? from.getDayOfYear() - 1 : 0;
+            int end = (year == toInclusive.getYear()) ? toInclusive.getDayOfYear() - 1
+                    : LocalDate.of(year, Month.DECEMBER, 31).getDayOfYear() - 1;
+            count += countBits(masksOf(year).workingDays, start, end);
+            if (patron != null) {
+                int patronDay = LocalDate.of(year, patron.getDay().getMonth(), patron.getDay().getDayOfMonth())
+                        .getDayOfYear() - 1;
+                if (patronDay >= start && patronDay <= end && get(masksOf(year).workingDays, patronDay)) {
+                    count--;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Working days of a range as a bitset (bit i = fromDate + i days), used by
+     * the availability engine to mark bookable days without date arithmetic.
+     */
+    public static BitSet workingDayMask(LocalDate fromDate, int days) {
+        BitSet mask = new BitSet(days);
+        if (fromDate == null || days <= 0)
+            return mask;
+        int offset = 0;
+        LocalDate day = fromDate;
+        while (offset < days) {
+            long[] words = masksOf(day.getYear()).workingDays;
+            int start = day.getDayOfYear() - 1;
+            int yearLength = day.lengthOfYear();
+            int span = Math.min(days - offset, yearLength - start);
+            for (int i = nextSetBit(words, start); i >= 0 && i < start + span; i = nextSetBit(words, i + 1)) {
+                mask.set(offset + i - start);
+            }
+            offset += span;
+            day = day.plusDays(span);
+        }
+        return mask;
+    }
+
+    /**
+     * Iterates the working days of the inclusive range in chronological
+     * order.
+     */
+    public static Iterable<LocalDate> workingDays(LocalDate from, LocalDate toInclusive) {
+        return workingDays(from, toInclusive, null);
+    }
+
+    /**
+     * Iterates the working days of the inclusive range, also skipping the
+     * patron-saint day of the given city (null for none).
+     */
+    public static Iterable<LocalDate> workingDays(LocalDate from, LocalDate toInclusive, PatronSaint patron) {
+        return () -> new Iterator<>() {
+            private LocalDate next = (from == null || toInclusive == null) ? null : advance(from);
+
+            private LocalDate advance(LocalDate day) {
+                LocalDate candidate = nextWorkingDay(day, patron);
+                return candidate.isAfter(toInclusive) ? null : candidate;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LocalDate next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                LocalDate current = next;
+                next = advance(current.plusDays(1));
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Returns the masks of the year, computing and caching them on first use.
+     */
+    private static YearMasks masksOf(int year) {
+        if (year < MIN_CACHED_YEAR || year > MAX_CACHED_YEAR) {
+            return computeYear(year);
+        }
+        int slot = year - MIN_CACHED_YEAR;
+        YearMasks masks = CACHE.get(slot);
+        if (masks == null) {
+            // Benign race: two threads may compute the same year, both results are equal
+            CACHE.compareAndSet(slot, null, computeYear(year));
+            masks = CACHE.get(slot);
+        }
+        return masks;
+    }
+
+    private static YearMasks computeYear(int year) {
+        long[] holidays = new long[WORDS_PER_YEAR];
+
+        // Standard Fixed Holidays
+        set(holidays, MonthDay.of(Month.JANUARY, 1), year); // Capodanno
+        set(holidays, MonthDay.of(Month.JANUARY, 6), year); // Epifania
+        set(holidays, MonthDay.of(Month.APRIL, 25), year); // Liberazione
+        set(holidays, MonthDay.of(Month.MAY, 1), year); // Lavoro
+        set(holidays, MonthDay.of(Month.JUNE, 2), year); // Repubblica
+        set(holidays, MonthDay.of(Month.AUGUST, 15), year); // Ferragosto
+        set(holidays, MonthDay.of(Month.NOVEMBER, 1), year); // Tutti i Santi
+        set(holidays, MonthDay.of(Month.DECEMBER, 8), year); // Immacolata
+        set(holidays, MonthDay.of(Month.DECEMBER, 25), year); // Natale
+        set(holidays, MonthDay.of(Month.DECEMBER, 26), year); // S. Stefano
+
+        // Dynamic Holidays (Easter and Easter Monday)
+        int easter = easterDayOfYear(year);
+        holidays[(easter - 1) >>> 6] |= 1L << (easter - 1);
+        holidays[easter >>> 6] |= 1L << easter; // Lunedì dell'Angelo
+
+        // Working days: Monday-Friday minus holidays
+        long[] workingDays = new long[WORDS_PER_YEAR];
+        int length = LocalDate.of(year, Month.DECEMBER, 31).getDayOfYear();
+        int dayOfWeek = LocalDate.of(year, Month.JANUARY, 1).getDayOfWeek().getValue() - 1; // 0 = Monday
+        for (int i = 0; i < length; i++, dayOfWeek = (dayOfWeek + 1) % 7) {
+            if (dayOfWeek < 5 && !get(holidays, i)) {
+                workingDays[i >>> 6] |= 1L << i;
+            }
+        }
+        return new YearMasks(holidays, workingDays);
     }
 
     /**
      * Calculates Easter using Gauss algorithm to support any year.
+     *
+     * @return The 1-based day of year of Easter Sunday.
      */
-    private static void addEasterHolidays(int year, Set<LocalDate> holidays) {
+    private static int easterDayOfYear(int year) {
         int a = year % 19;
         int b = year % 4;
         int c = year % 7;
@@ -77,8 +295,57 @@ public class ItalianHolidayCalendar {
             }
         }
 
-        LocalDate easter = LocalDate.of(year, month, day);
-        holidays.add(easter);
-        holidays.add(easter.plusDays(1)); // Lunedì dell'Angelo
+        return LocalDate.of(year, month, day).getDayOfYear();
+    }
+
+    private static void set(long[] words, MonthDay monthDay, int year) {
+        int index = monthDay.atYear(year).getDayOfYear() - 1;
+        words[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean get(long[] words, int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static int nextSetBit(long[] words, int fromIndex) {
+        int w = fromIndex >>> 6;
+        if (w >= words.length)
+            return -1;
+        long word = words[w] & (-1L << fromIndex);
+        while (true) {
+            if (word != 0)
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == words.length)
+                return -1;
+            word = words[w];
+        }
+    }
+
+    private static int countBits(long[] words, int fromIndex, int toIndexInclusive) {
+        int count = 0;
+        int firstWord = fromIndex >>> 6;
+        int lastWord = toIndexInclusive >>> 6;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long word = words[w];
+            if (w == firstWord)
+                word &= -1L << fromIndex;
+            if (w == lastWord)
+                word &= -1L >>> (63 - (toIndexInclusive & 63));
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Holiday and working-day masks of a single year, indexed by day of year.
+     */
+    private static final class YearMasks {
+        private final long[] holidays;
+        private final long[] workingDays;
+
+        YearMasks(long[] holidays, long[] workingDays) {
+            this.holidays = holidays;
+            this.workingDays = workingDays;
+        }
     }
 }
@@ -20,6 +20,14 @@ public class RamAppointmentDAO implements AppointmentRepository {
                 .toList();
     }
 
+    @Override
+    public List<Visita> findBySpecialistAndDateRange(int specialistId, LocalDate fromDate, LocalDate toDate) {
+        return ramList.getObservableListaVisite().stream()
+                .filter(v -> v.getSpecialistaId() == specialistId && v.getData() != null &&
+                        !v.getData().isBefore(fromDate) && !v.getData().isAfter(toDate))
+                .toList();
+    }
+
     @Override
     public List<Visita> findBySpecialist(String specialistSurname) {
         return List.of();
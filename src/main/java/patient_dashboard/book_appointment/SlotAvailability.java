@@ -0,0 +1,138 @@
+package patient_dashboard.book_appointment;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Compact per-day availability of a specialist over a date range.
+ * Each day is stored as a bitmask of free hourly slots (bit 0 = first slot),
+ * so a month of availability costs a few hundred bytes instead of a map of
+ * LocalTime lists.
+ */
+public class SlotAvailability {
+    public static final int FIRST_SLOT_HOUR = 8;
+    public static final int LAST_SLOT_HOUR = 20;
+    public static final int SLOTS_PER_DAY = LAST_SLOT_HOUR - FIRST_SLOT_HOUR + 1;
+    public static final int ALL_SLOTS_FREE = (1 << SLOTS_PER_DAY) - 1;
+
+    private final LocalDate fromDate;
+    private final int[] freeSlotMasks;
+    private final BitSet workingDays;
+
+    SlotAvailability(LocalDate fromDate, int[] freeSlotMasks, BitSet workingDays) {
+        this.fromDate = fromDate;
+        this.freeSlotMasks = freeSlotMasks;
+        this.workingDays = workingDays;
+    }
+
+    /**
+     * Availability with no days at all (invalid or empty request).
+     */
+    public static SlotAvailability empty() {
+        return new SlotAvailability(null, new int[0], new BitSet());
+    }
+
+    /**
+     * Bit index of a slot within a day mask, or -1 if the time is not a slot.
+     */
+    public static int slotIndex(LocalTime time) {
+        if (time == null || time.getMinute() != 0 || time.getSecond() != 0) {
+            return -1;
+        }
+        int index = time.getHour() - FIRST_SLOT_HOUR;
+        return (index >= 0 && index < SLOTS_PER_DAY) ? index : -1;
+    }
+
+    /**
+     * Converts a day mask into the ordered list of free slot times.
+     */
+    public static List<LocalTime> toSlots(int mask) {
+        List<LocalTime> slots = new ArrayList<>(Integer.bitCount(mask));
+        for (int i = mask; i != 0; i &= i - 1) {
+            slots.add(LocalTime.of(FIRST_SLOT_HOUR + Integer.numberOfTrailingZeros(i), 0));
+        }
+        return slots;
+    }
+
+    public boolean isEmpty() {
+        return freeSlotMasks.length == 0;
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return isEmpty() ? null : fromDate.plusDays(freeSlotMasks.length - 1L);
+    }
+
+    /**
+     * @return true if the date is in range and is neither a weekend nor a holiday.
+     */
+    public boolean isWorkingDay(LocalDate date) {
+        int offset = offsetOf(date);
+        return offset >= 0 && workingDays.get(offset);
+    }
+
+    /**
+     * Raw bitmask of free slots for the given date (0 if out of range or closed).
+     */
+    public int getFreeSlotMask(LocalDate date) {
+        int offset = offsetOf(date);
+        return offset >= 0 ? freeSlotMasks[offset] : 0;
+    }
+
+    public int getFreeSlotCount(LocalDate date) {
+        return Integer.bitCount(getFreeSlotMask(date));
+    }
+
+    /** Free slots over the whole range. */
+    public int getTotalFreeSlots() {
+        int total = 0;
+        for (int mask : freeSlotMasks) {
+            total += Integer.bitCount(mask);
+        }
+        return total;
+    }
+
+    public List<LocalTime> getAvailableSlots(LocalDate date) {
+        return toSlots(getFreeSlotMask(date));
+    }
+
+    /**
+     * Expands the compact representation into a date-ordered map containing
+     * every working day of the range (days with no free slot map to an empty
+     * list).
+     */
+    public SortedMap<LocalDate, List<LocalTime>> toMap() {
+        SortedMap<LocalDate, List<LocalTime>> map = new TreeMap<>();
+        for (int offset = workingDays.nextSetBit(0); offset >= 0; offset = workingDays.nextSetBit(offset + 1)) {
+            map.put(fromDate.plusDays(offset), Collections.unmodifiableList(toSlots(freeSlotMasks[offset])));
+        }
+        return Collections.unmodifiableSortedMap(map);
+    }
+
+    private int offsetOf(LocalDate date) {
+        if (date == null || isEmpty()) {
+            return -1;
+        }
+        long offset = ChronoUnit.DAYS.between(fromDate, date);
+        return (offset >= 0 && offset < freeSlotMasks.length) ? (int) offset : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "SlotAvailability{" +
+                "from=" + fromDate +
+                ", to=" + getToDate() +
+                ", workingDays=" + workingDays.cardinality() +
+                '}';
+    }
+}
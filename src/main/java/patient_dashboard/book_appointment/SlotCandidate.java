@@ -0,0 +1,86 @@
+package patient_dashboard.book_appointment;
+
+import model.Specialista;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+
+/**
+ * A free slot of a specific specialist, as returned by the earliest-slot
+ * search. Ordered chronologically, ties broken by specialist id.
+ */
+public class SlotCandidate implements Comparable<SlotCandidate> {
+    private static final Comparator<SlotCandidate> ORDER = Comparator
+            .comparing(SlotCandidate::getDateTime)
+            .thenComparingInt(SlotCandidate::getSpecialistId);
+
+    private final Specialista specialist;
+    private final LocalDate date;
+    private final LocalTime time;
+    private final String serviceType;
+
+    public SlotCandidate(Specialista specialist, LocalDate date, LocalTime time, String serviceType) {
+        this.specialist = specialist;
+        this.date = date;
+        this.time = time;
+        this.serviceType = serviceType;
+    }
+
+    public Specialista getSpecialist() {
+        return specialist;
+    }
+
+    public int getSpecialistId() {
+        return specialist.getId() != null ? specialist.getId() : 0;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
+    public LocalDateTime getDateTime() {
+        return date.atTime(time);
+    }
+
+    /**
+     * @return The requested service type, or null if any type was accepted.
+     */
+    public String getServiceType() {
+        return serviceType;
+    }
+
+    @Override
+    public int compareTo(SlotCandidate other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        SlotCandidate that = (SlotCandidate) o;
+        return getSpecialistId() == that.getSpecialistId() && date.equals(that.date) && time.equals(that.time);
+    }
+
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(getSpecialistId(), date, time);
+    }
+
+    @Override
+    public String toString() {
+        return "SlotCandidate{" +
+                "specialistId=" + getSpecialistId() +
+                ", date=" + date +
+                ", time=" + time +
+                ", serviceType='" + serviceType + '\'' +
+                '}';
+    }
+}
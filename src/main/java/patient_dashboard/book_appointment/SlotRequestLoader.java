@@ -0,0 +1,128 @@
+package patient_dashboard.book_appointment;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Request-coalescing loader for the free slots shown by the booking views.
+ *
+ * Each request is debounced: it only starts once the input has been stable
+ * for the debounce interval. Every request gets a generation number, and a
+ * newer request cancels the pending one and makes any result still in flight
+ * stale, so older answers can never overwrite newer ones. Loads run on a
+ * small dedicated pool instead of {@code ForkJoinPool.commonPool()}.
+ */
+public class SlotRequestLoader {
+    private static final Logger LOGGER = Logger.getLogger(SlotRequestLoader.class.getName());
+
+    /** Default quiet period before a request reaches storage. */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 250;
+    private static final int POOL_SIZE = 2;
+
+    private final Function<BookAppointmentBean, List<LocalTime>> loader;
+    private final long debounceMillis;
+    private final Executor callbackExecutor;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<ScheduledFuture<?>> pending = new AtomicReference<>();
+
+    /**
+     * @param loader           The blocking slot query.
+     * @param debounceMillis   Quiet period before a request is executed.
+     * @param callbackExecutor Where results are delivered (e.g. the FX thread).
+     */
+    public SlotRequestLoader(Function<BookAppointmentBean, List<LocalTime>> loader, long debounceMillis,
+            Executor callbackExecutor) {
+        this.loader = loader;
+        this.debounceMillis = debounceMillis;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Schedules a slot request, superseding any earlier one of this loader.
+     *
+     * @param bean     The date and specialist to query.
+     * @param onResult Receives the slots if this is still the latest request.
+     * @param onError  Receives the failure if this is still the latest request.
+     */
+    public void request(BookAppointmentBean bean, Consumer<List<LocalTime>> onResult, Consumer<Throwable> onError) {
+        long requestGeneration = generation.incrementAndGet();
+        ScheduledFuture<?> task = Pool.EXECUTOR.schedule(
+                () -> execute(requestGeneration, bean, onResult, onError), debounceMillis, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previous = pending.getAndSet(task);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Drops the pending request and ignores any result still in flight.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+        ScheduledFuture<?> previous = pending.getAndSet(null);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private void execute(long requestGeneration, BookAppointmentBean bean, Consumer<List<LocalTime>> onResult,
+            Consumer<Throwable> onError) {
+        if (isStale(requestGeneration)) {
+            return;
+        }
+        try {
+            List<LocalTime> slots = loader.apply(bean);
+            deliver(requestGeneration, () -> onResult.accept(slots));
+        } catch (Exception e) {
+            deliver(requestGeneration, () -> onError.accept(e));
+        }
+    }
+
+    private void deliver(long requestGeneration, Runnable callback) {
+        if (isStale(requestGeneration)) {
+            LOGGER.fine(() -> "[DEBUG] Discarding stale slot result, generation " + requestGeneration);
+            return;
+        }
+        // Ricontrollo sul thread di destinazione: una nuova richiesta può arrivare nel frattempo
+        callbackExecutor.execute(() -> {
+            if (!isStale(requestGeneration)) {
+                callback.run();
+            }
+        });
+    }
+
+    private boolean isStale(long requestGeneration) {
+        return requestGeneration != generation.get();
+    }
+
+    /**
+     * Lazily created daemon pool shared by all loaders.
+     */
+    private static final class Pool {
+        private static final ScheduledExecutorService EXECUTOR = create();
+
+        private static ScheduledExecutorService create() {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory factory = r -> {
+                Thread t = new Thread(r, "slot-loader-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(POOL_SIZE, factory);
+            executor.setRemoveOnCancelPolicy(true); // Superseded requests leave the queue immediately
+            return executor;
+        }
+    }
+}
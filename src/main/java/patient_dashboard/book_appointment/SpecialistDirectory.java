@@ -0,0 +1,150 @@
+package patient_dashboard.book_appointment;
+
+import app_logging.AppLog;
+import authentication.factory.DAOFactory;
+import model.Specialista;
+import startupconfig.StartupConfigBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Immutable snapshot of the specialists, indexed by specialization
+ * (multi-valued), by id and by email.
+ *
+ * Snapshots are cached per storage option and rebuilt after
+ * {@link #CACHE_TTL_MILLIS} or {@link #invalidateAll}, so the booking views can
+ * filter specialists without reloading every profile from storage. An empty
+ * load (e.g. the database was still starting) is only kept for
+ * {@link #EMPTY_LOAD_RETRY_MILLIS}.
+ */
+public class SpecialistDirectory {
+    private static final Logger LOGGER = Logger.getLogger(SpecialistDirectory.class.getName());
+
+    /** How long a snapshot is served before being reloaded from storage. */
+    static final long CACHE_TTL_MILLIS = 5 * 60 * 1000L;
+    /** How long an empty snapshot is served before retrying the load. */
+    static final long EMPTY_LOAD_RETRY_MILLIS = 5 * 1000L;
+
+    private static final Map<Integer, SpecialistDirectory> CACHE = new ConcurrentHashMap<>();
+
+    private final List<Specialista> all;
+    private final Map<String, List<Specialista>> bySpecialization;
+    private final Map<Integer, Specialista> byId;
+    private final Map<String, Specialista> byEmail;
+    private final SortedSet<String> specializations;
+    private final long loadedAt;
+
+    SpecialistDirectory(List<Specialista> specialists) {
+        Map<String, List<Specialista>> specializationIndex = new HashMap<>();
+        Map<Integer, Specialista> idIndex = new HashMap<>();
+        Map<String, Specialista> emailIndex = new HashMap<>();
+        SortedSet<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        List<Specialista> valid = new ArrayList<>(specialists.size());
+
+        for (Specialista s : specialists) {
+            if (s == null) {
+                continue;
+            }
+            valid.add(s);
+            if (s.getSpecializzazione() != null && !s.getSpecializzazione().isBlank()) {
+                names.add(s.getSpecializzazione().trim());
+                specializationIndex.computeIfAbsent(key(s.getSpecializzazione()), _ -> new ArrayList<>()).add(s);
+            }
+            if (s.getId() != null) {
+                idIndex.putIfAbsent(s.getId(), s);
+            }
+            if (s.getEmail() != null) {
+                emailIndex.putIfAbsent(key(s.getEmail()), s);
+            }
+        }
+        specializationIndex.replaceAll((_, list) -> List.copyOf(list));
+
+        this.all = List.copyOf(valid);
+        this.bySpecialization = specializationIndex;
+        this.byId = idIndex;
+        this.byEmail = emailIndex;
+        this.specializations = Collections.unmodifiableSortedSet(names);
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the cached directory for the given configuration, loading it
+     * from storage if missing or expired.
+     *
+     * @param config The current application configuration.
+     * @return The specialist directory of the configured storage.
+     */
+    public static SpecialistDirectory forConfig(StartupConfigBean config) {
+        int storageOption = (config != null) ? config.getStorageOption() : -1;
+        SpecialistDirectory cached = CACHE.get(storageOption);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        // Il caricamento resta fuori dalla mappa: una query lenta non blocca
+        // gli altri storage né i thread che leggono lo snapshot corrente
+        DAOFactory.DAOPair daos = DAOFactory.createDAOs(config);
+        List<Specialista> loaded = daos.specialistaDAO.getAllInstanceOfActor();
+        SpecialistDirectory directory = new SpecialistDirectory(loaded != null ? loaded : List.of());
+        AppLog.debug(LOGGER,
+                () -> String.format("[DEBUG] Specialist directory loaded for storage %d: %d specialists",
+                storageOption, directory.all.size()));
+        // Con caricamenti concorrenti vince lo snapshot più recente
+        return CACHE.merge(storageOption, directory,
+                (current, fresh) -> current.loadedAt > fresh.loadedAt ? current : fresh);
+    }
+
+    /**
+     * Drops every cached directory.
+     */
+    public static void invalidateAll() {
+        CACHE.clear();
+    }
+
+    private boolean isExpired() {
+        long maxAge = all.isEmpty() ? EMPTY_LOAD_RETRY_MILLIS : CACHE_TTL_MILLIS;
+        return System.currentTimeMillis() - loadedAt >= maxAge;
+    }
+
+    public List<Specialista> getAll() {
+        return all;
+    }
+
+    /**
+     * @return Every specialist of the given specialization (case-insensitive),
+     *         empty if none.
+     */
+    public List<Specialista> findBySpecialization(String specialization) {
+        if (specialization == null || specialization.isBlank()) {
+            return List.of();
+        }
+        return bySpecialization.getOrDefault(key(specialization), List.of());
+    }
+
+    public Optional<Specialista> findById(int id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public Optional<Specialista> findByEmail(String email) {
+        return (email == null) ? Optional.empty() : Optional.ofNullable(byEmail.get(key(email)));
+    }
+
+    /**
+     * @return The distinct specializations, sorted alphabetically.
+     */
+    public SortedSet<String> getSpecializations() {
+        return specializations;
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -115,8 +115,8 @@ public class LoginViewBoundaryCli implements navigation.View { // Definizione de
         printLine("[CLI] Navigazione verso Prenotazione Appuntamento..."); // Feedback visivo all'utente CLI
     } // Chiude il metodo handleAppointment
 
-    private void printLine(String message) { // Metodo wrapper privato per incapsulare System.out.println
-        System.out.println(message); // Stampa il messaggio passato come argomento sulla console
+    private void printLine(String message) { // Metodo wrapper privato per la stampa su terminale
+        navigation.ConsoleScanner.getOut().println(message); // Stampa il messaggio sul terminale corrente
     } // Chiude il metodo printLine
 
 } // Chiude la classe LoginViewBoundary_cli
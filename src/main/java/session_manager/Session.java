@@ -0,0 +1,71 @@
+package session_manager;
+
+import model.Paziente;
+import model.Specialista;
+
+import java.util.Optional;
+
+/**
+ * Sessione di un utente autenticato, identificata da un token opaco.
+ * The user is immutable; only the last-access time changes, to implement a
+ * sliding expiry in {@link SessionStore}. Desktop sessions are pinned and
+ * never expire: they end only on logout or on the next desktop login.
+ */
+public final class Session {
+    private final String token;
+    private final Object user;
+    private final long createdAtNanos;
+    private final boolean pinned;
+    private volatile long lastAccessNanos;
+
+    Session(String token, Object user, long nowNanos, boolean pinned) {
+        this.token = token;
+        this.user = user;
+        this.pinned = pinned;
+        this.createdAtNanos = nowNanos;
+        this.lastAccessNanos = nowNanos;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /** @return true per la sessione desktop, esclusa dalla scadenza per inattività */
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    public boolean isPatient() {
+        return user instanceof Paziente;
+    }
+
+    public boolean isSpecialist() {
+        return user instanceof Specialista;
+    }
+
+    public Optional<Paziente> getPaziente() {
+        return (user instanceof Paziente paziente) ? Optional.of(paziente) : Optional.empty();
+    }
+
+    public Optional<Specialista> getSpecialista() {
+        return (user instanceof Specialista specialista) ? Optional.of(specialista) : Optional.empty();
+    }
+
+    long getCreatedAtNanos() {
+        return createdAtNanos;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    void touch(long nowNanos) {
+        lastAccessNanos = nowNanos;
+    }
+
+    @Override
+    public String toString() {
+        // Il token non viene mai scritto nei log
+        return "Session{" + (isPatient() ? "paziente" : "specialista") + '}';
+    }
+}
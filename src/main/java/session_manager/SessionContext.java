@@ -0,0 +1,98 @@
+package session_manager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sessione associata al thread corrente.
+ *
+ * Server-side code serving several users binds the caller's session for the
+ * duration of a request; the static SessionManager facades consult it first
+ * and fall back to the single desktop session only when nothing is bound.
+ *
+ * A thread serving a whole interactive connection (e.g. a remote CLI) calls
+ * {@link #isolate()} instead: logins on that thread then bind their session
+ * here and never touch, or fall back to, the desktop session.
+ */
+public final class SessionContext {
+    private static final ThreadLocal<Session> BOUND = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> ISOLATED = new ThreadLocal<>();
+
+    private SessionContext() {
+        throw new UnsupportedOperationException("Questa classe non può essere istanziata.");
+    }
+
+    /**
+     * Restores the previously bound session when closed.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Binds a session to the current thread until the returned scope is
+     * closed (use with try-with-resources).
+     */
+    public static Scope bind(Session session) {
+        Session previous = BOUND.get();
+        BOUND.set(session);
+        return () -> restore(BOUND, previous);
+    }
+
+    /**
+     * @return The session bound to this thread, if any.
+     */
+    public static Optional<Session> current() {
+        return Optional.ofNullable(BOUND.get());
+    }
+
+    /**
+     * Isolates the current thread from the desktop session until the
+     * returned scope is closed: nothing is bound at first, and the next login
+     * binds its session to this thread.
+     */
+    public static Scope isolate() {
+        Session previous = BOUND.get();
+        Boolean previousIsolated = ISOLATED.get();
+        BOUND.remove();
+        ISOLATED.set(Boolean.TRUE);
+        return () -> {
+            restore(BOUND, previous);
+            restore(ISOLATED, previousIsolated);
+        };
+    }
+
+    public static boolean isIsolated() {
+        return ISOLATED.get() != null;
+    }
+
+    /**
+     * Replaces the session bound to an isolated thread (null to unbind).
+     */
+    static void rebind(Session session) {
+        restore(BOUND, session);
+    }
+
+    /**
+     * Records a new login for the static facades.
+     *
+     * @return The token of the session it replaces, if any.
+     */
+    static String swap(AtomicReference<String> desktopToken, Session session) {
+        if (isIsolated()) {
+            Session previous = BOUND.get();
+            BOUND.set(session);
+            return (previous != null) ? previous.getToken() : null;
+        }
+        return desktopToken.getAndSet(session.getToken());
+    }
+
+    private static <T> void restore(ThreadLocal<T> slot, T value) {
+        if (value == null) {
+            slot.remove();
+        } else {
+            slot.set(value);
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package session_manager;
 
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 import model.Paziente;
 
 /**
  * Gestisce la sessione del paziente in modo thread-safe.
- * Tiene traccia del paziente loggato utilizzando metodi statici.
+ * Facciata statica sul {@link SessionStore}: se il thread corrente ha una
+ * sessione associata ({@link SessionContext}) viene usata quella, altrimenti
+ * la sessione "desktop" aperta dall'ultimo login dell'interfaccia.
  */
 public class SessionManagerPaziente {
-    private static final AtomicReference<Paziente> pazienteLoggato = new AtomicReference<>();
+    private static final AtomicReference<String> desktopToken = new AtomicReference<>();
     private static final Logger logger = Logger.getLogger(SessionManagerPaziente.class.getName());
 
     // Costruttore privato per evitare istanziazione
@@ -21,15 +24,18 @@ public class SessionManagerPaziente {
      * Imposta il paziente loggato, terminando eventualmente una sessione esistente.
      * 
      * @param paziente Il paziente da loggare
+     * @return La nuova sessione
      */
-    public static void setPazienteLoggato(Paziente paziente) {
-        Paziente current = pazienteLoggato.get();
-        if (current != null) {
-            logger.warning("Sessione esistente rilevata. Terminazione in corso per: " + current.getNome());
-            // Sovrascriviamo direttamente: non serve chiamare resetSession()
+    public static Session setPazienteLoggato(Paziente paziente) {
+        // Solo la sessione desktop è esente dalla scadenza; le connessioni isolate la mantengono
+        SessionStore store = SessionStore.getInstance();
+        Session session = SessionContext.isIsolated() ? store.create(paziente) : store.createPinned(paziente);
+        String previous = SessionContext.swap(desktopToken, session);
+        if (previous != null && store.invalidate(previous)) {
+            logger.warning("Sessione esistente rilevata e terminata.");
         }
-        pazienteLoggato.set(paziente);
         logger.info("Nuova sessione avviata per: " + paziente.getNome());
+        return session;
     }
 
     /**
@@ -39,21 +45,28 @@ public class SessionManagerPaziente {
      * @throws IllegalStateException Se nessuno è loggato
      */
     public static Paziente getPazienteLoggato() {
-        Paziente loggedPaziente = pazienteLoggato.get();
-        if (loggedPaziente == null) {
+        return currentSession().flatMap(Session::getPaziente).orElseThrow(() -> {
             logger.severe("Nessun paziente loggato. Effettua il login.");
-            throw new IllegalStateException("Nessun paziente loggato. Effettua il login.");
-        }
-        return loggedPaziente;
+            return new IllegalStateException("Nessun paziente loggato. Effettua il login.");
+        });
     }
 
     /**
      * Resetta la sessione (logout del paziente).
      */
     public static void resetSession() {
-        Paziente previous = pazienteLoggato.getAndSet(null);
-        if (previous != null) {
-            logger.info("Sessione terminata per: " + previous.getNome());
+        Optional<Session> bound = SessionContext.current().filter(Session::isPatient);
+        String token;
+        if (bound.isPresent()) {
+            token = bound.get().getToken();
+            if (SessionContext.isIsolated()) {
+                SessionContext.rebind(null);
+            }
+        } else {
+            token = SessionContext.isIsolated() ? null : desktopToken.getAndSet(null);
+        }
+        if (SessionStore.getInstance().invalidate(token)) {
+            logger.info("Sessione paziente terminata.");
         } else {
             logger.info("Nessuna sessione attiva da terminare.");
         }
@@ -65,7 +78,7 @@ public class SessionManagerPaziente {
      * @return true se loggato, false altrimenti
      */
     public static boolean isLoggedIn() {
-        boolean result = pazienteLoggato.get() != null;
+        boolean result = currentSession().filter(Session::isPatient).isPresent();
         if (!result) {
             logger.fine("Nessuna sessione attiva.");
         } else {
@@ -73,4 +86,16 @@ public class SessionManagerPaziente {
         }
         return result;
     }
-}
\ No newline at end of file
+
+    private static Optional<Session> currentSession() {
+        Optional<Session> bound = SessionContext.current();
+        if (bound.isPresent()) {
+            return bound.filter(Session::isPatient)
+                    .flatMap(s -> SessionStore.getInstance().find(s.getToken()));
+        }
+        if (SessionContext.isIsolated()) {
+            return Optional.empty(); // Connessione isolata non ancora autenticata
+        }
+        return SessionStore.getInstance().find(desktopToken.get());
+    }
+}
@@ -1,21 +1,19 @@
 package session_manager;
 
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 import model.Specialista;
 
 /**
  * Gestisce la sessione dello specialista in modo thread-safe.
- * Tiene traccia dello specialista loggato utilizzando metodi statici.
+ * Facciata statica sul {@link SessionStore}: se il thread corrente ha una
+ * sessione associata ({@link SessionContext}) viene usata quella, altrimenti
+ * la sessione "desktop" aperta dall'ultimo login dell'interfaccia.
  */
 public class SessionManagerSpecialista {
-    private static final AtomicReference<Specialista> specialistaLoggato = new AtomicReference<>(); // Specialista
-                                                                                                    // loggato
-                                                                                                    // (utilizzabile da
-                                                                                                    // un thread alla
-                                                                                                    // volta)
-    private static final Logger logger = Logger.getLogger(SessionManagerSpecialista.class.getName()); // Logger per i
-                                                                                                      // messaggi
+    private static final AtomicReference<String> desktopToken = new AtomicReference<>();
+    private static final Logger logger = Logger.getLogger(SessionManagerSpecialista.class.getName());
 
     // Costruttore privato per evitare istanziazione
     private SessionManagerSpecialista() {
@@ -23,19 +21,21 @@ public class SessionManagerSpecialista {
     }
 
     /**
-     * Imposta lo specialista loggato, terminando eventualmente una sessione
-     * esistente.
+     * Imposta lo specialista loggato, terminando eventualmente una sessione esistente.
      * 
      * @param specialista Lo specialista da loggare
+     * @return La nuova sessione
      */
-    public static void setSpecialistaLoggato(Specialista specialista) {
-        Specialista current = specialistaLoggato.get();
-        if (current != null) {
-            logger.warning("Sessione esistente rilevata. Terminazione in corso per: " + current.getNome());
-            // Nessun "reset" esplicito: sovrascriviamo direttamente
+    public static Session setSpecialistaLoggato(Specialista specialista) {
+        // Solo la sessione desktop è esente dalla scadenza; le connessioni isolate la mantengono
+        SessionStore store = SessionStore.getInstance();
+        Session session = SessionContext.isIsolated() ? store.create(specialista) : store.createPinned(specialista);
+        String previous = SessionContext.swap(desktopToken, session);
+        if (previous != null && store.invalidate(previous)) {
+            logger.warning("Sessione esistente rilevata e terminata.");
         }
-        specialistaLoggato.set(specialista);
         logger.info("Nuova sessione avviata per: " + specialista.getNome());
+        return session;
     }
 
     /**
@@ -45,21 +45,30 @@ public class SessionManagerSpecialista {
      * @throws IllegalStateException Se nessuno è loggato
      */
     public static Specialista getSpecialistaLoggato() {
-        Specialista loggedSpecialista = specialistaLoggato.get();
-        if (loggedSpecialista == null) {
+        return currentSession().flatMap(Session::getSpecialista).orElseThrow(() -> {
             logger.severe("Nessuno specialista loggato. Effettua il login.");
-            throw new IllegalStateException("Nessuno specialista loggato. Effettua il login.");
-        }
-        return loggedSpecialista;
+            return new IllegalStateException("Nessuno specialista loggato. Effettua il login.");
+        });
     }
 
     /**
      * Resetta la sessione (logout dello specialista).
      */
     public static void resetSession() {
-        Specialista previous = specialistaLoggato.getAndSet(null);
-        if (previous != null) {
-            logger.info("Sessione terminata per: " + previous.getNome());
+        Optional<Session> bound = SessionContext.current().filter(Session::isSpecialist);
+        String token;
+        if (bound.isPresent()) {
+            token = bound.get().getToken();
+            if (SessionContext.isIsolated()) {
+                SessionContext.rebind(null);
+            }
+        } else {
+            token = SessionContext.isIsolated() ? null : desktopToken.getAndSet(null);
+        }
+        if (SessionStore.getInstance().invalidate(token)) {
+            logger.info("Sessione specialista terminata.");
+        } else {
+            logger.info("Nessuna sessione attiva da terminare.");
         }
     }
 
@@ -69,10 +78,24 @@ public class SessionManagerSpecialista {
      * @return true se loggato, false altrimenti
      */
     public static boolean isLoggedIn() {
-        boolean result = specialistaLoggato.get() != null;
+        boolean result = currentSession().filter(Session::isSpecialist).isPresent();
         if (!result) {
             logger.fine("Nessuna sessione attiva.");
+        } else {
+            logger.fine("Sessione attiva rilevata.");
         }
         return result;
     }
-}
\ No newline at end of file
+
+    private static Optional<Session> currentSession() {
+        Optional<Session> bound = SessionContext.current();
+        if (bound.isPresent()) {
+            return bound.filter(Session::isSpecialist)
+                    .flatMap(s -> SessionStore.getInstance().find(s.getToken()));
+        }
+        if (SessionContext.isIsolated()) {
+            return Optional.empty(); // Connessione isolata non ancora autenticata
+        }
+        return SessionStore.getInstance().find(desktopToken.get());
+    }
+}
@@ -0,0 +1,160 @@
+package session_manager;
+
+import model.Paziente;
+import model.Specialista;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Archivio concorrente delle sessioni, indicizzato per token.
+ *
+ * Lookups are O(1) and refresh a sliding TTL; expired sessions are rejected
+ * on access and removed in bulk by a background sweeper, so any number of
+ * patients and specialists can be logged in at the same time. The single
+ * desktop session of the GUI/CLI is pinned ({@link #createPinned(Object)})
+ * and, as before the store existed, lasts until logout.
+ */
+public final class SessionStore {
+    private static final Logger LOGGER = Logger.getLogger(SessionStore.class.getName());
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(30);
+    static final Duration SWEEP_PERIOD = Duration.ofMinutes(1);
+    private static final int TOKEN_BYTES = 32;
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param ttl       Inattività massima prima della scadenza.
+     * @param nanoClock Sorgente del tempo in nanosecondi (iniettabile nei test).
+     */
+    public SessionStore(Duration ttl, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    // Bill Pugh Singleton: lo sweeper parte con la prima sessione
+    private static final class Holder {
+        private static final SessionStore INSTANCE = createShared();
+
+        private static SessionStore createShared() {
+            SessionStore store = new SessionStore(DEFAULT_TTL, System::nanoTime);
+            ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "session-sweeper");
+                t.setDaemon(true);
+                return t;
+            });
+            long period = SWEEP_PERIOD.toMillis();
+            sweeper.scheduleAtFixedRate(store::sweepExpired, period, period, TimeUnit.MILLISECONDS);
+            return store;
+        }
+    }
+
+    public static SessionStore getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Opens a new session for an authenticated patient or specialist.
+     */
+    public Session create(Object user) {
+        return open(user, false);
+    }
+
+    /**
+     * Opens the desktop session: it never expires and is removed only by
+     * {@link #invalidate(String)}.
+     */
+    public Session createPinned(Object user) {
+        return open(user, true);
+    }
+
+    private Session open(Object user, boolean pinned) {
+        if (!(user instanceof Paziente) && !(user instanceof Specialista)) {
+            throw new IllegalArgumentException("Tipo utente non supportato: " + user);
+        }
+        while (true) {
+            Session session = new Session(newToken(), user, nanoClock.getAsLong(), pinned);
+            if (sessions.putIfAbsent(session.getToken(), session) == null) {
+                LOGGER.info(() -> "Nuova sessione avviata: " + session);
+                return session;
+            }
+        }
+    }
+
+    /**
+     * @return The live session of the token, refreshed; empty if unknown or
+     *         expired.
+     */
+    public Optional<Session> find(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return Optional.empty();
+        }
+        long now = nanoClock.getAsLong();
+        if (isExpired(session, now)) {
+            sessions.remove(token, session);
+            LOGGER.info(() -> "Sessione scaduta: " + session);
+            return Optional.empty();
+        }
+        session.touch(now);
+        return Optional.of(session);
+    }
+
+    /**
+     * Ends a session (logout).
+     *
+     * @return true if the session existed.
+     */
+    public boolean invalidate(String token) {
+        Session removed = (token == null) ? null : sessions.remove(token);
+        if (removed != null) {
+            LOGGER.info(() -> "Sessione terminata: " + removed);
+        }
+        return removed != null;
+    }
+
+    /**
+     * Removes every expired session.
+     *
+     * @return How many sessions were removed.
+     */
+    public int sweepExpired() {
+        long now = nanoClock.getAsLong();
+        int before = sessions.size();
+        sessions.values().removeIf(s -> isExpired(s, now));
+        int removed = Math.max(0, before - sessions.size());
+        if (removed > 0) {
+            LOGGER.fine(() -> "[DEBUG] Session sweeper removed " + removed + " expired sessions");
+        }
+        return removed;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private boolean isExpired(Session session, long now) {
+        return !session.isPinned() && now - session.getLastAccessNanos() > ttlNanos;
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
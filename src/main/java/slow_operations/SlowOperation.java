@@ -0,0 +1,62 @@
+package slow_operations;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un'operazione che ha superato la sua soglia di durata.
+ */
+public final class SlowOperation {
+    private final String operation;
+    private final String detail;
+    private final long durationNanos;
+    private final int count;
+    private final Instant timestamp;
+    private final String thread;
+
+    SlowOperation(String operation, String detail, long durationNanos, int count, Instant timestamp,
+            String thread) {
+        this.operation = operation;
+        this.detail = detail;
+        this.durationNanos = durationNanos;
+        this.count = count;
+        this.timestamp = timestamp;
+        this.thread = thread;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /** Query o argomenti, con i valori sensibili oscurati. */
+    public String getDetail() {
+        return detail;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    /** Righe lette o scritte, o file/record esaminati; -1 se non noto. */
+    public int getCount() {
+        return count;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %d ms, count=%d, thread=%s, at=%s: %s",
+                operation, getDurationMillis(), count, thread, timestamp, detail);
+    }
+}
@@ -0,0 +1,250 @@
+package slow_operations;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Rileva le operazioni di storage riuscite ma lente e tiene le peggiori.
+ *
+ * Operation names are dotted:
+ * <ul>
+ * <li>{@code storage.<backend>.<entity>.<method>}: strategy and FileManager
+ * calls made by the DAOs;</li>
+ * <li>{@code file.<entity>.scan}: full directory scans;</li>
+ * <li>{@code db.query} and {@code db.update}: DatabaseOperations.</li>
+ * </ul>
+ * Thresholds are set per name, and the most specific prefix wins, as in
+ * the log filter. For example {@code -Dmindlab.slow.threshold.file=500} or
+ * {@code -Dmindlab.slow.threshold.storage.Database=50}. The default is
+ * {@code mindlab.slow.threshold} = {@value #DEFAULT_THRESHOLD_MILLIS} ms.
+ *
+ * An operation over its threshold is logged once at WARNING with its
+ * redacted parameters, duration and row/file count. It is then offered to
+ * a bounded heap of the {@code mindlab.slow.top} (default
+ * {@value #DEFAULT_TOP}) slowest operations. The heap can be read with
+ * {@link #getWorst()} or over JMX. Calls under the lowest configured
+ * threshold return after a single comparison.
+ */
+public final class SlowOperationDetector implements SlowOperationsMBean {
+    public static final String THRESHOLD_PROPERTY = "mindlab.slow.threshold";
+    public static final String TOP_PROPERTY = "mindlab.slow.top";
+    static final long DEFAULT_THRESHOLD_MILLIS = 200;
+    static final int DEFAULT_TOP = 20;
+
+    private static final Logger LOGGER = Logger.getLogger(SlowOperationDetector.class.getName());
+    private static final Comparator<SlowOperation> BY_DURATION =
+            Comparator.comparingLong(SlowOperation::getDurationNanos);
+
+    private final long defaultThresholdNanos;
+    private final Map<String, Long> configured = new ConcurrentHashMap<>();
+    private final Map<String, Long> resolved = new ConcurrentHashMap<>();
+    private final int top;
+    // Min-heap: la radice è la più veloce tra le peggiori, la prima a uscire
+    private final PriorityQueue<SlowOperation> worst;
+    private final LongAdder slowCount = new LongAdder();
+    private volatile long minimumThresholdNanos;
+
+    SlowOperationDetector(Properties properties) {
+        this.defaultThresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+                parseProperty(properties, THRESHOLD_PROPERTY, 0, Long.MAX_VALUE, DEFAULT_THRESHOLD_MILLIS));
+        this.top = (int) parseProperty(properties, TOP_PROPERTY, 1, Integer.MAX_VALUE - 1, DEFAULT_TOP);
+        this.worst = new PriorityQueue<>(top + 1, BY_DURATION);
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(THRESHOLD_PROPERTY + ".")) {
+                long millis = parseProperty(properties, name, 0, Long.MAX_VALUE, -1);
+                if (millis >= 0) {
+                    configured.put(name.substring(THRESHOLD_PROPERTY.length() + 1),
+                            TimeUnit.MILLISECONDS.toNanos(millis));
+                }
+            }
+        }
+        updateMinimum();
+    }
+
+    /**
+     * Legge un intero dalle proprietà; un valore malformato o fuori
+     * intervallo viene segnalato e sostituito dal fallback. Un'eccezione qui
+     * farebbe fallire l'inizializzazione della classe, e con essa ogni
+     * StorageTrace.
+     */
+    private static long parseProperty(Properties properties, String name, long min, long max,
+            long fallback) {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed >= min && parsed <= max) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // segnalato sotto
+        }
+        LOGGER.warning(() -> "Valore non valido per " + name + ": " + value);
+        return fallback;
+    }
+
+    private static final class Holder {
+        private static final SlowOperationDetector INSTANCE =
+                register(new SlowOperationDetector(System.getProperties()));
+    }
+
+    public static SlowOperationDetector getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Controllo preliminare senza allocazioni: false se la durata è sotto
+     * ogni soglia configurata.
+     */
+    public boolean mayBeSlow(long nanos) {
+        return nanos >= minimumThresholdNanos;
+    }
+
+    /**
+     * Registra l'operazione se supera la sua soglia.
+     *
+     * @param operation Nome gerarchico, es. {@code storage.Database.Visita.trova}
+     * @param detail    Query o argomenti già oscurati, calcolati solo se lenta
+     * @param nanos     Durata
+     * @param count     Righe o file interessati, -1 se non noto
+     * @return true se l'operazione è stata giudicata lenta
+     */
+    public boolean record(String operation, Supplier<String> detail, long nanos, int count) {
+        if (!mayBeSlow(nanos) || nanos < thresholdNanos(operation)) {
+            return false;
+        }
+        SlowOperation slow = new SlowOperation(operation, detail.get(), nanos, count, Instant.now(),
+                Thread.currentThread().getName());
+        slowCount.increment();
+        LOGGER.warning(() -> "Operazione lenta: " + slow);
+        synchronized (worst) {
+            if (worst.size() < top) {
+                worst.add(slow);
+            } else if (BY_DURATION.compare(slow, worst.peek()) > 0) {
+                worst.poll();
+                worst.add(slow);
+            }
+        }
+        return true;
+    }
+
+    /** Le operazioni più lente registrate, dalla peggiore. */
+    public List<SlowOperation> getWorstOperations() {
+        List<SlowOperation> snapshot;
+        synchronized (worst) {
+            snapshot = new ArrayList<>(worst);
+        }
+        snapshot.sort(BY_DURATION.reversed());
+        return snapshot;
+    }
+
+    @Override
+    public String[] getWorst() {
+        return getWorstOperations().stream().map(SlowOperation::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public long getSlowCount() {
+        return slowCount.sum();
+    }
+
+    @Override
+    public long getDefaultThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(defaultThresholdNanos);
+    }
+
+    /** Cambia a runtime la soglia di un'operazione e dei suoi sotto-nomi. */
+    @Override
+    public void setThresholdMillis(String operationPrefix, long millis) {
+        configured.put(operationPrefix, TimeUnit.MILLISECONDS.toNanos(millis));
+        resolved.clear();
+        updateMinimum();
+    }
+
+    @Override
+    public void reset() {
+        synchronized (worst) {
+            worst.clear();
+        }
+        slowCount.reset();
+    }
+
+    long thresholdNanos(String operation) {
+        return resolved.computeIfAbsent(operation, this::mostSpecific);
+    }
+
+    /**
+     * Parametri in forma sicura per il log: numeri, booleani e date restano
+     * visibili, stringhe e oggetti (email, codici fiscali, password) no.
+     */
+    public static String redact(Object... params) {
+        if (params == null || params.length == 0) {
+            return "[]";
+        }
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < params.length; i++) {
+            Object param = params[i];
+            if (param == null || param instanceof Number || param instanceof Boolean || param instanceof Temporal) {
+                sb.append(param);
+            } else if (param instanceof CharSequence text) {
+                sb.append("***(").append(text.length()).append(')');
+            } else {
+                sb.append('<').append(param.getClass().getSimpleName()).append('>');
+            }
+            if (i < params.length - 1) {
+                sb.append(", ");
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private long mostSpecific(String operation) {
+        String key = operation;
+        while (true) {
+            Long value = configured.get(key);
+            if (value != null) {
+                return value;
+            }
+            int dot = key.lastIndexOf('.');
+            if (dot < 0) {
+                return defaultThresholdNanos;
+            }
+            key = key.substring(0, dot);
+        }
+    }
+
+    private void updateMinimum() {
+        long minimum = defaultThresholdNanos;
+        for (long threshold : configured.values()) {
+            minimum = Math.min(minimum, threshold);
+        }
+        minimumThresholdNanos = minimum;
+    }
+
+    private static SlowOperationDetector register(SlowOperationDetector detector) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(detector,
+                    new ObjectName("mindlab.metrics:type=SlowOperations"));
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Registrazione JMX del rilevatore di operazioni lente fallita", e);
+        }
+        return detector;
+    }
+}
@@ -0,0 +1,17 @@
+package slow_operations;
+
+/**
+ * Vista JMX del {@link SlowOperationDetector}.
+ */
+public interface SlowOperationsMBean {
+    /** Le operazioni più lente, dalla peggiore. */
+    String[] getWorst();
+
+    long getSlowCount();
+
+    long getDefaultThresholdMillis();
+
+    void setThresholdMillis(String operationPrefix, long millis);
+
+    void reset();
+}
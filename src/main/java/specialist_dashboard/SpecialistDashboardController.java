@@ -5,7 +5,9 @@ import model.Paziente;
 import model.Visita;
 import authentication.UserDAO;
 import navigation.NavigationInstruction;
+import session_manager.Session;
 import session_manager.SessionManagerSpecialista;
+import session_manager.SessionStore;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -26,9 +28,19 @@ public class SpecialistDashboardController implements Observer {
     private final UserDAO<Paziente> pazienteDAO;
     private startupconfig.StartupConfigBean startupConfig;
     private final java.util.List<Visita> observedVisits = new CopyOnWriteArrayList<>();
+    private final Session session;
 
     public SpecialistDashboardController() {
+        this(null);
+    }
+
+    /**
+     * @param session The explicit session this controller serves (null to use
+     *                the current one).
+     */
+    public SpecialistDashboardController(Session session) {
         LOGGER.info("[DEBUG-SPEC-CTRL-1] SpecialistDashboardController constructor called.");
+        this.session = session;
 
         // Initialize DAOs before the try block to satisfy final field requirements
         startupconfig.StartupSettingsEntity settings = startupconfig.StartupSettingsEntity.getInstance();
@@ -86,14 +98,14 @@ public class SpecialistDashboardController implements Observer {
 
         // Check for session BEFORE processing. Orphan observers (post-logout) should
         // do nothing.
-        if (!SessionManagerSpecialista.isLoggedIn()) {
+        if (!isSessionActive()) {
             LOGGER.warning("[DEBUG-SPEC-UPDATE] Specialist NOT logged in. Detaching self from NotificationManager.");
             observer.NotificationManager.getInstance().detach(this);
             return;
         }
 
         if (arg instanceof Visita visit) {
-            Specialista logged = SessionManagerSpecialista.getSpecialistaLoggato();
+            Specialista logged = getLoggedSpecialist();
             if (logged != null && visit.getSpecialistaId() == logged.getId()) {
                 if (!observedVisits.contains(visit)) {
                     LOGGER.info(() -> "[DEBUG-SPEC-NOTIFICATION] New visit received: " + visit);
@@ -108,10 +120,14 @@ public class SpecialistDashboardController implements Observer {
 
         // Trigger UI refresh
         if (onNotificationReceived != null) {
-            javafx.application.Platform.runLater(onNotificationReceived);
+            onNotificationReceived.run();
         }
     }
 
+    /**
+     * Callback eseguita sul thread che notifica: la vista GUI lo riporta sul
+     * thread FX.
+     */
     public void setNotificationCallback(Runnable callback) {
         this.onNotificationReceived = callback;
     }
@@ -127,7 +143,7 @@ public class SpecialistDashboardController implements Observer {
     public void clearNotifications() {
         unreadNotifications.clear();
         if (onNotificationReceived != null) {
-            javafx.application.Platform.runLater(onNotificationReceived);
+            onNotificationReceived.run();
         }
     }
 
@@ -135,7 +151,7 @@ public class SpecialistDashboardController implements Observer {
      * Verifies if a specialist session is active.
      */
     public void checkSession() {
-        if (!SessionManagerSpecialista.isLoggedIn()) {
+        if (!isSessionActive()) {
             // If we're here, we are likely an active controller. detach just in case.
             observer.NotificationManager.getInstance().detach(this);
             throw new IllegalStateException("Nessuno specialista loggato. Effettua il login.");
@@ -149,7 +165,16 @@ public class SpecialistDashboardController implements Observer {
      */
     public Specialista getLoggedSpecialist() {
         checkSession();
-        return SessionManagerSpecialista.getSpecialistaLoggato();
+        return (session != null) ? explicitSpecialist().orElseThrow()
+                : SessionManagerSpecialista.getSpecialistaLoggato();
+    }
+
+    private boolean isSessionActive() {
+        return (session != null) ? explicitSpecialist().isPresent() : SessionManagerSpecialista.isLoggedIn();
+    }
+
+    private java.util.Optional<Specialista> explicitSpecialist() {
+        return SessionStore.getInstance().find(session.getToken()).flatMap(Session::getSpecialista);
     }
 
     public SpecialistDashboardBean getDashboardData() {
@@ -175,7 +200,11 @@ public class SpecialistDashboardController implements Observer {
             case REPORTS -> new NavigationInstruction("Reports");
             case VISITS -> new NavigationInstruction("Visits");
             case LOGOUT -> {
-                SessionManagerSpecialista.resetSession();
+                if (session != null) {
+                    SessionStore.getInstance().invalidate(session.getToken());
+                } else {
+                    SessionManagerSpecialista.resetSession();
+                }
                 yield new NavigationInstruction("Login");
             }
             default -> throw new IllegalArgumentException("Unsupported option: " + option);
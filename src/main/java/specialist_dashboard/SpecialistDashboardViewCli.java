@@ -127,6 +127,6 @@ public class SpecialistDashboardViewCli implements View {
      * Navigates to a specified view.
      */
     private void printMessage(String message) {
-        System.out.println(message);
+        ConsoleScanner.getOut().println(message);
     }
 }
@@ -270,7 +270,7 @@ public class SpecialistDashboardViewGui implements View {
                 badgePane.setVisible(false);
             }
         };
-        controller.setNotificationCallback(updateBadge);
+        controller.setNotificationCallback(() -> Platform.runLater(updateBadge));
         updateBadge.run(); // Initial check
 
         // Bacheca button action
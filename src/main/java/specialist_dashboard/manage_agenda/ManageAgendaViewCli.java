@@ -58,7 +58,7 @@ public class ManageAgendaViewCli implements View {
         printMessage("Appuntamenti futuri:");
         for (int i = 0; i < visits.size(); i++) {
             ManageAgendaBean v = visits.get(i);
-            System.out.printf("%d. %s %s - Paziente: %s - %s%n",
+            ConsoleScanner.getOut().printf("%d. %s %s - Paziente: %s - %s%n",
                     i + 1, v.getDate(), v.getTime(), v.getPatientName(), v.getType());
         }
     }
@@ -96,7 +96,7 @@ public class ManageAgendaViewCli implements View {
     }
 
     private void printMessage(String message) {
-        System.out.println(message);
+        ConsoleScanner.getOut().println(message);
     }
 
 }
@@ -9,7 +9,7 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
-import navigation.View;
+import navigation.CachedView;
 import startupconfig.StartupConfigBean;
 
 import java.util.List;
@@ -19,12 +19,13 @@ import java.util.logging.Logger;
  * View for managing the Specialist's Agenda.
  * Allows viewing and rejecting future appointments.
  */
-public class ManageAgendaViewGui implements View {
+public class ManageAgendaViewGui implements CachedView {
 
     private static final Logger LOGGER = Logger.getLogger(ManageAgendaViewGui.class.getName());
     private ManagerAgendaControllerApp appController;
     private ManagerAgendaGraphicControllerGui graphicController;
     private VBox visitsContainer;
+    private VBox root; // Kept for reuse through the ViewCache
     private StartupConfigBean config;
 
     @Override
@@ -43,15 +44,8 @@ public class ManageAgendaViewGui implements View {
             graphicController = new ManagerAgendaGraphicControllerGui();
             appController.checkSession();
 
-            VBox root = buildUI(stage);
-
-            if (stage.getScene() == null) {
-                Scene scene = new Scene(root, 800, 700);
-                stage.setScene(scene);
-            } else {
-                stage.getScene().setRoot(root);
-            }
-            stage.setTitle("Gestione Agenda - MindLab");
+            root = buildUI(stage);
+            attach(stage);
         } catch (Exception e) {
             LOGGER.severe("Error showing Agenda View: " + e.getMessage());
             Alert alert = new Alert(Alert.AlertType.ERROR, "Errore caricamento agenda: " + e.getMessage());
@@ -59,6 +53,35 @@ public class ManageAgendaViewGui implements View {
         }
     }
 
+    /**
+     * Reloads the future visits into the existing list.
+     */
+    @Override
+    public void refresh(StartupConfigBean config) {
+        if (visitsContainer != null) {
+            loadVisits();
+        }
+    }
+
+    @Override
+    public void onShow(Stage stage, StartupConfigBean config) {
+        if (root == null) {
+            show(stage, config);
+            return;
+        }
+        attach(stage);
+    }
+
+    private void attach(Stage stage) {
+        if (stage.getScene() == null) {
+            Scene scene = new Scene(root, 800, 700);
+            stage.setScene(scene);
+        } else {
+            stage.getScene().setRoot(root);
+        }
+        stage.setTitle("Gestione Agenda - MindLab");
+    }
+
     private VBox buildUI(Stage stage) {
         VBox root = DashboardStyleHelper.createRootContainer();
 
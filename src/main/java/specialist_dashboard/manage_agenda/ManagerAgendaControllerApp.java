@@ -10,7 +10,9 @@ import model.Paziente;
 import model.Specialista;
 import model.Visita;
 import patient_dashboard.book_appointment.AppointmentRepository;
+import session_manager.Session;
 import session_manager.SessionManagerSpecialista;
+import session_manager.SessionStore;
 import startupconfig.StartupConfigBean;
 import authentication.UserDAO;
 import authentication.factory.DAOFactory;
@@ -24,11 +26,22 @@ public class ManagerAgendaControllerApp {
 
     private final AppointmentRepository appointmentRepository;
     private final UserDAO<Paziente> pazienteDAO;
+    private final Session session;
 
     public ManagerAgendaControllerApp(StartupConfigBean config) {
+        this(config, null);
+    }
+
+    /**
+     * @param config  The current application configuration.
+     * @param session The explicit session this controller serves (null to use
+     *                the current one).
+     */
+    public ManagerAgendaControllerApp(StartupConfigBean config, Session session) {
         DAOFactory.DAOPair daos = DAOFactory.createDAOs(config);
         this.appointmentRepository = daos.appointmentRepository;
         this.pazienteDAO = daos.pazienteDAO;
+        this.session = session;
     }
 
     /**
@@ -37,7 +50,9 @@ public class ManagerAgendaControllerApp {
      * @throws IllegalStateException if no session is active.
      */
     public void checkSession() {
-        if (!SessionManagerSpecialista.isLoggedIn()) {
+        boolean active = (session != null) ? explicitSpecialist().isPresent()
+                : SessionManagerSpecialista.isLoggedIn();
+        if (!active) {
             LOGGER.severe("Session validation failed: No specialist logged in.");
             throw new IllegalStateException("Nessuno specialista loggato. Effettua il login.");
         }
@@ -50,7 +65,12 @@ public class ManagerAgendaControllerApp {
      */
     public Specialista getLoggedSpecialist() {
         checkSession();
-        return SessionManagerSpecialista.getSpecialistaLoggato();
+        return (session != null) ? explicitSpecialist().orElseThrow()
+                : SessionManagerSpecialista.getSpecialistaLoggato();
+    }
+
+    private Optional<Specialista> explicitSpecialist() {
+        return SessionStore.getInstance().find(session.getToken()).flatMap(Session::getSpecialista);
     }
 
     /**
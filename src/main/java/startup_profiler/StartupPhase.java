@@ -0,0 +1,25 @@
+package startup_profiler;
+
+/**
+ * Fasi di avvio misurate dallo {@link StartupProfiler}, nell'ordine atteso.
+ */
+public enum StartupPhase {
+    JVM_START("JVM start"),
+    LAUNCHER_MAIN("AppLauncher.main entered"),
+    FX_TOOLKIT_READY("JavaFX toolkit ready"),
+    SETTINGS_SHOWN("Settings screen shown"),
+    SETTINGS_CONFIRMED("Settings confirmed"),
+    DAO_READY("First DAOs created"),
+    FIRST_VIEW_RENDERED("First view rendered"),
+    FIRST_STORAGE_ACCESS("First storage access");
+
+    private final String label;
+
+    StartupPhase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
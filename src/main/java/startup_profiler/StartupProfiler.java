@@ -0,0 +1,221 @@
+package startup_profiler;
+
+import storage_file.JsonMappers;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Misura le fasi di avvio, dal lancio della JVM alla prima schermata
+ * interattiva.
+ *
+ * Each {@link StartupPhase} is stamped once, the first time its call site
+ * runs. Later calls cost one array read. When the first view after the
+ * settings screen is rendered (the time-to-interactive), the profiler logs
+ * a summary. The summary gives each phase's offset from JVM start and the
+ * gap from the previous phase. It also reports the time spent waiting on
+ * the settings screen, so startup cost and user think time can be told
+ * apart. With {@code -Dmindlab.startup.trace=<file>} the same data is
+ * written as a Chrome trace (open it in chrome://tracing or Perfetto).
+ * Its {@code otherData} block holds the per-phase offsets for regression
+ * scripts. Phases reached after the report are logged one per line.
+ */
+public final class StartupProfiler {
+    public static final String TRACE_PROPERTY = "mindlab.startup.trace";
+
+    private static final Logger LOGGER = Logger.getLogger(StartupProfiler.class.getName());
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private final long jvmStartEpochMillis;
+    private final long anchorEpochMillis;
+    private final long anchorNanos;
+    private final Path traceFile;
+    private final AtomicLongArray stamps = new AtomicLongArray(StartupPhase.values().length);
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    /**
+     * @param jvmStartEpochMillis Avvio della JVM (epoch ms)
+     * @param traceFile           File della traccia, o null per non scriverla
+     */
+    public StartupProfiler(long jvmStartEpochMillis, Path traceFile) {
+        this.jvmStartEpochMillis = jvmStartEpochMillis;
+        this.anchorEpochMillis = System.currentTimeMillis();
+        this.anchorNanos = System.nanoTime();
+        this.traceFile = traceFile;
+        for (int i = 0; i < stamps.length(); i++) {
+            stamps.set(i, UNSET);
+        }
+        stamps.set(StartupPhase.JVM_START.ordinal(), 0L);
+    }
+
+    private static final class Holder {
+        private static final StartupProfiler INSTANCE = new StartupProfiler(
+                ManagementFactory.getRuntimeMXBean().getStartTime(), traceFileFromProperty());
+    }
+
+    public static StartupProfiler getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static Path traceFileFromProperty() {
+        String path = System.getProperty(TRACE_PROPERTY);
+        return (path == null || path.isBlank()) ? null : Path.of(path);
+    }
+
+    /**
+     * Registra la fase, solo la prima volta. Raggiunta la prima vista
+     * stampa il riepilogo.
+     */
+    public void mark(StartupPhase phase) {
+        int index = phase.ordinal();
+        if (stamps.get(index) != UNSET || !stamps.compareAndSet(index, UNSET, elapsedMicros())) {
+            return;
+        }
+        if (phase == StartupPhase.FIRST_VIEW_RENDERED) {
+            report();
+        } else if (reported.get()) {
+            LOGGER.info(() -> String.format("Startup phase '%s' reached at %d ms after JVM start",
+                    phase.getLabel(), getMillis(phase)));
+        }
+    }
+
+    /**
+     * @return true se l'avvio passa dal launcher: le fasi marcate da codice
+     *         condiviso (storage, DAO) vanno registrate solo in questo caso
+     */
+    public boolean isActive() {
+        return isMarked(StartupPhase.LAUNCHER_MAIN);
+    }
+
+    public boolean isMarked(StartupPhase phase) {
+        return stamps.get(phase.ordinal()) != UNSET;
+    }
+
+    /**
+     * @return Millisecondi dall'avvio della JVM, o -1 se la fase non è stata
+     *         raggiunta
+     */
+    public long getMillis(StartupPhase phase) {
+        long micros = stamps.get(phase.ordinal());
+        return (micros == UNSET) ? -1 : micros / 1000;
+    }
+
+    /**
+     * @return Tempo fino alla prima vista interattiva, o -1 se non ancora
+     *         raggiunta
+     */
+    public long getTimeToInteractiveMillis() {
+        return getMillis(StartupPhase.FIRST_VIEW_RENDERED);
+    }
+
+    /**
+     * @return Tempo trascorso sulla schermata delle impostazioni, o -1
+     */
+    public long getSettingsWaitMillis() {
+        long shown = getMillis(StartupPhase.SETTINGS_SHOWN);
+        long confirmed = getMillis(StartupPhase.SETTINGS_CONFIRMED);
+        return (shown < 0 || confirmed < 0) ? -1 : confirmed - shown;
+    }
+
+    /**
+     * Riepilogo testuale delle fasi raggiunte, in ordine di tempo.
+     */
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder("Startup profile (ms since JVM start):").append(System.lineSeparator());
+        long previous = 0;
+        for (StartupPhase phase : reachedPhases()) {
+            long at = getMillis(phase);
+            sb.append(String.format("  %-28s %7d  (+%d)%n", phase.getLabel(), at, at - previous));
+            previous = at;
+        }
+        for (StartupPhase phase : StartupPhase.values()) {
+            if (!isMarked(phase)) {
+                sb.append(String.format("  %-28s %7s%n", phase.getLabel(), "-"));
+            }
+        }
+        long tti = getTimeToInteractiveMillis();
+        long wait = getSettingsWaitMillis();
+        if (tti >= 0) {
+            sb.append(String.format("Time to interactive: %d ms", tti));
+            if (wait >= 0) {
+                sb.append(String.format(" (%d ms excluding %d ms on the settings screen)", tti - wait, wait));
+            }
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Scrive la traccia in formato Chrome trace event.
+     */
+    public void writeTrace(Path file) throws IOException {
+        long pid = ProcessHandle.current().pid();
+        List<Map<String, Object>> events = new ArrayList<>();
+        Map<String, Long> phases = new LinkedHashMap<>();
+        for (StartupPhase phase : reachedPhases()) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("name", phase.getLabel());
+            event.put("cat", "startup");
+            event.put("ph", "i");
+            event.put("s", "g");
+            event.put("ts", stamps.get(phase.ordinal()));
+            event.put("pid", pid);
+            event.put("tid", 1);
+            events.add(event);
+            phases.put(phase.name(), getMillis(phase));
+        }
+        Map<String, Object> otherData = new LinkedHashMap<>();
+        otherData.put("jvmStartEpochMillis", jvmStartEpochMillis);
+        otherData.put("javaVersion", Runtime.version().toString());
+        otherData.put("timeToInteractiveMillis", getTimeToInteractiveMillis());
+        otherData.put("settingsWaitMillis", getSettingsWaitMillis());
+        otherData.put("phasesMillis", phases);
+
+        Map<String, Object> trace = new LinkedHashMap<>();
+        trace.put("traceEvents", events);
+        trace.put("displayTimeUnit", "ms");
+        trace.put("otherData", otherData);
+        JsonMappers.getMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), trace);
+    }
+
+    private void report() {
+        if (!reported.compareAndSet(false, true)) {
+            return;
+        }
+        LOGGER.info(this::getSummary);
+        if (traceFile != null) {
+            try {
+                writeTrace(traceFile);
+                LOGGER.info(() -> "Startup trace written to " + traceFile.toAbsolutePath());
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, e, () -> "Cannot write startup trace " + traceFile);
+            }
+        }
+    }
+
+    private List<StartupPhase> reachedPhases() {
+        List<StartupPhase> reached = new ArrayList<>();
+        for (StartupPhase phase : StartupPhase.values()) {
+            if (isMarked(phase)) {
+                reached.add(phase);
+            }
+        }
+        reached.sort(Comparator.comparingLong(phase -> stamps.get(phase.ordinal())));
+        return reached;
+    }
+
+    // Microsecondi dall'avvio della JVM: orologio di sistema per l'origine, nanoTime per gli intervalli
+    private long elapsedMicros() {
+        return (anchorEpochMillis - jvmStartEpochMillis) * 1000 + (System.nanoTime() - anchorNanos) / 1000;
+    }
+}
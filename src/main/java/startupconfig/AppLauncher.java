@@ -1,19 +1,68 @@
 package startupconfig; // Dichiarazione del package di appartenenza
 
+import app_cds.CdsLauncher;
+import app_logging.AppLog;
+import authentication.PasswordHasher;
+import cli_server.CliServer;
+import http_api.ApiServer;
 import javafx.application.Application; // Importa la classe base per le applicazioni JavaFX
+import navigation.AppNavigator;
+import navigation.CliViewFactory;
+import startup_profiler.StartupPhase;
+import startup_profiler.StartupProfiler;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.OptionalInt;
 import java.util.logging.Logger; // Importa classe per il logging
 
 // Classe principale per l'avvio dell'applicazione
 public class AppLauncher {
 
         private static final Logger logger = Logger.getLogger(AppLauncher.class.getName());
+        private static final String HEADLESS_USAGE = "Uso: --headless [--port=1-65535] [--bind=indirizzo] "
+                        + "[--storage=0|1|2]";
+        private static final String CLI_SERVER_USAGE = "Uso: --cli-server [--port=1-65535 | --socket=percorso] "
+                        + "[--storage=0|1|2]";
+        private static final String CLI_USAGE = "Uso: --cli [--storage=0|1|2]";
 
         // Metodo main, punto di ingresso standard per le applicazioni Java
         public static void main(String[] args) {
-                logger.info(
+                StartupProfiler.getInstance().mark(StartupPhase.LAUNCHER_MAIN);
+                // Handler asincroni e campionati prima di qualunque altro log
+                AppLog.install();
+                AppLog.debug(logger,
                                 () -> String.format("[DEBUG][Thread: %s] Entering AppLauncher.main",
                                                 Thread.currentThread().getName()));
 
+                // Calibra bcrypt in background, prima del primo login
+                Thread.ofPlatform().daemon().name("bcrypt-calibration")
+                                .start(PasswordHasher::getInstance);
+
+                // Modalità server: --headless [--port=8080] [--bind=indirizzo] [--storage=0|1|2]
+                if (Arrays.asList(args).contains("--headless")) {
+                        startHeadless(args);
+                        return;
+                }
+                // Server CLI multi-sessione: --cli-server [--port=5050 | --socket=path] [--storage=0|1|2]
+                if (Arrays.asList(args).contains("--cli-server")) {
+                        startCliServer(args);
+                        return;
+                }
+
+                // AppCDS: --cds=train|run|measure [--archive=...] [--runs=N] [--storage=0|1|2]
+                if (Arrays.stream(args).anyMatch(a -> a.startsWith("--cds="))) {
+                        startCds(args);
+                        return;
+                }
+                // CLI interattiva senza JavaFX: --cli [--storage=0|1|2]
+                if (Arrays.asList(args).contains("--cli")) {
+                        startCli(args);
+                        return;
+                }
+
                 // Avvia l'applicazione JavaFX lanciando la classe StartupSettingsBoundary
                 logger.info(() -> String.format("[DEBUG][Thread: %s] AppLauncher calling Application.launch",
                                 Thread.currentThread().getName()));
@@ -21,4 +70,129 @@ public class AppLauncher {
                 logger.info(() -> String.format("[DEBUG][Thread: %s] AppLauncher Application.launch returned",
                                 Thread.currentThread().getName()));
         }
-}
\ No newline at end of file
+
+        /**
+         * Avvia l'API HTTP senza interfaccia grafica; il processo resta attivo
+         * finché il server è in ascolto. Ascolta solo su loopback, salvo
+         * --bind esplicito (es. --bind=0.0.0.0).
+         */
+        private static void startHeadless(String[] args) {
+                OptionalInt port = intOption(args, "--port=", ApiServer.DEFAULT_PORT, 1, 65535);
+                String bind = option(args, "--bind=", null);
+                InetSocketAddress address = null;
+                if (port.isPresent()) {
+                        address = (bind == null)
+                                        ? new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                                                        port.getAsInt())
+                                        : new InetSocketAddress(bind, port.getAsInt());
+                }
+                if (address == null || address.isUnresolved()) {
+                        System.err.println(HEADLESS_USAGE);
+                        return;
+                }
+                StartupConfigBean config = configureServerMode(args);
+                if (config == null) {
+                        System.err.println(HEADLESS_USAGE);
+                        return;
+                }
+                // Avvia MySQL e il warm-up come dalla schermata delle impostazioni
+                new StartupSettingsController().processSettings(config);
+                try {
+                        ApiServer server = ApiServer.start(config, address);
+                        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "api-server-shutdown"));
+                } catch (IOException e) {
+                        logger.severe(() -> "Impossibile avviare l'API HTTP: " + e.getMessage());
+                }
+        }
+
+        /**
+         * Addestra, usa o misura l'archivio AppCDS (vedi CdsLauncher).
+         */
+        private static void startCds(String[] args) {
+                try {
+                        CdsLauncher.main(args);
+                } catch (IOException e) {
+                        logger.severe(() -> "Modalità CDS non completata: " + e.getMessage());
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+        }
+
+        /**
+         * Avvia la CLI sul terminale senza caricare il toolkit JavaFX: la
+         * schermata delle impostazioni è sostituita da --storage.
+         */
+        private static void startCli(String[] args) {
+                StartupConfigBean config = configureServerMode(args);
+                if (config == null) {
+                        System.err.println(CLI_USAGE);
+                        return;
+                }
+                new StartupSettingsController().processSettings(config);
+                new AppNavigator(new CliViewFactory()).navigateTo("Login", config, null);
+        }
+
+        /**
+         * Avvia il server CLI su socket locale (TCP loopback o socket Unix).
+         */
+        private static void startCliServer(String[] args) {
+                String socket = option(args, "--socket=", null);
+                OptionalInt port = intOption(args, "--port=", CliServer.DEFAULT_PORT, 1, 65535);
+                StartupConfigBean config = port.isPresent() ? configureServerMode(args) : null;
+                if (config == null || (socket != null && socket.isBlank())) {
+                        System.err.println(CLI_SERVER_USAGE);
+                        return;
+                }
+                // Avvia MySQL e il warm-up come dalla schermata delle impostazioni
+                new StartupSettingsController().processSettings(config);
+                try {
+                        CliServer server = (socket != null)
+                                        ? CliServer.onUnixSocket(Path.of(socket), config)
+                                        : CliServer.onLoopback(port.getAsInt(), config);
+                        server.start();
+                        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "cli-server-shutdown"));
+                } catch (IOException e) {
+                        logger.severe(() -> "Impossibile avviare il server CLI: " + e.getMessage());
+                }
+        }
+
+        // Le viste leggono lo storage dal singleton: lo allinea alle opzioni del server (null se non valide)
+        private static StartupConfigBean configureServerMode(String[] args) {
+                StartupSettingsEntity settings = StartupSettingsEntity.getInstance();
+                OptionalInt storage = intOption(args, "--storage=", settings.getStorageOption(), 0, 2);
+                if (storage.isEmpty()) {
+                        return null;
+                }
+                settings.setInterfaceMode(false);
+                settings.setStorageOption(storage.getAsInt());
+                return new StartupConfigBean(false, storage.getAsInt());
+        }
+
+        // Opzione intera nell'intervallo [min, max]; vuota (con messaggio) se non valida
+        private static OptionalInt intOption(String[] args, String prefix, int defaultValue, int min,
+                        int max) {
+                String value = option(args, prefix, null);
+                if (value == null) {
+                        return OptionalInt.of(defaultValue);
+                }
+                try {
+                        int parsed = Integer.parseInt(value.trim());
+                        if (parsed >= min && parsed <= max) {
+                                return OptionalInt.of(parsed);
+                        }
+                } catch (NumberFormatException e) {
+                        // Segnalato sotto come ogni altro valore fuori intervallo
+                }
+                System.err.println("Valore non valido per " + prefix + value + " (atteso " + min + "-" + max + ")");
+                return OptionalInt.empty();
+        }
+
+        private static String option(String[] args, String prefix, String defaultValue) {
+                for (String arg : args) {
+                        if (arg.startsWith(prefix)) {
+                                return arg.substring(prefix.length());
+                        }
+                }
+                return defaultValue;
+        }
+}
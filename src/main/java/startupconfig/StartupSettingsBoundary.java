@@ -16,6 +16,9 @@ import javafx.scene.text.Text; // Importa classe per visualizzare testo semplice
 import javafx.stage.Screen; // Importa classe per ottenere informazioni sullo schermo
 import javafx.stage.Stage; // Importa classe per la finestra principale dell'applicazione
 
+import startup_profiler.StartupPhase;
+import startup_profiler.StartupProfiler;
+
 import java.util.Objects; // Importa classe utilitaria per la gestione degli oggetti (es. null-check)
 import java.util.logging.Logger; // Importa classe per il logging
 
@@ -33,6 +36,8 @@ public class StartupSettingsBoundary extends Application {
 
         @Override
         public void start(Stage primaryStage) {
+                // Il toolkit è già inizializzato quando JavaFX chiama start
+                StartupProfiler.getInstance().mark(StartupPhase.FX_TOOLKIT_READY);
                 logger.info(() -> String.format("[DEBUG][Thread: %s] Entering StartupSettingsBoundary.start",
                                 Thread.currentThread().getName()));
                 // Inizializza il Controllore Applicativo (Orchestratore)
@@ -139,8 +144,11 @@ public class StartupSettingsBoundary extends Application {
                 logger.info(() -> String.format("[DEBUG][Thread: %s] Calling primaryStage.show()",
                                 Thread.currentThread().getName()));
                 primaryStage.show();
+                StartupProfiler.getInstance().mark(StartupPhase.SETTINGS_SHOWN);
                 logger.info(() -> String.format("[DEBUG][Thread: %s] primaryStage.show() returned",
                                 Thread.currentThread().getName()));
+                // Mentre l'utente sceglie le impostazioni
+                StartupWarmup.getInstance().start();
         }
         // fine metodo start
 
@@ -2,6 +2,10 @@ package startupconfig; // Dichiarazione del package di appartenenza
 
 // Importa le classi necessarie se presenti (in questo caso nessuna importazione esterna è necessaria oltre al package locale)
 
+import startup_profiler.StartupPhase;
+import startup_profiler.StartupProfiler;
+import storage_db.DatabaseReadiness;
+
 import java.util.logging.Logger;
 
 // Classe Controller secondo il pattern MVC
@@ -27,7 +31,8 @@ public class StartupSettingsController {
         LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Application Controller orchestrating...",
                 Thread.currentThread().getName()));
 
-        // 1. Logica di business
+        // 1. Logica di business; da qui in poi il thread FX non attende l'avvio del database
+        DatabaseReadiness.getInstance().failFastOn(Thread.currentThread());
         processSettings(configBean);
 
         // 2. Uso del controllore grafico per la navigazione (Orchestra l'interfaccia)
@@ -39,6 +44,7 @@ public class StartupSettingsController {
      * Metodo per elaborare le impostazioni (Logica di Business Pura).
      */
     public void processSettings(StartupConfigBean configBean) {
+        StartupProfiler.getInstance().mark(StartupPhase.SETTINGS_CONFIRMED);
         LOGGER.info(
                 () -> String.format("[DEBUG][Thread: %s] Processing business settings",
                         Thread.currentThread().getName()));
@@ -47,9 +53,11 @@ public class StartupSettingsController {
         config.setStorageOption(configBean.getStorageOption());
 
         if (configBean.getStorageOption() == 1) {
-            LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Starting SQL server...",
+            LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Starting SQL server in background...",
                     Thread.currentThread().getName()));
-            ComandoDaTerminale.avviaServerSQL();
+            // Non blocca il thread FX: la prima connessione attende che il server sia pronto
+            DatabaseReadiness.getInstance().start(ComandoDaTerminale::avviaServerSQL);
         }
+        StartupWarmup.getInstance().preloadBackend(configBean);
     }
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package startupconfig;
+
+import authentication.CredentialIndex;
+import authentication.factory.DAOFactory;
+import flight_recorder.StorageEvent;
+import navigation.GuiViewFactory;
+import patient_dashboard.book_appointment.ItalianHolidayCalendar;
+import patient_dashboard.book_appointment.SpecialistDirectory;
+import storage_db.DatabaseReadiness;
+import storage_file.JsonMappers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Riscaldamento in parallelo dei componenti usati dal primo login e dalla
+ * prima prenotazione.
+ *
+ * {@link #start()} runs as soon as the settings screen is shown. Each task
+ * gets its own daemon thread:
+ * <ul>
+ * <li>{@code jackson}: builds the shared mapper and the model
+ * (de)serializers;</li>
+ * <li>{@code calendar}: initializes the holiday masks of the current
+ * year;</li>
+ * <li>{@code views}: loads and initializes the GUI view classes.</li>
+ * </ul>
+ * {@link #preloadBackend(StartupConfigBean)} runs once the storage is
+ * chosen. It loads the credential index and the specialist directory of
+ * that backend. In Database mode it waits on its own thread for the
+ * server and preloads nothing unless the server became ready: an index
+ * built from a failed connection would reject valid accounts. Failures
+ * are only logged, because the first real use repeats the same work and
+ * reports the error.
+ */
+public final class StartupWarmup {
+
+    private static final Logger LOGGER = Logger.getLogger(StartupWarmup.class.getName());
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final List<CompletableFuture<Void>> tasks = new CopyOnWriteArrayList<>();
+    private final Map<String, Long> timingsNanos = new ConcurrentHashMap<>();
+
+    private StartupWarmup() {
+    }
+
+    private static final class Holder {
+        private static final StartupWarmup INSTANCE = new StartupWarmup();
+    }
+
+    public static StartupWarmup getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Avvia il riscaldamento indipendente dalla configurazione. Le chiamate
+     * successive alla prima non hanno effetto.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        submit("jackson", JsonMappers::warmUp);
+        submit("calendar", () -> ItalianHolidayCalendar.isItalianHoliday(LocalDate.now()));
+        submit("views", GuiViewFactory::preloadViewClasses);
+    }
+
+    /**
+     * Precarica gli indici del backend scelto.
+     *
+     * @param configBean La configurazione appena confermata
+     */
+    public void preloadBackend(StartupConfigBean configBean) {
+        // Copia: il bean della schermata non deve essere letto da un altro thread
+        StartupConfigBean config = new StartupConfigBean(configBean.isInterfaceMode(),
+                configBean.getStorageOption());
+        int storageOption = config.getStorageOption();
+        submit("storage." + StorageEvent.backendName(storageOption), () -> {
+            if (storageOption == 1) {
+                DatabaseReadiness readiness = DatabaseReadiness.getInstance();
+                if (!readiness.awaitReady() || !readiness.isReady()) {
+                    LOGGER.warning("Database non pronto: precaricamento delle credenziali saltato");
+                    return;
+                }
+            }
+            DAOFactory.DAOPair daos = DAOFactory.createDAOs(config);
+            CredentialIndex.forStorage(storageOption).ensureLoaded(daos.pazienteDAO, daos.specialistaDAO);
+            SpecialistDirectory.forConfig(config).getAll();
+        });
+    }
+
+    /**
+     * Attende la fine dei task avviati finora.
+     *
+     * @return true se sono terminati entro il timeout
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+        try {
+            all.get(timeout, unit);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Durata in millisecondi di ogni task terminato, per nome
+     */
+    public Map<String, Long> getTimingsMillis() {
+        Map<String, Long> millis = new TreeMap<>();
+        timingsNanos.forEach((name, nanos) -> millis.put(name, TimeUnit.NANOSECONDS.toMillis(nanos)));
+        return millis;
+    }
+
+    private void submit(String name, WarmupTask task) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        tasks.add(future);
+        Thread.ofPlatform().name("warmup-" + name).daemon().start(() -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+                long elapsed = System.nanoTime() - start;
+                timingsNanos.put(name, elapsed);
+                LOGGER.info(() -> String.format("[DEBUG][Thread: %s] Warm-up %s completed in %d ms",
+                        Thread.currentThread().getName(), name, TimeUnit.NANOSECONDS.toMillis(elapsed)));
+            } catch (Exception | LinkageError e) {
+                LOGGER.log(Level.WARNING, e, () -> "Warm-up " + name + " failed");
+            } finally {
+                future.complete(null);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface WarmupTask {
+        void run() throws Exception;
+    }
+}
@@ -5,6 +5,7 @@ import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -14,6 +15,7 @@ public class DatabaseConnection {
     private static String user;
     private static String password;
     private static final Logger logger = Logger.getLogger(DatabaseConnection.class.getName());
+    private static final String DATABASE_STARTING_MESSAGE = "Database in avvio, riprovare tra qualche secondo.";
 
     static {
         try (InputStream input = DatabaseConnection.class.getClassLoader().getResourceAsStream("dbconfig.properties")) {
@@ -36,6 +38,30 @@ public class DatabaseConnection {
     }
 
     public static Connection getConnection() throws SQLException {
+        DatabaseReadiness readiness = DatabaseReadiness.getInstance();
+        if (readiness.shouldFailFast()) {
+            // Il thread FX non resta bloccato fino al timeout dell'avvio
+            throw new SQLTransientConnectionException(DATABASE_STARTING_MESSAGE);
+        }
+        // Se il server è in avvio in background, la prima richiesta ne attende l'esito
+        readiness.awaitReady();
+        return connect();
+    }
+
+    /**
+     * Verifica di disponibilità usata da {@link DatabaseReadiness}: non attende
+     * l'avvio e non registra errori a ogni tentativo fallito.
+     */
+    static boolean isReachable() {
+        try (Connection conn = DriverManager.getConnection(url, user, password)) {
+            return conn.isValid(2);
+        } catch (SQLException e) {
+            logger.fine(() -> "Database non ancora raggiungibile: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static Connection connect() throws SQLException {
         try {
             logger.fine("Tentativo di caricamento del driver JDBC...");
             Class.forName("com.mysql.cj.jdbc.Driver");
@@ -1,5 +1,7 @@
 package storage_db;
 
+import slow_operations.SlowOperationDetector;
+
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -27,6 +29,8 @@ public class DatabaseOperations {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             setParameters(stmt, params);
+            // Come in executeUpdate: si misura lo statement, non l'attesa della connessione
+            long start = System.nanoTime();
             try (ResultSet rs = stmt.executeQuery()) {
                 ResultSetMetaData metaData = rs.getMetaData();
                 int columnCount = metaData.getColumnCount();
@@ -38,6 +42,7 @@ public class DatabaseOperations {
                     results.add(row);
                 }
             }
+            checkSlow("db.query", sql, params, System.nanoTime() - start, results.size());
         } catch (SQLException e) {
             handleSQLException("Errore esecuzione query", sql, params, e);
         }
@@ -56,7 +61,10 @@ public class DatabaseOperations {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             setParameters(stmt, params);
-            return stmt.executeUpdate();
+            long start = System.nanoTime();
+            int rows = stmt.executeUpdate();
+            checkSlow("db.update", sql, params, System.nanoTime() - start, rows);
+            return rows;
         } catch (SQLException e) {
             handleSQLException("Errore esecuzione update", sql, params, e);
             return 0; // Questo valore non verrà mai restituito perché l'eccezione viene rilanciata
@@ -76,6 +84,16 @@ public class DatabaseOperations {
         }
     }
 
+    /**
+     * Segnala al rilevatore le query riuscite ma lente, con i parametri oscurati.
+     */
+    private static void checkSlow(String operation, String sql, Object[] params, long nanos, int rows) {
+        SlowOperationDetector detector = SlowOperationDetector.getInstance();
+        if (detector.mayBeSlow(nanos)) {
+            detector.record(operation, () -> sql + " " + SlowOperationDetector.redact(params), nanos, rows);
+        }
+    }
+
     /**
      * Gestisce una transazione composta da più operazioni.
      *
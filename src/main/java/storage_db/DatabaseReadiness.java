@@ -0,0 +1,212 @@
+package storage_db;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Avvio in background del server MySQL con verifica di disponibilità.
+ *
+ * {@link #start(Runnable)} runs the start script on a daemon thread, then
+ * probes the server with a real connection. After each failed attempt the
+ * wait doubles, from {@code initialDelay} up to {@code maxDelay}. The
+ * caller, normally the settings screen on the FX thread, returns
+ * immediately. Only {@link DatabaseConnection#getConnection()} waits,
+ * through {@link #awaitReady()}, so the first DB-dependent action is the
+ * only one gated. The thread passed to {@link #failFastOn(Thread)}, the FX
+ * thread in the GUI, never waits: while the server is starting its
+ * connections fail at once with "database in avvio" and the user retries.
+ * Once the outcome is known the check is a single volatile read.
+ *
+ * If the server is not ready within {@code timeout} (seconds, set with
+ * -Dmindlab.db.startup.timeout, default 60) the state becomes FAILED.
+ * Connections are then attempted as usual and report the real error.
+ */
+public final class DatabaseReadiness {
+    public static final String TIMEOUT_PROPERTY = "mindlab.db.startup.timeout";
+
+    private static final Logger LOGGER = Logger.getLogger(DatabaseReadiness.class.getName());
+    private static final long WAIT_GRACE_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /** Stato dell'avvio del server. */
+    public enum State {
+        NOT_STARTED, STARTING, READY, FAILED
+    }
+
+    private final BooleanSupplier probe;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final Duration timeout;
+    private final AtomicReference<State> state = new AtomicReference<>(State.NOT_STARTED);
+    private final CompletableFuture<Boolean> outcome = new CompletableFuture<>();
+    private volatile long startedAt;
+    private volatile int attempts;
+    private volatile Thread failFastThread;
+
+    private DatabaseReadiness(Builder builder) {
+        this.probe = builder.probe;
+        this.initialDelay = builder.initialDelay;
+        this.maxDelay = builder.maxDelay;
+        this.timeout = builder.timeout;
+    }
+
+    private static final class Holder {
+        private static final DatabaseReadiness INSTANCE = new Builder()
+                .timeout(Duration.ofSeconds(Long.getLong(TIMEOUT_PROPERTY, 60)))
+                .build();
+    }
+
+    public static DatabaseReadiness getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Avvia il server e la verifica in background. Le chiamate successive
+     * alla prima non hanno effetto.
+     *
+     * @param serverStarter Comando di avvio, es. ComandoDaTerminale::avviaServerSQL
+     */
+    public void start(Runnable serverStarter) {
+        if (!state.compareAndSet(State.NOT_STARTED, State.STARTING)) {
+            return;
+        }
+        startedAt = System.nanoTime();
+        Thread.ofPlatform().name("db-startup").daemon().start(() -> run(serverStarter));
+    }
+
+    /**
+     * Attende l'esito dell'avvio, se in corso.
+     *
+     * @return true se il server è pronto o se l'avvio non è gestito da qui
+     *         (es. database già avviato esternamente)
+     */
+    public boolean awaitReady() {
+        State current = state.get();
+        if (current == State.NOT_STARTED || current == State.READY) {
+            return true;
+        }
+        if (current == State.FAILED) {
+            return false;
+        }
+        // Stessa scadenza del thread di avvio, più un margine per l'ultimo tentativo
+        long remaining = startedAt + timeout.toNanos() + WAIT_GRACE_NANOS - System.nanoTime();
+        try {
+            return outcome.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Il thread indicato non attende l'avvio (es. il thread FX, che non può
+     * restare bloccato fino al timeout).
+     */
+    public void failFastOn(Thread thread) {
+        this.failFastThread = thread;
+    }
+
+    /**
+     * @return true se il server è in avvio e il thread corrente non deve
+     *         attenderlo
+     */
+    public boolean shouldFailFast() {
+        return state.get() == State.STARTING && Thread.currentThread() == failFastThread;
+    }
+
+    public boolean isReady() {
+        return state.get() == State.READY;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /** Tentativi di connessione eseguiti finora. */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    private void run(Runnable serverStarter) {
+        long start = startedAt;
+        try {
+            serverStarter.run();
+        } catch (RuntimeException e) {
+            // Il server potrebbe essere già attivo: la verifica decide comunque
+            LOGGER.log(Level.WARNING, "Avvio del server SQL fallito", e);
+        }
+        long deadline = start + timeout.toNanos();
+        long delay = initialDelay.toNanos();
+        while (true) {
+            attempts++;
+            if (probe.getAsBoolean()) {
+                complete(State.READY);
+                LOGGER.info(() -> String.format("Database pronto in %d ms (%d tentativi)",
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), attempts));
+                return;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                complete(State.FAILED);
+                LOGGER.severe(() -> String.format("Database non raggiungibile dopo %d tentativi in %d s",
+                        attempts, timeout.toSeconds()));
+                return;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(Math.min(delay, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                complete(State.FAILED);
+                return;
+            }
+            delay = Math.min(delay * 2, maxDelay.toNanos());
+        }
+    }
+
+    private void complete(State result) {
+        state.set(result);
+        outcome.complete(result == State.READY);
+    }
+
+    /**
+     * Builder per istanze con probe e tempi personalizzati (es. nei test).
+     */
+    public static final class Builder {
+        private BooleanSupplier probe = DatabaseConnection::isReachable;
+        private Duration initialDelay = Duration.ofMillis(200);
+        private Duration maxDelay = Duration.ofSeconds(5);
+        private Duration timeout = Duration.ofSeconds(60);
+
+        public Builder probe(BooleanSupplier probe) {
+            this.probe = probe;
+            return this;
+        }
+
+        public Builder initialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        public Builder maxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public DatabaseReadiness build() {
+            return new DatabaseReadiness(this);
+        }
+    }
+}
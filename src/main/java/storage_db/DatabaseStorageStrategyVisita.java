@@ -23,6 +23,7 @@ public class DatabaseStorageStrategyVisita implements DataStorageStrategy<Visita
     private static final String DELETE_QUERY = "DELETE FROM visite WHERE paziente_codice_fiscale = ? AND specialista_id = ? AND data = ? AND orario = ?";
     private static final String SELECT_ALL_QUERY = "SELECT paziente_codice_fiscale, specialista_id, data, orario, tipo_visita, motivo_visita, stato FROM visite";
     private static final String SELECT_BY_DATE_AND_SPEC_QUERY = "SELECT paziente_codice_fiscale, specialista_id, data, orario, tipo_visita, motivo_visita, stato FROM visite WHERE data=? AND specialista_id=?";
+    private static final String SELECT_BY_SPEC_AND_RANGE_QUERY = "SELECT paziente_codice_fiscale, specialista_id, data, orario, tipo_visita, motivo_visita, stato FROM visite WHERE specialista_id=? AND data BETWEEN ? AND ?";
 
     @Override
     public boolean salva(Visita visita) {
@@ -128,6 +129,24 @@ public class DatabaseStorageStrategyVisita implements DataStorageStrategy<Visita
         return visite;
     }
 
+    public List<Visita> findBySpecialistAndDateRange(int specialistaId, LocalDate dataInizio, LocalDate dataFine) {
+        List<Visita> visite = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(SELECT_BY_SPEC_AND_RANGE_QUERY)) {
+            stmt.setInt(1, specialistaId);
+            stmt.setObject(2, dataInizio);
+            stmt.setObject(3, dataFine);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    visite.add(mapResultSetToVisita(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Errore durante il recupero delle visite per intervallo di date e specialista", e);
+        }
+        return visite;
+    }
+
     private void setKeyParameters(PreparedStatement stmt, int startIndex, Visita visita) throws SQLException {
         stmt.setString(startIndex, visita.getPazienteCodiceFiscale());
         stmt.setInt(startIndex + 1, visita.getSpecialistaId());
@@ -1,9 +1,9 @@
 package storage_file;
 
+import app_logging.AppLog;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import model.Paziente;
+import slow_operations.SlowOperationDetector;
 import storage_db.DataStorageStrategy;
 import java.io.File;
 import java.io.IOException;
@@ -47,14 +47,13 @@ public class FileManagerPazienti implements DataStorageStrategy<Paziente> {
 
     private final ObjectMapper objectMapper;
     private static final Logger logger = Logger.getLogger(FileManagerPazienti.class.getName());
-    private final Object fileLock = new Object();
+    // Condiviso tra le istanze: il DAOFactory ne crea una per ogni richiesta
+    private static final Object FILE_LOCK = new Object();
 
     public FileManagerPazienti() {
-        logger.info(() -> "[DEBUG] FileManagerPazienti initialized. Using directory: "
+        AppLog.debug(logger, () -> "[DEBUG] FileManagerPazienti initialized. Using directory: "
                 + new File(DIRECTORY).getAbsolutePath());
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        this.objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        this.objectMapper = JsonMappers.getMapper();
         File dir = new File(DIRECTORY);
         if (!dir.exists() && !dir.mkdirs()) {
             throw new IllegalStateException("Impossibile creare la directory: " + DIRECTORY);
@@ -89,7 +88,7 @@ public class FileManagerPazienti implements DataStorageStrategy<Paziente> {
 
     @Override
     public boolean salva(Paziente paziente) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(paziente)) {
                 logger.warning("Tentativo di salvataggio di un paziente non valido.");
                 return false;
@@ -106,7 +105,7 @@ public class FileManagerPazienti implements DataStorageStrategy<Paziente> {
 
     @Override
     public Optional<Paziente> trova(Paziente paziente) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(paziente)) {
                 logger.warning("Tentativo di ricerca di un paziente non valido.");
                 return Optional.empty();
@@ -123,7 +122,7 @@ public class FileManagerPazienti implements DataStorageStrategy<Paziente> {
 
     @Override
     public boolean aggiorna(Paziente paziente) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(paziente)) {
                 logger.warning("Tentativo di aggiornamento di un paziente non valido.");
                 return false;
@@ -140,7 +139,7 @@ public class FileManagerPazienti implements DataStorageStrategy<Paziente> {
 
     @Override
     public boolean elimina(Paziente paziente) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(paziente)) {
                 logger.warning("Tentativo di eliminazione di un paziente non valido.");
                 return false;
@@ -165,11 +164,16 @@ public class FileManagerPazienti implements DataStorageStrategy<Paziente> {
             logger.warning("Directory dei pazienti non trovata o non valida.");
             return List.of();
         }
-        return Arrays.stream(Objects.requireNonNull(dir.listFiles()))
+        long start = System.nanoTime();
+        File[] files = Objects.requireNonNull(dir.listFiles());
+        List<Paziente> pazienti = Arrays.stream(files)
                 .filter(file -> file.getName().endsWith(FILE_EXTENSION)) // Usa la costante FILE_EXTENSION
                 .map(this::leggiFile)
                 .flatMap(Optional::stream)
                 .toList(); // Usa Stream.toList() invece di collect(Collectors.toList())
+        SlowOperationDetector.getInstance().record("file.Paziente.scan", () -> DIRECTORY, System.nanoTime() - start,
+                files.length);
+        return pazienti;
     }
 
     /**
@@ -238,15 +242,17 @@ public class FileManagerPazienti implements DataStorageStrategy<Paziente> {
             return Optional.empty();
         }
         List<Paziente> tutti = trovaTutti();
-        logger.log(Level.INFO, "[DEBUG] Searching for email {0} in {1} patients.",
-                new Object[] { email, tutti.size() });
+        if (AppLog.DEBUG) {
+            logger.log(Level.INFO, "[DEBUG] Searching for email {0} in {1} patients.",
+                    new Object[] { email, tutti.size() });
+        }
 
         // Cerca in tutti i file
         return tutti.stream()
                 .filter(p -> {
                     boolean match = p.getEmail().equalsIgnoreCase(email);
                     if (match) {
-                        logger.log(Level.INFO, "[DEBUG] MATCH FOUND for patient: {0}", p.getEmail());
+                        AppLog.debug(logger, () -> "[DEBUG] MATCH FOUND for patient: " + p.getEmail());
                     }
                     return match;
                 })
@@ -1,9 +1,9 @@
 package storage_file;
 
+import app_logging.AppLog;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import model.Specialista;
+import slow_operations.SlowOperationDetector;
 import storage_db.DataStorageStrategy;
 import java.io.File;
 import java.io.IOException;
@@ -47,14 +47,13 @@ public class FileManagerSpecialisti implements DataStorageStrategy<Specialista>
 
     private final ObjectMapper objectMapper;
     private static final Logger logger = Logger.getLogger(FileManagerSpecialisti.class.getName());
-    private final Object fileLock = new Object();
+    // Condiviso tra le istanze: il DAOFactory ne crea una per ogni richiesta
+    private static final Object FILE_LOCK = new Object();
 
     public FileManagerSpecialisti() {
-        logger.info(() -> "[DEBUG] FileManagerSpecialisti initialized. Using directory: "
+        AppLog.debug(logger, () -> "[DEBUG] FileManagerSpecialisti initialized. Using directory: "
                 + new File(DIRECTORY).getAbsolutePath());
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        this.objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        this.objectMapper = JsonMappers.getMapper();
         File dir = new File(DIRECTORY);
         if (!dir.exists() && !dir.mkdirs()) {
             throw new IllegalStateException("Impossibile creare la directory: " + DIRECTORY);
@@ -62,14 +61,15 @@ public class FileManagerSpecialisti implements DataStorageStrategy<Specialista>
     }
 
     /**
-     * Genera il nome del file basato sulla specializzazione dello specialista.
+     * Genera il nome del file basato sull'email dello specialista, così due
+     * specialisti con la stessa specializzazione non si sovrascrivono.
      */
     private String generaNomeFile(Specialista specialista) {
         if (!isValid(specialista)) {
             throw new IllegalArgumentException("Specialista non valido");
         }
-        return specialista.getSpecializzazione().replaceAll("[^a-zA-Z0-9]", "_") + FILE_EXTENSION; // Usa la costante
-                                                                                                   // FILE_EXTENSION
+        return specialista.getEmail().toLowerCase(java.util.Locale.ROOT).replaceAll("[^a-z0-9]", "_")
+                + FILE_EXTENSION; // Usa la costante FILE_EXTENSION
     }
 
     /**
@@ -84,13 +84,13 @@ public class FileManagerSpecialisti implements DataStorageStrategy<Specialista>
      */
     private boolean isValid(Specialista specialista) {
         return specialista != null &&
-                specialista.getSpecializzazione() != null &&
-                !specialista.getSpecializzazione().isEmpty();
+                specialista.getEmail() != null &&
+                !specialista.getEmail().isEmpty();
     }
 
     @Override
     public boolean salva(Specialista specialista) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(specialista)) {
                 logger.warning("Tentativo di salvataggio di uno specialista non valido.");
                 return false;
@@ -107,7 +107,7 @@ public class FileManagerSpecialisti implements DataStorageStrategy<Specialista>
 
     @Override
     public Optional<Specialista> trova(Specialista specialista) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(specialista)) {
                 logger.warning("Tentativo di ricerca di uno specialista non valido.");
                 return Optional.empty();
@@ -124,7 +124,7 @@ public class FileManagerSpecialisti implements DataStorageStrategy<Specialista>
 
     @Override
     public boolean aggiorna(Specialista specialista) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(specialista)) {
                 logger.warning("Tentativo di aggiornamento di uno specialista non valido.");
                 return false;
@@ -141,7 +141,7 @@ public class FileManagerSpecialisti implements DataStorageStrategy<Specialista>
 
     @Override
     public boolean elimina(Specialista specialista) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(specialista)) {
                 logger.warning("Tentativo di eliminazione di uno specialista non valido.");
                 return false;
@@ -166,29 +166,55 @@ public class FileManagerSpecialisti implements DataStorageStrategy<Specialista>
             logger.warning("Directory degli specialisti non trovata o non valida.");
             return List.of();
         }
-        return Arrays.stream(Objects.requireNonNull(dir.listFiles()))
+        long start = System.nanoTime();
+        File[] files = Objects.requireNonNull(dir.listFiles());
+        List<Specialista> specialisti = Arrays.stream(files)
                 .filter(file -> file.getName().endsWith(FILE_EXTENSION)) // Usa la costante FILE_EXTENSION
                 .map(this::leggiFile)
                 .flatMap(Optional::stream)
                 .toList(); // Usa Stream.toList() invece di collect(Collectors.toList())
+        SlowOperationDetector.getInstance().record("file.Specialista.scan", () -> DIRECTORY, System.nanoTime() - start,
+                files.length);
+        return specialisti;
     }
 
     /**
-     * Ricerca uno specialista tramite la sua specializzazione.
+     * Ricerca il primo specialista con la specializzazione indicata.
+     *
+     * @see #trovaTuttiPerSpecializzazione(String)
      */
     public Optional<Specialista> trovaPerSpecializzazione(String specializzazione) {
-        if (specializzazione == null || specializzazione.isEmpty()) {
-            logger.warning("Specializzazione non valida per la ricerca.");
-            return Optional.empty();
-        }
-        File file = new File(DIRECTORY + specializzazione.replaceAll("[^a-zA-Z0-9]", "_") + FILE_EXTENSION);
-        if (!file.exists()) {
+        List<Specialista> trovati = trovaTuttiPerSpecializzazione(specializzazione);
+        if (trovati.isEmpty()) {
             if (logger.isLoggable(Level.WARNING)) {
                 logger.warning(String.format("Specialista non trovato per la specializzazione: %s", specializzazione));
             }
             return Optional.empty();
         }
-        return leggiFile(file);
+        return Optional.of(trovati.get(0));
+    }
+
+    /**
+     * Ricerca tutti gli specialisti con la specializzazione indicata
+     * (case-insensitive).
+     */
+    public List<Specialista> trovaTuttiPerSpecializzazione(String specializzazione) {
+        if (specializzazione == null || specializzazione.isEmpty()) {
+            logger.warning("Specializzazione non valida per la ricerca.");
+            return List.of();
+        }
+        return trovaTutti().stream()
+                .filter(s -> specializzazione.trim().equalsIgnoreCase(s.getSpecializzazione()))
+                .toList();
+    }
+
+    /**
+     * Ricerca uno specialista tramite il suo ID.
+     */
+    public Optional<Specialista> trovaPerId(int id) {
+        return trovaTutti().stream()
+                .filter(s -> s.getId() != null && s.getId() == id)
+                .findFirst();
     }
 
     /**
@@ -227,8 +253,10 @@ public class FileManagerSpecialisti implements DataStorageStrategy<Specialista>
             return Optional.empty();
         }
         File dir = new File(DIRECTORY);
-        logger.log(Level.INFO, "[DEBUG] Searching for email {0} in directory: {1}",
-                new Object[] { email, dir.getAbsolutePath() });
+        if (AppLog.DEBUG) {
+            logger.log(Level.INFO, "[DEBUG] Searching for email {0} in directory: {1}",
+                    new Object[] { email, dir.getAbsolutePath() });
+        }
 
         if (!dir.exists() || !dir.isDirectory()) {
             logger.warning("Directory degli specialisti non trovata o non valida: " + dir.getAbsolutePath());
@@ -241,18 +269,18 @@ public class FileManagerSpecialisti implements DataStorageStrategy<Specialista>
             return Optional.empty();
         }
 
-        logger.log(Level.INFO, "[DEBUG] Found {0} files in directory.", files.length);
+        AppLog.debug(logger, () -> "[DEBUG] Found " + files.length + " files in directory.");
 
         // Cerca il file con l'email specificata
         return Arrays.stream(files)
                 .filter(file -> {
                     boolean isJson = file.getName().endsWith(FILE_EXTENSION);
                     if (!isJson)
-                        logger.info("[DEBUG] Skipping non-json file: " + file.getName());
+                        AppLog.debug(logger, () -> "[DEBUG] Skipping non-json file: " + file.getName());
                     return isJson;
                 })
                 .map(file -> {
-                    logger.info("[DEBUG] Reading file: " + file.getName());
+                    AppLog.debug(logger, () -> "[DEBUG] Reading file: " + file.getName());
                     Optional<Specialista> s = this.leggiFile(file);
                     if (s.isEmpty())
                         logger.warning("[DEBUG] Failed to parse file: " + file.getName());
@@ -262,9 +290,9 @@ public class FileManagerSpecialisti implements DataStorageStrategy<Specialista>
                 .filter(specialista -> {
                     boolean match = specialista.getEmail().equalsIgnoreCase(email);
                     if (match)
-                        logger.info("[DEBUG] MATCH FOUND: " + specialista.getEmail());
+                        AppLog.debug(logger, () -> "[DEBUG] MATCH FOUND: " + specialista.getEmail());
                     else
-                        logger.info("[DEBUG] Email mismatch: " + specialista.getEmail());
+                        AppLog.debug(logger, () -> "[DEBUG] Email mismatch: " + specialista.getEmail());
                     return match;
                 })
                 .findFirst();
@@ -1,15 +1,16 @@
 package storage_file;
 
+import app_logging.AppLog;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import model.Visita;
+import slow_operations.SlowOperationDetector;
 import storage_db.DataStorageStrategy;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
@@ -54,17 +55,30 @@ public class FileManagerVisite implements DataStorageStrategy<Visita> {
 
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
     private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HHmm");
-    private final Object fileLock = new Object();
+    // Condiviso tra le istanze: il DAOFactory ne crea una per ogni richiesta
+    private static final Object FILE_LOCK = new Object();
+
+    private final String directory;
 
     public FileManagerVisite() {
-        logger.info(() -> "[DEBUG] FileManagerVisite initialized. Using directory: "
-                + new File(DIRECTORY).getAbsolutePath());
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        this.objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-        File dir = new File(DIRECTORY);
+        this(DIRECTORY);
+    }
+
+    /**
+     * Usa una directory diversa da quella dell'applicazione (stress test, prove isolate).
+     */
+    public FileManagerVisite(Path directory) {
+        this(directory.toString());
+    }
+
+    private FileManagerVisite(String directory) {
+        this.directory = directory;
+        AppLog.debug(logger, () -> "[DEBUG] FileManagerVisite initialized. Using directory: "
+                + new File(directory).getAbsolutePath());
+        this.objectMapper = JsonMappers.getMapper();
+        File dir = new File(directory);
         if (!dir.exists() && !dir.mkdirs()) {
-            throw new IllegalStateException("Impossibile creare la directory: " + DIRECTORY);
+            throw new IllegalStateException("Impossibile creare la directory: " + directory);
         }
     }
 
@@ -84,7 +98,7 @@ public class FileManagerVisite implements DataStorageStrategy<Visita> {
      * Genera il percorso completo del file utilizzando Path per maggiore sicurezza.
      */
     private Path generaPercorsoFile(Visita visita) {
-        return Paths.get(DIRECTORY, generaNomeFile(visita));
+        return Paths.get(directory, generaNomeFile(visita));
     }
 
     /**
@@ -99,7 +113,7 @@ public class FileManagerVisite implements DataStorageStrategy<Visita> {
 
     @Override
     public boolean salva(Visita visita) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(visita)) {
                 logger.warning("Tentativo di salvataggio di una visita non valida.");
                 return false;
@@ -110,13 +124,17 @@ public class FileManagerVisite implements DataStorageStrategy<Visita> {
                 logger.warning("File già esistente per la visita: " + file.getName());
                 return false;
             }
+            if (!isVisitaDisponibileInFile(visita.getData(), visita.getOrario(), visita.getSpecialistaId())) {
+                logger.warning("Slot già occupato per lo specialista: " + file.getName());
+                return false;
+            }
             return scriviFile(file, visita);
         }
     }
 
     @Override
     public Optional<Visita> trova(Visita visita) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(visita)) {
                 logger.warning("Tentativo di ricerca di una visita non valida.");
                 return Optional.empty();
@@ -133,7 +151,7 @@ public class FileManagerVisite implements DataStorageStrategy<Visita> {
 
     @Override
     public boolean aggiorna(Visita visita) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(visita)) {
                 logger.warning("Tentativo di aggiornamento di una visita non valida.");
                 return false;
@@ -150,7 +168,7 @@ public class FileManagerVisite implements DataStorageStrategy<Visita> {
 
     @Override
     public boolean elimina(Visita visita) {
-        synchronized (fileLock) {
+        synchronized (FILE_LOCK) {
             if (!isValid(visita)) {
                 logger.warning("Tentativo di eliminazione di una visita non valida.");
                 return false;
@@ -170,13 +188,14 @@ public class FileManagerVisite implements DataStorageStrategy<Visita> {
      * Ricerca visite associate a un paziente specifico.
      */
     public List<Visita> trovaPerPaziente(String codiceFiscalePaziente) {
-        File dir = new File(DIRECTORY);
+        File dir = new File(directory);
         if (!dir.exists() || !dir.isDirectory()) {
             logger.warning(ERR_DIR_NOT_FOUND);
             return List.of();
         }
         return Arrays.stream(Objects.requireNonNull(dir.listFiles()))
-                .filter(file -> file.getName().startsWith(codiceFiscalePaziente))
+                .filter(file -> file.getName().startsWith(codiceFiscalePaziente)
+                        && file.getName().endsWith(JSON_EXTENSION))
                 .map(this::leggiFile)
                 .flatMap(Optional::stream)
                 .toList(); // Usa Stream.toList() invece di collect(Collectors.toList())
@@ -186,8 +205,12 @@ public class FileManagerVisite implements DataStorageStrategy<Visita> {
      * Scrive un oggetto Visita in un file JSON.
      */
     private boolean scriviFile(File file, Visita visita) {
+        // Scrittura su file temporaneo e rename atomico: le letture concorrenti
+        // (fuori dal lock) non vedono mai un JSON scritto a metà
+        Path tmp = file.toPath().resolveSibling(file.getName() + ".tmp");
         try {
-            objectMapper.writeValue(file, visita);
+            objectMapper.writeValue(tmp.toFile(), visita);
+            Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
             logger.info("Visita salvata con successo: " + file.getName());
             return true;
         } catch (IOException e) {
@@ -223,8 +246,8 @@ public class FileManagerVisite implements DataStorageStrategy<Visita> {
             return false;
         }
 
-        synchronized (fileLock) {
-            File dir = new File(DIRECTORY);
+        synchronized (FILE_LOCK) {
+            File dir = new File(directory);
             if (!dir.exists() || !dir.isDirectory()) {
                 logger.warning(ERR_DIR_NOT_FOUND);
                 return true;
@@ -254,20 +277,24 @@ public class FileManagerVisite implements DataStorageStrategy<Visita> {
 
     @Override
     public List<Visita> getAllInstanceOfActor() {
-        File dir = new File(DIRECTORY);
+        File dir = new File(directory);
         if (!dir.exists() || !dir.isDirectory()) {
             logger.warning(ERR_DIR_NOT_FOUND);
             return List.of();
         }
+        long start = System.nanoTime();
         File[] files = dir.listFiles();
         if (files == null) {
             return List.of();
         }
-        return Arrays.stream(files)
+        List<Visita> visite = Arrays.stream(files)
                 .filter(file -> file.getName().endsWith(JSON_EXTENSION))
                 .map(this::leggiFile)
                 .flatMap(Optional::stream)
                 .toList();
+        SlowOperationDetector.getInstance().record("file.Visita.scan", () -> directory, System.nanoTime() - start,
+                files.length);
+        return visite;
     }
 
     @Override
@@ -0,0 +1,54 @@
+package storage_file;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import model.Paziente;
+import model.Specialista;
+import model.Visita;
+
+import java.util.List;
+
+/**
+ * ObjectMapper condiviso dai FileManager.
+ *
+ * A configured ObjectMapper is thread-safe, so one instance replaces the
+ * mapper (and the JavaTimeModule registration) that every FileManager used
+ * to build in its constructor. {@link #warmUp()} resolves the serializers
+ * and deserializers of the model classes ahead of the first file access.
+ */
+public final class JsonMappers {
+
+    private static final List<Class<?>> MODEL_TYPES = List.of(Paziente.class, Specialista.class, Visita.class);
+
+    private JsonMappers() {
+        // Utility class
+    }
+
+    private static final class Holder {
+        private static final ObjectMapper MAPPER = create();
+    }
+
+    private static ObjectMapper create() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        return mapper;
+    }
+
+    public static ObjectMapper getMapper() {
+        return Holder.MAPPER;
+    }
+
+    /**
+     * Costruisce e mette in cache serializer e deserializer dei modelli.
+     */
+    public static void warmUp() {
+        ObjectMapper mapper = getMapper();
+        for (Class<?> type : MODEL_TYPES) {
+            // readerFor/writerFor prefetch the root (de)serializer into the mapper caches
+            mapper.readerFor(type);
+            mapper.writerFor(type);
+        }
+    }
+}
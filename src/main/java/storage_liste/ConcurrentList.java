@@ -0,0 +1,137 @@
+package storage_liste;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Lista sicura per l'uso concorrente, usata dalle liste in memoria.
+ *
+ * Writers are serialized on the list's own monitor, so a caller can make
+ * a check-then-add atomic by synchronizing on the list (as ListaVisite
+ * does). Readers never lock: iteration and streams work on a snapshot of
+ * the backing copy on write array. Bulk operations copy the array once
+ * instead of once per element.
+ *
+ * The class depends only on java.util. It used to extend JavaFX's
+ * ModifiableObservableListBase, but no one ever registered a listener, and
+ * the dependency made CLI runs load JavaFX for the RAM storage.
+ */
+final class ConcurrentList<E> extends AbstractList<E> implements RandomAccess {
+    private final CopyOnWriteArrayList<E> backing = new CopyOnWriteArrayList<>();
+
+    @Override
+    public E get(int index) {
+        return backing.get(index);
+    }
+
+    @Override
+    public int size() {
+        return backing.size();
+    }
+
+    // --- Letture senza lock, su snapshot ---
+
+    @Override
+    public Iterator<E> iterator() {
+        return backing.iterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return backing.spliterator();
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return backing.stream();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        backing.forEach(action);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return backing.contains(o);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return backing.toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return backing.toArray(a);
+    }
+
+    // --- Scritture serializzate sul monitor della lista ---
+
+    @Override
+    public synchronized boolean add(E element) {
+        return backing.add(element);
+    }
+
+    @Override
+    public synchronized void add(int index, E element) {
+        backing.add(index, element);
+    }
+
+    @Override
+    public synchronized E set(int index, E element) {
+        return backing.set(index, element);
+    }
+
+    @Override
+    public synchronized E remove(int index) {
+        return backing.remove(index);
+    }
+
+    @Override
+    public synchronized boolean remove(Object o) {
+        return backing.remove(o);
+    }
+
+    @Override
+    public synchronized boolean addAll(Collection<? extends E> elements) {
+        return backing.addAll(elements);
+    }
+
+    @Override
+    public synchronized boolean addAll(int index, Collection<? extends E> elements) {
+        return backing.addAll(index, elements);
+    }
+
+    @Override
+    public synchronized boolean removeIf(Predicate<? super E> filter) {
+        return backing.removeIf(filter);
+    }
+
+    @Override
+    public synchronized boolean removeAll(Collection<?> elements) {
+        return backing.removeAll(elements);
+    }
+
+    @Override
+    public synchronized boolean retainAll(Collection<?> elements) {
+        return backing.retainAll(elements);
+    }
+
+    @Override
+    public synchronized void clear() {
+        backing.clear();
+    }
+
+    @Override
+    protected synchronized void removeRange(int fromIndex, int toIndex) {
+        backing.subList(fromIndex, toIndex).clear();
+    }
+}
@@ -1,11 +1,8 @@
 package storage_liste;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import model.Paziente;
 
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
@@ -14,15 +11,12 @@ import java.util.logging.Logger;
 public class ListaPazienti {
     private static final Logger logger = Logger.getLogger(ListaPazienti.class.getName());
 
-    // AtomicReference for thread-safe Singleton implementation
-    private static final AtomicReference<ListaPazienti> istanzaListaPazienti = new AtomicReference<>();
-
-    // Internal list exposed as an ObservableList for JavaFX compatibility
-    private final ObservableList<Paziente> observableListaPazienti;
+    // Internal thread-safe list (see ConcurrentList)
+    private final List<Paziente> observableListaPazienti;
 
     // Private constructor to prevent multiple instantiations
     private ListaPazienti() {
-        this.observableListaPazienti = FXCollections.observableList(new CopyOnWriteArrayList<>());
+        this.observableListaPazienti = new ConcurrentList<>();
         // Initial test user for in-memory verification
         this.observableListaPazienti.add(new Paziente.Builder()
                 .nome("Federico")
@@ -36,14 +30,16 @@ public class ListaPazienti {
                 .build());
     }
 
+    // Inizializzazione lazy e thread-safe garantita dal class loader
+    private static final class Holder {
+        private static final ListaPazienti INSTANCE = new ListaPazienti();
+    }
+
     /**
      * Returns the thread-safe Singleton instance.
      */
     public static ListaPazienti getIstanzaListaPazienti() {
-        if (istanzaListaPazienti.get() == null) {
-            istanzaListaPazienti.compareAndSet(null, new ListaPazienti());
-        }
-        return istanzaListaPazienti.get();
+        return Holder.INSTANCE;
     }
 
     /**
@@ -94,9 +90,10 @@ public class ListaPazienti {
     }
 
     /**
-     * Returns the observable list of patients.
+     * Returns the live list of patients (the name predates the removal of
+     * the JavaFX ObservableList).
      */
-    public ObservableList<Paziente> getObservableListaPazienti() {
+    public List<Paziente> getObservableListaPazienti() {
         return observableListaPazienti;
     }
 }
@@ -1,25 +1,19 @@
 package storage_liste;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import model.Specialista;
 
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.List;
 import java.util.logging.Logger;
 
 public class ListaSpecialisti {
     private static final Logger logger = Logger.getLogger(ListaSpecialisti.class.getName());
 
-    // Uso di AtomicReference per la thread-safety del Singleton
-    private static final AtomicReference<ListaSpecialisti> istanzaListaSpecialisti = new AtomicReference<>();
-
-    // Lista thread-safe interna, esposta come ObservableList
-    private final ObservableList<Specialista> observableListaSpecialisti;
+    // Lista thread-safe interna (vedi ConcurrentList)
+    private final List<Specialista> observableListaSpecialisti;
 
     // Costruttore privato per impedire istanziazioni esterne
     private ListaSpecialisti() {
-        this.observableListaSpecialisti = FXCollections.observableList(new CopyOnWriteArrayList<>());
+        this.observableListaSpecialisti = new ConcurrentList<>();
         // Aggiunta specialisti di test per verifica In-Memory
         this.observableListaSpecialisti.add(new Specialista.Builder()
                 .id(1)
@@ -33,12 +27,14 @@ public class ListaSpecialisti {
                 .build());
     }
 
+    // Inizializzazione lazy e thread-safe garantita dal class loader
+    private static final class Holder {
+        private static final ListaSpecialisti INSTANCE = new ListaSpecialisti();
+    }
+
     // Metodo per ottenere l'istanza Singleton in modo thread-safe
     public static ListaSpecialisti getIstanzaListaSpecialisti() {
-        if (istanzaListaSpecialisti.get() == null) {
-            istanzaListaSpecialisti.compareAndSet(null, new ListaSpecialisti());
-        }
-        return istanzaListaSpecialisti.get();
+        return Holder.INSTANCE;
     }
 
     // Metodo per aggiungere uno specialista alla lista
@@ -80,8 +76,8 @@ public class ListaSpecialisti {
                 .orElse(null);
     }
 
-    // Metodo per ottenere la lista osservabile di specialisti
-    public ObservableList<Specialista> getObservableListaSpecialisti() {
+    // Metodo per ottenere la lista degli specialisti (il nome risale alla ObservableList di JavaFX)
+    public List<Specialista> getObservableListaSpecialisti() {
         return observableListaSpecialisti;
     }
 }
@@ -1,49 +1,59 @@
 package storage_liste;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import app_logging.AppLog;
 import model.Visita;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
 public class ListaVisite {
     private static final Logger logger = Logger.getLogger(ListaVisite.class.getName());
 
-    // Uso di AtomicReference per garantire la thread-safety del Singleton
-    private static final AtomicReference<ListaVisite> istanzaListaVisite = new AtomicReference<>();
-
-    // Lista thread-safe interna, che viene poi esposta come ObservableList
-    private final ObservableList<Visita> observableListaVisite;
+    // Lista thread-safe interna (vedi ConcurrentList)
+    private final List<Visita> observableListaVisite;
 
     // Costruttore privato per impedire istanziazioni esterne
     private ListaVisite() {
-        this.observableListaVisite = FXCollections.observableList(new CopyOnWriteArrayList<>());
+        this.observableListaVisite = new ConcurrentList<>();
+    }
+
+    // Inizializzazione lazy e thread-safe garantita dal class loader
+    private static final class Holder {
+        private static final ListaVisite INSTANCE = new ListaVisite();
     }
 
     // Metodo per ottenere l'istanza Singleton in modo thread-safe
     public static ListaVisite getIstanzaListaVisite() {
-        if (istanzaListaVisite.get() == null) {
-            istanzaListaVisite.compareAndSet(null, new ListaVisite());
-        }
-        return istanzaListaVisite.get();
+        return Holder.INSTANCE;
     }
 
-    // Metodo per aggiungere una visita alla lista
+    // Metodo per aggiungere una visita alla lista. Verifica e inserimento sono
+    // atomici: due prenotazioni concorrenti dello stesso slot non passano entrambe
     public boolean aggiungiVisita(Visita visita) {
         if (visita == null) {
             logger.warning("Tentativo di aggiungere una visita nulla.");
             return false;
         }
-        logger.info(() -> String.format(
+        AppLog.debug(logger, () -> String.format(
                 "[DEBUG-RAM] Adding Visita to ListaVisite: SpecId=%d, Paziente=%s, Data=%s, Orario=%s",
                 visita.getSpecialistaId(), visita.getPazienteCodiceFiscale(), visita.getData(), visita.getOrario()));
-        observableListaVisite.add(visita);
-        return true;
+        // Stesso monitor usato dalla lista per le scritture
+        boolean added;
+        synchronized (observableListaVisite) {
+            added = isVisitaDisponibileInLista(visita.getData(), visita.getOrario(), visita.getSpecialistaId());
+            if (added) {
+                observableListaVisite.add(visita);
+            }
+        }
+        // Log fuori dal monitor: un virtual thread fermo sul lock dell'handler
+        // mentre tiene il monitor blocca il carrier e con esso gli altri thread
+        if (!added) {
+            logger.warning(() -> "[DEBUG-RAM] Slot già occupato: " + visita.getData() + " " + visita.getOrario());
+        }
+        return added;
     }
 
     // Metodo per rimuovere una visita (identificata da codice fiscale, data e
@@ -87,8 +97,8 @@ public class ListaVisite {
                 .findFirst();
     }
 
-    // Metodo per ottenere la lista osservabile di visite
-    public ObservableList<Visita> getObservableListaVisite() {
+    // Metodo per ottenere la lista delle visite (il nome risale alla ObservableList di JavaFX)
+    public List<Visita> getObservableListaVisite() {
         return observableListaVisite;
     }
 
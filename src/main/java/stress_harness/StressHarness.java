@@ -0,0 +1,381 @@
+package stress_harness;
+
+import authentication.dao.InMemoryUserDAO;
+import model.Paziente;
+import model.Visita;
+import observer.NotificationManager;
+import patient_dashboard.book_appointment.AppointmentRepository;
+import patient_dashboard.book_appointment.FileAppointmentDAO;
+import patient_dashboard.book_appointment.ItalianHolidayCalendar;
+import patient_dashboard.book_appointment.RamAppointmentDAO;
+import session_manager.SessionStore;
+import startupconfig.StartupSettingsEntity;
+import storage_liste.ListaPazienti;
+import storage_liste.ListaSpecialisti;
+import storage_liste.ListaVisite;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Stress test dei componenti con stato condiviso.
+ *
+ * Every scenario starts its threads behind a common gate, hammers one
+ * component and then checks an invariant:
+ * <ul>
+ * <li>singleton: each singleton resolves to exactly one instance;</li>
+ * <li>ram-pazienti: concurrent adds and removes on ListaPazienti, with
+ * readers streaming the list, lose no update;</li>
+ * <li>ram-booking / file-booking: threads racing for the same slots through
+ * the RAM and file repositories book every slot exactly once;</li>
+ * <li>notifications: every observer of a private NotificationManager
+ * receives every notification exactly once.</li>
+ * </ul>
+ * Workers run on platform threads, so the JVM's thread contention monitoring
+ * can report how often, and for how long, they blocked on monitors.
+ * Synthetic data (codici fiscali starting with "STRPAZ", specialist ids from
+ * 990000) is removed at the end of each scenario.
+ */
+public final class StressHarness {
+    private static final Logger LOGGER = Logger.getLogger(StressHarness.class.getName());
+
+    private static final String CF_PREFIX = "STRPAZ";
+    private static final int SPECIALIST_ID = 990_001;
+    private static final int FIRST_HOUR = 8;
+    private static final int LAST_HOUR = 20;
+
+    private final int threads;
+    private final int iterations;
+    private final int bookingDays;
+    private final boolean includeFileStorage;
+    private final Path fileDirectory;
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    private StressHarness(Builder builder) {
+        this.threads = builder.threads;
+        this.iterations = builder.iterations;
+        this.bookingDays = builder.bookingDays;
+        this.includeFileStorage = builder.includeFileStorage;
+        this.fileDirectory = builder.fileDirectory;
+    }
+
+    public StressReport run() {
+        boolean contention = threadBean.isThreadContentionMonitoringSupported();
+        if (contention) {
+            threadBean.setThreadContentionMonitoringEnabled(true);
+        }
+        List<StressReport.ScenarioResult> results = new ArrayList<>();
+        results.add(singletons());
+        results.add(ramPatients());
+        results.add(booking("ram-booking", new RamAppointmentDAO(), bookingDays));
+        if (includeFileStorage) {
+            // Un solo giorno: ogni salvataggio su file scansiona la directory
+            FileAppointmentDAO files = (fileDirectory == null) ? new FileAppointmentDAO()
+                    : new FileAppointmentDAO(fileDirectory);
+            results.add(booking("file-booking", files, 1));
+        }
+        results.add(notifications());
+        StressReport report = new StressReport(results);
+        LOGGER.info(() -> "Stress test completato:" + System.lineSeparator() + report);
+        return report;
+    }
+
+    // --- Scenari ---
+
+    private StressReport.ScenarioResult singletons() {
+        Map<String, Set<Object>> seen = new ConcurrentHashMap<>();
+        Map<String, Supplier<Object>> singletons = Map.of(
+                "ListaVisite", ListaVisite::getIstanzaListaVisite,
+                "ListaPazienti", ListaPazienti::getIstanzaListaPazienti,
+                "ListaSpecialisti", ListaSpecialisti::getIstanzaListaSpecialisti,
+                "NotificationManager", NotificationManager::getInstance,
+                "SessionStore", SessionStore::getInstance,
+                "StartupSettingsEntity", StartupSettingsEntity::getInstance);
+        singletons.keySet().forEach(name -> seen.put(name,
+                Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()))));
+
+        return scenario("singleton", thread -> {
+            long ops = 0;
+            for (int i = 0; i < iterations; i++) {
+                for (Map.Entry<String, Supplier<Object>> entry : singletons.entrySet()) {
+                    seen.get(entry.getKey()).add(entry.getValue().get());
+                    ops++;
+                }
+            }
+            return ops;
+        }, () -> seen.entrySet().stream()
+                .filter(e -> e.getValue().size() != 1)
+                .map(e -> e.getKey() + ": " + e.getValue().size() + " istanze")
+                .toList());
+    }
+
+    private StressReport.ScenarioResult ramPatients() {
+        ListaPazienti lista = ListaPazienti.getIstanzaListaPazienti();
+        InMemoryUserDAO<Paziente> reader = new InMemoryUserDAO<>(lista.getObservableListaPazienti());
+        try {
+            return scenario("ram-pazienti", thread -> {
+                SplittableRandom random = new SplittableRandom(thread);
+                long ops = 0;
+                for (int i = 0; i < iterations; i++) {
+                    lista.aggiungiPaziente(patient(thread, i));
+                    reader.findById(codiceFiscale(thread, random.nextInt(i + 1)));
+                    ops += 2;
+                }
+                // Ogni thread rimuove i propri pazienti di indice pari
+                for (int i = 0; i < iterations; i += 2) {
+                    lista.rimuoviPaziente(codiceFiscale(thread, i));
+                    ops++;
+                }
+                return ops;
+            }, () -> {
+                long expected = (long) threads * (iterations / 2);
+                long actual = lista.getObservableListaPazienti().stream()
+                        .filter(p -> p.getCodiceFiscalePaziente().startsWith(CF_PREFIX)).count();
+                return actual == expected ? List.of()
+                        : List.of("pazienti attesi " + expected + ", presenti " + actual);
+            });
+        } finally {
+            lista.getObservableListaPazienti().removeIf(p -> p.getCodiceFiscalePaziente().startsWith(CF_PREFIX));
+        }
+    }
+
+    private StressReport.ScenarioResult booking(String name, AppointmentRepository repository, int days) {
+        List<Visita> slots = slots(days);
+        AtomicInteger booked = new AtomicInteger();
+        try {
+            return scenario(name, thread -> {
+                // Ogni thread tenta tutti gli slot, in ordine casuale
+                List<Visita> order = new ArrayList<>(slots);
+                Collections.shuffle(order, new Random(thread));
+                for (Visita slot : order) {
+                    if (repository.save(new Visita(codiceFiscale(thread, 0), slot.getData(), slot.getOrario(),
+                            SPECIALIST_ID, "Online", "stress", "Prenotata"))) {
+                        booked.incrementAndGet();
+                    }
+                }
+                return order.size();
+            }, () -> {
+                List<String> violations = new ArrayList<>();
+                List<Visita> stored = repository.findBySpecialistId(SPECIALIST_ID);
+                Map<String, Long> perSlot = stored.stream()
+                        .collect(Collectors.groupingBy(v -> v.getData() + " " + v.getOrario(), Collectors.counting()));
+                perSlot.forEach((slot, count) -> {
+                    if (count > 1) {
+                        violations.add("slot " + slot + " prenotato " + count + " volte");
+                    }
+                });
+                if (booked.get() != slots.size() || perSlot.size() != slots.size()) {
+                    violations.add("slot " + slots.size() + ", prenotazioni riuscite " + booked.get()
+                            + ", slot occupati " + perSlot.size());
+                }
+                return violations;
+            });
+        } finally {
+            repository.findBySpecialistId(SPECIALIST_ID).forEach(repository::delete);
+        }
+    }
+
+    private StressReport.ScenarioResult notifications() {
+        // Istanza privata: le visite sintetiche non entrano nello storico né arrivano agli observer reali
+        NotificationManager manager = NotificationManager.newIsolatedInstance();
+        List<AtomicLong> received = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            AtomicLong counter = new AtomicLong();
+            received.add(counter);
+            manager.attach(arg -> counter.incrementAndGet());
+        }
+        Visita visit = new Visita(codiceFiscale(0, 0), LocalDate.now(), LocalTime.of(FIRST_HOUR, 0),
+                SPECIALIST_ID, "Online", "stress", "Prenotata");
+        return scenario("notifications", thread -> {
+            for (int i = 0; i < iterations; i++) {
+                manager.notifyObservers(visit);
+            }
+            return iterations;
+        }, () -> {
+            long expected = (long) threads * iterations;
+            List<String> violations = new ArrayList<>();
+            for (int i = 0; i < received.size(); i++) {
+                if (received.get(i).get() != expected) {
+                    violations.add("observer " + i + ": " + received.get(i).get() + " notifiche su " + expected);
+                }
+            }
+            long recorded = manager.getNotificationHistory().size();
+            if (recorded != expected) {
+                violations.add("storico: " + recorded + " notifiche su " + expected);
+            }
+            return violations;
+        });
+    }
+
+    // --- Esecuzione ---
+
+    @FunctionalInterface
+    private interface Worker {
+        long run(int thread) throws Exception;
+    }
+
+    private StressReport.ScenarioResult scenario(String name, Worker worker, Supplier<List<String>> invariant) {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong operations = new AtomicLong();
+        AtomicLong blockedCount = new AtomicLong();
+        AtomicLong blockedMillis = new AtomicLong();
+        List<String> violations = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers.add(Thread.ofPlatform().name("stress-" + name + "-" + t).start(() -> {
+                try {
+                    start.await();
+                    operations.addAndGet(worker.run(thread));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    violations.add(Thread.currentThread().getName() + ": " + e);
+                    LOGGER.log(Level.WARNING, "Eccezione nello scenario " + name, e);
+                } finally {
+                    ThreadInfo info = threadBean.getThreadInfo(Thread.currentThread().threadId());
+                    if (info != null) {
+                        blockedCount.addAndGet(info.getBlockedCount());
+                        blockedMillis.addAndGet(info.getBlockedTime());
+                    }
+                }
+            }));
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Thread w : workers) {
+            try {
+                w.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                violations.add("interrotto prima del termine");
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - t0;
+        violations.addAll(invariant.get());
+        boolean timed = threadBean.isThreadContentionMonitoringEnabled();
+        return new StressReport.ScenarioResult(name, threads, operations.get(), elapsed, blockedCount.get(),
+                timed ? blockedMillis.get() : -1, violations);
+    }
+
+    // --- Dati sintetici ---
+
+    private List<Visita> slots(int days) {
+        List<Visita> slots = new ArrayList<>();
+        // Giorni lontani nel futuro, per non toccare prenotazioni reali
+        LocalDate day = ItalianHolidayCalendar.nextWorkingDay(LocalDate.now().plusYears(5));
+        for (int d = 0; d < days; d++) {
+            for (int hour = FIRST_HOUR; hour <= LAST_HOUR; hour++) {
+                slots.add(new Visita(CF_PREFIX, day, LocalTime.of(hour, 0), SPECIALIST_ID, "Online", "stress",
+                        "Prenotata"));
+            }
+            day = ItalianHolidayCalendar.nextWorkingDay(day.plusDays(1));
+        }
+        return slots;
+    }
+
+    private static String codiceFiscale(int thread, int index) {
+        return CF_PREFIX + String.format("%04d%06d", thread, index);
+    }
+
+    private static Paziente patient(int thread, int index) {
+        String cf = codiceFiscale(thread, index);
+        return new Paziente.Builder()
+                .codiceFiscalePaziente(cf)
+                .nome("Stress")
+                .cognome("Test")
+                .dataDiNascita(LocalDate.of(1990, 1, 1))
+                .numeroTelefonico("3330000000")
+                .email(cf.toLowerCase() + "@stress.example")
+                .condizioniMediche("Nessuna")
+                .password("stress")
+                .build();
+    }
+
+    public static class Builder {
+        private int threads = Runtime.getRuntime().availableProcessors() * 4;
+        private int iterations = 1_000;
+        private int bookingDays = 2;
+        private boolean includeFileStorage;
+        private Path fileDirectory;
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder iterations(int iterations) {
+            this.iterations = iterations;
+            return this;
+        }
+
+        public Builder bookingDays(int bookingDays) {
+            this.bookingDays = bookingDays;
+            return this;
+        }
+
+        /** Include the file repository (writes under visite_salvate/ unless a directory is given). */
+        public Builder includeFileStorage(boolean includeFileStorage) {
+            this.includeFileStorage = includeFileStorage;
+            return this;
+        }
+
+        /** Directory for the file-booking scenario, instead of the application's. */
+        public Builder fileDirectory(Path fileDirectory) {
+            this.fileDirectory = fileDirectory;
+            return this;
+        }
+
+        public StressHarness build() {
+            if (threads < 2 || iterations < 1 || bookingDays < 1) {
+                throw new IllegalArgumentException("Servono almeno 2 thread, 1 iterazione e 1 giorno.");
+            }
+            return new StressHarness(this);
+        }
+    }
+
+    /**
+     * Uso: {@code StressHarness [--threads=32] [--iterations=1000] [--days=2] [--files]}
+     */
+    public static void main(String[] args) {
+        Builder builder = new Builder();
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                builder.threads(Integer.parseInt(arg.substring("--threads=".length())));
+            } else if (arg.startsWith("--iterations=")) {
+                builder.iterations(Integer.parseInt(arg.substring("--iterations=".length())));
+            } else if (arg.startsWith("--days=")) {
+                builder.bookingDays(Integer.parseInt(arg.substring("--days=".length())));
+            } else if (arg.equals("--files")) {
+                builder.includeFileStorage(true);
+            }
+        }
+        StressReport report = builder.build().run();
+        System.out.print(report);
+        if (!report.isPassed()) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package stress_harness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Risultato di un'esecuzione dello {@link StressHarness}: uno scenario per
+ * componente, con throughput, contesa sui monitor e invarianti violate.
+ */
+public final class StressReport {
+    private final List<ScenarioResult> scenarios;
+
+    StressReport(List<ScenarioResult> scenarios) {
+        this.scenarios = List.copyOf(scenarios);
+    }
+
+    /**
+     * Esito di un singolo scenario.
+     */
+    public static final class ScenarioResult {
+        private final String name;
+        private final int threads;
+        private final long operations;
+        private final long elapsedNanos;
+        private final long blockedCount;
+        private final long blockedMillis;
+        private final List<String> violations;
+
+        ScenarioResult(String name, int threads, long operations, long elapsedNanos, long blockedCount,
+                long blockedMillis, List<String> violations) {
+            this.name = name;
+            this.threads = threads;
+            this.operations = operations;
+            this.elapsedNanos = elapsedNanos;
+            this.blockedCount = blockedCount;
+            this.blockedMillis = blockedMillis;
+            this.violations = List.copyOf(violations);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public long getOperations() {
+            return operations;
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNanos / 1e9;
+        }
+
+        public double getOperationsPerSecond() {
+            return operations / Math.max(getElapsedSeconds(), 1e-9);
+        }
+
+        /** Volte in cui un thread si è bloccato in attesa di un monitor. */
+        public long getBlockedCount() {
+            return blockedCount;
+        }
+
+        /** Tempo totale di attesa sui monitor, -1 se la JVM non lo misura. */
+        public long getBlockedMillis() {
+            return blockedMillis;
+        }
+
+        public List<String> getViolations() {
+            return violations;
+        }
+
+        public boolean isPassed() {
+            return violations.isEmpty();
+        }
+    }
+
+    public List<ScenarioResult> getScenarios() {
+        return scenarios;
+    }
+
+    public Optional<ScenarioResult> getScenario(String name) {
+        return scenarios.stream().filter(s -> s.getName().equals(name)).findFirst();
+    }
+
+    public List<String> getViolations() {
+        List<String> all = new ArrayList<>();
+        for (ScenarioResult scenario : scenarios) {
+            scenario.getViolations().forEach(v -> all.add(scenario.getName() + ": " + v));
+        }
+        return all;
+    }
+
+    public boolean isPassed() {
+        return scenarios.stream().allMatch(ScenarioResult::isPassed);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("  %-16s %7s %10s %9s %12s %9s %11s %s%n",
+                "scenario", "thread", "op", "s", "op/s", "blocchi", "blocchi ms", "esito"));
+        for (ScenarioResult s : scenarios) {
+            sb.append(String.format("  %-16s %7d %10d %9.2f %12.0f %9d %11s %s%n",
+                    s.getName(), s.getThreads(), s.getOperations(), s.getElapsedSeconds(),
+                    s.getOperationsPerSecond(), s.getBlockedCount(),
+                    s.getBlockedMillis() < 0 ? "n/d" : String.valueOf(s.getBlockedMillis()),
+                    s.isPassed() ? "OK" : "VIOLATO"));
+            s.getViolations().forEach(v -> sb.append("      - ").append(v).append(System.lineSeparator()));
+        }
+        return sb.toString();
+    }
+}
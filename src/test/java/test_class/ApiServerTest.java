@@ -0,0 +1,128 @@
+package test_class;
+
+import authentication.CredentialIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import http_api.ApiServer;
+import model.Paziente;
+import model.Specialista;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import patient_dashboard.book_appointment.ItalianHolidayCalendar;
+import patient_dashboard.book_appointment.SpecialistDirectory;
+import session_manager.Session;
+import session_manager.SessionStore;
+import startupconfig.StartupConfigBean;
+import startupconfig.StartupSettingsEntity;
+import storage_liste.ListaPazienti;
+import storage_liste.ListaSpecialisti;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(LowBcryptCostExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ApiServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    @Test
+    @Order(1)
+    void testHeadlessApiBooksAndShowsAgenda() throws Exception {
+        StartupSettingsEntity.getInstance().setStorageOption(0);
+        Paziente paziente = new Paziente.Builder().codiceFiscalePaziente("APITST80A01H501Z")
+                .nome("Luca").cognome("Api").email("luca.api@test.it").password("pass").build();
+        Specialista specialista = new Specialista.Builder().id(9036).nome("Sara").cognome("Api")
+                .email("sara.api@test.it").specializzazione("Logopedia").password("pass").build();
+        ListaPazienti.getIstanzaListaPazienti().aggiungiPaziente(paziente);
+        ListaSpecialisti.getIstanzaListaSpecialisti().aggiungiSpecialista(specialista);
+        CredentialIndex.invalidateAll();
+        SpecialistDirectory.invalidateAll();
+
+        try (ApiServer server = new ApiServer(new StartupConfigBean(false, 0),
+                new InetSocketAddress("127.0.0.1", 0))) {
+            server.start();
+            String base = "http://127.0.0.1:" + server.getPort() + "/api/";
+            ObjectMapper json = new ObjectMapper();
+
+            assertEquals(401, post(base + "login", "{\"email\":\"luca.api@test.it\",\"password\":\"x\"}")
+                    .statusCode());
+            String patientToken = json.readTree(post(base + "login",
+                    "{\"email\":\"luca.api@test.it\",\"password\":\"pass\"}").body()).get("token").asText();
+            String specialistToken = json.readTree(post(base + "login",
+                    "{\"email\":\"sara.api@test.it\",\"password\":\"pass\"}").body()).get("token").asText();
+
+            LocalDate day = ItalianHolidayCalendar.nextWorkingDay(LocalDate.now().plusDays(30));
+            String booking = String.format("{\"name\":\"Luca\",\"surname\":\"Api\",\"dateOfBirth\":\"01/01/1980\","
+                    + "\"phone\":\"3331234567\",\"email\":\"luca.api@test.it\",\"specialist\":\"Sara Api\","
+                    + "\"specialistId\":9036,\"date\":\"%s\",\"time\":\"09:00\",\"serviceType\":\"Online\","
+                    + "\"reason\":\"Controllo\"}", day);
+            HttpRequest.Builder book = HttpRequest.newBuilder(URI.create(base + "appointments"))
+                    .POST(HttpRequest.BodyPublishers.ofString(booking));
+            assertEquals(401, send(book.build()).statusCode(), "Booking requires a session token.");
+            assertEquals(200, send(book.header("Authorization", "Bearer " + patientToken).build()).statusCode());
+
+            HttpResponse<String> slots = send(HttpRequest.newBuilder(
+                    URI.create(base + "slots?specialistId=9036&from=" + day)).build());
+            assertFalse(slots.body().contains("09:00"), "The booked slot must no longer be free: " + slots.body());
+
+            HttpResponse<String> agenda = send(HttpRequest.newBuilder(URI.create(base + "agenda"))
+                    .header("Authorization", "Bearer " + specialistToken).build());
+            assertEquals(200, agenda.statusCode());
+            assertTrue(agenda.body().contains("Luca Api"), agenda.body());
+            assertEquals(204, send(HttpRequest.newBuilder(URI.create(base + "agenda?date=" + day + "&time=09:00"))
+                    .header("Authorization", "Bearer " + specialistToken).DELETE().build()).statusCode());
+        } finally {
+            ListaPazienti.getIstanzaListaPazienti().rimuoviPaziente("APITST80A01H501Z");
+            ListaSpecialisti.getIstanzaListaSpecialisti().rimuoviSpecialista("sara.api@test.it");
+            CredentialIndex.invalidateAll();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void testApiServerListensOnLoopbackByDefault() throws Exception {
+        try (ApiServer server = ApiServer.start(new StartupConfigBean(false, 0), 0)) {
+            assertTrue(server.getAddress().getAddress().isLoopbackAddress());
+        }
+    }
+
+    @Test
+    @Order(3)
+    void testApiServerRejectsIncompleteAndOversizedRequests() throws Exception {
+        Paziente paziente = new Paziente.Builder().codiceFiscalePaziente("APIBAD80A01H501Z")
+                .nome("Anna").cognome("Api").email("anna.api@test.it").password("pass").build();
+        Session session = SessionStore.getInstance().create(paziente);
+        try (ApiServer server = ApiServer.start(new StartupConfigBean(false, 0), 0)) {
+            String base = "http://127.0.0.1:" + server.getPort() + "/api/";
+            LocalDate day = ItalianHolidayCalendar.nextWorkingDay(LocalDate.now().plusDays(30));
+
+            assertEquals(400, send(HttpRequest.newBuilder(URI.create(base + "slots?from=" + day)).build())
+                    .statusCode(), "specialistId is required.");
+
+            HttpResponse<String> noName = send(HttpRequest.newBuilder(URI.create(base + "appointments"))
+                    .header("Authorization", "Bearer " + session.getToken())
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"specialistId\":9036,\"specialist\":\"Sara Api\"}"))
+                    .build());
+            assertEquals(400, noName.statusCode(), noName.body());
+
+            assertEquals(413, post(base + "login", "{\"email\":\"" + "a".repeat(32 * 1024) + "\"}")
+                    .statusCode());
+        } finally {
+            SessionStore.getInstance().invalidate(session.getToken());
+        }
+    }
+
+    private HttpResponse<String> post(String uri, String body) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(uri)).POST(HttpRequest.BodyPublishers.ofString(body)).build());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
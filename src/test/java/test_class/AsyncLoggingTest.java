@@ -0,0 +1,84 @@
+package test_class;
+
+import app_logging.AppLog;
+import app_logging.AsyncLogHandler;
+import app_logging.SamplingFilter;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AsyncLoggingTest {
+
+    @Test
+    @Order(1)
+    void testAsyncSampledLogging() {
+        assertFalse(AppLog.DEBUG, "Debug traces are off unless -Dmindlab.debug=true.");
+
+        Properties config = new Properties();
+        config.setProperty("mindlab.log.rate.test.limited", "5");
+        config.setProperty("mindlab.log.sample.test.sampled", "3");
+        SamplingFilter filter = SamplingFilter.fromProperties(config);
+        int limited = 0;
+        int sampled = 0;
+        for (int i = 0; i < 20; i++) {
+            limited += filter.isLoggable(record(Level.INFO, "test.limited.Child")) ? 1 : 0;
+            sampled += i < 9 && filter.isLoggable(record(Level.INFO, "test.sampled")) ? 1 : 0;
+        }
+        assertEquals(5, limited, "Rate limit of the parent category applies to children.");
+        assertEquals(3, sampled, "One record in three is kept.");
+        assertEquals(15, filter.getSuppressed("test.limited.Child"));
+        assertTrue(filter.isLoggable(record(Level.WARNING, "test.limited.Child")));
+
+        List<String> writers = new CopyOnWriteArrayList<>();
+        List<LogRecord> written = new CopyOnWriteArrayList<>();
+        Handler target = new Handler() {
+            @Override
+            public void publish(LogRecord logRecord) {
+                writers.add(Thread.currentThread().getName());
+                written.add(logRecord);
+            }
+
+            @Override
+            public void flush() {
+                // Nessun buffer
+            }
+
+            @Override
+            public void close() {
+                // Nessuna risorsa
+            }
+        };
+        AsyncLogHandler handler = new AsyncLogHandler(target);
+        Logger logger = Logger.getLogger("test.async");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+        try {
+            for (int i = 0; i < 100; i++) {
+                logger.info("record " + i);
+            }
+            handler.flush();
+            assertEquals(100, written.size());
+            assertTrue(writers.stream().allMatch("log-writer"::equals), "Records are written off the caller.");
+            assertEquals(getClass().getName(), written.get(0).getSourceClassName(),
+                    "The caller is resolved before the record is queued.");
+        } finally {
+            logger.removeHandler(handler);
+            handler.close();
+        }
+    }
+
+    private static LogRecord record(Level level, String loggerName) {
+        LogRecord logRecord = new LogRecord(level, "msg");
+        logRecord.setLoggerName(loggerName);
+        return logRecord;
+    }
+}
@@ -0,0 +1,93 @@
+package test_class;
+
+import app_cds.CdsLauncher;
+import app_cds.CdsMeasurement;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CdsLauncherTest {
+
+    @Test
+    @Order(1)
+    void testArgFileQuotingRoundTrips() {
+        for (String value : new String[] { "/opt/mind lab/mindlab.jsa", "C:\\Program Files\\MindLab\\app.jar",
+                "-XX:SharedArchiveFile=/tmp/\"quoted\".jsa" }) {
+            String quoted = CdsLauncher.quote(value);
+            assertTrue(quoted.startsWith("\"") && quoted.endsWith("\""), quoted);
+            assertEquals(value, CdsLauncher.unquote(quoted));
+        }
+        assertEquals("\"C:\\\\app\"", CdsLauncher.quote("C:\\app"), "Backslashes are doubled in @argfiles.");
+        assertEquals("plain", CdsLauncher.unquote("plain"));
+    }
+
+    @Test
+    @Order(2)
+    void testClassPathDirectoriesArePackedIntoJars() throws IOException {
+        Path dir = Files.createTempDirectory("mindlab-cds-pack");
+        try {
+            Path classes = Files.createDirectories(dir.resolve("classes/app"));
+            Files.writeString(classes.resolve("Main.class"), "x");
+            Files.createDirectories(dir.resolve("classes/META-INF"));
+            Files.writeString(dir.resolve("classes/META-INF/MANIFEST.MF"), "Manifest-Version: 1.0\n");
+            Path library = Files.writeString(dir.resolve("lib.jar"), "");
+            String classPath = String.join(File.pathSeparator, dir.resolve("classes").toString(),
+                    library.toString(), dir.resolve("missing.jar").toString());
+
+            String packed = CdsLauncher.packClassPath(classPath, dir.resolve("jars"));
+
+            List<String> entries = List.of(packed.split(File.pathSeparator));
+            assertEquals(2, entries.size(), "Missing entries are dropped: " + packed);
+            assertEquals(library.toAbsolutePath().toString(), entries.get(1));
+            try (JarFile jar = new JarFile(entries.get(0))) {
+                assertTrue(entries.get(0).startsWith(dir.resolve("jars").toAbsolutePath().toString()));
+                assertNotNull(jar.getEntry("app/Main.class"));
+                assertNotNull(jar.getManifest(), "The JAR keeps a single generated manifest.");
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    // Avvia tre JVM figlie: esclusa dal build normale, gira con -Pintegration
+    @Test
+    @Order(3)
+    @Tag("integration")
+    void testCdsTrainingBuildsArchiveAndMeasuresStartup() throws Exception {
+        Path dir = Files.createTempDirectory("mindlab-cds");
+        try {
+            CdsLauncher launcher = new CdsLauncher.Builder()
+                    .archive(dir.resolve("mindlab.jsa"))
+                    .runs(1)
+                    .build();
+            Path argFile = launcher.train();
+
+            assertTrue(Files.size(launcher.getArchive()) > 0);
+            List<String> args = Files.readAllLines(argFile);
+            assertTrue(args.contains(CdsLauncher.quote("-XX:SharedArchiveFile=" + launcher.getArchive())));
+            assertEquals("startupconfig.AppLauncher", args.get(args.size() - 1));
+
+            CdsMeasurement measurement = launcher.measure();
+            assertEquals(1, measurement.getRuns());
+            assertTrue(measurement.getColdReadyMillis() > 0 && measurement.getArchivedReadyMillis() > 0);
+        } finally {
+            delete(dir);
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package test_class;
+
+import org.junit.jupiter.api.*;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CliLaunchTest {
+
+    // Avvia una JVM figlia: esclusa dal build normale, gira con -Pintegration
+    @Test
+    @Order(1)
+    @Tag("integration")
+    void testCliLaunchNeverLoadsJavaFx() throws Exception {
+        Path output = Files.createTempFile("cli-classes", ".log");
+        try {
+            List<String> command = new ArrayList<>(List.of(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+            command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                    .filter("--enable-preview"::equals).toList());
+            command.addAll(List.of("-Xlog:class+load=info", "-cp", System.getProperty("java.class.path"),
+                    "startupconfig.AppLauncher", "--cli", "--storage=0"));
+            Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                    .redirectOutput(output.toFile()).start();
+            try {
+                // Login come paziente, poi uscita da dashboard e menu iniziale
+                try (Writer stdin = new OutputStreamWriter(process.getOutputStream())) {
+                    stdin.write("2\npaziente@test.it\npass\n5\n5\n5\n");
+                }
+                assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+            } finally {
+                process.destroyForcibly();
+            }
+
+            String log = Files.readString(output);
+            assertTrue(log.contains("storage_liste.ConcurrentList"), "The RAM storage was used.");
+            assertTrue(log.contains("PatientDashboardViewCli"), "The CLI reached the patient dashboard.");
+            assertFalse(log.contains("javafx."), "No JavaFX class is loaded on the CLI path.");
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package test_class;
+
+import authentication.CredentialIndex;
+import cli_server.CliServer;
+import model.Paziente;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import startupconfig.StartupConfigBean;
+import startupconfig.StartupSettingsEntity;
+import storage_liste.ListaPazienti;
+
+import java.lang.management.ManagementFactory;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(LowBcryptCostExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CliServerTest {
+
+    @Test
+    @Order(1)
+    void testCliServerIsolatesConcurrentConnections() throws Exception {
+        StartupSettingsEntity settings = StartupSettingsEntity.getInstance();
+        settings.setInterfaceMode(false);
+        settings.setStorageOption(0);
+        String[] names = { "Bruno", "Carla" };
+        for (String name : names) {
+            ListaPazienti.getIstanzaListaPazienti().aggiungiPaziente(new Paziente.Builder()
+                    .codiceFiscalePaziente("CLI" + name).nome(name).cognome("Cli")
+                    .email(name.toLowerCase() + ".cli@test.it").password("pass").build());
+        }
+        CredentialIndex.invalidateAll();
+
+        try (CliServer server = CliServer.onLoopback(0, new StartupConfigBean(false, 0))) {
+            server.start();
+            SocketAddress address = server.getLocalAddress();
+            List<Future<String>> sessions = new ArrayList<>();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (String name : names) {
+                    sessions.add(clients.submit(() -> {
+                        try (SocketChannel client = SocketChannel.open(address)) {
+                            String script = "2\n" + name.toLowerCase() + ".cli@test.it\npass\n0\n5\n";
+                            client.write(ByteBuffer.wrap(script.getBytes(StandardCharsets.UTF_8)));
+                            client.shutdownOutput();
+                            return new String(Channels.newInputStream(client).readAllBytes(), StandardCharsets.UTF_8);
+                        }
+                    }));
+                }
+                for (int i = 0; i < names.length; i++) {
+                    String output = sessions.get(i).get(20, TimeUnit.SECONDS);
+                    assertTrue(output.contains("Ciao, " + names[i] + "!"), output);
+                    assertTrue(output.contains("Arrivederci, " + names[i] + "!"), output);
+                }
+            }
+        } finally {
+            settings.setInterfaceMode(true);
+            for (String name : names) {
+                ListaPazienti.getIstanzaListaPazienti().rimuoviPaziente("CLI" + name);
+            }
+            CredentialIndex.invalidateAll();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void testInvalidServerOptionsPrintUsage() throws Exception {
+        for (String invalid : new String[] { "--port=abc", "--storage=7" }) {
+            List<String> command = new ArrayList<>(List.of(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+            command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                    .filter("--enable-preview"::equals).toList());
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), "startupconfig.AppLauncher",
+                    "--cli-server", invalid));
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            process.getOutputStream().close();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+            assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+            assertTrue(output.contains("Uso: --cli-server"), output);
+            assertFalse(output.contains("Exception"), output);
+        }
+    }
+}
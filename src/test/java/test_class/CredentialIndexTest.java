@@ -0,0 +1,137 @@
+package test_class;
+
+import authentication.AuthenticationResult;
+import authentication.AuthenticationService;
+import authentication.CredentialIndex;
+import authentication.UserDAO;
+import login_insert_data.LoginBean;
+import model.Paziente;
+import model.Specialista;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(LowBcryptCostExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CredentialIndexTest {
+
+    private UserDAO<Paziente> pazDAO;
+    private UserDAO<Specialista> specDAO;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        pazDAO = mock(UserDAO.class);
+        specDAO = mock(UserDAO.class);
+    }
+
+    @Test
+    @Order(1)
+    void testSpecialistLoginUsesSingleIndexedLookup() {
+        Specialista specialista = new Specialista.Builder()
+                .id(7).nome("Giulia").cognome("Bianchi").email("giulia@test.it")
+                .specializzazione("Psicologia").password("pass").build();
+        when(pazDAO.getAllInstanceOfActor()).thenReturn(List.of());
+        when(specDAO.getAllInstanceOfActor()).thenReturn(List.of(specialista));
+        when(specDAO.authenticateByEmailAndPassword("GIULIA@test.it", "pass")).thenReturn(Optional.of(specialista));
+
+        AuthenticationService service = new AuthenticationService(pazDAO, specDAO);
+        AuthenticationResult result = service.authenticate(new LoginBean("GIULIA@test.it", "pass"));
+
+        assertTrue(result.isSuccess());
+        assertEquals("Specialist", result.getUserType());
+        verify(pazDAO, never()).authenticateByEmailAndPassword(any(), any());
+        verify(specDAO, times(1)).authenticateByEmailAndPassword(any(), any());
+    }
+
+    @Test
+    @Order(2)
+    void testUnknownEmailRejectedWithoutStorageAccess() {
+        List<Paziente> pazienti = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            pazienti.add(new Paziente.Builder().codiceFiscalePaziente("CF" + i).nome("N").cognome("C")
+                    .email("paziente" + i + "@test.it").password("pass").build());
+        }
+        when(pazDAO.getAllInstanceOfActor()).thenReturn(pazienti);
+        when(specDAO.getAllInstanceOfActor()).thenReturn(List.of());
+
+        CredentialIndex index = new CredentialIndex();
+        index.ensureLoaded(pazDAO, specDAO);
+        assertTrue(pazienti.stream().allMatch(p -> index.mightExist(p.getEmail(), CredentialIndex.Role.PATIENT)),
+                "Bloom filters have no false negatives.");
+
+        AuthenticationService service = new AuthenticationService(pazDAO, specDAO, index);
+        for (int i = 0; i < 50; i++) {
+            assertFalse(service.authenticate(new LoginBean("attacker" + i + "@evil.it", "x")).isSuccess());
+        }
+        long storageHits = mockingDetails(pazDAO).getInvocations().stream()
+                .filter(inv -> !inv.getMethod().getName().equals("getAllInstanceOfActor")).count()
+                + mockingDetails(specDAO).getInvocations().stream()
+                        .filter(inv -> !inv.getMethod().getName().equals("getAllInstanceOfActor")).count();
+        assertTrue(storageHits <= 4, "Unknown emails should almost never reach storage: " + storageHits);
+    }
+
+    @Test
+    @Order(3)
+    void testWrongPasswordOnIndexedAccountNeedsOneLookup() {
+        Specialista specialista = new Specialista.Builder()
+                .id(8).nome("Marco").cognome("Neri").email("marco@test.it")
+                .specializzazione("Psicologia").password("pass").build();
+        when(pazDAO.getAllInstanceOfActor()).thenReturn(List.of());
+        when(specDAO.getAllInstanceOfActor()).thenReturn(List.of(specialista));
+        when(specDAO.authenticateByEmailAndPassword("marco@test.it", "pass")).thenReturn(Optional.of(specialista));
+
+        AuthenticationService service = new AuthenticationService(pazDAO, specDAO);
+        assertFalse(service.authenticate(new LoginBean("marco@test.it", "wrong")).isSuccess());
+        assertTrue(service.authenticate(new LoginBean("marco@test.it", "pass")).isSuccess(),
+                "A wrong password must not drop the index entry.");
+
+        verify(specDAO, times(2)).authenticateByEmailAndPassword(any(), any());
+        verify(specDAO, never()).findByEmail(any());
+        verify(pazDAO, never()).authenticateByEmailAndPassword(any(), any());
+    }
+
+    @Test
+    @Order(4)
+    void testFailedLoadDoesNotLockAccountsOut() {
+        Paziente mario = paziente("MARIO", "mario@test.it");
+        Paziente anna = paziente("ANNA", "anna@test.it");
+        // Primo caricamento vuoto (MySQL non pronto), poi lo storage risponde; Anna si registra dopo
+        when(pazDAO.getAllInstanceOfActor()).thenReturn(List.of(), List.of(mario), List.of(mario, anna));
+        when(specDAO.getAllInstanceOfActor()).thenReturn(List.of());
+        when(pazDAO.authenticateByEmailAndPassword("mario@test.it", "pass")).thenReturn(Optional.of(mario));
+        when(pazDAO.authenticateByEmailAndPassword("anna@test.it", "pass")).thenReturn(Optional.of(anna));
+
+        long[] now = { 0 };
+        CredentialIndex index = new CredentialIndex(Duration.ofMinutes(2), () -> now[0]);
+        AuthenticationService service = new AuthenticationService(pazDAO, specDAO, index);
+        assertTrue(service.authenticate(new LoginBean("mario@test.it", "pass")).isSuccess(),
+                "An empty load must not lock every account out.");
+        assertFalse(index.isTrusted());
+
+        // Retried shortly after the empty load: the filters are trusted again
+        now[0] += Duration.ofSeconds(6).toNanos();
+        assertFalse(service.authenticate(new LoginBean("ghost@test.it", "x")).isSuccess());
+        assertTrue(index.isTrusted());
+        verify(pazDAO, never()).authenticateByEmailAndPassword(eq("ghost@test.it"), any());
+
+        // An account created after the load can log in once the TTL has expired
+        now[0] += Duration.ofMinutes(2).toNanos();
+        assertTrue(service.authenticate(new LoginBean("anna@test.it", "pass")).isSuccess());
+        verify(pazDAO, times(3)).getAllInstanceOfActor();
+    }
+
+    private static Paziente paziente(String nome, String email) {
+        return new Paziente.Builder().codiceFiscalePaziente("CF" + nome).nome(nome).cognome("Test")
+                .email(email).password("pass").build();
+    }
+}
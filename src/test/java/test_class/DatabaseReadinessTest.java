@@ -0,0 +1,80 @@
+package test_class;
+
+import org.junit.jupiter.api.*;
+import storage_db.DatabaseReadiness;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DatabaseReadinessTest {
+
+    @Test
+    @Order(1)
+    void testDatabaseReadinessProbesInBackground() throws Exception {
+        CountDownLatch scriptRunning = new CountDownLatch(1);
+        CountDownLatch releaseScript = new CountDownLatch(1);
+        AtomicInteger probes = new AtomicInteger();
+        DatabaseReadiness readiness = new DatabaseReadiness.Builder()
+                .probe(() -> probes.incrementAndGet() >= 3)
+                .initialDelay(Duration.ofMillis(5))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        readiness.start(() -> {
+            scriptRunning.countDown();
+            try {
+                releaseScript.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        // Il chiamante non attende lo script di avvio
+        assertTrue(scriptRunning.await(5, TimeUnit.SECONDS));
+        assertEquals(DatabaseReadiness.State.STARTING, readiness.getState());
+        releaseScript.countDown();
+
+        assertTrue(readiness.awaitReady());
+        assertEquals(DatabaseReadiness.State.READY, readiness.getState());
+        assertEquals(3, readiness.getAttempts(), "Ready on the third probe, with backoff in between.");
+
+        DatabaseReadiness unreachable = new DatabaseReadiness.Builder()
+                .probe(() -> false)
+                .initialDelay(Duration.ofMillis(5))
+                .timeout(Duration.ofMillis(100))
+                .build();
+        unreachable.start(() -> { });
+        assertFalse(unreachable.awaitReady());
+        assertEquals(DatabaseReadiness.State.FAILED, unreachable.getState());
+    }
+
+    @Test
+    @Order(2)
+    void testFailFastThreadDoesNotWaitForStartup() throws Exception {
+        CountDownLatch releaseScript = new CountDownLatch(1);
+        DatabaseReadiness readiness = new DatabaseReadiness.Builder()
+                .probe(() -> true)
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        readiness.failFastOn(Thread.currentThread());
+        readiness.start(() -> {
+            try {
+                releaseScript.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Il thread "FX" non attende; gli altri thread sì
+        assertTrue(readiness.shouldFailFast());
+        assertFalse(CompletableFuture.supplyAsync(readiness::shouldFailFast).get(5, TimeUnit.SECONDS));
+        releaseScript.countDown();
+        assertTrue(readiness.awaitReady());
+        assertFalse(readiness.shouldFailFast(), "Once ready every thread connects normally.");
+    }
+}
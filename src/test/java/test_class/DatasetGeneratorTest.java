@@ -0,0 +1,59 @@
+package test_class;
+
+import dataset_generator.CodiceFiscale;
+import dataset_generator.DatasetExporter;
+import dataset_generator.DatasetGenerator;
+import model.Paziente;
+import model.Visita;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import patient_dashboard.book_appointment.ItalianHolidayCalendar;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(LowBcryptCostExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DatasetGeneratorTest {
+
+    @Test
+    @Order(1)
+    void testDatasetGeneratorProducesConsistentData(@TempDir Path dir) throws Exception {
+        DatasetGenerator generator = new DatasetGenerator.Builder()
+                .patients(300).specialists(5).visits(2000).slotDensity(0.5).seed(7)
+                .dateRange(LocalDate.of(2025, 12, 1), LocalDate.of(2026, 1, 31))
+                .build();
+
+        List<Paziente> pazienti = generator.pazienti().toList();
+        assertTrue(pazienti.stream().allMatch(p -> CodiceFiscale.isValid(p.getCodiceFiscalePaziente())));
+        assertEquals(300, pazienti.stream().map(Paziente::getCodiceFiscalePaziente).distinct().count());
+
+        List<Visita> visite = generator.visite().toList();
+        assertFalse(visite.isEmpty());
+        assertTrue(visite.size() <= 2000);
+        assertTrue(visite.stream().allMatch(v -> ItalianHolidayCalendar.isWorkingDay(v.getData())),
+                "No visits on weekends or holidays.");
+        assertEquals(visite.size(), visite.stream()
+                .map(v -> v.getSpecialistaId() + "|" + v.getData() + "|" + v.getOrario()).distinct().count());
+        assertEquals(visite.size(), visite.stream()
+                .map(v -> v.getPazienteCodiceFiscale() + "|" + v.getData() + "|" + v.getOrario()).distinct().count());
+        assertEquals(visite, generator.visite().parallel().toList(), "Generation must be deterministic.");
+
+        DatasetExporter.Counts files = DatasetExporter.writeFiles(generator, dir);
+        assertEquals(visite.size(), files.getVisits());
+        try (Stream<Path> written = Files.list(dir.resolve("visite_salvate"))) {
+            assertEquals(visite.size(), written.count());
+        }
+        Path sql = dir.resolve("dataset.sql");
+        DatasetExporter.writeSql(generator, sql);
+        String script = Files.readString(sql);
+        assertTrue(script.contains("INSERT INTO visite"));
+        assertTrue(script.trim().endsWith("SET autocommit=1;"));
+    }
+}
@@ -0,0 +1,76 @@
+package test_class;
+
+import authentication.UserDAO;
+import authentication.factory.DAOFactory;
+import model.Specialista;
+import model.Visita;
+import org.junit.jupiter.api.*;
+import org.mockito.MockedStatic;
+import patient_dashboard.book_appointment.AppointmentRepository;
+import patient_dashboard.book_appointment.BookAppointmentControllerApp;
+import patient_dashboard.book_appointment.EarliestSlotSearch;
+import patient_dashboard.book_appointment.ItalianHolidayCalendar;
+import patient_dashboard.book_appointment.SlotCandidate;
+import patient_dashboard.book_appointment.SpecialistDirectory;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class EarliestSlotSearchTest {
+
+    @BeforeEach
+    void setUp() {
+        SpecialistDirectory.invalidateAll();
+    }
+
+    @Test
+    @Order(1)
+    void testEarliestSlotsAcrossSpecialists() {
+        LocalDate monday = LocalDate.now().plusDays(7);
+        while (monday.getDayOfWeek().getValue() != 1 || ItalianHolidayCalendar.isItalianHoliday(monday)) {
+            monday = monday.plusDays(1);
+        }
+        List<Specialista> specialists = List.of(
+                specialist(10, "Dermatologia"), specialist(11, "Dermatologia"), specialist(12, "Cardiologia"));
+        // Specialist 10 already has 08:00 booked on the first Monday
+        Visita busy = new Visita("MRARSS80A01H501Z", monday, LocalTime.of(8, 0), 10, "Online", "", "Prenotata");
+
+        try (MockedStatic<DAOFactory> daoFactoryMockedStatic = mockStatic(DAOFactory.class)) {
+            AppointmentRepository mockRepo = mock(AppointmentRepository.class);
+            @SuppressWarnings("unchecked")
+            UserDAO<Specialista> mockSpecDAO = mock(UserDAO.class);
+            daoFactoryMockedStatic.when(() -> DAOFactory.createDAOs(any()))
+                    .thenReturn(new DAOFactory.DAOPair(null, mockSpecDAO, mockRepo));
+            when(mockSpecDAO.getAllInstanceOfActor()).thenReturn(specialists);
+            when(mockRepo.findBySpecialistAndDateRange(anyInt(), any(), any())).thenReturn(List.of());
+            when(mockRepo.findBySpecialistAndDateRange(eq(10), any(), any())).thenReturn(List.of(busy));
+
+            List<SlotCandidate> result = new EarliestSlotSearch(new BookAppointmentControllerApp()).findEarliest(
+                    "dermatologia", "Online", monday.atStartOfDay(), 30, 3, null);
+
+            assertEquals(3, result.size());
+            assertEquals(11, result.get(0).getSpecialistId());
+            assertEquals(LocalTime.of(8, 0), result.get(0).getTime());
+            LocalDate firstMonday = monday;
+            assertTrue(result.stream().allMatch(c -> c.getDate().equals(firstMonday)));
+            assertTrue(result.stream().noneMatch(c -> c.getSpecialistId() == 12), "Wrong specialization.");
+            verify(mockRepo, never()).findBySpecialistAndDateRange(eq(12), any(), any());
+        }
+    }
+
+    private static Specialista specialist(int id, String specialization) {
+        return new Specialista.Builder()
+                .id(id)
+                .nome("Nome" + id)
+                .cognome("Cognome" + id)
+                .email("spec" + id + "@test.it")
+                .specializzazione(specialization)
+                .password("pass")
+                .build();
+    }
+}
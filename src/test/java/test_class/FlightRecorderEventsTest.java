@@ -0,0 +1,93 @@
+package test_class;
+
+import authentication.AuthenticationService;
+import authentication.CredentialIndex;
+import authentication.UserDAO;
+import authentication.factory.DAOFactory;
+import flight_recorder.StorageTrace;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Paziente;
+import model.Visita;
+import org.junit.jupiter.api.*;
+import org.mockito.MockedStatic;
+import patient_dashboard.book_appointment.AppointmentRepository;
+import patient_dashboard.book_appointment.BookAppointmentBean;
+import patient_dashboard.book_appointment.BookAppointmentControllerApp;
+import patient_dashboard.book_appointment.ItalianHolidayCalendar;
+import patient_dashboard.book_appointment.SlotAvailability;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FlightRecorderEventsTest {
+
+    @Test
+    @Order(1)
+    @SuppressWarnings("unchecked")
+    void testFlightRecorderEventsAreEmitted() throws Exception {
+        BookAppointmentControllerApp controller = new BookAppointmentControllerApp();
+        Paziente paziente = new Paziente.Builder().codiceFiscalePaziente("MRARSS80A01H501Z").nome("MARIO")
+                .cognome("ROSSI").email("mario.rossi@email.com").password("password")
+                .dataDiNascita(LocalDate.of(1980, 1, 1)).build();
+        BookAppointmentBean bean = new BookAppointmentBean();
+        bean.setSpecialistId(1);
+        bean.setSpecialist("Dr. Smith");
+        bean.setName("Mario");
+        bean.setSurname("Rossi");
+        bean.setPhone("3331234567");
+        bean.setDateOfBirth("01/01/1980");
+        bean.setServiceType("Online");
+        bean.setReason("Consultazione");
+        bean.setDate(ItalianHolidayCalendar.nextWorkingDay(LocalDate.now().plusDays(1)));
+        bean.setTime(LocalTime.of(10, 0));
+
+        Path dump = Files.createTempFile("mindlab", ".jfr");
+        try (Recording recording = new Recording();
+                MockedStatic<DAOFactory> daoFactoryMockedStatic = mockStatic(DAOFactory.class)) {
+            for (String name : new String[] { "Booking", "SlotLookup", "Login", "NotificationDispatch",
+                    "StorageOperation" }) {
+                recording.enable("mindlab." + name).withThreshold(Duration.ZERO);
+            }
+            AppointmentRepository mockRepo = mock(AppointmentRepository.class);
+            daoFactoryMockedStatic.when(() -> DAOFactory.createDAOs(any()))
+                    .thenReturn(new DAOFactory.DAOPair(null, null, mockRepo));
+            when(mockRepo.save(any(Visita.class))).thenReturn(true);
+
+            recording.start();
+            assertEquals("SUCCESS", controller.bookAppointment(bean, paziente));
+            controller.getAvailableSlots(bean);
+            new AuthenticationService(mock(UserDAO.class), mock(UserDAO.class), new CredentialIndex(), 1)
+                    .authenticate(null);
+            StorageTrace.write("File", "Visita", "salva", () -> true);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        Map<String, RecordedEvent> events = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            events.put(event.getEventType().getName(), event);
+        }
+        Files.deleteIfExists(dump);
+
+        RecordedEvent booking = events.get("mindlab.Booking");
+        assertNotNull(booking);
+        assertEquals("SUCCESS", booking.getString("result"));
+        assertEquals(1, booking.getInt("specialistId"));
+        assertEquals(SlotAvailability.SLOTS_PER_DAY, events.get("mindlab.SlotLookup").getInt("freeSlots"));
+        assertFalse(events.get("mindlab.Login").getBoolean("success"));
+        assertEquals("Database", events.get("mindlab.Login").getString("dao"));
+        assertNotNull(events.get("mindlab.NotificationDispatch"));
+        assertEquals("salva", events.get("mindlab.StorageOperation").getString("operation"));
+    }
+}
@@ -0,0 +1,45 @@
+package test_class;
+
+import org.junit.jupiter.api.*;
+import patient_dashboard.book_appointment.ItalianHolidayCalendar;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ItalianHolidayCalendarTest {
+
+    @Test
+    @Order(1)
+    void testHolidayCalendarBulkQueries() {
+        // Pasquetta 2027 is Monday 29 March
+        assertTrue(ItalianHolidayCalendar.isItalianHoliday(LocalDate.of(2027, 3, 29)));
+        assertFalse(ItalianHolidayCalendar.isWorkingDay(LocalDate.of(2027, 3, 29)));
+        assertTrue(ItalianHolidayCalendar.isWorkingDay(LocalDate.of(2027, 3, 30)));
+
+        // Thu 24 Dec 2026 -> Christmas, S. Stefano, weekend, Capodanno, Epifania
+        assertEquals(LocalDate.of(2026, 12, 28), ItalianHolidayCalendar.nextWorkingDay(LocalDate.of(2026, 12, 25)));
+        List<LocalDate> expected = List.of(LocalDate.of(2026, 12, 24),
+                LocalDate.of(2026, 12, 28), LocalDate.of(2026, 12, 29), LocalDate.of(2026, 12, 30),
+                LocalDate.of(2026, 12, 31), LocalDate.of(2027, 1, 4), LocalDate.of(2027, 1, 5));
+        assertEquals(expected.size(), ItalianHolidayCalendar.workingDaysBetween(LocalDate.of(2026, 12, 24),
+                LocalDate.of(2027, 1, 6)));
+        List<LocalDate> days = new ArrayList<>();
+        ItalianHolidayCalendar.workingDays(LocalDate.of(2026, 12, 24), LocalDate.of(2027, 1, 6)).forEach(days::add);
+        assertEquals(expected, days);
+        BitSet mask = ItalianHolidayCalendar.workingDayMask(LocalDate.of(2026, 12, 24), 14);
+        assertEquals(expected.size(), mask.cardinality());
+        assertTrue(mask.get(11), "5 Jan 2027 is a working day.");
+
+        // Patron saint: Sant'Ambrogio (Mon 7 Dec 2026) is a working day outside Milan
+        LocalDate santAmbrogio = LocalDate.of(2026, 12, 7);
+        assertTrue(ItalianHolidayCalendar.isWorkingDay(santAmbrogio));
+        assertFalse(ItalianHolidayCalendar.isWorkingDay(santAmbrogio, ItalianHolidayCalendar.PatronSaint.MILANO));
+        assertEquals(LocalDate.of(2026, 12, 9),
+                ItalianHolidayCalendar.nextWorkingDay(santAmbrogio, ItalianHolidayCalendar.PatronSaint.MILANO));
+    }
+}
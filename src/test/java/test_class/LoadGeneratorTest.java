@@ -0,0 +1,36 @@
+package test_class;
+
+import load_generator.LoadGenerator;
+import load_generator.LoadReport;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import storage_liste.ListaPazienti;
+import storage_liste.ListaVisite;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(LowBcryptCostExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LoadGeneratorTest {
+
+    @Test
+    @Order(1)
+    void testLoadGeneratorDrivesConcurrentBookingFlows() throws Exception {
+        LoadReport report = new LoadGenerator.Builder()
+                .storageOption(0).patients(6).specialists(2).concurrency(12).flowsPerUser(2).horizonDays(1)
+                .build().run();
+
+        assertEquals(24, report.getFlows());
+        assertEquals(24, report.getCount(LoadReport.Operation.LOGIN));
+        assertEquals(0, report.getErrors(), report.toString());
+        assertEquals(24, report.getBooked() + report.getRejected(), report.toString());
+        assertTrue(report.getPercentileMillis(LoadReport.Operation.BOOK, 99) > 0);
+        assertTrue(report.toString().contains("doppie prenotazioni"));
+
+        // Utenti e visite sintetici rimossi a fine esecuzione
+        assertTrue(ListaPazienti.getIstanzaListaPazienti().getObservableListaPazienti().stream()
+                .noneMatch(p -> p.getCodiceFiscalePaziente().startsWith("LDGPAZ")));
+        assertTrue(ListaVisite.getIstanzaListaVisite().getObservableListaVisite().stream()
+                .noneMatch(v -> v.getPazienteCodiceFiscale().startsWith("LDGPAZ")));
+    }
+}
@@ -0,0 +1,81 @@
+package test_class;
+
+import authentication.LoginThrottler;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LoginThrottlerTest {
+
+    @Test
+    @Order(1)
+    void testLoginThrottlerBucketsAndBackoff() {
+        long[] now = { 0 };
+        LoginThrottler throttler = new LoginThrottler(() -> now[0]);
+
+        // Per-account bucket: 5 attempts, then rejected
+        for (int i = 0; i < 5; i++) {
+            assertTrue(throttler.tryAcquire("victim@test.it").isAllowed());
+        }
+        LoginThrottler.Decision blocked = throttler.tryAcquire("VICTIM@test.it");
+        assertEquals(LoginThrottler.Outcome.REJECTED_ACCOUNT, blocked.getOutcome());
+        assertTrue(blocked.getRetryAfterMillis() > 0);
+
+        // Three failures trigger a 1 s backoff, the fourth doubles it
+        for (int i = 0; i < 3; i++) {
+            throttler.recordFailure("other@test.it");
+        }
+        assertEquals(LoginThrottler.Outcome.REJECTED_BACKOFF, throttler.tryAcquire("other@test.it").getOutcome());
+        now[0] += TimeUnit.MILLISECONDS.toNanos(1_001);
+        assertTrue(throttler.tryAcquire("other@test.it").isAllowed());
+        throttler.recordFailure("other@test.it");
+        assertTrue(throttler.tryAcquire("other@test.it").getRetryAfterMillis() > 1_000);
+        throttler.recordSuccess("other@test.it");
+        assertTrue(throttler.tryAcquire("other@test.it").isAllowed());
+
+        // Global bucket: a script spreading attempts over many emails
+        int rejectedBefore = (int) throttler.getRejectedGlobalCount();
+        for (int i = 0; i < 100; i++) {
+            throttler.tryAcquire("bot" + i + "@evil.it");
+        }
+        assertTrue(throttler.getRejectedGlobalCount() - rejectedBefore >= 40);
+        assertEquals(throttler.getRejectedGlobalCount() + throttler.getRejectedAccountCount()
+                + throttler.getRejectedBackoffCount(), throttler.getRejectedCount());
+    }
+
+    @Test
+    @Order(2)
+    void testGlobalRejectionKeepsAccountTokensAndStateIsBounded() {
+        long[] now = { 0 };
+        LoginThrottler throttler = new LoginThrottler(() -> now[0]);
+        for (int i = 0; i < 50; i++) {
+            throttler.tryAcquire("bot" + i + "@evil.it");
+        }
+        // Global overload: the user's own attempts are refused but not charged
+        for (int i = 0; i < 10; i++) {
+            assertEquals(LoginThrottler.Outcome.REJECTED_GLOBAL, throttler.tryAcquire("user@test.it").getOutcome());
+        }
+        now[0] += TimeUnit.SECONDS.toNanos(1);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(throttler.tryAcquire("user@test.it").isAllowed());
+        }
+        assertEquals(LoginThrottler.Outcome.REJECTED_ACCOUNT, throttler.tryAcquire("user@test.it").getOutcome());
+
+        // A failure streak expires once its backoff has been over for a while
+        for (int i = 0; i < 3; i++) {
+            throttler.recordFailure("streak@test.it");
+        }
+        now[0] += TimeUnit.MINUTES.toNanos(20);
+        throttler.recordFailure("streak@test.it");
+        assertTrue(throttler.tryAcquire("streak@test.it").isAllowed(), "An expired streak starts over.");
+
+        // A spray of distinct failing emails cannot grow the map without bound
+        for (int i = 0; i < 25_000; i++) {
+            throttler.recordFailure("spray" + i + "@evil.it");
+        }
+        assertTrue(throttler.getTrackedAccountCount() <= 10_000, "Tracked: " + throttler.getTrackedAccountCount());
+    }
+}
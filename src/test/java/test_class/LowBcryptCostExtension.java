@@ -0,0 +1,35 @@
+package test_class;
+
+import authentication.PasswordHasher;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Imposta il costo bcrypt minimo durante ogni test e ripristina poi il
+ * valore precedente di {@link PasswordHasher#COST_PROPERTY}.
+ */
+class LowBcryptCostExtension implements BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(LowBcryptCostExtension.class);
+    private static final String PREVIOUS = "previousCost";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        String previous = System.getProperty(PasswordHasher.COST_PROPERTY);
+        if (previous != null) {
+            context.getStore(NAMESPACE).put(PREVIOUS, previous);
+        }
+        System.setProperty(PasswordHasher.COST_PROPERTY, "4");
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        String previous = context.getStore(NAMESPACE).remove(PREVIOUS, String.class);
+        if (previous == null) {
+            System.clearProperty(PasswordHasher.COST_PROPERTY);
+        } else {
+            System.setProperty(PasswordHasher.COST_PROPERTY, previous);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package test_class;
+
+import authentication.factory.DAOFactory;
+import metrics.LatencyHistogram;
+import metrics.MeteredAppointmentRepository;
+import metrics.MetricsRegistry;
+import org.junit.jupiter.api.*;
+import patient_dashboard.book_appointment.RamAppointmentDAO;
+import startupconfig.StartupConfigBean;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MetricsRegistryTest {
+
+    @Test
+    @Order(1)
+    void testMeteredDAOsPublishLatencyOverJmx() throws Exception {
+        System.setProperty(MetricsRegistry.ENABLED_PROPERTY, "true");
+        DAOFactory.DAOPair daos;
+        try {
+            daos = DAOFactory.createDAOs(new StartupConfigBean(true, 0));
+        } finally {
+            System.clearProperty(MetricsRegistry.ENABLED_PROPERTY);
+        }
+        assertTrue(daos.appointmentRepository instanceof MeteredAppointmentRepository);
+        assertTrue(((MeteredAppointmentRepository) daos.appointmentRepository)
+                .getDelegate() instanceof RamAppointmentDAO);
+
+        LatencyHistogram histogram = MetricsRegistry.getInstance().histogram("dao.RAM.Visita.findBySpecialistId");
+        long before = histogram.getCount();
+        for (int i = 0; i < 10; i++) {
+            daos.appointmentRepository.findBySpecialistId(990_003);
+        }
+        assertEquals(before + 10, histogram.getCount());
+        Object jmxCount = ManagementFactory.getPlatformMBeanServer().getAttribute(
+                MetricsRegistry.objectName("Histogram", "dao.RAM.Visita.findBySpecialistId"), "Count");
+        assertEquals(histogram.getCount(), jmxCount);
+
+        // 1..1000 µs: i percentili restano entro la precisione dei bucket
+        LatencyHistogram uniform = MetricsRegistry.getInstance().histogram("test.uniform");
+        uniform.reset();
+        for (int micros = 1; micros <= 1000; micros++) {
+            uniform.record(micros * 1_000L);
+        }
+        assertEquals(0.990, uniform.getP99Millis(), 0.990 * 0.02);
+        assertEquals(0.500, uniform.getP50Millis(), 0.500 * 0.02);
+        assertEquals(1.0, uniform.getMaxMillis(), 1e-9);
+    }
+}
@@ -0,0 +1,57 @@
+package test_class;
+
+import authentication.PasswordHasher;
+import authentication.dao.InMemoryUserDAO;
+import model.Paziente;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(LowBcryptCostExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PasswordHasherTest {
+
+    @Test
+    @Order(1)
+    void testLegacyPasswordIsRehashedOnLogin() {
+        List<Paziente> pazienti = new ArrayList<>(List.of(new Paziente.Builder()
+                .codiceFiscalePaziente("TSTPWD80A01H501Z")
+                .nome("Test")
+                .cognome("Hash")
+                .email("hash@test.it")
+                .password("pass")
+                .build()));
+        InMemoryUserDAO<Paziente> dao = new InMemoryUserDAO<>(pazienti);
+
+        assertTrue(dao.authenticateByEmailAndPassword("hash@test.it", "wrong").isEmpty());
+        assertEquals("pass", pazienti.get(0).getPassword(), "A failed login must not touch the stored password.");
+
+        assertTrue(dao.authenticateByEmailAndPassword("hash@test.it", "pass").isPresent());
+        String stored = pazienti.get(0).getPassword();
+        assertTrue(stored.startsWith("$2a$"), "Legacy password should be migrated to bcrypt.");
+
+        // Il secondo login usa l'hash e non lo riscrive
+        assertTrue(dao.authenticateByEmailAndPassword("hash@test.it", "pass").isPresent());
+        assertEquals(stored, pazienti.get(0).getPassword());
+        assertFalse(PasswordHasher.getInstance().needsRehash(stored));
+    }
+
+    @Test
+    @Order(2)
+    void testHashesAreOnlyUpgradedAndUnknownEmailsCostAVerify() {
+        PasswordHasher hasher = PasswordHasher.getInstance();
+        int cost = hasher.getCost();
+        assertFalse(hasher.needsRehash(BCrypt.hashpw("pass", BCrypt.gensalt(cost + 1))),
+                "A hash stronger than the calibrated cost is never downgraded.");
+        assertTrue(hasher.needsRehash("$2a$04$" + "a".repeat(53)) || cost == 4);
+
+        InMemoryUserDAO<Paziente> dao = new InMemoryUserDAO<>(new ArrayList<>());
+        assertTrue(dao.authenticateByEmailAndPassword("nobody@test.it", "pass").isEmpty());
+        assertFalse(hasher.verifyDummy(null));
+    }
+}
@@ -0,0 +1,79 @@
+package test_class;
+
+import model.Paziente;
+import org.junit.jupiter.api.*;
+import patient_dashboard.PatientDashboardController;
+import session_manager.Session;
+import session_manager.SessionContext;
+import session_manager.SessionManagerPaziente;
+import session_manager.SessionManagerSpecialista;
+import session_manager.SessionStore;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SessionStoreTest {
+
+    @Test
+    @Order(1)
+    void testSessionStoreServesConcurrentUsers() {
+        long[] now = { 0 };
+        SessionStore store = new SessionStore(Duration.ofMinutes(30), () -> now[0]);
+        Paziente mario = new Paziente.Builder().codiceFiscalePaziente("CF1").nome("Mario")
+                .cognome("Rossi").email("mario@test.it").password("pass").build();
+        Paziente anna = new Paziente.Builder().codiceFiscalePaziente("CF2").nome("Anna")
+                .cognome("Verdi").email("anna@test.it").password("pass").build();
+
+        Session first = store.create(mario);
+        Session second = store.create(anna);
+        assertNotEquals(first.getToken(), second.getToken());
+        assertEquals("Mario", store.find(first.getToken()).flatMap(Session::getPaziente).orElseThrow().getNome(),
+                "A second login must not overwrite the first session.");
+
+        // Sliding TTL: an accessed session survives, an idle one expires
+        now[0] += Duration.ofMinutes(20).toNanos();
+        assertTrue(store.find(first.getToken()).isPresent());
+        now[0] += Duration.ofMinutes(20).toNanos();
+        assertEquals(1, store.sweepExpired());
+        assertTrue(store.find(second.getToken()).isEmpty());
+        assertTrue(store.invalidate(first.getToken()));
+        assertEquals(0, store.size());
+
+        // Thread-bound session seen through the static facade and controllers
+        Session bound = SessionStore.getInstance().create(anna);
+        try (SessionContext.Scope _ = SessionContext.bind(bound)) {
+            assertEquals("Anna", SessionManagerPaziente.getPazienteLoggato().getNome());
+            assertFalse(SessionManagerSpecialista.isLoggedIn());
+        }
+        assertEquals("Anna", new PatientDashboardController(bound).getLoggedPatient().getNome());
+        SessionStore.getInstance().invalidate(bound.getToken());
+        assertThrows(IllegalStateException.class, () -> new PatientDashboardController(bound).getLoggedPatient());
+    }
+
+    @Test
+    @Order(2)
+    void testDesktopSessionDoesNotExpire() {
+        long[] now = { 0 };
+        SessionStore store = new SessionStore(Duration.ofMinutes(30), () -> now[0]);
+        Paziente mario = new Paziente.Builder().codiceFiscalePaziente("CF1").nome("Mario")
+                .cognome("Rossi").email("mario@test.it").password("pass").build();
+        Session desktop = store.createPinned(mario);
+        Session api = store.create(mario);
+
+        now[0] += Duration.ofHours(3).toNanos();
+        assertEquals(1, store.sweepExpired(), "Only the unpinned session expires.");
+        assertTrue(store.find(desktop.getToken()).isPresent(), "The desktop session lasts until logout.");
+        assertTrue(store.find(api.getToken()).isEmpty());
+        assertTrue(store.invalidate(desktop.getToken()));
+
+        // The GUI/CLI login opens a pinned session through the static facade
+        Session gui = SessionManagerPaziente.setPazienteLoggato(mario);
+        try {
+            assertTrue(gui.isPinned());
+        } finally {
+            SessionManagerPaziente.resetSession();
+        }
+    }
+}
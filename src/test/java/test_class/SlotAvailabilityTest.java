@@ -0,0 +1,70 @@
+package test_class;
+
+import authentication.factory.DAOFactory;
+import model.Visita;
+import org.junit.jupiter.api.*;
+import org.mockito.MockedStatic;
+import patient_dashboard.book_appointment.AppointmentRepository;
+import patient_dashboard.book_appointment.BookAppointmentControllerApp;
+import patient_dashboard.book_appointment.ItalianHolidayCalendar;
+import patient_dashboard.book_appointment.SlotAvailability;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SlotAvailabilityTest {
+
+    private final BookAppointmentControllerApp controller = new BookAppointmentControllerApp();
+
+    @Test
+    @Order(1)
+    void testMultiDayAvailabilitySingleQuery() {
+        // Two full weeks starting on a Monday: weekends must be closed without storage
+        // The booked Monday must be a working day (e.g. not Easter Monday)
+        LocalDate monday = LocalDate.now().plusDays(7);
+        while (monday.getDayOfWeek().getValue() != 1 || !ItalianHolidayCalendar.isWorkingDay(monday)) {
+            monday = monday.plusDays(1);
+        }
+        LocalDate sunday = monday.plusDays(13);
+        Visita booked = new Visita("MRARSS80A01H501Z", monday, LocalTime.of(10, 0), 1, "Online", "", "Prenotata");
+
+        try (MockedStatic<DAOFactory> daoFactoryMockedStatic = mockStatic(DAOFactory.class)) {
+            AppointmentRepository mockRepo = mock(AppointmentRepository.class);
+            DAOFactory.DAOPair mockPair = new DAOFactory.DAOPair(null, null, mockRepo);
+            daoFactoryMockedStatic.when(() -> DAOFactory.createDAOs(any())).thenReturn(mockPair);
+            when(mockRepo.findBySpecialistAndDateRange(eq(1), any(), any())).thenReturn(List.of(booked));
+
+            SlotAvailability availability = controller.getAvailableSlots(1, monday, sunday);
+
+            verify(mockRepo, times(1)).findBySpecialistAndDateRange(eq(1), any(), any());
+            verify(mockRepo, never()).findByDateAndSpecialist(any(), anyInt());
+            assertFalse(availability.isWorkingDay(monday.plusDays(5)), "Saturday must be closed.");
+            assertFalse(availability.isWorkingDay(sunday), "Sunday must be closed.");
+            assertEquals(SlotAvailability.SLOTS_PER_DAY - 1, availability.getFreeSlotCount(monday));
+            assertFalse(availability.getAvailableSlots(monday).contains(LocalTime.of(10, 0)));
+            availability.toMap().keySet()
+                    .forEach(day -> assertTrue(day.getDayOfWeek().getValue() < 6, "Only working days expected."));
+        }
+    }
+
+    @Test
+    @Order(2)
+    void testMultiDayAvailabilityWeekendOnlySkipsStorage() {
+        LocalDate saturday = LocalDate.now();
+        while (saturday.getDayOfWeek().getValue() != 6) {
+            saturday = saturday.plusDays(1);
+        }
+
+        try (MockedStatic<DAOFactory> daoFactoryMockedStatic = mockStatic(DAOFactory.class)) {
+            SlotAvailability availability = controller.getAvailableSlots(1, saturday, saturday.plusDays(1));
+
+            daoFactoryMockedStatic.verifyNoInteractions();
+            assertTrue(availability.toMap().isEmpty());
+        }
+    }
+}
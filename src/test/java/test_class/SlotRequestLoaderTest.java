@@ -0,0 +1,44 @@
+package test_class;
+
+import org.junit.jupiter.api.*;
+import patient_dashboard.book_appointment.BookAppointmentBean;
+import patient_dashboard.book_appointment.SlotRequestLoader;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SlotRequestLoaderTest {
+
+    @Test
+    @Order(1)
+    void testSlotRequestLoaderCoalescesRequests() throws InterruptedException {
+        AtomicInteger queries = new AtomicInteger();
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        SlotRequestLoader loader = new SlotRequestLoader(bean -> {
+            queries.incrementAndGet();
+            return List.of(LocalTime.of(8 + bean.getSpecialistId(), 0));
+        }, 100, Runnable::run);
+
+        for (int id = 1; id <= 5; id++) {
+            BookAppointmentBean bean = new BookAppointmentBean();
+            bean.setSpecialistId(id);
+            loader.request(bean, slots -> {
+                delivered.add(slots.get(0).getHour() - 8);
+                done.countDown();
+            }, _ -> fail("No error expected."));
+        }
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertEquals(1, queries.get(), "Superseded requests must not reach storage.");
+        assertEquals(List.of(5), delivered, "Only the latest request is delivered.");
+    }
+}
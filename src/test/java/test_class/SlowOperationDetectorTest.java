@@ -0,0 +1,41 @@
+package test_class;
+
+import org.junit.jupiter.api.*;
+import slow_operations.SlowOperation;
+import slow_operations.SlowOperationDetector;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SlowOperationDetectorTest {
+
+    @Test
+    @Order(1)
+    void testSlowOperationDetectorKeepsWorstRedacted() {
+        SlowOperationDetector detector = SlowOperationDetector.getInstance();
+        detector.reset();
+        detector.setThresholdMillis("test.slow", 5);
+        try {
+            AtomicInteger details = new AtomicInteger();
+            assertFalse(detector.record("test.slow.fast", () -> "x" + details.incrementAndGet(), 1_000_000, 1));
+            assertEquals(0, details.get(), "The detail is built only for slow operations.");
+
+            for (int millis = 10; millis <= 30; millis++) {
+                detector.record("test.slow.query", () -> SlowOperationDetector.redact("mario.rossi@email.com", 42),
+                        millis * 1_000_000L, millis);
+            }
+            List<SlowOperation> worst = detector.getWorstOperations();
+            assertEquals(20, worst.size(), "Only the top-N are kept.");
+            assertEquals(30, worst.get(0).getDurationMillis());
+            assertEquals(11, worst.get(19).getDurationMillis());
+            assertEquals("[***(21), 42]", worst.get(0).getDetail());
+            assertEquals(21, detector.getSlowCount());
+        } finally {
+            detector.setThresholdMillis("test.slow", Long.MAX_VALUE / 1_000_000);
+            detector.reset();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package test_class;
+
+import authentication.UserDAO;
+import authentication.factory.DAOFactory;
+import model.Specialista;
+import org.junit.jupiter.api.*;
+import org.mockito.MockedStatic;
+import patient_dashboard.book_appointment.BookAppointmentControllerApp;
+import patient_dashboard.book_appointment.SpecialistDirectory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SpecialistDirectoryTest {
+
+    @BeforeEach
+    void setUp() {
+        SpecialistDirectory.invalidateAll();
+    }
+
+    @Test
+    @Order(1)
+    void testSpecialistDirectoryIndexesAndCaches() {
+        BookAppointmentControllerApp controller = new BookAppointmentControllerApp();
+        List<Specialista> specialists = List.of(
+                specialist(20, "Cardiologia"), specialist(21, "cardiologia "), specialist(22, "Psicologia"));
+
+        try (MockedStatic<DAOFactory> daoFactoryMockedStatic = mockStatic(DAOFactory.class)) {
+            @SuppressWarnings("unchecked")
+            UserDAO<Specialista> mockSpecDAO = mock(UserDAO.class);
+            daoFactoryMockedStatic.when(() -> DAOFactory.createDAOs(any()))
+                    .thenReturn(new DAOFactory.DAOPair(null, mockSpecDAO, null));
+            when(mockSpecDAO.getAllInstanceOfActor()).thenReturn(specialists);
+
+            assertEquals(2, controller.getSpecialistsBySpecialization("CARDIOLOGIA", null).size(),
+                    "Two specialists share the same specialization.");
+            assertEquals(List.of("Cardiologia", "Psicologia"), List.copyOf(controller.getSpecializations(null)));
+            assertEquals(22, SpecialistDirectory.forConfig(null).findByEmail("SPEC22@test.it").orElseThrow().getId());
+            assertTrue(SpecialistDirectory.forConfig(null).findById(99).isEmpty());
+            assertEquals(3, controller.getAvailableSpecialists(null).size());
+
+            // Every lookup above is served by a single load
+            verify(mockSpecDAO, times(1)).getAllInstanceOfActor();
+        }
+    }
+
+    private static Specialista specialist(int id, String specialization) {
+        return new Specialista.Builder()
+                .id(id)
+                .nome("Nome" + id)
+                .cognome("Cognome" + id)
+                .email("spec" + id + "@test.it")
+                .specializzazione(specialization)
+                .password("pass")
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package test_class;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import startup_profiler.StartupPhase;
+import startup_profiler.StartupProfiler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StartupProfilerTest {
+
+    @Test
+    @Order(1)
+    void testStartupProfilerReportsTimeToInteractive() throws Exception {
+        Path trace = Files.createTempFile("startup-trace", ".json");
+        try {
+            StartupProfiler profiler = new StartupProfiler(System.currentTimeMillis() - 500, trace);
+            assertFalse(profiler.isActive(), "Profiling starts with the launcher.");
+            profiler.mark(StartupPhase.LAUNCHER_MAIN);
+            assertTrue(profiler.isActive());
+            profiler.mark(StartupPhase.SETTINGS_SHOWN);
+            Thread.sleep(20);
+            profiler.mark(StartupPhase.SETTINGS_CONFIRMED);
+            long confirmed = profiler.getMillis(StartupPhase.SETTINGS_CONFIRMED);
+            profiler.mark(StartupPhase.SETTINGS_CONFIRMED);
+            assertEquals(confirmed, profiler.getMillis(StartupPhase.SETTINGS_CONFIRMED),
+                    "Only the first occurrence of a phase is kept.");
+            assertTrue(profiler.getMillis(StartupPhase.LAUNCHER_MAIN) >= 500);
+            assertTrue(profiler.getSettingsWaitMillis() >= 20);
+            assertEquals(-1, profiler.getTimeToInteractiveMillis());
+
+            profiler.mark(StartupPhase.FIRST_VIEW_RENDERED);
+            assertTrue(profiler.getTimeToInteractiveMillis() >= confirmed);
+            assertTrue(profiler.getSummary().contains("Time to interactive:"));
+
+            JsonNode written = new ObjectMapper().readTree(trace.toFile());
+            assertEquals(5, written.get("traceEvents").size(), "JVM start plus the four marked phases.");
+            assertEquals(profiler.getTimeToInteractiveMillis(),
+                    written.get("otherData").get("phasesMillis").get("FIRST_VIEW_RENDERED").asLong());
+        } finally {
+            Files.deleteIfExists(trace);
+        }
+    }
+}
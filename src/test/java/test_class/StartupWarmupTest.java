@@ -0,0 +1,28 @@
+package test_class;
+
+import org.junit.jupiter.api.*;
+import startupconfig.StartupConfigBean;
+import startupconfig.StartupWarmup;
+import storage_file.JsonMappers;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StartupWarmupTest {
+
+    @Test
+    @Order(1)
+    void testStartupWarmupCompletesEveryTask() {
+        StartupWarmup warmup = StartupWarmup.getInstance();
+        warmup.start();
+        warmup.preloadBackend(new StartupConfigBean(true, 0));
+
+        assertTrue(warmup.awaitCompletion(30, TimeUnit.SECONDS));
+        assertEquals(Set.of("calendar", "jackson", "storage.RAM", "views"), warmup.getTimingsMillis().keySet(),
+                "Every warm-up task completes without errors.");
+        assertSame(JsonMappers.getMapper(), JsonMappers.getMapper());
+    }
+}
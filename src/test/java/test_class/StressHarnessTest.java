@@ -0,0 +1,58 @@
+package test_class;
+
+import observer.NotificationManager;
+import org.junit.jupiter.api.*;
+import storage_liste.ListaVisite;
+import stress_harness.StressHarness;
+import stress_harness.StressReport;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StressHarnessTest {
+
+    @Test
+    @Order(1)
+    void testStressHarnessFindsNoInvariantViolations() {
+        int historyBefore = NotificationManager.getInstance().getNotificationHistory().size();
+        StressReport report = new StressHarness.Builder()
+                .threads(8).iterations(200).bookingDays(1)
+                .build().run();
+
+        assertTrue(report.isPassed(), report::toString);
+        assertEquals(4, report.getScenarios().size());
+        assertEquals(8L * 13, report.getScenario("ram-booking").orElseThrow().getOperations());
+        assertTrue(ListaVisite.getIstanzaListaVisite().getObservableListaVisite().stream()
+                .noneMatch(v -> v.getSpecialistaId() == 990_001), "Synthetic visits must be removed.");
+        assertEquals(historyBefore, NotificationManager.getInstance().getNotificationHistory().size(),
+                "Synthetic notifications must not reach the application's manager.");
+    }
+
+    @Test
+    @Order(2)
+    void testFileBookingBooksEachSlotOnce() throws Exception {
+        Path dir = Files.createTempDirectory("mindlab-stress");
+        try {
+            StressReport report = new StressHarness.Builder()
+                    .threads(4).iterations(20).bookingDays(1)
+                    .includeFileStorage(true).fileDirectory(dir)
+                    .build().run();
+
+            assertTrue(report.isPassed(), report::toString);
+            assertEquals(4L * 13, report.getScenario("file-booking").orElseThrow().getOperations());
+            try (Stream<Path> files = Files.list(dir)) {
+                assertEquals(0, files.count(), "Synthetic visit files must be removed.");
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
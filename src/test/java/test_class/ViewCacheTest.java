@@ -0,0 +1,66 @@
+package test_class;
+
+import javafx.stage.Stage;
+import navigation.CachedView;
+import navigation.ViewCache;
+import org.junit.jupiter.api.*;
+import startupconfig.StartupConfigBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ViewCacheTest {
+
+    @Test
+    @Order(1)
+    void testViewCacheIsBoundedAndNotifiesHide() {
+        assertFalse(ViewCache.getInstance().isEnabled(), "The view cache is opt-in.");
+
+        List<String> hidden = new ArrayList<>();
+        ViewCache cache = new ViewCache(2);
+        StartupConfigBean ram = new StartupConfigBean(true, 0);
+        CachedView dashboard = cachedView("dashboard", hidden);
+        CachedView booking = cachedView("booking", hidden);
+        CachedView agenda = cachedView("agenda", hidden);
+
+        cache.store("PatientDashboard", dashboard, null, ram);
+        cache.setCurrent(dashboard);
+        cache.store("Booking", booking, null, ram);
+        cache.setCurrent(booking);
+        assertEquals(List.of("dashboard"), hidden);
+
+        // Accesso recente: la dashboard resta, esce la prenotazione
+        assertSame(dashboard, cache.lookup("PatientDashboard", null, ram));
+        cache.store("Agenda", agenda, null, ram);
+        assertEquals(2, cache.size());
+        assertNull(cache.lookup("Booking", null, ram));
+        assertNull(cache.lookup("PatientDashboard", null, new StartupConfigBean(true, 2)),
+                "A view built for another storage is not reused.");
+        assertSame(agenda, cache.lookup("Agenda", null, ram));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    private static CachedView cachedView(String name, List<String> hidden) {
+        return new CachedView() {
+            @Override
+            public void show(Stage stage, StartupConfigBean config) {
+                // Nessun nodo nel test
+            }
+
+            @Override
+            public void onShow(Stage stage, StartupConfigBean config) {
+                // Nessun nodo nel test
+            }
+
+            @Override
+            public void onHide() {
+                hidden.add(name);
+            }
+        };
+    }
+}